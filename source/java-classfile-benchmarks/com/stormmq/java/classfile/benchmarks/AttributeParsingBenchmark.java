@@ -0,0 +1,103 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFile;
+import com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader;
+import com.stormmq.java.classfile.parser.JavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.AttributeParserMappings;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.AttributesParser;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPool;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPoolJavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFile.ConstantPoolOffset;
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.DefaultSeed;
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.syntheticClassFiles;
+import static com.stormmq.java.classfile.domain.JavaClassFileVersion.Java8;
+import static com.stormmq.java.classfile.domain.attributes.AttributeLocation.Method;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPool.lazyConstantPool;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser.constantParsers;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+// Method attributes (Code, with its LineNumberTable and LocalVariableTable, Exceptions, MethodParameters and annotations) are parsed against lazy constant pools created during set up, whose entries are decoded by the first invocation
+@State(Benchmark)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AttributeParsingBenchmark
+{
+	private static final int NumberOfClassFiles = 64;
+
+	@NotNull private final AttributesParser methodAttributesParser = new AttributesParser(new AttributeParserMappings(Java8, Method));
+	@NotNull private ConstantPool[] constantPools;
+	@NotNull private ByteBuffer[][] methodsAttributes;
+
+	@Setup
+	public void setUp() throws InvalidJavaClassFileException
+	{
+		final List<SyntheticClassFile> syntheticClassFiles = syntheticClassFiles(DefaultSeed, NumberOfClassFiles);
+		constantPools = new ConstantPool[NumberOfClassFiles];
+		methodsAttributes = new ByteBuffer[NumberOfClassFiles][];
+		for (int index = 0; index < NumberOfClassFiles; index++)
+		{
+			final SyntheticClassFile syntheticClassFile = syntheticClassFiles.get(index);
+
+			final JavaClassFileReader javaClassFileReader = new ByteBufferJavaClassFileReader(syntheticClassFile.byteBuffer(ConstantPoolOffset));
+			final char constantPoolCount = javaClassFileReader.readBigEndianUnsigned16BitInteger("constant pool count");
+			constantPools[index] = lazyConstantPool(constantPoolCount, javaClassFileReader, syntheticClassFile.byteBuffer(ConstantPoolOffset + 2), constantParsers(Java8));
+
+			final int[] methodAttributesOffsets = syntheticClassFile.methodAttributesOffsets;
+			final ByteBuffer[] methodAttributes = new ByteBuffer[methodAttributesOffsets.length];
+			for (int methodIndex = 0; methodIndex < methodAttributesOffsets.length; methodIndex++)
+			{
+				methodAttributes[methodIndex] = syntheticClassFile.byteBuffer(methodAttributesOffsets[methodIndex]);
+			}
+			methodsAttributes[index] = methodAttributes;
+		}
+	}
+
+	@Benchmark
+	public void parseMethodAttributes(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException
+	{
+		for (int index = 0; index < NumberOfClassFiles; index++)
+		{
+			final ConstantPool constantPool = constantPools[index];
+			for (final ByteBuffer methodAttributes : methodsAttributes[index])
+			{
+				final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader = new ConstantPoolJavaClassFileReader(new ByteBufferJavaClassFileReader(methodAttributes.duplicate()), constantPool);
+				blackhole.consume(methodAttributesParser.parseAttributes(constantPoolJavaClassFileReader));
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+
+import static com.stormmq.byteReaders.ByteReader.ByteMask;
+
+// The byte at a time decoder that ModifiedUtf8StringDecoder replaced, kept as a baseline for ModifiedUtf8DecodingBenchmark
+final class ByteAtATimeModifiedUtf8StringDecoder
+{
+	@NotNull private static final String MalformedExceptionMessage = "Malformed Modified UTF-8 String";
+	private static final int xC0 = 0xC0;
+	private static final int x80 = 0x80;
+	private static final int x1F = 0x1F;
+	private static final int x3F = 0x3F;
+	private static final int x0F = 0x0F;
+
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	static String decodeModifiedUtf8String(@NotNull final ByteBuffer byteBuffer, final int length) throws InvalidJavaClassFileException
+	{
+		final char[] characters = new char[length];
+
+		int count = 0;
+		int charactersCount = 0;
+
+		// Optimisation that assumes most strings are US-ASCII
+		while (count < length)
+		{
+			final int char1 = getByteAsInteger(byteBuffer, count);
+			if (char1 > 127)
+			{
+				break;
+			}
+			count++;
+			characters[charactersCount] = (char) char1;
+			charactersCount++;
+		}
+
+		while (count < length)
+		{
+			final int char1 = getByteAsInteger(byteBuffer, count);
+			final int char2;
+			final int char3;
+			final char character;
+			switch (char1 >> 4)
+			{
+				case 0:
+				case 1:
+				case 2:
+				case 3:
+				case 4:
+				case 5:
+				case 6:
+				case 7:
+					count++;
+
+					character = (char) char1;
+					break;
+
+				case 12:
+				case 13:
+					count += 2;
+
+					guardForCompleteSequence(length, count);
+
+					char2 = getByteAsInteger(byteBuffer, count - 1);
+					guardForMalformedCharacter(char2);
+
+					character = (char) ((char1 & x1F) << 6 | extractPartOfCodepoint(char2));
+					break;
+
+				case 14:
+					count += 3;
+
+					guardForCompleteSequence(length, count);
+
+					char2 = getByteAsInteger(byteBuffer, count - 2);
+					guardForMalformedCharacter(char2);
+
+					char3 = getByteAsInteger(byteBuffer, count - 1);
+					guardForMalformedCharacter(char3);
+
+					character = (char) ((char1 & x0F) << 12 | extractPartOfCodepoint(char2) << 6 | extractPartOfCodepoint(char3));
+					break;
+
+				default:
+					throw newMalformedInput();
+			}
+
+			characters[charactersCount] = character;
+			charactersCount++;
+		}
+		return new String(characters, 0, charactersCount);
+	}
+
+	private static int getByteAsInteger(@NotNull final ByteBuffer byteBuffer, final int count)
+	{
+		return byteBuffer.get(count) & ByteMask;
+	}
+
+	private static int extractPartOfCodepoint(final int char3)
+	{
+		return char3 & x3F;
+	}
+
+	private static void guardForMalformedCharacter(final int character) throws InvalidJavaClassFileException
+	{
+		if ((character & xC0) != x80)
+		{
+			throw newMalformedInput();
+		}
+	}
+
+	private static void guardForCompleteSequence(final int length, final int count) throws InvalidJavaClassFileException
+	{
+		if (count > length)
+		{
+			throw new InvalidJavaClassFileException(MalformedExceptionMessage, new UTFDataFormatException("Missing end of sequence of encoded characters (underflow)"));
+		}
+	}
+
+	@NotNull
+	private static InvalidJavaClassFileException newMalformedInput()
+	{
+		return new InvalidJavaClassFileException(MalformedExceptionMessage, new UTFDataFormatException("Malformed input around byte"));
+	}
+
+	private ByteAtATimeModifiedUtf8StringDecoder()
+	{
+	}
+}
@@ -0,0 +1,96 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFile;
+import com.stormmq.java.classfile.parser.ParseOption;
+import com.stormmq.java.classfile.parser.ParserConfiguration;
+import com.stormmq.java.classfile.parser.ParserConfigurationBuilder;
+import com.stormmq.java.classfile.parser.ValidationLevel;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.DefaultSeed;
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.syntheticClassFiles;
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.parseJavaClassFile;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+// Skipping (see ParseOption) shows the saving from stepping over attributes, and validationLevel the cost of each level of checks; the GC profiler shows the saving in allocation
+// Only the axes that change the work done are crossed (12 combinations); pass eg -p skip=SkipCode to measure a single ParseOption
+@State(Benchmark)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ClassFileParsingBenchmark
+{
+	private static final int NumberOfClassFiles = 64;
+
+	@Param({"false", "true"}) public boolean lazyConstantPool;
+	@Param({"None", "SkipCode,SkipDebug,SkipFrames,SkipAnnotations"}) public String skip;
+	@Param({"None", "Structural", "Full"}) public ValidationLevel validationLevel;
+
+	@NotNull private ByteBuffer[] classFiles;
+	@NotNull private ParserConfiguration parserConfiguration;
+
+	@Setup
+	public void setUp()
+	{
+		final Set<ParseOption> parseOptions = EnumSet.noneOf(ParseOption.class);
+		if (!skip.equals("None"))
+		{
+			for (final String parseOption : skip.split(","))
+			{
+				parseOptions.add(ParseOption.valueOf(parseOption));
+			}
+		}
+		parserConfiguration = new ParserConfigurationBuilder().lazyConstantPool(lazyConstantPool).parseOptions(parseOptions).validationLevel(validationLevel).build();
+
+		final List<SyntheticClassFile> syntheticClassFiles = syntheticClassFiles(DefaultSeed, NumberOfClassFiles);
+		classFiles = new ByteBuffer[NumberOfClassFiles];
+		for (int index = 0; index < NumberOfClassFiles; index++)
+		{
+			classFiles[index] = syntheticClassFiles.get(index).byteBuffer();
+		}
+	}
+
+	@Benchmark
+	public void parseClassFiles(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		for (final ByteBuffer classFile : classFiles)
+		{
+			blackhole.consume(parseJavaClassFile(classFile.duplicate(), false, parserConfiguration));
+		}
+	}
+}
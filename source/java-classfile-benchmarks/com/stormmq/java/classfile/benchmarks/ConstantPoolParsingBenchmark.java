@@ -0,0 +1,114 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFile;
+import com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPoolIndex;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPoolJavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFile.ConstantPoolOffset;
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.DefaultSeed;
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.syntheticClassFiles;
+import static com.stormmq.java.classfile.domain.JavaClassFileVersion.Java8;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser.constantParsers;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFileParsers.ModernClassFileVersionedClassFileParser.parseConstantPoolLazily;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+// Eager parsing of the constant pool is measured as part of a class file by ClassFileParsingBenchmark (see its lazyConstantPool parameter)
+@State(Benchmark)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConstantPoolParsingBenchmark
+{
+	private static final int NumberOfClassFiles = 64;
+
+	@NotNull private final ConstantParser[] constantParsers = constantParsers(Java8);
+	@NotNull private ByteBuffer[] constantPools;
+	@NotNull private ConstantPoolJavaClassFileReader[] parsedConstantPools;
+	@NotNull private ConstantPoolIndex[][] modifiedUtf8StringIndices;
+
+	@Setup
+	public void setUp() throws InvalidJavaClassFileException
+	{
+		final List<SyntheticClassFile> syntheticClassFiles = syntheticClassFiles(DefaultSeed, NumberOfClassFiles);
+		constantPools = new ByteBuffer[NumberOfClassFiles];
+		parsedConstantPools = new ConstantPoolJavaClassFileReader[NumberOfClassFiles];
+		modifiedUtf8StringIndices = new ConstantPoolIndex[NumberOfClassFiles][];
+		for (int index = 0; index < NumberOfClassFiles; index++)
+		{
+			final SyntheticClassFile syntheticClassFile = syntheticClassFiles.get(index);
+			constantPools[index] = syntheticClassFile.byteBuffer(ConstantPoolOffset);
+
+			final char[] indices = syntheticClassFile.modifiedUtf8StringIndices;
+			final ConstantPoolIndex[] constantPoolIndices = new ConstantPoolIndex[indices.length];
+			final ConstantPoolJavaClassFileReader parsedConstantPool = parseConstantPoolLazily(new ByteBufferJavaClassFileReader(constantPools[index].duplicate()), constantParsers);
+			for (int stringIndex = 0; stringIndex < indices.length; stringIndex++)
+			{
+				constantPoolIndices[stringIndex] = new ConstantPoolIndex(indices[stringIndex]);
+
+				// Decoded once here, so that retrieval measures only the lookup
+				parsedConstantPool.modifiedUtf8String(constantPoolIndices[stringIndex]);
+			}
+			parsedConstantPools[index] = parsedConstantPool;
+			modifiedUtf8StringIndices[index] = constantPoolIndices;
+		}
+	}
+
+	// Only records each entry's tag and offset; nothing is decoded
+	@Benchmark
+	public void parseConstantPoolsLazily(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException
+	{
+		for (final ByteBuffer constantPoolBytes : constantPools)
+		{
+			blackhole.consume(parseConstantPoolLazily(new ByteBufferJavaClassFileReader(constantPoolBytes.duplicate()), constantParsers));
+		}
+	}
+
+	// Every Modified UTF-8 string is retrieved on every invocation, as names referenced many times from one constant pool are
+	@Benchmark
+	public void retrieveModifiedUtf8Strings(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException
+	{
+		for (int index = 0; index < NumberOfClassFiles; index++)
+		{
+			final ConstantPoolJavaClassFileReader parsedConstantPool = parsedConstantPools[index];
+			for (final ConstantPoolIndex constantPoolIndex : modifiedUtf8StringIndices[index])
+			{
+				blackhole.consume(parsedConstantPool.modifiedUtf8String(constantPoolIndex));
+			}
+		}
+	}
+}
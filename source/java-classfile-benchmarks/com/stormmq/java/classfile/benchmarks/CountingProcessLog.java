@@ -0,0 +1,134 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.JavaClassFileContainsDataTooLongToReadException;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.*;
+
+// Counts outcomes but discards messages, so that logging does not dominate what is measured
+final class CountingProcessLog implements ProcessLog
+{
+	@NotNull private final AtomicInteger failureCount;
+	@NotNull private final AtomicInteger successCount;
+
+	CountingProcessLog()
+	{
+		failureCount = new AtomicInteger(0);
+		successCount = new AtomicInteger(0);
+	}
+
+	@Override
+	public int failureCount()
+	{
+		return failureCount.get();
+	}
+
+	@Override
+	public int successCount()
+	{
+		return successCount.get();
+	}
+
+	@Override
+	public void success(@NotNull final String filePath)
+	{
+		successCount.getAndIncrement();
+	}
+
+	@Override
+	public void genericSuccess(@NonNls @NotNull final String messageTemplate, @NotNull final Object... arguments)
+	{
+	}
+
+	@Override
+	public void failureZip(@NotNull final Path zipFilePath, @NotNull final IOException e)
+	{
+		failureCount.getAndIncrement();
+	}
+
+	@Override
+	public void failureZip(@NotNull final Path zipFilePath, @NotNull final ZipException e)
+	{
+		failureCount.getAndIncrement();
+	}
+
+	@Override
+	public void failure(@NotNull final Path filePath, @NotNull final IOException e)
+	{
+		failureCount.getAndIncrement();
+	}
+
+	@Override
+	public void failure(@NotNull final String filePath, @NotNull final InvalidJavaClassFileException e)
+	{
+		failureCount.getAndIncrement();
+	}
+
+	@Override
+	public void failure(@NotNull final String filePath, @NotNull final JavaClassFileContainsDataTooLongToReadException e)
+	{
+		failureCount.getAndIncrement();
+	}
+
+	@Override
+	public void failure(@NotNull final ZipFile zipFile, @NotNull final ZipEntry zipEntry, @NotNull final IOException e)
+	{
+		failureCount.getAndIncrement();
+	}
+
+	@Override
+	public void failureJavaClassFileIsTooLarge(@NotNull final String filePath)
+	{
+		failureCount.getAndIncrement();
+	}
+
+	@Override
+	public void duplicateTypeInformationWarning(@NotNull final TypeInformationTriplet extant, @NotNull final TypeInformationTriplet replacement)
+	{
+	}
+
+	@Override
+	public void duplicateTypeHeaderWarning(@NotNull final KnownReferenceTypeName thisClassTypeName, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath)
+	{
+	}
+
+	@Override
+	public void snapshotNotReadWarning(@NotNull final Path snapshotFilePath, @NotNull final IOException e)
+	{
+	}
+
+	@Override
+	public void snapshotNotWrittenWarning(@NotNull final Path snapshotFilePath, @NotNull final IOException e)
+	{
+	}
+}
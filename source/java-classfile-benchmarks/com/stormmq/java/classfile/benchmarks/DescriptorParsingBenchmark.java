@@ -0,0 +1,82 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFileGenerator;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.DefaultSeed;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.FieldDescriptorParser.parseFieldDescriptor;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.MethodDescriptorParser.parseMethodDescriptor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+// Descriptors are interned by their raw form on first parse, so after warmup this measures the lookup made for a descriptor already seen in an earlier class
+@State(Benchmark)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DescriptorParsingBenchmark
+{
+	private static final int NumberOfDescriptors = 1024;
+
+	@NotNull private String[] fieldDescriptors;
+	@NotNull private String[] methodDescriptors;
+
+	@Setup
+	public void setUp()
+	{
+		final SyntheticClassFileGenerator syntheticClassFileGenerator = new SyntheticClassFileGenerator(DefaultSeed);
+		fieldDescriptors = new String[NumberOfDescriptors];
+		methodDescriptors = new String[NumberOfDescriptors];
+		for (int index = 0; index < NumberOfDescriptors; index++)
+		{
+			fieldDescriptors[index] = syntheticClassFileGenerator.fieldDescriptor();
+			methodDescriptors[index] = syntheticClassFileGenerator.methodDescriptor();
+		}
+	}
+
+	@Benchmark
+	public void fieldDescriptors(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException
+	{
+		for (final String fieldDescriptor : fieldDescriptors)
+		{
+			blackhole.consume(parseFieldDescriptor(fieldDescriptor));
+		}
+	}
+
+	@Benchmark
+	public void methodDescriptors(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException
+	{
+		for (final String methodDescriptor : methodDescriptors)
+		{
+			blackhole.consume(parseMethodDescriptor(methodDescriptor, false));
+		}
+	}
+}
@@ -0,0 +1,103 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFile;
+import com.stormmq.java.classfile.domain.attributes.code.codeReaders.InstructionCursor;
+import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.NotEnoughBytesInvalidOperandStackException;
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.domain.information.MethodInformation;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.DefaultSeed;
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.syntheticClassFiles;
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.parseJavaClassFile;
+import static com.stormmq.java.classfile.parser.ParserConfiguration.DefaultParserConfiguration;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+// Cursors are created during set up and rewound for each scan, so the scan itself should not allocate (check with the GC profiler)
+@State(Benchmark)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InstructionCursorBenchmark
+{
+	private static final int NumberOfClassFiles = 64;
+
+	@NotNull private InstructionCursor[] instructionCursors;
+
+	@Setup
+	public void setUp() throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final List<SyntheticClassFile> syntheticClassFiles = syntheticClassFiles(DefaultSeed, NumberOfClassFiles);
+		final List<InstructionCursor> instructionCursors = new ArrayList<>();
+		for (final SyntheticClassFile syntheticClassFile : syntheticClassFiles)
+		{
+			final ConcreteTypeInformation concreteTypeInformation = parseJavaClassFile(syntheticClassFile.byteBuffer(), false, DefaultParserConfiguration);
+			addInstructionCursors(instructionCursors, concreteTypeInformation.staticMethods);
+			addInstructionCursors(instructionCursors, concreteTypeInformation.instanceMethods);
+		}
+		this.instructionCursors = instructionCursors.toArray(new InstructionCursor[instructionCursors.size()]);
+	}
+
+	private static void addInstructionCursors(@NotNull final List<InstructionCursor> instructionCursors, @NotNull final Iterable<MethodInformation> methods)
+	{
+		for (final MethodInformation method : methods)
+		{
+			final InstructionCursor instructionCursor = method.instructionCursor();
+			if (instructionCursor != null)
+			{
+				instructionCursors.add(instructionCursor);
+			}
+		}
+	}
+
+	@Benchmark
+	public long scanConstantPoolReferences() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		long sum = 0L;
+		for (final InstructionCursor instructionCursor : instructionCursors)
+		{
+			instructionCursor.rewind();
+			while (instructionCursor.next())
+			{
+				if (instructionCursor.hasConstantPoolIndex())
+				{
+					sum += instructionCursor.constantPoolIndex();
+				}
+			}
+		}
+		return sum;
+	}
+}
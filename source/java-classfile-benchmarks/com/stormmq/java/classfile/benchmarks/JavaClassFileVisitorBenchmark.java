@@ -0,0 +1,185 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFile;
+import com.stormmq.java.classfile.domain.TypeKind;
+import com.stormmq.java.classfile.domain.attributes.AttributeLocation;
+import com.stormmq.java.classfile.domain.attributes.UnknownAttributes;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValue;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValues;
+import com.stormmq.java.classfile.domain.attributes.annotations.TypeAnnotation;
+import com.stormmq.java.classfile.domain.attributes.code.Code;
+import com.stormmq.java.classfile.domain.attributes.type.BootstrapMethod;
+import com.stormmq.java.classfile.domain.attributes.type.enclosingMethods.EnclosingMethod;
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.domain.information.FieldInformation;
+import com.stormmq.java.classfile.domain.information.MethodInformation;
+import com.stormmq.java.classfile.domain.signatures.Signature;
+import com.stormmq.java.classfile.domain.uniqueness.FieldUniqueness;
+import com.stormmq.java.classfile.domain.uniqueness.MethodUniqueness;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException;
+import com.stormmq.java.classfile.parser.visitors.ConcreteTypeInformationVisitor;
+import com.stormmq.java.classfile.parser.visitors.JavaClassFileVisitor;
+import com.stormmq.java.parsing.utilities.Completeness;
+import com.stormmq.java.parsing.utilities.Visibility;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.DefaultSeed;
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.syntheticClassFiles;
+import static com.stormmq.java.classfile.domain.attributes.AttributeLocation.Method;
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.parseJavaClassFile;
+import static com.stormmq.java.classfile.parser.ParserConfiguration.DefaultParserConfiguration;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.Attributes.Code;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+// A single pass analysis (counting code bytes) streamed from a visitor, against the same analysis over the built object model
+@State(Benchmark)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JavaClassFileVisitorBenchmark
+{
+	private static final int NumberOfClassFiles = 64;
+
+	@NotNull private ByteBuffer[] classFiles;
+
+	@Setup
+	public void setUp()
+	{
+		final List<SyntheticClassFile> syntheticClassFiles = syntheticClassFiles(DefaultSeed, NumberOfClassFiles);
+		classFiles = new ByteBuffer[NumberOfClassFiles];
+		for (int index = 0; index < NumberOfClassFiles; index++)
+		{
+			classFiles[index] = syntheticClassFiles.get(index).byteBuffer();
+		}
+	}
+
+	@Benchmark
+	public void streamed(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		for (final ByteBuffer classFile : classFiles)
+		{
+			blackhole.consume(parseJavaClassFile(classFile.duplicate(), false, DefaultParserConfiguration, new CodeLengthVisitor()));
+		}
+	}
+
+	@Benchmark
+	public void objectModel(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		for (final ByteBuffer classFile : classFiles)
+		{
+			final ConcreteTypeInformation concreteTypeInformation = parseJavaClassFile(classFile.duplicate(), false, DefaultParserConfiguration, new ConcreteTypeInformationVisitor());
+			long codeLength = 0L;
+			for (final MethodInformation methodInformation : concreteTypeInformation.staticMethods)
+			{
+				codeLength += methodInformation.codeLength();
+			}
+			for (final MethodInformation methodInformation : concreteTypeInformation.instanceMethods)
+			{
+				codeLength += methodInformation.codeLength();
+			}
+			blackhole.consume(codeLength);
+		}
+	}
+
+	// Skips fields, and every attribute other than a method's Code, unparsed
+	private static final class CodeLengthVisitor implements JavaClassFileVisitor<Long>
+	{
+		private long codeLength;
+
+		@Override
+		public void visitTypeHeader(@NotNull final TypeKind typeKind, @NotNull final Visibility visibility, @NotNull final Completeness completeness, final boolean isSynthetic, final boolean hasLegacySuperFlagSetting, @NotNull final KnownReferenceTypeName thisClassTypeName, @Nullable final KnownReferenceTypeName superClassTypeName, @NotNull final Set<KnownReferenceTypeName> interfaces)
+		{
+		}
+
+		@Override
+		public boolean visitFieldStart(final char fieldAccessFlags, @NotNull final FieldUniqueness fieldUniqueness)
+		{
+			return false;
+		}
+
+		@Override
+		public boolean visitMethodStart(final char methodAccessFlags, @NotNull final MethodUniqueness methodUniqueness)
+		{
+			return true;
+		}
+
+		@Override
+		public boolean visitAttribute(@NotNull final AttributeLocation attributeLocation, @NotNull final String attributeName, final long attributeLength)
+		{
+			return attributeLocation == Method && attributeName.equals(Code);
+		}
+
+		@Override
+		public void visitAnnotation(@NotNull final AttributeLocation attributeLocation, final boolean isVisible, @NotNull final AnnotationValue annotationValue)
+		{
+		}
+
+		@Override
+		public void visitField(@NotNull final FieldInformation fieldInformation)
+		{
+		}
+
+		@Override
+		public void visitCode(@NotNull final MethodUniqueness methodUniqueness, @NotNull final Code code)
+		{
+			codeLength += code.codeLength();
+		}
+
+		@Override
+		public void visitMethod(@NotNull final MethodUniqueness methodUniqueness, @NotNull final MethodInformation methodInformation)
+		{
+		}
+
+		@Override
+		public void visitTypeAttributes(final boolean isSyntheticAttribute, final boolean isDeprecated, @Nullable final Signature signature, @NotNull final UnknownAttributes unknownAttributes, @Nullable final String sourceFile, @Nullable final EnclosingMethod enclosingMethod, @Nullable final String sourceDebugExtension, @NotNull final BootstrapMethod[] bootstrapMethods)
+		{
+		}
+
+		@Override
+		public void visitTypeAnnotations(@NotNull final AnnotationValues runtimeAnnotationValues, @NotNull final TypeAnnotation[] visibleTypeAnnotations, @NotNull final TypeAnnotation[] invisibleTypeAnnotations)
+		{
+		}
+
+		@NotNull
+		@Override
+		public Long visitEnd()
+		{
+			return codeLength;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticText;
+import com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader;
+import com.stormmq.java.classfile.parser.JavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static com.stormmq.java.classfile.benchmarks.ByteAtATimeModifiedUtf8StringDecoder.decodeModifiedUtf8String;
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.DefaultSeed;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteBuffer.wrap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+// byteAtATime is the decoder before ASCII was checked 8 bytes at a time; direct buffers are how memory mapped class files are decoded
+@State(Benchmark)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ModifiedUtf8DecodingBenchmark
+{
+	private static final int NumberOfStrings = 256;
+
+	@Param({"Ascii", "Latin", "Cyrillic", "Cjk", "Supplementary"}) public SyntheticText syntheticText;
+	@Param({"8", "64", "512"}) public int numberOfCodePoints;
+	@Param({"false", "true"}) public boolean direct;
+
+	@NotNull private ByteBuffer strings;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		final Random random = new Random(DefaultSeed);
+		final ByteArrayOutputStream encoded = new ByteArrayOutputStream(NumberOfStrings * numberOfCodePoints * 6);
+		final DataOutputStream dataOutputStream = new DataOutputStream(encoded);
+		for (int index = 0; index < NumberOfStrings; index++)
+		{
+			dataOutputStream.writeUTF(syntheticText.text(random, numberOfCodePoints));
+		}
+		final byte[] bytes = encoded.toByteArray();
+		if (direct)
+		{
+			strings = allocateDirect(bytes.length);
+			strings.put(bytes);
+			strings.flip();
+		}
+		else
+		{
+			strings = wrap(bytes);
+		}
+	}
+
+	@Benchmark
+	public void decode(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException
+	{
+		final JavaClassFileReader javaClassFileReader = new ByteBufferJavaClassFileReader(strings.duplicate());
+		for (int index = 0; index < NumberOfStrings; index++)
+		{
+			blackhole.consume(javaClassFileReader.readModifiedUtf8StringWithPrefixedBigEndianUnsigned16BitLength("benchmark string"));
+		}
+	}
+
+	@Benchmark
+	public void byteAtATime(@NotNull final Blackhole blackhole) throws InvalidJavaClassFileException
+	{
+		final ByteBuffer remaining = strings.duplicate();
+		for (int index = 0; index < NumberOfStrings; index++)
+		{
+			final int length = remaining.getChar();
+			final ByteBuffer slice = remaining.slice();
+			slice.limit(length);
+			blackhole.consume(decodeModifiedUtf8String(slice, length));
+			remaining.position(remaining.position() + length);
+		}
+	}
+}
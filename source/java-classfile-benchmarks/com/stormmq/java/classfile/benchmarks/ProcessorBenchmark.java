@@ -0,0 +1,135 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks;
+
+import com.stormmq.java.classfile.domain.information.TypeHeader;
+import com.stormmq.java.classfile.processing.Processor;
+import com.stormmq.java.classfile.processing.ProcessorBuilder;
+import com.stormmq.java.classfile.processing.Records;
+import com.stormmq.java.classfile.processing.multithreaded.ExecutionStrategy;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticCorpus.*;
+import static com.stormmq.java.classfile.processing.multithreaded.ExecutionStrategy.processorSizedExecutionStrategy;
+import static com.stormmq.java.classfile.processing.multithreaded.ExecutionStrategy.separateInputOutputExecutionStrategy;
+import static java.lang.String.format;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.Locale.ENGLISH;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+// End-to-end, from walking the paths to recording type information (or just type headers), over half loose class files and half a jar
+@State(Benchmark)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProcessorBenchmark
+{
+	@Param({"1000"}) public int numberOfClassFiles;
+	@Param({"processorSized", "separateInputOutput"}) public String executionStrategy;
+
+	@NotNull private Path corpusFolderPath;
+	@NotNull private List<Path> paths;
+	@NotNull private ExecutionStrategy chosenExecutionStrategy;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		corpusFolderPath = createTempDirectory("synthetic-corpus");
+		final int numberOfLooseClassFiles = numberOfClassFiles / 2;
+		paths = writeSyntheticCorpus(corpusFolderPath, DefaultSeed, numberOfLooseClassFiles, numberOfClassFiles - numberOfLooseClassFiles);
+		chosenExecutionStrategy = executionStrategy(executionStrategy);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		deleteSyntheticCorpus(corpusFolderPath);
+	}
+
+	@Benchmark
+	@NotNull
+	public Records process()
+	{
+		return processChecked(Processor::process);
+	}
+
+	// Compare with process() to see the saving from scanning only headers when indexing a class path
+	@Benchmark
+	@NotNull
+	public Map<KnownReferenceTypeName, TypeHeader> scanHeaders()
+	{
+		return processChecked(Processor::scanHeaders);
+	}
+
+	@NotNull
+	private <R> R processChecked(@NotNull final BiFunction<Processor, List<Path>, R> process)
+	{
+		final CountingProcessLog processLog = new CountingProcessLog();
+		final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+		final UncaughtExceptionHandler uncaughtExceptionHandler = (thread, throwable) -> uncaught.compareAndSet(null, throwable);
+
+		final R records = process.apply(new ProcessorBuilder(processLog, uncaughtExceptionHandler).executionStrategy(chosenExecutionStrategy).build(), paths);
+
+		@Nullable final Throwable throwable = uncaught.get();
+		if (throwable != null)
+		{
+			throw new IllegalStateException("Processing threw an uncaught exception", throwable);
+		}
+		if (processLog.failureCount() != 0 || processLog.successCount() != numberOfClassFiles)
+		{
+			throw new IllegalStateException(format(ENGLISH, "Expected %1$s successes but had %2$s successes and %3$s failures", numberOfClassFiles, processLog.successCount(), processLog.failureCount()));
+		}
+		return records;
+	}
+
+	@NotNull
+	private static ExecutionStrategy executionStrategy(@NotNull final String executionStrategy)
+	{
+		switch (executionStrategy)
+		{
+			case "processorSized":
+				return processorSizedExecutionStrategy();
+
+			case "separateInputOutput":
+				return separateInputOutputExecutionStrategy();
+
+			default:
+				throw new IllegalArgumentException(format(ENGLISH, "Unknown execution strategy '%1$s'", executionStrategy));
+		}
+	}
+}
@@ -0,0 +1,204 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks.syntheticCorpus;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Equal constants are written once, as javac does, so references to them are shared
+final class ConstantPoolWriter
+{
+	private static final int Utf8Tag = 1;
+	private static final int IntegerTag = 3;
+	private static final int LongTag = 5;
+	private static final int ClassTag = 7;
+	private static final int StringTag = 8;
+	private static final int FieldReferenceTag = 9;
+	private static final int MethodReferenceTag = 10;
+	private static final int NameAndTypeTag = 12;
+	private static final int MaximumConstantPoolCount = 65535;
+
+	@NotNull private final ByteArrayOutputStream constants;
+	@NotNull private final DataOutputStream constantsOutputStream;
+	@NotNull private final Map<String, Character> indices;
+	@NotNull private final List<Character> modifiedUtf8StringIndices;
+	private int constantPoolCount;
+
+	ConstantPoolWriter()
+	{
+		constants = new ByteArrayOutputStream(4096);
+		constantsOutputStream = new DataOutputStream(constants);
+		indices = new HashMap<>(256);
+		modifiedUtf8StringIndices = new ArrayList<>(128);
+		constantPoolCount = 1;
+	}
+
+	int size()
+	{
+		return 2 + constants.size();
+	}
+
+	void writeTo(@NotNull final DataOutputStream dataOutputStream) throws IOException
+	{
+		dataOutputStream.writeShort(constantPoolCount);
+		constants.writeTo(dataOutputStream);
+	}
+
+	@NotNull
+	char[] modifiedUtf8StringIndices()
+	{
+		final char[] indices = new char[modifiedUtf8StringIndices.size()];
+		for (int index = 0; index < indices.length; index++)
+		{
+			indices[index] = modifiedUtf8StringIndices.get(index);
+		}
+		return indices;
+	}
+
+	char utf8(@NonNls @NotNull final String value)
+	{
+		final int constantPoolCountBefore = constantPoolCount;
+		final char index = constant("U" + value, 1, constantsOutputStream ->
+		{
+			constantsOutputStream.writeByte(Utf8Tag);
+			constantsOutputStream.writeUTF(value);
+		});
+		if (constantPoolCount != constantPoolCountBefore)
+		{
+			modifiedUtf8StringIndices.add(index);
+		}
+		return index;
+	}
+
+	char integer(final int value)
+	{
+		return constant("I" + value, 1, constantsOutputStream ->
+		{
+			constantsOutputStream.writeByte(IntegerTag);
+			constantsOutputStream.writeInt(value);
+		});
+	}
+
+	char longInteger(final long value)
+	{
+		return constant("J" + value, 2, constantsOutputStream ->
+		{
+			constantsOutputStream.writeByte(LongTag);
+			constantsOutputStream.writeLong(value);
+		});
+	}
+
+	char type(@NonNls @NotNull final String internalName)
+	{
+		final char nameIndex = utf8(internalName);
+		return constant("C" + internalName, 1, constantsOutputStream ->
+		{
+			constantsOutputStream.writeByte(ClassTag);
+			constantsOutputStream.writeShort(nameIndex);
+		});
+	}
+
+	char string(@NonNls @NotNull final String value)
+	{
+		final char stringIndex = utf8(value);
+		return constant("S" + value, 1, constantsOutputStream ->
+		{
+			constantsOutputStream.writeByte(StringTag);
+			constantsOutputStream.writeShort(stringIndex);
+		});
+	}
+
+	char fieldReference(@NonNls @NotNull final String owningInternalName, @NonNls @NotNull final String name, @NonNls @NotNull final String descriptor)
+	{
+		return memberReference(FieldReferenceTag, owningInternalName, name, descriptor);
+	}
+
+	char methodReference(@NonNls @NotNull final String owningInternalName, @NonNls @NotNull final String name, @NonNls @NotNull final String descriptor)
+	{
+		return memberReference(MethodReferenceTag, owningInternalName, name, descriptor);
+	}
+
+	private char memberReference(final int tag, @NotNull final String owningInternalName, @NotNull final String name, @NotNull final String descriptor)
+	{
+		final char typeIndex = type(owningInternalName);
+		final char nameAndTypeIndex = nameAndType(name, descriptor);
+		return constant(tag + owningInternalName + '.' + name + ':' + descriptor, 1, constantsOutputStream ->
+		{
+			constantsOutputStream.writeByte(tag);
+			constantsOutputStream.writeShort(typeIndex);
+			constantsOutputStream.writeShort(nameAndTypeIndex);
+		});
+	}
+
+	private char nameAndType(@NotNull final String name, @NotNull final String descriptor)
+	{
+		final char nameIndex = utf8(name);
+		final char descriptorIndex = utf8(descriptor);
+		return constant("N" + name + ':' + descriptor, 1, constantsOutputStream ->
+		{
+			constantsOutputStream.writeByte(NameAndTypeTag);
+			constantsOutputStream.writeShort(nameIndex);
+			constantsOutputStream.writeShort(descriptorIndex);
+		});
+	}
+
+	private char constant(@NotNull final String key, final int width, @NotNull final ConstantWriter constantWriter)
+	{
+		final Character extant = indices.get(key);
+		if (extant != null)
+		{
+			return extant;
+		}
+
+		if (constantPoolCount + width > MaximumConstantPoolCount)
+		{
+			throw new IllegalStateException("Too many constants for a class file");
+		}
+
+		try
+		{
+			constantWriter.write(constantsOutputStream);
+		}
+		catch (final IOException e)
+		{
+			throw new IllegalStateException("Could not write constant", e);
+		}
+
+		final char index = (char) constantPoolCount;
+		constantPoolCount += width;
+		indices.put(key, index);
+		return index;
+	}
+
+	@FunctionalInterface
+	private interface ConstantWriter
+	{
+		void write(@NotNull final DataOutputStream constantsOutputStream) throws IOException;
+	}
+}
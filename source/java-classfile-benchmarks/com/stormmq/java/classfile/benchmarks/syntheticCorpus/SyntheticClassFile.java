@@ -0,0 +1,68 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks.syntheticCorpus;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.ByteBuffer.wrap;
+
+public final class SyntheticClassFile
+{
+	// The constant pool count immediately follows the magic number, minor version and major version
+	public static final int ConstantPoolOffset = 8;
+
+	@NotNull public final String internalName;
+	@NotNull public final byte[] bytes;
+	@NotNull public final int[] methodAttributesOffsets;
+	@NotNull public final char[] modifiedUtf8StringIndices;
+
+	SyntheticClassFile(@NotNull final String internalName, @NotNull final byte[] bytes, @NotNull final int[] methodAttributesOffsets, @NotNull final char[] modifiedUtf8StringIndices)
+	{
+		this.internalName = internalName;
+		this.bytes = bytes;
+		this.methodAttributesOffsets = methodAttributesOffsets;
+		this.modifiedUtf8StringIndices = modifiedUtf8StringIndices;
+	}
+
+	@NotNull
+	public String relativeFilePath()
+	{
+		return internalName + ".class";
+	}
+
+	@NotNull
+	public ByteBuffer byteBuffer()
+	{
+		return wrap(bytes);
+	}
+
+	@NotNull
+	public ByteBuffer byteBuffer(final int offset)
+	{
+		final ByteBuffer byteBuffer = byteBuffer();
+		byteBuffer.position(offset);
+		return byteBuffer.slice();
+	}
+}
@@ -0,0 +1,554 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks.syntheticCorpus;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.*;
+
+import static com.stormmq.java.classfile.benchmarks.syntheticCorpus.SyntheticClassFile.ConstantPoolOffset;
+
+// Class files are shaped like those javac produces for simple types: fields with constants, signatures and annotations, and methods with straight-line code, line numbers and local variables
+// The same seed always generates the same class files
+@SuppressWarnings({"MagicNumber", "HardcodedFileSeparator"})
+public final class SyntheticClassFileGenerator
+{
+	private static final int JavaClassFileMagicNumber = 0xCAFEBABE;
+	private static final int Java8MinorVersion = 0;
+	private static final int Java8MajorVersion = 52;
+
+	private static final int AccessPublic = 0x0001;
+	private static final int AccessPrivate = 0x0002;
+	private static final int AccessProtected = 0x0004;
+	private static final int AccessStatic = 0x0008;
+	private static final int AccessFinal = 0x0010;
+	private static final int AccessSuper = 0x0020;
+	@NotNull private static final int[] Visibilities = {AccessPublic, AccessPrivate, AccessProtected, 0};
+
+	private static final int aconst_null = 0x01;
+	private static final int iconst_0 = 0x03;
+	private static final int iconst_1 = 0x04;
+	private static final int lconst_0 = 0x09;
+	private static final int fconst_0 = 0x0B;
+	private static final int dconst_0 = 0x0E;
+	private static final int ldc_w = 0x13;
+	private static final int aload_0 = 0x2A;
+	private static final int pop = 0x57;
+	private static final int pop2 = 0x58;
+	private static final int ireturn = 0xAC;
+	private static final int lreturn = 0xAD;
+	private static final int freturn = 0xAE;
+	private static final int dreturn = 0xAF;
+	private static final int areturn = 0xB0;
+	private static final int _return = 0xB1;
+	private static final int getstatic = 0xB2;
+	private static final int invokespecial = 0xB7;
+	private static final int invokestatic = 0xB8;
+
+	@NonNls @NotNull private static final String JavaLangObject = "java/lang/Object";
+	@NonNls @NotNull private static final String InstanceInitializer = "<init>";
+	@NonNls @NotNull private static final String VoidMethodDescriptor = "()V";
+	@NonNls @NotNull private static final String ListDescriptor = "Ljava/util/List;";
+	@NonNls @NotNull private static final String ListOfStringSignature = "Ljava/util/List<Ljava/lang/String;>;";
+	@NonNls @NotNull private static final String StringDescriptor = "Ljava/lang/String;";
+	@NonNls @NotNull private static final String MarkerAnnotationDescriptor = "Lsynthetic/Marker;";
+	@NonNls @NotNull private static final String[] Interfaces = {"java/io/Serializable", "java/lang/Cloneable", "java/lang/Comparable"};
+	@NonNls @NotNull private static final String[] PrimitiveDescriptors = {"B", "C", "D", "F", "I", "J", "S", "Z"};
+	@NonNls @NotNull private static final String[] ReferenceDescriptors = {StringDescriptor, "Ljava/lang/Object;", ListDescriptor, "Ljava/util/Map;", "Ljava/lang/Integer;", "Ljava/nio/ByteBuffer;"};
+	@NonNls @NotNull private static final String[] IdentifierStems = {"value", "count", "name", "next", "buffer", "größe", "données", "名前", "индекс", "𝒜value"};
+	@NotNull private static final SyntheticText[] SyntheticTexts = SyntheticText.values();
+
+	@NotNull private final Random random;
+
+	public SyntheticClassFileGenerator(final long seed)
+	{
+		random = new Random(seed);
+	}
+
+	@NonNls
+	@NotNull
+	public String fieldDescriptor()
+	{
+		final StringBuilder fieldDescriptor = new StringBuilder(32);
+		if (random.nextInt(5) == 0)
+		{
+			final int arrayDimensions = 1 + random.nextInt(2);
+			for (int index = 0; index < arrayDimensions; index++)
+			{
+				fieldDescriptor.append('[');
+			}
+		}
+		fieldDescriptor.append(random.nextBoolean() ? pick(PrimitiveDescriptors) : pick(ReferenceDescriptors));
+		return fieldDescriptor.toString();
+	}
+
+	@NonNls
+	@NotNull
+	public String methodDescriptor()
+	{
+		return methodDescriptor(parameterDescriptors(), returnDescriptor());
+	}
+
+	@NotNull
+	public String text()
+	{
+		final int numberOfCodePoints = random.nextInt(16) == 0 ? 512 : 8 + random.nextInt(56);
+		return pick(SyntheticTexts).text(random, numberOfCodePoints);
+	}
+
+	@NotNull
+	public SyntheticClassFile classFile(@NonNls @NotNull final String internalName)
+	{
+		return classFile(internalName, random.nextInt(16), 1 + random.nextInt(24));
+	}
+
+	@NotNull
+	public SyntheticClassFile classFile(@NonNls @NotNull final String internalName, final int numberOfFields, final int numberOfMethods)
+	{
+		final ConstantPoolWriter constantPoolWriter = new ConstantPoolWriter();
+		final ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+		final DataOutputStream bodyOutputStream = new DataOutputStream(body);
+		final int[] methodAttributesOffsets = new int[numberOfMethods + 1];
+		try
+		{
+			bodyOutputStream.writeShort(AccessPublic | AccessSuper);
+			bodyOutputStream.writeShort(constantPoolWriter.type(internalName));
+			bodyOutputStream.writeShort(constantPoolWriter.type(JavaLangObject));
+			writeInterfaces(constantPoolWriter, bodyOutputStream);
+
+			final List<String[]> staticFields = new ArrayList<>(numberOfFields);
+			writeFields(constantPoolWriter, bodyOutputStream, numberOfFields, staticFields);
+
+			bodyOutputStream.writeShort(numberOfMethods + 1);
+			methodAttributesOffsets[0] = body.size() + 6;
+			writeInstanceInitializer(constantPoolWriter, bodyOutputStream, internalName);
+			for (int index = 1; index <= numberOfMethods; index++)
+			{
+				methodAttributesOffsets[index] = body.size() + 6;
+				writeMethod(constantPoolWriter, bodyOutputStream, internalName, index, staticFields);
+			}
+
+			final Attributes typeAttributes = new Attributes(constantPoolWriter);
+			typeAttributes.attribute("SourceFile", attributeOutputStream -> attributeOutputStream.writeShort(constantPoolWriter.utf8(internalName.substring(internalName.lastIndexOf('/') + 1) + ".java")));
+			if (random.nextInt(4) == 0)
+			{
+				runtimeVisibleAnnotations(constantPoolWriter, typeAttributes);
+			}
+			typeAttributes.writeTo(bodyOutputStream);
+
+			final ByteArrayOutputStream classFile = new ByteArrayOutputStream(ConstantPoolOffset + constantPoolWriter.size() + body.size());
+			final DataOutputStream classFileOutputStream = new DataOutputStream(classFile);
+			classFileOutputStream.writeInt(JavaClassFileMagicNumber);
+			classFileOutputStream.writeShort(Java8MinorVersion);
+			classFileOutputStream.writeShort(Java8MajorVersion);
+			constantPoolWriter.writeTo(classFileOutputStream);
+			body.writeTo(classFileOutputStream);
+
+			final int bodyOffset = ConstantPoolOffset + constantPoolWriter.size();
+			for (int index = 0; index < methodAttributesOffsets.length; index++)
+			{
+				methodAttributesOffsets[index] += bodyOffset;
+			}
+			return new SyntheticClassFile(internalName, classFile.toByteArray(), methodAttributesOffsets, constantPoolWriter.modifiedUtf8StringIndices());
+		}
+		catch (final IOException e)
+		{
+			throw new IllegalStateException("Could not write class file", e);
+		}
+	}
+
+	private void writeInterfaces(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final DataOutputStream bodyOutputStream) throws IOException
+	{
+		final List<String> interfaces = new ArrayList<>(Interfaces.length);
+		for (final String anInterface : Interfaces)
+		{
+			if (random.nextInt(3) == 0)
+			{
+				interfaces.add(anInterface);
+			}
+		}
+
+		bodyOutputStream.writeShort(interfaces.size());
+		for (final String anInterface : interfaces)
+		{
+			bodyOutputStream.writeShort(constantPoolWriter.type(anInterface));
+		}
+	}
+
+	private void writeFields(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final DataOutputStream bodyOutputStream, final int numberOfFields, @NotNull final Collection<String[]> staticFields) throws IOException
+	{
+		bodyOutputStream.writeShort(numberOfFields);
+		for (int index = 0; index < numberOfFields; index++)
+		{
+			final boolean isStatic = random.nextInt(3) == 0;
+			final boolean isFinal = random.nextBoolean();
+			final String name = identifier(index);
+			final String descriptor = fieldDescriptor();
+
+			bodyOutputStream.writeShort(pick(Visibilities) | (isStatic ? AccessStatic : 0) | (isFinal ? AccessFinal : 0));
+			bodyOutputStream.writeShort(constantPoolWriter.utf8(name));
+			bodyOutputStream.writeShort(constantPoolWriter.utf8(descriptor));
+
+			final Attributes attributes = new Attributes(constantPoolWriter);
+			if (isStatic && isFinal)
+			{
+				constantValue(constantPoolWriter, attributes, descriptor);
+			}
+			if (descriptor.equals(ListDescriptor))
+			{
+				attributes.attribute("Signature", attributeOutputStream -> attributeOutputStream.writeShort(constantPoolWriter.utf8(ListOfStringSignature)));
+			}
+			deprecatedOrAnnotated(constantPoolWriter, attributes);
+			attributes.writeTo(bodyOutputStream);
+
+			if (isStatic)
+			{
+				staticFields.add(new String[]{name, descriptor});
+			}
+		}
+	}
+
+	private void constantValue(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final Attributes attributes, @NotNull final String descriptor)
+	{
+		final char constantValueIndex;
+		switch (descriptor)
+		{
+			case "I":
+				constantValueIndex = constantPoolWriter.integer(random.nextInt());
+				break;
+
+			case "J":
+				constantValueIndex = constantPoolWriter.longInteger(random.nextLong());
+				break;
+
+			case StringDescriptor:
+				constantValueIndex = constantPoolWriter.string(text());
+				break;
+
+			default:
+				return;
+		}
+		attributes.attribute("ConstantValue", attributeOutputStream -> attributeOutputStream.writeShort(constantValueIndex));
+	}
+
+	private static void writeInstanceInitializer(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final DataOutputStream bodyOutputStream, @NotNull final String internalName) throws IOException
+	{
+		bodyOutputStream.writeShort(AccessPublic);
+		bodyOutputStream.writeShort(constantPoolWriter.utf8(InstanceInitializer));
+		bodyOutputStream.writeShort(constantPoolWriter.utf8(VoidMethodDescriptor));
+
+		final ByteArrayOutputStream code = new ByteArrayOutputStream(8);
+		code.write(aload_0);
+		writeInstruction(code, invokespecial, constantPoolWriter.methodReference(JavaLangObject, InstanceInitializer, VoidMethodDescriptor));
+		final int returnProgramCounter = code.size();
+		code.write(_return);
+
+		final Attributes attributes = new Attributes(constantPoolWriter);
+		code(constantPoolWriter, attributes, code, 1, 1, returnProgramCounter, 1, referenceDescriptor(internalName), Collections.emptyList());
+		attributes.writeTo(bodyOutputStream);
+	}
+
+	private void writeMethod(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final DataOutputStream bodyOutputStream, @NotNull final String internalName, final int index, @NotNull final List<String[]> staticFields) throws IOException
+	{
+		final boolean isStatic = random.nextInt(3) == 0;
+		final boolean isFinal = random.nextInt(4) == 0;
+		final List<String> parameterDescriptors = parameterDescriptors();
+		final String returnDescriptor = returnDescriptor();
+
+		bodyOutputStream.writeShort(pick(Visibilities) | (isStatic ? AccessStatic : 0) | (isFinal ? AccessFinal : 0));
+		bodyOutputStream.writeShort(constantPoolWriter.utf8(identifier(index)));
+		bodyOutputStream.writeShort(constantPoolWriter.utf8(methodDescriptor(parameterDescriptors, returnDescriptor)));
+
+		final ByteArrayOutputStream code = new ByteArrayOutputStream(32);
+		writeInstruction(code, ldc_w, constantPoolWriter.string(text()));
+		code.write(pop);
+		code.write(iconst_1);
+		writeInstruction(code, invokestatic, constantPoolWriter.methodReference("java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;"));
+		code.write(pop);
+		if (!staticFields.isEmpty() && random.nextBoolean())
+		{
+			final String[] staticField = staticFields.get(random.nextInt(staticFields.size()));
+			writeInstruction(code, getstatic, constantPoolWriter.fieldReference(internalName, staticField[0], staticField[1]));
+			code.write(isDoubleWidth(staticField[1]) ? pop2 : pop);
+		}
+		final int returnProgramCounter = code.size();
+		writeReturn(code, returnDescriptor);
+
+		int maximumLocals = isStatic ? 0 : 1;
+		for (final String parameterDescriptor : parameterDescriptors)
+		{
+			maximumLocals += isDoubleWidth(parameterDescriptor) ? 2 : 1;
+		}
+
+		final Attributes attributes = new Attributes(constantPoolWriter);
+		code(constantPoolWriter, attributes, code, 2, maximumLocals, returnProgramCounter, 10 + index * 5, isStatic ? null : referenceDescriptor(internalName), parameterDescriptors);
+		if (random.nextInt(4) == 0)
+		{
+			attributes.attribute("Exceptions", attributeOutputStream ->
+			{
+				attributeOutputStream.writeShort(1);
+				attributeOutputStream.writeShort(constantPoolWriter.type("java/io/IOException"));
+			});
+		}
+		// As javac -parameters emits
+		if (!parameterDescriptors.isEmpty() && random.nextBoolean())
+		{
+			attributes.attribute("MethodParameters", attributeOutputStream ->
+			{
+				attributeOutputStream.writeByte(parameterDescriptors.size());
+				for (int parameterIndex = 0; parameterIndex < parameterDescriptors.size(); parameterIndex++)
+				{
+					attributeOutputStream.writeShort(constantPoolWriter.utf8("parameter" + parameterIndex));
+					attributeOutputStream.writeShort(parameterIndex == 0 && isFinal ? AccessFinal : 0);
+				}
+			});
+		}
+		deprecatedOrAnnotated(constantPoolWriter, attributes);
+		attributes.writeTo(bodyOutputStream);
+	}
+
+	private static void code(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final Attributes attributes, @NotNull final ByteArrayOutputStream code, final int maximumStack, final int maximumLocals, final int returnProgramCounter, final int firstLineNumber, @Nullable final String thisDescriptor, @NotNull final List<String> parameterDescriptors)
+	{
+		attributes.attribute("Code", attributeOutputStream ->
+		{
+			attributeOutputStream.writeShort(maximumStack);
+			attributeOutputStream.writeShort(maximumLocals);
+			attributeOutputStream.writeInt(code.size());
+			code.writeTo(attributeOutputStream);
+			attributeOutputStream.writeShort(0);
+
+			final Attributes codeAttributes = new Attributes(constantPoolWriter);
+			codeAttributes.attribute("LineNumberTable", lineNumberOutputStream ->
+			{
+				lineNumberOutputStream.writeShort(2);
+				lineNumberOutputStream.writeShort(0);
+				lineNumberOutputStream.writeShort(firstLineNumber);
+				lineNumberOutputStream.writeShort(returnProgramCounter);
+				lineNumberOutputStream.writeShort(firstLineNumber + 1);
+			});
+			codeAttributes.attribute("LocalVariableTable", localVariableOutputStream ->
+			{
+				localVariableOutputStream.writeShort(parameterDescriptors.size() + (thisDescriptor == null ? 0 : 1));
+				int localVariableIndex = 0;
+				if (thisDescriptor != null)
+				{
+					writeLocalVariable(constantPoolWriter, localVariableOutputStream, code.size(), "this", thisDescriptor, localVariableIndex++);
+				}
+				int parameterIndex = 0;
+				for (final String parameterDescriptor : parameterDescriptors)
+				{
+					writeLocalVariable(constantPoolWriter, localVariableOutputStream, code.size(), "parameter" + parameterIndex++, parameterDescriptor, localVariableIndex);
+					localVariableIndex += isDoubleWidth(parameterDescriptor) ? 2 : 1;
+				}
+			});
+			codeAttributes.writeTo(attributeOutputStream);
+		});
+	}
+
+	private static void writeLocalVariable(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final DataOutput localVariableOutputStream, final int codeLength, @NonNls @NotNull final String name, @NonNls @NotNull final String descriptor, final int localVariableIndex) throws IOException
+	{
+		localVariableOutputStream.writeShort(0);
+		localVariableOutputStream.writeShort(codeLength);
+		localVariableOutputStream.writeShort(constantPoolWriter.utf8(name));
+		localVariableOutputStream.writeShort(constantPoolWriter.utf8(descriptor));
+		localVariableOutputStream.writeShort(localVariableIndex);
+	}
+
+	private static void writeReturn(@NotNull final ByteArrayOutputStream code, @NotNull final String returnDescriptor)
+	{
+		switch (returnDescriptor.charAt(0))
+		{
+			case 'V':
+				code.write(_return);
+				break;
+
+			case 'J':
+				code.write(lconst_0);
+				code.write(lreturn);
+				break;
+
+			case 'F':
+				code.write(fconst_0);
+				code.write(freturn);
+				break;
+
+			case 'D':
+				code.write(dconst_0);
+				code.write(dreturn);
+				break;
+
+			case 'L':
+			case '[':
+				code.write(aconst_null);
+				code.write(areturn);
+				break;
+
+			default:
+				code.write(iconst_0);
+				code.write(ireturn);
+				break;
+		}
+	}
+
+	private static void writeInstruction(@NotNull final ByteArrayOutputStream code, final int opcode, final char constantPoolIndex)
+	{
+		code.write(opcode);
+		code.write(constantPoolIndex >>> 8);
+		code.write(constantPoolIndex & 0xFF);
+	}
+
+	private void deprecatedOrAnnotated(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final Attributes attributes)
+	{
+		if (random.nextInt(20) == 0)
+		{
+			attributes.attribute("Deprecated", attributeOutputStream -> {});
+		}
+		if (random.nextInt(5) == 0)
+		{
+			runtimeVisibleAnnotations(constantPoolWriter, attributes);
+		}
+	}
+
+	private void runtimeVisibleAnnotations(@NotNull final ConstantPoolWriter constantPoolWriter, @NotNull final Attributes attributes)
+	{
+		final char value = constantPoolWriter.integer(random.nextInt(1024));
+		final char description = constantPoolWriter.utf8(text());
+		attributes.attribute("RuntimeVisibleAnnotations", attributeOutputStream ->
+		{
+			attributeOutputStream.writeShort(1);
+			attributeOutputStream.writeShort(constantPoolWriter.utf8(MarkerAnnotationDescriptor));
+			attributeOutputStream.writeShort(2);
+			attributeOutputStream.writeShort(constantPoolWriter.utf8("value"));
+			attributeOutputStream.writeByte('I');
+			attributeOutputStream.writeShort(value);
+			attributeOutputStream.writeShort(constantPoolWriter.utf8("description"));
+			attributeOutputStream.writeByte('s');
+			attributeOutputStream.writeShort(description);
+		});
+	}
+
+	@NotNull
+	private List<String> parameterDescriptors()
+	{
+		final int numberOfParameters = random.nextInt(6);
+		final List<String> parameterDescriptors = new ArrayList<>(numberOfParameters);
+		for (int index = 0; index < numberOfParameters; index++)
+		{
+			parameterDescriptors.add(fieldDescriptor());
+		}
+		return parameterDescriptors;
+	}
+
+	@NotNull
+	private String returnDescriptor()
+	{
+		return random.nextInt(3) == 0 ? "V" : fieldDescriptor();
+	}
+
+	@NotNull
+	private static String methodDescriptor(@NotNull final Iterable<String> parameterDescriptors, @NotNull final String returnDescriptor)
+	{
+		final StringBuilder methodDescriptor = new StringBuilder(64).append('(');
+		for (final String parameterDescriptor : parameterDescriptors)
+		{
+			methodDescriptor.append(parameterDescriptor);
+		}
+		return methodDescriptor.append(')').append(returnDescriptor).toString();
+	}
+
+	@NotNull
+	private static String referenceDescriptor(@NotNull final String internalName)
+	{
+		return 'L' + internalName + ';';
+	}
+
+	@NotNull
+	private String identifier(final int index)
+	{
+		return pick(IdentifierStems) + index;
+	}
+
+	private static boolean isDoubleWidth(@NotNull final String descriptor)
+	{
+		return descriptor.equals("J") || descriptor.equals("D");
+	}
+
+	@NotNull
+	private <T> T pick(@NotNull final T[] values)
+	{
+		return values[random.nextInt(values.length)];
+	}
+
+	private int pick(@NotNull final int[] values)
+	{
+		return values[random.nextInt(values.length)];
+	}
+
+	private static final class Attributes
+	{
+		@NotNull private final ConstantPoolWriter constantPoolWriter;
+		@NotNull private final ByteArrayOutputStream attributes;
+		@NotNull private final DataOutputStream attributesOutputStream;
+		private int count;
+
+		private Attributes(@NotNull final ConstantPoolWriter constantPoolWriter)
+		{
+			this.constantPoolWriter = constantPoolWriter;
+			attributes = new ByteArrayOutputStream(256);
+			attributesOutputStream = new DataOutputStream(attributes);
+			count = 0;
+		}
+
+		private void attribute(@NonNls @NotNull final String name, @NotNull final AttributeWriter attributeWriter)
+		{
+			final ByteArrayOutputStream attribute = new ByteArrayOutputStream(64);
+			try
+			{
+				attributeWriter.write(new DataOutputStream(attribute));
+				attributesOutputStream.writeShort(constantPoolWriter.utf8(name));
+				attributesOutputStream.writeInt(attribute.size());
+				attribute.writeTo(attributesOutputStream);
+			}
+			catch (final IOException e)
+			{
+				throw new IllegalStateException("Could not write attribute", e);
+			}
+			count++;
+		}
+
+		private void writeTo(@NotNull final DataOutputStream dataOutputStream) throws IOException
+		{
+			dataOutputStream.writeShort(count);
+			attributes.writeTo(dataOutputStream);
+		}
+	}
+
+	@FunctionalInterface
+	private interface AttributeWriter
+	{
+		void write(@NotNull final DataOutputStream attributeOutputStream) throws IOException;
+	}
+}
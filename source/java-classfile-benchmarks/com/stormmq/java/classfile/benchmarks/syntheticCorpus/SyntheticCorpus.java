@@ -0,0 +1,112 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks.syntheticCorpus;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.file.Files.*;
+
+// A corpus of loose class files and a jar, so that end-to-end runs need neither a network nor a particular JDK's rt.jar
+public final class SyntheticCorpus
+{
+	public static final long DefaultSeed = 42L;
+	private static final int NumberOfPackages = 16;
+
+	@NotNull
+	public static List<SyntheticClassFile> syntheticClassFiles(final long seed, final int numberOfClassFiles)
+	{
+		final SyntheticClassFileGenerator syntheticClassFileGenerator = new SyntheticClassFileGenerator(seed);
+		final List<SyntheticClassFile> syntheticClassFiles = new ArrayList<>(numberOfClassFiles);
+		for (int index = 0; index < numberOfClassFiles; index++)
+		{
+			syntheticClassFiles.add(syntheticClassFileGenerator.classFile("synthetic/package" + index % NumberOfPackages + "/Type" + index));
+		}
+		return syntheticClassFiles;
+	}
+
+	// Returns the paths to process: a folder of loose class files and a jar of different class files
+	@NotNull
+	public static List<Path> writeSyntheticCorpus(@NotNull final Path corpusFolderPath, final long seed, final int numberOfLooseClassFiles, final int numberOfClassFilesInJar) throws IOException
+	{
+		final List<SyntheticClassFile> syntheticClassFiles = syntheticClassFiles(seed, numberOfLooseClassFiles + numberOfClassFilesInJar);
+
+		final Path classesFolderPath = corpusFolderPath.resolve("classes");
+		for (final SyntheticClassFile syntheticClassFile : syntheticClassFiles.subList(0, numberOfLooseClassFiles))
+		{
+			final Path classFilePath = classesFolderPath.resolve(syntheticClassFile.relativeFilePath());
+			createDirectories(classFilePath.getParent());
+			write(classFilePath, syntheticClassFile.bytes);
+		}
+
+		final Path jarFilePath = corpusFolderPath.resolve("synthetic.jar");
+		try (final ZipOutputStream zipOutputStream = new ZipOutputStream(newOutputStream(jarFilePath)))
+		{
+			for (final SyntheticClassFile syntheticClassFile : syntheticClassFiles.subList(numberOfLooseClassFiles, syntheticClassFiles.size()))
+			{
+				zipOutputStream.putNextEntry(new ZipEntry(syntheticClassFile.relativeFilePath()));
+				zipOutputStream.write(syntheticClassFile.bytes);
+				zipOutputStream.closeEntry();
+			}
+		}
+
+		return Arrays.asList(classesFolderPath, jarFilePath);
+	}
+
+	public static void deleteSyntheticCorpus(@NotNull final Path corpusFolderPath) throws IOException
+	{
+		walkFileTree(corpusFolderPath, new SimpleFileVisitor<Path>()
+		{
+			@NotNull
+			@Override
+			public FileVisitResult visitFile(@NotNull final Path file, @NotNull final BasicFileAttributes attrs) throws IOException
+			{
+				delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@NotNull
+			@Override
+			public FileVisitResult postVisitDirectory(@NotNull final Path dir, @Nullable final IOException exc) throws IOException
+			{
+				if (exc != null)
+				{
+					throw exc;
+				}
+				delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private SyntheticCorpus()
+	{
+	}
+}
@@ -0,0 +1,70 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.benchmarks.syntheticCorpus;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+// Each kind of text has a different mix of one, two, three and six (surrogate pair) byte Modified UTF-8 encodings
+public enum SyntheticText
+{
+	Ascii(0x20, 0x7E),
+	Latin(0x00A0, 0x024F),
+	Cyrillic(0x0400, 0x04FF),
+	Cjk(0x4E00, 0x9FFF),
+	Supplementary(0x1F300, 0x1F5FF),
+	;
+
+	private static final int OneInHowManyIsAscii = 4;
+
+	private final int lowestInclusiveCodePoint;
+	private final int highestInclusiveCodePoint;
+
+	SyntheticText(final int lowestInclusiveCodePoint, final int highestInclusiveCodePoint)
+	{
+		this.lowestInclusiveCodePoint = lowestInclusiveCodePoint;
+		this.highestInclusiveCodePoint = highestInclusiveCodePoint;
+	}
+
+	// Real strings are rarely purely non-ASCII, so non-ASCII text is interspersed with ASCII, including the NUL character (which Modified UTF-8 encodes in two bytes)
+	@NotNull
+	public String text(@NotNull final Random random, final int numberOfCodePoints)
+	{
+		final StringBuilder text = new StringBuilder(numberOfCodePoints * 2);
+		for (int index = 0; index < numberOfCodePoints; index++)
+		{
+			final int codePoint;
+			if (this != Ascii && random.nextInt(OneInHowManyIsAscii) == 0)
+			{
+				codePoint = random.nextInt(128);
+			}
+			else
+			{
+				codePoint = lowestInclusiveCodePoint + random.nextInt(highestInclusiveCodePoint - lowestInclusiveCodePoint + 1);
+			}
+			text.appendCodePoint(codePoint);
+		}
+		return text.toString();
+	}
+}
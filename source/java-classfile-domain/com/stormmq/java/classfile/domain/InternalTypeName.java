@@ -22,25 +22,29 @@
 
 package com.stormmq.java.classfile.domain;
 
+import com.stormmq.java.parsing.utilities.names.InternedSymbol;
+import com.stormmq.java.parsing.utilities.names.SymbolTable;
 import com.stormmq.java.parsing.utilities.names.typeNames.TypeName;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.*;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 import static com.stormmq.java.parsing.utilities.names.typeNames.VoidTypeName._void;
 
-public final class InternalTypeName implements Comparable<InternalTypeName>
+public final class InternalTypeName implements Comparable<InternalTypeName>, Serializable, InternedSymbol
 {
+	private static final long serialVersionUID = 1L;
+
 	public static final int MaximumArrayDimensions = 255;
-	@NotNull public static final InternalTypeName VoidInternalTypeName = new InternalTypeName(_void, 0);
+	@NotNull private static final SymbolTable<Key, InternalTypeName> Symbols = new SymbolTable<>(16384);
+	@NotNull public static final InternalTypeName VoidInternalTypeName = internalTypeName(_void, 0);
 	@NotNull public static final InternalTypeName[] EmptyInternalTypeNames = new InternalTypeName[0];
 
-	@NotNull private final TypeName typeName;
-	private final int arrayDimensions;
-
-	public InternalTypeName(@NotNull final TypeName typeName, final int arrayDimensions)
+	@NotNull
+	public static InternalTypeName internalTypeName(@NotNull final TypeName typeName, final int arrayDimensions)
 	{
 		if (arrayDimensions < 0)
 		{
@@ -57,8 +61,31 @@ public final class InternalTypeName implements Comparable<InternalTypeName>
 			throw new IllegalArgumentException(Formatting.format("void can not have arrayDimensions other than zero (and certainly not '%1$s')", arrayDimensions));
 		}
 
-		this.typeName = typeName;
-		this.arrayDimensions = arrayDimensions;
+		return Symbols.intern(new Key(typeName, arrayDimensions), InternalTypeName::new);
+	}
+
+	public static int numberOfInternalTypeNames()
+	{
+		return Symbols.size();
+	}
+
+	@NotNull private final TypeName typeName;
+	private final int arrayDimensions;
+	private final transient int identifier;
+	private final transient int hashCode;
+
+	private InternalTypeName(@NotNull final Key key, final int identifier)
+	{
+		typeName = key.typeName;
+		arrayDimensions = key.arrayDimensions;
+		this.identifier = identifier;
+		hashCode = key.hashCode();
+	}
+
+	@NotNull
+	private Object readResolve()
+	{
+		return internalTypeName(typeName, arrayDimensions);
 	}
 
 	@Override
@@ -94,39 +121,21 @@ public final class InternalTypeName implements Comparable<InternalTypeName>
 		return Formatting.format("%1$s(%2$s, %3$s)", getClass().getSimpleName(), typeName, arrayDimensions);
 	}
 
-	@SuppressWarnings("RedundantIfStatement")
 	@Override
 	public boolean equals(@Nullable final Object o)
 	{
-		if (this == o)
-		{
-			return true;
-		}
-		if (o == null || getClass() != o.getClass())
-		{
-			return false;
-		}
-
-		final InternalTypeName that = (InternalTypeName) o;
-
-		if (arrayDimensions != that.arrayDimensions)
-		{
-			return false;
-		}
-		if (!typeName.equals(that.typeName))
-		{
-			return false;
-		}
-
-		return true;
+		return this == o;
 	}
 
 	@Override
 	public int hashCode()
 	{
-		int result = typeName.hashCode();
-		result = 31 * result + arrayDimensions;
-		return result;
+		return hashCode;
+	}
+
+	public int identifier()
+	{
+		return identifier;
 	}
 
 	@NotNull
@@ -161,4 +170,51 @@ public final class InternalTypeName implements Comparable<InternalTypeName>
 	{
 		return typeName.name() + '-' + arrayDimensions;
 	}
+
+	private static final class Key
+	{
+		@NotNull private final TypeName typeName;
+		private final int arrayDimensions;
+
+		private Key(@NotNull final TypeName typeName, final int arrayDimensions)
+		{
+			this.typeName = typeName;
+			this.arrayDimensions = arrayDimensions;
+		}
+
+		@SuppressWarnings("RedundantIfStatement")
+		@Override
+		public boolean equals(@Nullable final Object o)
+		{
+			if (this == o)
+			{
+				return true;
+			}
+			if (o == null || getClass() != o.getClass())
+			{
+				return false;
+			}
+
+			final Key that = (Key) o;
+
+			if (arrayDimensions != that.arrayDimensions)
+			{
+				return false;
+			}
+			if (!typeName.equals(that.typeName))
+			{
+				return false;
+			}
+
+			return true;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			int result = typeName.hashCode();
+			result = 31 * result + arrayDimensions;
+			return result;
+		}
+	}
 }
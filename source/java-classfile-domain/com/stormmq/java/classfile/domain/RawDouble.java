@@ -22,11 +22,15 @@
 
 package com.stormmq.java.classfile.domain;
 
+import java.io.Serializable;
+
 import static java.lang.Double.longBitsToDouble;
 
 // This class exists because Double.longBitsToDouble() loses signalling NaN information that needs to be preserved
-public final class RawDouble
+public final class RawDouble implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final long doubleValueAsRawLongBitsAsJavaLosesNaNInformationOnConversion;
 
 	public RawDouble(final long doubleValueAsRawLongBitsAsJavaLosesNaNInformationOnConversion)
@@ -24,14 +24,18 @@ package com.stormmq.java.classfile.domain.attributes;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.nio.ByteBuffer;
+import java.io.Serializable;
 
-public final class UnknownAttributeData
+public final class UnknownAttributeData implements Serializable
 {
-	@SuppressWarnings("WeakerAccess") @NotNull public final ByteBuffer[] dataItems;
+	private static final long serialVersionUID = 1L;
 
-	public UnknownAttributeData(@NotNull final ByteBuffer... dataItems)
+	// A copy, as a ByteBuffer is not serializable and a slice would retain the whole class file
+	@SuppressWarnings("WeakerAccess") @NotNull public final byte[] data;
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	public UnknownAttributeData(@NotNull final byte[] data)
 	{
-		this.dataItems = dataItems;
+		this.data = data;
 	}
 }
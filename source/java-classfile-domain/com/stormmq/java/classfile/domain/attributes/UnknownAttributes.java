@@ -24,12 +24,15 @@ package com.stormmq.java.classfile.domain.attributes;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.*;
 
 import static java.util.Collections.*;
 
-public final class UnknownAttributes
+public final class UnknownAttributes implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private static final List<UnknownAttributeData> Empty = emptyList();
 
 	@NotNull private final Map<String, List<UnknownAttributeData>> attributes;
@@ -29,12 +29,15 @@ import com.stormmq.java.classfile.domain.names.MethodName;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Map;
 
 import static com.stormmq.string.Formatting.format;
 
-public final class AnnotationValue
+public final class AnnotationValue implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final AnnotationValue[] EmptyAnnotationValues = {};
 	@NotNull public static final AnnotationValue[][] EmptyParameterAnnotations = new AnnotationValue[0][0];
 
@@ -29,21 +29,25 @@ import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.Kno
 import com.stormmq.string.AbstractToString;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.lang.annotation.RetentionPolicy;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Supplier;
 
 import static com.stormmq.functions.collections.MapHelper.putOnce;
+import static com.stormmq.java.classfile.domain.names.MethodName.methodName;
 import static com.stormmq.string.StringConstants.DefaultAnnotationMemberName;
 import static java.util.Collections.emptyMap;
 
-public final class AnnotationValues extends AbstractToString
+public final class AnnotationValues extends AbstractToString implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final AnnotationValues[] NoAnnotationValues = {};
 	@NotNull public static final Map<KnownReferenceTypeName, RetentionPolicyAndValues> Empty = emptyMap();
 	@NotNull public static final AnnotationValues EmptyAnnotationValues = new AnnotationValues(Empty);
-	@NotNull private static final MethodName ValueMethodName = new MethodName(DefaultAnnotationMemberName);
+	@NotNull private static final MethodName ValueMethodName = methodName(DefaultAnnotationMemberName);
 
 	@NotNull
 	public static Map<KnownReferenceTypeName, RetentionPolicyAndValues> convertAnnotationValues(@NotNull final RetentionPolicy ofRetentionPolicy, @NotNull final AnnotationValue... annotationValues) throws InvalidInternalTypeNameException, DuplicateAnnotationValueException
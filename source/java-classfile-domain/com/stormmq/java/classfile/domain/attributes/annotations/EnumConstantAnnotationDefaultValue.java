@@ -26,8 +26,12 @@ import com.stormmq.java.classfile.domain.names.FieldName;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.NotNull;
 
-public final class EnumConstantAnnotationDefaultValue
+import java.io.Serializable;
+
+public final class EnumConstantAnnotationDefaultValue implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final KnownReferenceTypeName enumTypeName;
 	@NotNull private final FieldName enumConstantName;
 
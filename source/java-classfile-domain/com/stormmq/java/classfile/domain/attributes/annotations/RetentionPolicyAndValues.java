@@ -25,11 +25,14 @@ package com.stormmq.java.classfile.domain.attributes.annotations;
 import com.stormmq.java.classfile.domain.names.MethodName;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.lang.annotation.RetentionPolicy;
 import java.util.Map;
 
-public final class RetentionPolicyAndValues
+public final class RetentionPolicyAndValues implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final RetentionPolicy retentionPolicy;
 	@NotNull private final Map<MethodName, Object> values;
 
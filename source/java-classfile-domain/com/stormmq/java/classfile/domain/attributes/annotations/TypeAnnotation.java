@@ -28,8 +28,12 @@ import com.stormmq.string.AbstractToString;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
-public final class TypeAnnotation extends AbstractToString
+import java.io.Serializable;
+
+public final class TypeAnnotation extends AbstractToString implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final TypeAnnotation[] EmptyTypeAnnotations = {};
 
 	@NotNull public final TargetType targetType;
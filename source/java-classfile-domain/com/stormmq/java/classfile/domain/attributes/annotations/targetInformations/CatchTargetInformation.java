@@ -24,8 +24,12 @@ package com.stormmq.java.classfile.domain.attributes.annotations.targetInformati
 
 import org.jetbrains.annotations.NotNull;
 
-public final class CatchTargetInformation implements TargetInformation
+import java.io.Serializable;
+
+public final class CatchTargetInformation implements TargetInformation, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private static final CatchTargetInformation[] Cache = createCache();
 
 	@NotNull
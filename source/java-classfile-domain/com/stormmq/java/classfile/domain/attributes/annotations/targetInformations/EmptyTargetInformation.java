@@ -24,8 +24,12 @@ package com.stormmq.java.classfile.domain.attributes.annotations.targetInformati
 
 import org.jetbrains.annotations.*;
 
-public final class EmptyTargetInformation implements TargetInformation
+import java.io.Serializable;
+
+public final class EmptyTargetInformation implements TargetInformation, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final TargetInformation EmptyTarget = new EmptyTargetInformation();
 
 	private EmptyTargetInformation()
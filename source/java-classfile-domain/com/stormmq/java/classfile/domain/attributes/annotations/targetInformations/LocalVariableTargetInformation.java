@@ -24,8 +24,12 @@ package com.stormmq.java.classfile.domain.attributes.annotations.targetInformati
 
 import org.jetbrains.annotations.NotNull;
 
-public final class LocalVariableTargetInformation implements TargetInformation
+import java.io.Serializable;
+
+public final class LocalVariableTargetInformation implements TargetInformation, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final TargetInformation EmptyLocalVariableTargetInformation = new LocalVariableTargetInformation();
 
 	@NotNull private final LocalVariableTargetInformationItem[] localVariableTargetInformationItems;
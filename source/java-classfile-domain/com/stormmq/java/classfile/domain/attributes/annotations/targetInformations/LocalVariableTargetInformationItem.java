@@ -22,8 +22,12 @@
 
 package com.stormmq.java.classfile.domain.attributes.annotations.targetInformations;
 
-public final class LocalVariableTargetInformationItem
+import java.io.Serializable;
+
+public final class LocalVariableTargetInformationItem implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final char startProgramCount;
 	private final char length;
 	private final char index;
@@ -24,8 +24,12 @@ package com.stormmq.java.classfile.domain.attributes.annotations.targetInformati
 
 import org.jetbrains.annotations.NotNull;
 
-public final class ThrowsTypeTargetInformation implements TargetInformation
+import java.io.Serializable;
+
+public final class ThrowsTypeTargetInformation implements TargetInformation, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private static final ThrowsTypeTargetInformation[] Cache = createCache();
 
 	@NotNull
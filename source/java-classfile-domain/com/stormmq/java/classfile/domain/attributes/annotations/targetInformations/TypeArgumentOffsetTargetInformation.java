@@ -22,8 +22,12 @@
 
 package com.stormmq.java.classfile.domain.attributes.annotations.targetInformations;
 
-public final class TypeArgumentOffsetTargetInformation implements TargetInformation
+import java.io.Serializable;
+
+public final class TypeArgumentOffsetTargetInformation implements TargetInformation, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final char offsetIndex;
 	private final short typeArgumentIndex;
 
@@ -22,8 +22,12 @@
 
 package com.stormmq.java.classfile.domain.attributes.annotations.targetInformations;
 
-public final class TypeParameterBoundTargetInformation implements TargetInformation
+import java.io.Serializable;
+
+public final class TypeParameterBoundTargetInformation implements TargetInformation, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final short typeParameterIndex;
 	private final short boundIndex;
 
@@ -25,8 +25,12 @@ package com.stormmq.java.classfile.domain.attributes.annotations.typePathElement
 import com.stormmq.string.AbstractToString;
 import org.jetbrains.annotations.NotNull;
 
-public final class AnnotationIsOnATypeArgumentOfAParameterizedTypeTypePathElement extends AbstractToString implements TypePathElement
+import java.io.Serializable;
+
+public final class AnnotationIsOnATypeArgumentOfAParameterizedTypeTypePathElement extends AbstractToString implements TypePathElement, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private static final AnnotationIsOnATypeArgumentOfAParameterizedTypeTypePathElement[] Cache = cacheAllCombinations();
 
 	@NotNull
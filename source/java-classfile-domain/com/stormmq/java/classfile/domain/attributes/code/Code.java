@@ -26,35 +26,42 @@ import com.stormmq.java.classfile.domain.attributes.UnknownAttributes;
 import com.stormmq.java.classfile.domain.attributes.annotations.TypeAnnotation;
 import com.stormmq.java.classfile.domain.attributes.code.codeReaders.ByteBufferCodeReader;
 import com.stormmq.java.classfile.domain.attributes.code.codeReaders.CodeReader;
+import com.stormmq.java.classfile.domain.attributes.code.codeReaders.InstructionCursor;
 import com.stormmq.java.classfile.domain.attributes.code.constants.RuntimeConstantPool;
+import com.stormmq.java.classfile.domain.attributes.code.controlFlow.ControlFlowGraph;
+import com.stormmq.java.classfile.domain.attributes.code.controlFlow.InvalidControlFlowException;
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.*;
 import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
 import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.OpcodeParser;
 import com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStack;
-import com.stormmq.java.classfile.domain.attributes.code.operandStack.TrackingOperandStack;
+import com.stormmq.java.classfile.domain.attributes.code.operandStack.TaggedOperandStack;
 import com.stormmq.java.classfile.domain.attributes.code.stackMapFrames.StackMapFrame;
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.nio.ByteBuffer;
-import java.util.Map;
 import java.util.Set;
 
+import static com.stormmq.java.classfile.domain.attributes.code.controlFlow.ControlFlowGraphBuilder.buildControlFlowGraph;
 import static com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.OpcodeParser.chooseOpcodeParsers;
-import static java.util.Collections.emptySet;
+import static java.nio.ByteBuffer.wrap;
 
-public final class Code
+public final class Code implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public static final long MaximumCodeLength = 65535L;
-	@NotNull private static final Set<Character> NoLineNumbers = emptySet();
 
 	private final char maximumDepthOfTheOperandStackOfTheMethod;
 	private final char maximumLocals;
 	private final long codeLength;
 	@NotNull private final ByteBuffer code;
 	@NotNull private final ExceptionCode[] exceptionCode;
-	private final Map<Character, Set<Character>> programCounterToLineNumberEntryMap;
+	@NotNull private final LineNumberTable lineNumberTable;
 	private final LocalVariables localVariables;
 	private final StackMapFrame[] stackMapFrames;
 	@NotNull private final UnknownAttributes unknownAttributes;
@@ -63,7 +70,7 @@ public final class Code
 	private final boolean opcode186IsPermittedBecauseThisIsForJava7OrLater;
 	@NotNull private final RuntimeConstantPool runtimeConstantPool;
 
-	public Code(@NotNull final RuntimeConstantPool runtimeConstantPool, final char maximumDepthOfTheOperandStackOfTheMethod, final char maximumLocals, final long codeLength, @NotNull final ByteBuffer code, @NotNull final ExceptionCode[] exceptionCode, @NotNull final Map<Character, Set<Character>> programCounterToLineNumberEntryMap, @NotNull final LocalVariables localVariables, final StackMapFrame[] stackMapFrames, @NotNull final UnknownAttributes unknownAttributes, @NotNull final TypeAnnotation[] visibleTypeAnnotations, @NotNull final TypeAnnotation[] invisibleTypeAnnotations, final boolean opcode186IsPermittedBecauseThisIsForJava7OrLater)
+	public Code(@NotNull final RuntimeConstantPool runtimeConstantPool, final char maximumDepthOfTheOperandStackOfTheMethod, final char maximumLocals, final long codeLength, @NotNull final ByteBuffer code, @NotNull final ExceptionCode[] exceptionCode, @NotNull final LineNumberTable lineNumberTable, @NotNull final LocalVariables localVariables, final StackMapFrame[] stackMapFrames, @NotNull final UnknownAttributes unknownAttributes, @NotNull final TypeAnnotation[] visibleTypeAnnotations, @NotNull final TypeAnnotation[] invisibleTypeAnnotations, final boolean opcode186IsPermittedBecauseThisIsForJava7OrLater)
 	{
 		this.runtimeConstantPool = runtimeConstantPool;
 		if (codeLength <= 0L)
@@ -81,7 +88,7 @@ public final class Code
 		this.codeLength = codeLength;
 		this.code = code;
 		this.exceptionCode = exceptionCode;
-		this.programCounterToLineNumberEntryMap = programCounterToLineNumberEntryMap;
+		this.lineNumberTable = lineNumberTable;
 		this.localVariables = localVariables;
 		this.stackMapFrames = stackMapFrames;
 		this.unknownAttributes = unknownAttributes;
@@ -90,10 +97,44 @@ public final class Code
 		this.opcode186IsPermittedBecauseThisIsForJava7OrLater = opcode186IsPermittedBecauseThisIsForJava7OrLater;
 	}
 
+	public long codeLength()
+	{
+		return codeLength;
+	}
+
+	@NotNull
+	public LineNumberTable lineNumberTable()
+	{
+		return lineNumberTable;
+	}
+
+	// Each cursor has its own view of the code, so cursors may be used concurrently
+	@NotNull
+	public InstructionCursor instructionCursor()
+	{
+		return new InstructionCursor(code.duplicate(), (int) codeLength, opcode186IsPermittedBecauseThisIsForJava7OrLater);
+	}
+
+	@NotNull
+	public ControlFlowGraph controlFlowGraph() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		return buildControlFlowGraph(instructionCursor(), (int) codeLength, exceptionCode);
+	}
+
 	public void parseCode(final boolean isStrictFloatingPoint) throws InvalidOpcodeException, UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException, OverflowInvalidOperandStackException
 	{
-		final OperandStack operandStack = new TrackingOperandStack(maximumDepthOfTheOperandStackOfTheMethod);
+		parseCode(isStrictFloatingPoint, newTaggedOperandStack());
+	}
+
+	@NotNull
+	public TaggedOperandStack newTaggedOperandStack()
+	{
+		return new TaggedOperandStack(maximumDepthOfTheOperandStackOfTheMethod);
+	}
 
+	// The operandStack must be empty and have room for this method's maximum depth (eg from newTaggedOperandStack())
+	public void parseCode(final boolean isStrictFloatingPoint, @NotNull final OperandStack operandStack) throws InvalidOpcodeException, UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException, OverflowInvalidOperandStackException
+	{
 		final OpcodeParser[] opcodeParsers = chooseOpcodeParsers(opcode186IsPermittedBecauseThisIsForJava7OrLater, isStrictFloatingPoint);
 
 		code.position(0);
@@ -113,7 +154,7 @@ public final class Code
 				throw new NotEnoughBytesInvalidOperandStackException(futureProgramCounter - codeLength);
 			}
 
-			final Set<Character> lineNumbers = programCounterToLineNumberEntryMap.getOrDefault(programCounter, NoLineNumbers);
+			final Set<Character> lineNumbers = lineNumberTable.lineNumbersAt(programCounter);
 			final Set<LocalVariableAtProgramCounter> localVariablesAtProgramCounter = localVariables.getForProgramCounter(programCounter, length);
 
 			opcodeParser.parse(operandStack, codeReader, lineNumbers, localVariablesAtProgramCounter, runtimeConstantPool);
@@ -121,4 +162,62 @@ public final class Code
 		}
 		while (programCounter != codeLength);
 	}
+
+	// A ByteBuffer is not serializable, so Code is serialized as a CodeSerializationProxy
+	@NotNull
+	private Object writeReplace()
+	{
+		return new CodeSerializationProxy(this);
+	}
+
+	@SuppressWarnings("unused")
+	private void readObject(@NotNull final ObjectInputStream objectInputStream) throws InvalidObjectException
+	{
+		throw new InvalidObjectException("Code must be deserialized from a CodeSerializationProxy");
+	}
+
+	private static final class CodeSerializationProxy implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		@NotNull private final RuntimeConstantPool runtimeConstantPool;
+		private final char maximumDepthOfTheOperandStackOfTheMethod;
+		private final char maximumLocals;
+		private final long codeLength;
+		@NotNull private final byte[] code;
+		@NotNull private final ExceptionCode[] exceptionCode;
+		@NotNull private final LineNumberTable lineNumberTable;
+		@NotNull private final LocalVariables localVariables;
+		private final StackMapFrame[] stackMapFrames;
+		@NotNull private final UnknownAttributes unknownAttributes;
+		@NotNull private final TypeAnnotation[] visibleTypeAnnotations;
+		@NotNull private final TypeAnnotation[] invisibleTypeAnnotations;
+		private final boolean opcode186IsPermittedBecauseThisIsForJava7OrLater;
+
+		private CodeSerializationProxy(@NotNull final Code code)
+		{
+			runtimeConstantPool = code.runtimeConstantPool;
+			maximumDepthOfTheOperandStackOfTheMethod = code.maximumDepthOfTheOperandStackOfTheMethod;
+			maximumLocals = code.maximumLocals;
+			codeLength = code.codeLength;
+			final ByteBuffer duplicate = code.code.duplicate();
+			duplicate.clear();
+			this.code = new byte[duplicate.remaining()];
+			duplicate.get(this.code);
+			exceptionCode = code.exceptionCode;
+			lineNumberTable = code.lineNumberTable;
+			localVariables = code.localVariables;
+			stackMapFrames = code.stackMapFrames;
+			unknownAttributes = code.unknownAttributes;
+			visibleTypeAnnotations = code.visibleTypeAnnotations;
+			invisibleTypeAnnotations = code.invisibleTypeAnnotations;
+			opcode186IsPermittedBecauseThisIsForJava7OrLater = code.opcode186IsPermittedBecauseThisIsForJava7OrLater;
+		}
+
+		@NotNull
+		private Object readResolve()
+		{
+			return new Code(runtimeConstantPool, maximumDepthOfTheOperandStackOfTheMethod, maximumLocals, codeLength, wrap(code), exceptionCode, lineNumberTable, localVariables, stackMapFrames, unknownAttributes, visibleTypeAnnotations, invisibleTypeAnnotations, opcode186IsPermittedBecauseThisIsForJava7OrLater);
+		}
+	}
 }
@@ -26,8 +26,12 @@ import com.stormmq.java.classfile.domain.InternalTypeName;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public final class ExceptionCode
+import java.io.Serializable;
+
+public final class ExceptionCode implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final ExceptionCode[] EmptyExceptionCodes = {};
 
 	private final char startProgramCount;
@@ -42,4 +46,27 @@ public final class ExceptionCode
 		this.handlerProgramCount = handlerProgramCount;
 		this.catchInternalTypeName = catchInternalTypeName;
 	}
+
+	public char startProgramCount()
+	{
+		return startProgramCount;
+	}
+
+	// Exclusive
+	public char endProgramCount()
+	{
+		return endProgramCount;
+	}
+
+	public char handlerProgramCount()
+	{
+		return handlerProgramCount;
+	}
+
+	// Null catches any Throwable (eg for finally)
+	@Nullable
+	public InternalTypeName catchInternalTypeName()
+	{
+		return catchInternalTypeName;
+	}
 }
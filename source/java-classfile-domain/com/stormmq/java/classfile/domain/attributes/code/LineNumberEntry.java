@@ -22,12 +22,12 @@
 
 package com.stormmq.java.classfile.domain.attributes.code;
 
-import org.jetbrains.annotations.NotNull;
+import java.io.Serializable;
 
-import java.util.*;
-
-public final class LineNumberEntry
+public final class LineNumberEntry implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final char startProgramCounter;
 	private final char lineNumber;
 
@@ -42,8 +42,8 @@ public final class LineNumberEntry
 		return startProgramCounter >= codeLength;
 	}
 
-	public void add(@NotNull final Map<Character, Set<Character>> programCounterToLineNumberEntryMap)
+	long sortKey(final int programCounterShift)
 	{
-		programCounterToLineNumberEntryMap.computeIfAbsent(startProgramCounter, character -> new HashSet<>(1)).add(lineNumber);
+		return ((long) startProgramCounter << programCounterShift) | lineNumber;
 	}
 }
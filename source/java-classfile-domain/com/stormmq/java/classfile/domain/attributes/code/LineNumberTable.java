@@ -0,0 +1,248 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static java.util.Arrays.sort;
+import static java.util.Collections.*;
+
+// Entries are sorted by program counter and then line number, with duplicates removed, so look ups are binary searches of primitive arrays rather than of boxed Characters
+public final class LineNumberTable implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	public static final int NoLineNumber = -1;
+	@NotNull public static final LineNumberTable EmptyLineNumberTable = new LineNumberTable();
+	@NotNull private static final Set<Character> NoLineNumbers = emptySet();
+	private static final int ProgramCounterShift = 16;
+	private static final long LineNumberMask = 0xFFFFL;
+
+	@NotNull private final char[] programCounters;
+	@NotNull private final char[] lineNumbers;
+
+	public LineNumberTable(@NotNull final LineNumberEntry... lineNumberEntries)
+	{
+		final int length = lineNumberEntries.length;
+		final long[] sortKeys = new long[length];
+		for (int index = 0; index < length; index++)
+		{
+			sortKeys[index] = lineNumberEntries[index].sortKey(ProgramCounterShift);
+		}
+		sort(sortKeys);
+
+		int size = 0;
+		final char[] programCounters = new char[length];
+		final char[] lineNumbers = new char[length];
+		for (int index = 0; index < length; index++)
+		{
+			final long sortKey = sortKeys[index];
+			if (index != 0 && sortKey == sortKeys[index - 1])
+			{
+				continue;
+			}
+			programCounters[size] = (char) (sortKey >>> ProgramCounterShift);
+			lineNumbers[size] = (char) (sortKey & LineNumberMask);
+			size++;
+		}
+
+		this.programCounters = size == length ? programCounters : Arrays.copyOf(programCounters, size);
+		this.lineNumbers = size == length ? lineNumbers : Arrays.copyOf(lineNumbers, size);
+	}
+
+	public int size()
+	{
+		return programCounters.length;
+	}
+
+	public boolean isEmpty()
+	{
+		return programCounters.length == 0;
+	}
+
+	public char programCounter(final int index)
+	{
+		return programCounters[index];
+	}
+
+	public char lineNumber(final int index)
+	{
+		return lineNumbers[index];
+	}
+
+	// The entries for program counters from inclusive to exclusive are those from firstIndexAtOrAfter(from) inclusive to firstIndexAtOrAfter(to) exclusive
+	public int firstIndexAtOrAfter(final char programCounter)
+	{
+		int low = 0;
+		int high = programCounters.length;
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+			if (programCounters[middle] < programCounter)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	public int firstIndexAfter(final char programCounter)
+	{
+		int low = 0;
+		int high = programCounters.length;
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+			if (programCounters[middle] <= programCounter)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	public boolean hasLineNumbersAt(final char programCounter)
+	{
+		final int index = firstIndexAtOrAfter(programCounter);
+		return index != programCounters.length && programCounters[index] == programCounter;
+	}
+
+	// The line number of the nearest entry at or before programCounter (the greatest, if that entry's program counter has more than one), or NoLineNumber
+	public int lineNumberCovering(final char programCounter)
+	{
+		final int index = firstIndexAfter(programCounter) - 1;
+		if (index < 0)
+		{
+			return NoLineNumber;
+		}
+		return lineNumbers[index];
+	}
+
+	// A view of the entries' primitive line numbers, so nothing is boxed unless it is iterated; the empty set is shared
+	@NotNull
+	public Set<Character> lineNumbersAt(final char programCounter)
+	{
+		final int from = firstIndexAtOrAfter(programCounter);
+		final int to = firstIndexAfter(programCounter);
+		if (from == to)
+		{
+			return NoLineNumbers;
+		}
+		return new LineNumbersAt(lineNumbers, from, to);
+	}
+
+	// An adapter for users of the former program counter to line numbers map; it is built on each call
+	@NotNull
+	public Map<Character, Set<Character>> asMap()
+	{
+		final int length = programCounters.length;
+		if (length == 0)
+		{
+			return emptyMap();
+		}
+
+		final Map<Character, Set<Character>> programCounterToLineNumberEntryMap = new HashMap<>(length);
+		for (int index = 0; index < length; index++)
+		{
+			programCounterToLineNumberEntryMap.computeIfAbsent(programCounters[index], character -> new HashSet<>(1)).add(lineNumbers[index]);
+		}
+		return unmodifiableMap(programCounterToLineNumberEntryMap);
+	}
+
+	// Line numbers are unique within a program counter's entries, as duplicate entries are removed
+	private static final class LineNumbersAt extends AbstractSet<Character>
+	{
+		@NotNull private final char[] lineNumbers;
+		private final int from;
+		private final int to;
+
+		private LineNumbersAt(@NotNull final char[] lineNumbers, final int from, final int to)
+		{
+			this.lineNumbers = lineNumbers;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public int size()
+		{
+			return to - from;
+		}
+
+		@Override
+		public boolean contains(@Nullable final Object o)
+		{
+			if (!(o instanceof Character))
+			{
+				return false;
+			}
+			final char lineNumber = (Character) o;
+			for (int index = from; index < to; index++)
+			{
+				if (lineNumbers[index] == lineNumber)
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@NotNull
+		@Override
+		public Iterator<Character> iterator()
+		{
+			return new Iterator<Character>()
+			{
+				private int index = from;
+
+				@Override
+				public boolean hasNext()
+				{
+					return index < to;
+				}
+
+				@Override
+				public Character next()
+				{
+					if (index == to)
+					{
+						throw new NoSuchElementException();
+					}
+					return lineNumbers[index++];
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,490 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.codeReaders;
+
+import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.NotEnoughBytesInvalidOperandStackException;
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
+import com.stormmq.string.Formatting;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+import static com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.OpcodeParser.*;
+
+// Walks instructions by absolute reads of the code, so a method can be scanned without allocating per instruction
+public final class InstructionCursor
+{
+	private static final byte VariableLength = 0;
+	private static final byte Invalid = -1;
+
+	@NotNull private static final byte[] InstructionLengths = instructionLengths();
+	@NotNull private static final byte[] ConstantPoolIndexWidths = constantPoolIndexWidths();
+
+	@NotNull private final ByteBuffer code;
+	private final int codeLength;
+	private final boolean opcode186IsPermittedBecauseThisIsForJava7OrLater;
+
+	private int programCounter;
+	private int nextProgramCounter;
+	private short opcode;
+	private boolean isWide;
+	private int operandsStart;
+	private int switchTableStart;
+
+	public InstructionCursor(@NotNull final ByteBuffer code, final int codeLength, final boolean opcode186IsPermittedBecauseThisIsForJava7OrLater)
+	{
+		if (codeLength < 0 || codeLength > code.limit())
+		{
+			throw new IllegalArgumentException(Formatting.format("code length '%1$s' must be between zero and the code's limit '%2$s'", codeLength, code.limit()));
+		}
+
+		this.code = code;
+		this.codeLength = codeLength;
+		this.opcode186IsPermittedBecauseThisIsForJava7OrLater = opcode186IsPermittedBecauseThisIsForJava7OrLater;
+		rewind();
+	}
+
+	public void rewind()
+	{
+		programCounter = -1;
+		nextProgramCounter = 0;
+		opcode = -1;
+		isWide = false;
+		operandsStart = 0;
+		switchTableStart = 0;
+	}
+
+	public boolean next() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		if (nextProgramCounter >= codeLength)
+		{
+			programCounter = codeLength;
+			return false;
+		}
+
+		final int start = nextProgramCounter;
+		short currentOpcode = unsigned8BitInteger(start);
+		boolean currentIsWide = false;
+		int currentOperandsStart = start + 1;
+		final long length;
+		switch (InstructionLengths[currentOpcode])
+		{
+			case Invalid:
+				throw invalidOpcode(currentOpcode, start);
+
+			case VariableLength:
+				if (currentOpcode == wide)
+				{
+					requireBytes(start, 2);
+					currentOpcode = unsigned8BitInteger(start + 1);
+					currentIsWide = true;
+					currentOperandsStart = start + 2;
+					length = wideLength(currentOpcode, start);
+				}
+				else
+				{
+					length = switchLength(currentOpcode, start);
+				}
+				break;
+
+			default:
+				if (currentOpcode == invokedynamic && !opcode186IsPermittedBecauseThisIsForJava7OrLater)
+				{
+					throw new InvalidOpcodeException(Formatting.format("The opcode '%1$s' (known as 'invokedynamic') at program counter '%2$s' is not permitted before Java 7", (int) currentOpcode, start));
+				}
+				length = InstructionLengths[currentOpcode];
+		}
+		requireBytes(start, length);
+
+		programCounter = start;
+		nextProgramCounter = (int) (start + length);
+		opcode = currentOpcode;
+		isWide = currentIsWide;
+		operandsStart = currentOperandsStart;
+		return true;
+	}
+
+	public int programCounter()
+	{
+		return programCounter;
+	}
+
+	public int nextProgramCounter()
+	{
+		return nextProgramCounter;
+	}
+
+	public int length()
+	{
+		return nextProgramCounter - programCounter;
+	}
+
+	// For a wide instruction, this is the opcode it modifies
+	public short opcode()
+	{
+		return opcode;
+	}
+
+	public boolean isWide()
+	{
+		return isWide;
+	}
+
+	public short operandU1()
+	{
+		return operandU1(0);
+	}
+
+	public short operandU1(final int operandOffset)
+	{
+		return unsigned8BitInteger(operandsStart + operandOffset);
+	}
+
+	public byte operandS1()
+	{
+		return operandS1(0);
+	}
+
+	public byte operandS1(final int operandOffset)
+	{
+		return code.get(operandsStart + operandOffset);
+	}
+
+	public char operandU2()
+	{
+		return operandU2(0);
+	}
+
+	public char operandU2(final int operandOffset)
+	{
+		return code.getChar(operandsStart + operandOffset);
+	}
+
+	public short operandS2()
+	{
+		return operandS2(0);
+	}
+
+	public short operandS2(final int operandOffset)
+	{
+		return code.getShort(operandsStart + operandOffset);
+	}
+
+	public int operandS4()
+	{
+		return operandS4(0);
+	}
+
+	public int operandS4(final int operandOffset)
+	{
+		return code.getInt(operandsStart + operandOffset);
+	}
+
+	public boolean hasConstantPoolIndex()
+	{
+		return ConstantPoolIndexWidths[opcode] != 0;
+	}
+
+	public char constantPoolIndex()
+	{
+		switch (ConstantPoolIndexWidths[opcode])
+		{
+			case 1:
+				return (char) operandU1();
+
+			case 2:
+				return operandU2();
+
+			default:
+				throw new IllegalStateException(Formatting.format("The opcode '%1$s' at program counter '%2$s' does not have a constant pool index", (int) opcode, programCounter));
+		}
+	}
+
+	// Includes the implicit index of the iload_0 to astore_3 family
+	public char localVariableIndex()
+	{
+		if (opcode >= iload_0 && opcode <= aload_3)
+		{
+			return (char) ((opcode - iload_0) & 3);
+		}
+
+		if (opcode >= istore_0 && opcode <= astore_3)
+		{
+			return (char) ((opcode - istore_0) & 3);
+		}
+
+		if ((opcode >= iload && opcode <= aload) || (opcode >= istore && opcode <= astore) || opcode == iinc || opcode == ret)
+		{
+			return isWide ? operandU2() : (char) operandU1();
+		}
+
+		throw new IllegalStateException(Formatting.format("The opcode '%1$s' at program counter '%2$s' does not have a local variable index", (int) opcode, programCounter));
+	}
+
+	public short incrementConstant()
+	{
+		if (opcode != iinc)
+		{
+			throw new IllegalStateException(Formatting.format("The opcode '%1$s' at program counter '%2$s' is not iinc", (int) opcode, programCounter));
+		}
+		return isWide ? operandS2(2) : operandS1(1);
+	}
+
+	public boolean isBranch()
+	{
+		return (opcode >= ifeq && opcode <= jsr) || opcode == ifnull || opcode == ifnonnull || opcode == goto_w || opcode == jsr_w;
+	}
+
+	public int branchOffset()
+	{
+		if (opcode == goto_w || opcode == jsr_w)
+		{
+			return operandS4();
+		}
+
+		if (isBranch())
+		{
+			return operandS2();
+		}
+
+		throw new IllegalStateException(Formatting.format("The opcode '%1$s' at program counter '%2$s' is not a branch", (int) opcode, programCounter));
+	}
+
+	public int branchTarget()
+	{
+		return programCounter + branchOffset();
+	}
+
+	public boolean isSwitch()
+	{
+		return opcode == tableswitch || opcode == lookupswitch;
+	}
+
+	public int switchDefaultOffset()
+	{
+		return code.getInt(switchTableStart());
+	}
+
+	public int switchCaseCount()
+	{
+		final int switchTableStart = switchTableStart();
+		if (opcode == tableswitch)
+		{
+			return code.getInt(switchTableStart + 8) - code.getInt(switchTableStart + 4) + 1;
+		}
+		return code.getInt(switchTableStart + 4);
+	}
+
+	public int tableSwitchLow()
+	{
+		return code.getInt(tableSwitchTableStart() + 4);
+	}
+
+	public int tableSwitchHigh()
+	{
+		return code.getInt(tableSwitchTableStart() + 8);
+	}
+
+	public int switchKey(final int caseIndex)
+	{
+		final int switchTableStart = switchTableStart();
+		if (opcode == tableswitch)
+		{
+			return code.getInt(switchTableStart + 4) + caseIndex;
+		}
+		return code.getInt(switchTableStart + 8 + caseIndex * 8);
+	}
+
+	public int switchOffset(final int caseIndex)
+	{
+		final int switchTableStart = switchTableStart();
+		if (opcode == tableswitch)
+		{
+			return code.getInt(switchTableStart + 12 + caseIndex * 4);
+		}
+		return code.getInt(switchTableStart + 12 + caseIndex * 8);
+	}
+
+	private int tableSwitchTableStart()
+	{
+		if (opcode != tableswitch)
+		{
+			throw new IllegalStateException(Formatting.format("The opcode '%1$s' at program counter '%2$s' is not tableswitch", (int) opcode, programCounter));
+		}
+		return switchTableStart;
+	}
+
+	private int switchTableStart()
+	{
+		if (!isSwitch())
+		{
+			throw new IllegalStateException(Formatting.format("The opcode '%1$s' at program counter '%2$s' is not a switch", (int) opcode, programCounter));
+		}
+		return switchTableStart;
+	}
+
+	private long wideLength(final short modifiedOpcode, final int start) throws InvalidOpcodeException
+	{
+		if (modifiedOpcode == iinc)
+		{
+			return 6L;
+		}
+
+		if ((modifiedOpcode >= iload && modifiedOpcode <= aload) || (modifiedOpcode >= istore && modifiedOpcode <= astore) || modifiedOpcode == ret)
+		{
+			return 4L;
+		}
+
+		throw new InvalidOpcodeException(Formatting.format("The opcode '%1$s' at program counter '%2$s' can not be modified by wide", (int) modifiedOpcode, start));
+	}
+
+	// The default, low and high or default and pairs count are 4-byte aligned relative to the start of the code
+	private long switchLength(final short switchOpcode, final int start) throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		final int padding = (4 - ((start + 1) & 3)) & 3;
+		final int tableStart = start + 1 + padding;
+		final long headerLength;
+		final long entriesLength;
+		if (switchOpcode == tableswitch)
+		{
+			headerLength = 12L;
+			requireBytes(tableStart, headerLength);
+			final int low = code.getInt(tableStart + 4);
+			final int high = code.getInt(tableStart + 8);
+			if (high < low)
+			{
+				throw new InvalidOpcodeException(Formatting.format("The tableswitch at program counter '%1$s' has a high '%2$s' less than its low '%3$s'", start, high, low));
+			}
+			entriesLength = ((long) high - low + 1L) * 4L;
+		}
+		else
+		{
+			headerLength = 8L;
+			requireBytes(tableStart, headerLength);
+			final int numberOfPairs = code.getInt(tableStart + 4);
+			if (numberOfPairs < 0)
+			{
+				throw new InvalidOpcodeException(Formatting.format("The lookupswitch at program counter '%1$s' has a negative number of pairs '%2$s'", start, numberOfPairs));
+			}
+			entriesLength = numberOfPairs * 8L;
+		}
+		switchTableStart = tableStart;
+		return 1L + padding + headerLength + entriesLength;
+	}
+
+	private void requireBytes(final int start, final long length) throws NotEnoughBytesInvalidOperandStackException
+	{
+		final long end = start + length;
+		if (end > codeLength)
+		{
+			throw new NotEnoughBytesInvalidOperandStackException(end - codeLength);
+		}
+	}
+
+	@SuppressWarnings("NumericCastThatLosesPrecision")
+	private short unsigned8BitInteger(final int index)
+	{
+		return (short) (code.get(index) & CodeReader.ByteMask);
+	}
+
+	@NotNull
+	private static InvalidOpcodeException invalidOpcode(final short opcode, final int programCounter)
+	{
+		if (opcode == breakpoint || opcode == impdep1 || opcode == impdep2)
+		{
+			return new InvalidOpcodeException(Formatting.format("The opcode '%1$s' at program counter '%2$s' is reserved", (int) opcode, programCounter));
+		}
+		return new InvalidOpcodeException(Formatting.format("The opcode '%1$s' at program counter '%2$s' is an internal JVM opcode", (int) opcode, programCounter));
+	}
+
+	// Lengths include the opcode; tableswitch, lookupswitch and wide are variable length
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	private static byte[] instructionLengths()
+	{
+		final byte[] instructionLengths = new byte[256];
+		for (int opcode = 0; opcode < 256; opcode++)
+		{
+			instructionLengths[opcode] = opcode <= jsr_w ? 1 : Invalid;
+		}
+
+		instructionLengths[bipush] = 2;
+		instructionLengths[sipush] = 3;
+		instructionLengths[ldc] = 2;
+		instructionLengths[ldc_w] = 3;
+		instructionLengths[ldc2_w] = 3;
+		for (int opcode = iload; opcode <= aload; opcode++)
+		{
+			instructionLengths[opcode] = 2;
+		}
+		for (int opcode = istore; opcode <= astore; opcode++)
+		{
+			instructionLengths[opcode] = 2;
+		}
+		instructionLengths[iinc] = 3;
+		for (int opcode = ifeq; opcode <= jsr; opcode++)
+		{
+			instructionLengths[opcode] = 3;
+		}
+		instructionLengths[ret] = 2;
+		instructionLengths[tableswitch] = VariableLength;
+		instructionLengths[lookupswitch] = VariableLength;
+		for (int opcode = getstatic; opcode <= invokestatic; opcode++)
+		{
+			instructionLengths[opcode] = 3;
+		}
+		instructionLengths[invokeinterface] = 5;
+		instructionLengths[invokedynamic] = 5;
+		instructionLengths[_new] = 3;
+		instructionLengths[newarray] = 2;
+		instructionLengths[anewarray] = 3;
+		instructionLengths[checkcast] = 3;
+		instructionLengths[_instanceof] = 3;
+		instructionLengths[wide] = VariableLength;
+		instructionLengths[multianewarray] = 4;
+		instructionLengths[ifnull] = 3;
+		instructionLengths[ifnonnull] = 3;
+		instructionLengths[goto_w] = 5;
+		instructionLengths[jsr_w] = 5;
+		return instructionLengths;
+	}
+
+	@NotNull
+	private static byte[] constantPoolIndexWidths()
+	{
+		final byte[] constantPoolIndexWidths = new byte[256];
+		constantPoolIndexWidths[ldc] = 1;
+		constantPoolIndexWidths[ldc_w] = 2;
+		constantPoolIndexWidths[ldc2_w] = 2;
+		for (int opcode = getstatic; opcode <= invokedynamic; opcode++)
+		{
+			constantPoolIndexWidths[opcode] = 2;
+		}
+		constantPoolIndexWidths[_new] = 2;
+		constantPoolIndexWidths[anewarray] = 2;
+		constantPoolIndexWidths[checkcast] = 2;
+		constantPoolIndexWidths[_instanceof] = 2;
+		constantPoolIndexWidths[multianewarray] = 2;
+		return constantPoolIndexWidths;
+	}
+}
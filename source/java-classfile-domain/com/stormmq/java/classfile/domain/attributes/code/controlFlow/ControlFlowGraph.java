@@ -0,0 +1,113 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.controlFlow;
+
+import org.jetbrains.annotations.NotNull;
+
+import static java.util.Arrays.binarySearch;
+
+// Blocks are numbered in program counter order; block 0 is the entry block
+// Successors, exception handlers and predecessors are held as offsets into flat int[] adjacency arrays
+// Blocks between the same exception table boundaries share one run of exception handlers, so each block has its own start and end into them
+public final class ControlFlowGraph
+{
+	@NotNull private final int[] blockStarts;
+	@NotNull private final int[] successorOffsets;
+	@NotNull private final int[] successors;
+	@NotNull private final int[] exceptionHandlerStarts;
+	@NotNull private final int[] exceptionHandlerEnds;
+	@NotNull private final int[] exceptionHandlers;
+	@NotNull private final int[] predecessorOffsets;
+	@NotNull private final int[] predecessors;
+
+	ControlFlowGraph(@NotNull final int[] blockStarts, @NotNull final int[] successorOffsets, @NotNull final int[] successors, @NotNull final int[] exceptionHandlerStarts, @NotNull final int[] exceptionHandlerEnds, @NotNull final int[] exceptionHandlers, @NotNull final int[] predecessorOffsets, @NotNull final int[] predecessors)
+	{
+		this.blockStarts = blockStarts;
+		this.successorOffsets = successorOffsets;
+		this.successors = successors;
+		this.exceptionHandlerStarts = exceptionHandlerStarts;
+		this.exceptionHandlerEnds = exceptionHandlerEnds;
+		this.exceptionHandlers = exceptionHandlers;
+		this.predecessorOffsets = predecessorOffsets;
+		this.predecessors = predecessors;
+	}
+
+	public int numberOfBlocks()
+	{
+		return blockStarts.length - 1;
+	}
+
+	public int blockStart(final int block)
+	{
+		return blockStarts[block];
+	}
+
+	// Exclusive
+	public int blockEnd(final int block)
+	{
+		return blockStarts[block + 1];
+	}
+
+	public int blockContaining(final int programCounter)
+	{
+		if (programCounter < 0 || programCounter >= blockStarts[blockStarts.length - 1])
+		{
+			throw new IllegalArgumentException("programCounter is outside of the code");
+		}
+
+		final int index = binarySearch(blockStarts, programCounter);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	public int numberOfSuccessors(final int block)
+	{
+		return successorOffsets[block + 1] - successorOffsets[block];
+	}
+
+	public int successor(final int block, final int index)
+	{
+		return successors[successorOffsets[block] + index];
+	}
+
+	// Handler blocks for the exceptions that may be thrown in a block, in exception table order
+	public int numberOfExceptionHandlers(final int block)
+	{
+		return exceptionHandlerEnds[block] - exceptionHandlerStarts[block];
+	}
+
+	public int exceptionHandler(final int block, final int index)
+	{
+		return exceptionHandlers[exceptionHandlerStarts[block] + index];
+	}
+
+	// Includes blocks which reach this one as an exception handler
+	public int numberOfPredecessors(final int block)
+	{
+		return predecessorOffsets[block + 1] - predecessorOffsets[block];
+	}
+
+	public int predecessor(final int block, final int index)
+	{
+		return predecessors[predecessorOffsets[block] + index];
+	}
+}
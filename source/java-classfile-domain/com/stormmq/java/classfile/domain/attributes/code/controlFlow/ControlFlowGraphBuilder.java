@@ -0,0 +1,381 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.controlFlow;
+
+import com.stormmq.java.classfile.domain.attributes.code.ExceptionCode;
+import com.stormmq.java.classfile.domain.attributes.code.codeReaders.InstructionCursor;
+import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.NotEnoughBytesInvalidOperandStackException;
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
+import com.stormmq.string.Formatting;
+import org.jetbrains.annotations.NotNull;
+
+import static com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.OpcodeParser.*;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.*;
+
+// Two passes of an InstructionCursor find the leaders then the edges, so the cost is linear in the code length and the number of edges
+// Exception handlers are found by a sweep over the exception table's range boundaries, which costs the number of blocks plus the number of entries times the entries overlapping at a boundary
+public final class ControlFlowGraphBuilder
+{
+	@NotNull
+	public static ControlFlowGraph buildControlFlowGraph(@NotNull final InstructionCursor instructionCursor, final int codeLength, @NotNull final ExceptionCode[] exceptionCodes) throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		return new ControlFlowGraphBuilder(instructionCursor, codeLength, exceptionCodes).build();
+	}
+
+	@NotNull private final InstructionCursor instructionCursor;
+	private final int codeLength;
+	@NotNull private final ExceptionCode[] exceptionCodes;
+	@NotNull private final boolean[] isInstructionStart;
+	@NotNull private final boolean[] isLeader;
+	@NotNull private final int[] blockAtLeader;
+	private int numberOfBlocks;
+	@NotNull private int[] successors;
+	private int numberOfSuccessors;
+
+	private ControlFlowGraphBuilder(@NotNull final InstructionCursor instructionCursor, final int codeLength, @NotNull final ExceptionCode[] exceptionCodes)
+	{
+		this.instructionCursor = instructionCursor;
+		this.codeLength = codeLength;
+		this.exceptionCodes = exceptionCodes;
+
+		// The extra entry at codeLength is the end of the last block
+		isInstructionStart = new boolean[codeLength + 1];
+		isLeader = new boolean[codeLength + 1];
+		blockAtLeader = new int[codeLength + 1];
+		numberOfBlocks = 0;
+		successors = new int[16];
+		numberOfSuccessors = 0;
+	}
+
+	@NotNull
+	private ControlFlowGraph build() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		markLeaders();
+		final int[] blockStarts = blockStarts();
+
+		final int[] successorOffsets = new int[numberOfBlocks + 1];
+		addSuccessors(successorOffsets);
+		final int[] successors = copyOf(this.successors, numberOfSuccessors);
+
+		final int[] exceptionHandlerStarts = new int[numberOfBlocks];
+		final int[] exceptionHandlerEnds = new int[numberOfBlocks];
+		final int[] exceptionHandlers = exceptionHandlers(exceptionHandlerStarts, exceptionHandlerEnds);
+
+		final int[] predecessorOffsets = new int[numberOfBlocks + 1];
+		final int[] predecessors = predecessors(successorOffsets, successors, exceptionHandlerStarts, exceptionHandlerEnds, exceptionHandlers, predecessorOffsets);
+
+		return new ControlFlowGraph(blockStarts, successorOffsets, successors, exceptionHandlerStarts, exceptionHandlerEnds, exceptionHandlers, predecessorOffsets, predecessors);
+	}
+
+	private void markLeaders() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		isLeader[0] = true;
+		isLeader[codeLength] = true;
+		isInstructionStart[codeLength] = true;
+
+		instructionCursor.rewind();
+		while (instructionCursor.next())
+		{
+			final int programCounter = instructionCursor.programCounter();
+			isInstructionStart[programCounter] = true;
+			if (instructionCursor.isBranch())
+			{
+				markTarget(programCounter, instructionCursor.branchTarget());
+			}
+			else if (instructionCursor.isSwitch())
+			{
+				markTarget(programCounter, programCounter + instructionCursor.switchDefaultOffset());
+				final int switchCaseCount = instructionCursor.switchCaseCount();
+				for (int caseIndex = 0; caseIndex < switchCaseCount; caseIndex++)
+				{
+					markTarget(programCounter, programCounter + instructionCursor.switchOffset(caseIndex));
+				}
+			}
+			else if (!isExit(instructionCursor.opcode()))
+			{
+				continue;
+			}
+			isLeader[instructionCursor.nextProgramCounter()] = true;
+		}
+
+		for (final ExceptionCode exceptionCode : exceptionCodes)
+		{
+			final char startProgramCount = exceptionCode.startProgramCount();
+			final char endProgramCount = exceptionCode.endProgramCount();
+			final char handlerProgramCount = exceptionCode.handlerProgramCount();
+			if (startProgramCount >= endProgramCount || endProgramCount > codeLength || handlerProgramCount >= codeLength)
+			{
+				throw new InvalidControlFlowException(Formatting.format("The exception range '%1$s' to '%2$s' with handler '%3$s' is not within code of length '%4$s'", (int) startProgramCount, (int) endProgramCount, (int) handlerProgramCount, codeLength));
+			}
+			isLeader[startProgramCount] = true;
+			isLeader[endProgramCount] = true;
+			isLeader[handlerProgramCount] = true;
+		}
+	}
+
+	private void markTarget(final int programCounter, final int target) throws InvalidControlFlowException
+	{
+		if (target < 0 || target >= codeLength)
+		{
+			throw new InvalidControlFlowException(Formatting.format("The instruction at program counter '%1$s' targets '%2$s', which is outside of code of length '%3$s'", programCounter, target, codeLength));
+		}
+		isLeader[target] = true;
+	}
+
+	@NotNull
+	private int[] blockStarts() throws InvalidControlFlowException
+	{
+		for (int programCounter = 0; programCounter < codeLength; programCounter++)
+		{
+			if (isLeader[programCounter])
+			{
+				if (!isInstructionStart[programCounter])
+				{
+					throw new InvalidControlFlowException(Formatting.format("The program counter '%1$s' is targeted by a branch, switch or exception table entry but is not the start of an instruction", programCounter));
+				}
+				blockAtLeader[programCounter] = numberOfBlocks;
+				numberOfBlocks++;
+			}
+		}
+		blockAtLeader[codeLength] = numberOfBlocks;
+
+		final int[] blockStarts = new int[numberOfBlocks + 1];
+		for (int programCounter = 0; programCounter <= codeLength; programCounter++)
+		{
+			if (isLeader[programCounter])
+			{
+				blockStarts[blockAtLeader[programCounter]] = programCounter;
+			}
+		}
+		return blockStarts;
+	}
+
+	private void addSuccessors(@NotNull final int[] successorOffsets) throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		final int[] lastAddedBy = new int[numberOfBlocks];
+		fill(lastAddedBy, -1);
+
+		int block = 0;
+		instructionCursor.rewind();
+		while (instructionCursor.next())
+		{
+			final int nextProgramCounter = instructionCursor.nextProgramCounter();
+			if (!isLeader[nextProgramCounter])
+			{
+				continue;
+			}
+
+			final int programCounter = instructionCursor.programCounter();
+			final short opcode = instructionCursor.opcode();
+			if (instructionCursor.isSwitch())
+			{
+				addSuccessor(lastAddedBy, block, programCounter + instructionCursor.switchDefaultOffset());
+				final int switchCaseCount = instructionCursor.switchCaseCount();
+				for (int caseIndex = 0; caseIndex < switchCaseCount; caseIndex++)
+				{
+					addSuccessor(lastAddedBy, block, programCounter + instructionCursor.switchOffset(caseIndex));
+				}
+			}
+			else
+			{
+				if (instructionCursor.isBranch())
+				{
+					addSuccessor(lastAddedBy, block, instructionCursor.branchTarget());
+				}
+
+				// jsr and jsr_w fall through as the subroutine's ret returns to the next instruction
+				if (opcode != _goto && opcode != goto_w && !isExit(opcode))
+				{
+					if (nextProgramCounter == codeLength)
+					{
+						throw new InvalidControlFlowException(Formatting.format("The instruction at program counter '%1$s' falls off the end of the code", programCounter));
+					}
+					addSuccessor(lastAddedBy, block, nextProgramCounter);
+				}
+			}
+
+			block++;
+			successorOffsets[block] = numberOfSuccessors;
+		}
+	}
+
+	private void addSuccessor(@NotNull final int[] lastAddedBy, final int block, final int target)
+	{
+		final int successor = blockAtLeader[target];
+		if (lastAddedBy[successor] == block)
+		{
+			return;
+		}
+		lastAddedBy[successor] = block;
+
+		if (numberOfSuccessors == successors.length)
+		{
+			successors = copyOf(successors, numberOfSuccessors * 2);
+		}
+		successors[numberOfSuccessors] = successor;
+		numberOfSuccessors++;
+	}
+
+	// Blocks only change their exception handlers where an entry's range starts or ends, so the active entries are kept in exception table order and their handlers are written once per boundary
+	@NotNull
+	private int[] exceptionHandlers(@NotNull final int[] exceptionHandlerStarts, @NotNull final int[] exceptionHandlerEnds)
+	{
+		final int numberOfEntries = exceptionCodes.length;
+		final long[] startEvents = new long[numberOfEntries];
+		final long[] endEvents = new long[numberOfEntries];
+		for (int entry = 0; entry < numberOfEntries; entry++)
+		{
+			startEvents[entry] = event(blockAtLeader[exceptionCodes[entry].startProgramCount()], entry);
+			endEvents[entry] = event(blockAtLeader[exceptionCodes[entry].endProgramCount()], entry);
+		}
+		sort(startEvents);
+		sort(endEvents);
+
+		final int[] activeEntries = new int[numberOfEntries];
+		int numberOfActiveEntries = 0;
+		int nextStartEvent = 0;
+		int nextEndEvent = 0;
+
+		// Several entries (eg for finally) may share a handler
+		final int[] lastAddedBy = new int[numberOfBlocks];
+		fill(lastAddedBy, -1);
+		int[] exceptionHandlers = new int[Math.min(numberOfEntries, 16)];
+		int numberOfExceptionHandlers = 0;
+		int runStart = 0;
+		for (int block = 0; block < numberOfBlocks; block++)
+		{
+			boolean changed = false;
+			while (nextEndEvent < numberOfEntries && eventBlock(endEvents[nextEndEvent]) == block)
+			{
+				final int index = binarySearch(activeEntries, 0, numberOfActiveEntries, eventEntry(endEvents[nextEndEvent++]));
+				arraycopy(activeEntries, index + 1, activeEntries, index, numberOfActiveEntries - index - 1);
+				numberOfActiveEntries--;
+				changed = true;
+			}
+			while (nextStartEvent < numberOfEntries && eventBlock(startEvents[nextStartEvent]) == block)
+			{
+				final int entry = eventEntry(startEvents[nextStartEvent++]);
+				final int index = -binarySearch(activeEntries, 0, numberOfActiveEntries, entry) - 1;
+				arraycopy(activeEntries, index, activeEntries, index + 1, numberOfActiveEntries - index);
+				activeEntries[index] = entry;
+				numberOfActiveEntries++;
+				changed = true;
+			}
+
+			if (changed)
+			{
+				runStart = numberOfExceptionHandlers;
+				for (int index = 0; index < numberOfActiveEntries; index++)
+				{
+					final int handler = blockAtLeader[exceptionCodes[activeEntries[index]].handlerProgramCount()];
+					if (lastAddedBy[handler] != block)
+					{
+						lastAddedBy[handler] = block;
+						if (numberOfExceptionHandlers == exceptionHandlers.length)
+						{
+							exceptionHandlers = copyOf(exceptionHandlers, numberOfExceptionHandlers * 2);
+						}
+						exceptionHandlers[numberOfExceptionHandlers++] = handler;
+					}
+				}
+			}
+			exceptionHandlerStarts[block] = runStart;
+			exceptionHandlerEnds[block] = numberOfExceptionHandlers;
+		}
+		return numberOfExceptionHandlers == exceptionHandlers.length ? exceptionHandlers : copyOf(exceptionHandlers, numberOfExceptionHandlers);
+	}
+
+	// Sorts by block then by exception table order
+	private static long event(final int block, final int entry)
+	{
+		return ((long) block << 32) | entry;
+	}
+
+	private static int eventBlock(final long event)
+	{
+		return (int) (event >>> 32);
+	}
+
+	private static int eventEntry(final long event)
+	{
+		return (int) event;
+	}
+
+	@NotNull
+	private int[] predecessors(@NotNull final int[] successorOffsets, @NotNull final int[] successors, @NotNull final int[] exceptionHandlerStarts, @NotNull final int[] exceptionHandlerEnds, @NotNull final int[] exceptionHandlers, @NotNull final int[] predecessorOffsets)
+	{
+		final int[] lastAddedBy = new int[numberOfBlocks];
+		fill(lastAddedBy, -1);
+		for (int block = 0; block < numberOfBlocks; block++)
+		{
+			countPredecessors(predecessorOffsets, lastAddedBy, block, successors, successorOffsets[block], successorOffsets[block + 1]);
+			countPredecessors(predecessorOffsets, lastAddedBy, block, exceptionHandlers, exceptionHandlerStarts[block], exceptionHandlerEnds[block]);
+		}
+		for (int block = 0; block < numberOfBlocks; block++)
+		{
+			predecessorOffsets[block + 1] += predecessorOffsets[block];
+		}
+
+		final int[] predecessors = new int[predecessorOffsets[numberOfBlocks]];
+		final int[] nextIndex = copyOf(predecessorOffsets, numberOfBlocks);
+		fill(lastAddedBy, -1);
+		for (int block = 0; block < numberOfBlocks; block++)
+		{
+			addPredecessors(predecessors, nextIndex, lastAddedBy, block, successors, successorOffsets[block], successorOffsets[block + 1]);
+			addPredecessors(predecessors, nextIndex, lastAddedBy, block, exceptionHandlers, exceptionHandlerStarts[block], exceptionHandlerEnds[block]);
+		}
+		return predecessors;
+	}
+
+	private static void countPredecessors(@NotNull final int[] predecessorOffsets, @NotNull final int[] lastAddedBy, final int block, @NotNull final int[] targets, final int start, final int end)
+	{
+		for (int index = start; index < end; index++)
+		{
+			final int target = targets[index];
+			if (lastAddedBy[target] != block)
+			{
+				lastAddedBy[target] = block;
+				predecessorOffsets[target + 1]++;
+			}
+		}
+	}
+
+	private static void addPredecessors(@NotNull final int[] predecessors, @NotNull final int[] nextIndex, @NotNull final int[] lastAddedBy, final int block, @NotNull final int[] targets, final int start, final int end)
+	{
+		for (int index = start; index < end; index++)
+		{
+			final int target = targets[index];
+			if (lastAddedBy[target] != block)
+			{
+				lastAddedBy[target] = block;
+				predecessors[nextIndex[target]++] = block;
+			}
+		}
+	}
+
+	private static boolean isExit(final short opcode)
+	{
+		return (opcode >= ireturn && opcode <= _return) || opcode == athrow || opcode == ret;
+	}
+}
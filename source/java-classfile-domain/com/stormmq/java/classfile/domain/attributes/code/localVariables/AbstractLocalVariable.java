@@ -25,8 +25,12 @@ package com.stormmq.java.classfile.domain.attributes.code.localVariables;
 import com.stormmq.java.classfile.domain.names.FieldName;
 import org.jetbrains.annotations.NotNull;
 
-public abstract class AbstractLocalVariable
+import java.io.Serializable;
+
+public abstract class AbstractLocalVariable implements LocalVariableAtProgramCounter, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public final char startProgramCounter;
 	public final char length;
 	@NotNull public final FieldName localVariableName;
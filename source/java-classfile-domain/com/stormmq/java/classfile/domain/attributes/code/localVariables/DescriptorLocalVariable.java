@@ -28,6 +28,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class DescriptorLocalVariable extends AbstractLocalVariable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public final FieldDescriptor localVariableDescriptor;
 
 	public DescriptorLocalVariable(final char startProgramCounter, final char length, @NotNull final FieldName localVariableName, @NotNull final FieldDescriptor localVariableDescriptor, final char localVariableIndex)
@@ -24,10 +24,13 @@ package com.stormmq.java.classfile.domain.attributes.code.localVariables;
 
 import org.jetbrains.annotations.*;
 
+import java.io.Serializable;
 import java.util.Set;
 
-public final class ForInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData implements LocalVariableAtProgramCounter
+public final class ForInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData implements LocalVariableAtProgramCounter, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull
 	public static LocalVariableAtProgramCounter forInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData(@NotNull final Set<LocalVariableAtProgramCounter> localVariablesAtProgramCounter, final char localVariableIndex)
 	{
@@ -22,24 +22,23 @@
 
 package com.stormmq.java.classfile.domain.attributes.code.localVariables;
 
-import com.stormmq.java.classfile.domain.descriptors.FieldDescriptor;
-import com.stormmq.java.classfile.domain.names.FieldName;
-import com.stormmq.java.classfile.domain.signatures.Signature;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Set;
 
-import static java.util.Collections.emptySet;
-
-public final class LocalVariables
+public final class LocalVariables implements Serializable
 {
-	@NotNull private static final Set<LocalVariableAtProgramCounter> EmptyLocalVariablesAtProgramCounter = emptySet();
+	private static final long serialVersionUID = 1L;
 
 	private final long codeLength;
 	private final char maximumLocals;
 	@NotNull private final List<DescriptorLocalVariable> descriptorLocalVariables;
 	@NotNull private final List<SignatureLocalVariable> signatureLocalVariables;
+	// Built on first use, so retained but unanalysed Code does not pay for it; racing threads may each build one
+	@Nullable private transient LocalVariablesIntervalIndex localVariablesIntervalIndex;
 
 	public LocalVariables(final long codeLength, final char maximumLocals, @NotNull final List<DescriptorLocalVariable> descriptorLocalVariables, @NotNull final List<SignatureLocalVariable> signatureLocalVariables)
 	{
@@ -52,22 +51,12 @@ public final class LocalVariables
 	@NotNull
 	public Set<LocalVariableAtProgramCounter> getForProgramCounter(final char programCounter, final char opcodeLength)
 	{
-		descriptorLocalVariables.stream().filter(descriptorLocalVariable -> descriptorLocalVariable.startProgramCounter == programCounter).forEach(descriptorLocalVariable ->
-		{
-			final FieldName descriptorLocalVariableName = descriptorLocalVariable.localVariableName;
-			final char descriptorLength = descriptorLocalVariable.length;
-			final char descriptorLocalVariableIndex = descriptorLocalVariable.localVariableIndex;
-			final FieldDescriptor localVariableDescriptor = descriptorLocalVariable.localVariableDescriptor;
-		});
-
-		signatureLocalVariables.stream().filter(signatureLocalVariable -> signatureLocalVariable.startProgramCounter == programCounter).forEach(signatureLocalVariable ->
+		@Nullable LocalVariablesIntervalIndex localVariablesIntervalIndex = this.localVariablesIntervalIndex;
+		if (localVariablesIntervalIndex == null)
 		{
-			final FieldName descriptorLocalVariableName = signatureLocalVariable.localVariableName;
-			final char descriptorLength = signatureLocalVariable.length;
-			final char descriptorLocalVariableIndex = signatureLocalVariable.localVariableIndex;
-			final Signature localVariableSignature = signatureLocalVariable.localVariableSignature;
-		});
-
-		return EmptyLocalVariablesAtProgramCounter;
+			localVariablesIntervalIndex = new LocalVariablesIntervalIndex(codeLength, descriptorLocalVariables, signatureLocalVariables);
+			this.localVariablesIntervalIndex = localVariablesIntervalIndex;
+		}
+		return localVariablesIntervalIndex.liveAt(programCounter, opcodeLength);
 	}
 }
@@ -0,0 +1,209 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.localVariables;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.sort;
+import static java.util.Collections.emptySet;
+import static java.util.Comparator.comparingInt;
+
+// Local variables are kept sorted by start, with a sorted copy of their ends, so the number live at a program counter is the difference of two binary searches and the live set is a view which filters those started
+final class LocalVariablesIntervalIndex
+{
+	@NotNull private static final Set<LocalVariableAtProgramCounter> NoLocalVariablesAtProgramCounter = emptySet();
+
+	@NotNull private final AbstractLocalVariable[] localVariablesByStart;
+	@NotNull private final char[] starts;
+	@NotNull private final char[] endsByStart;
+	@NotNull private final char[] sortedEnds;
+
+	LocalVariablesIntervalIndex(final long codeLength, @NotNull final List<DescriptorLocalVariable> descriptorLocalVariables, @NotNull final List<SignatureLocalVariable> signatureLocalVariables)
+	{
+		final AbstractLocalVariable[] localVariables = new AbstractLocalVariable[descriptorLocalVariables.size() + signatureLocalVariables.size()];
+		int count = 0;
+		for (final DescriptorLocalVariable descriptorLocalVariable : descriptorLocalVariables)
+		{
+			if (descriptorLocalVariable.length != 0)
+			{
+				localVariables[count++] = descriptorLocalVariable;
+			}
+		}
+		for (final SignatureLocalVariable signatureLocalVariable : signatureLocalVariables)
+		{
+			if (signatureLocalVariable.length != 0)
+			{
+				localVariables[count++] = signatureLocalVariable;
+			}
+		}
+		localVariablesByStart = copyOf(localVariables, count);
+		sort(localVariablesByStart, comparingInt(localVariable -> localVariable.startProgramCounter));
+
+		starts = new char[count];
+		endsByStart = new char[count];
+		for (int index = 0; index < count; index++)
+		{
+			final AbstractLocalVariable localVariable = localVariablesByStart[index];
+			starts[index] = localVariable.startProgramCounter;
+			endsByStart[index] = end(localVariable, codeLength);
+		}
+		sortedEnds = endsByStart.clone();
+		sort(sortedEnds);
+	}
+
+	// Includes local variables whose range starts immediately after the instruction, as a variable's range starts after the instruction which first stores it
+	@NotNull
+	Set<LocalVariableAtProgramCounter> liveAt(final char programCounter, final char opcodeLength)
+	{
+		final int started = lastIndexAtOrBefore(starts, programCounter) + 1;
+		final int ended = lastIndexAtOrBefore(sortedEnds, programCounter) + 1;
+		final int nextProgramCounter = programCounter + opcodeLength;
+		final int startingBefore = lastIndexAtOrBefore(starts, nextProgramCounter - 1) + 1;
+		final int startingAfter = lastIndexAtOrBefore(starts, nextProgramCounter) + 1;
+
+		final int size = started - ended + startingAfter - startingBefore;
+		if (size == 0)
+		{
+			return NoLocalVariablesAtProgramCounter;
+		}
+		return new LiveLocalVariables(programCounter, started, startingBefore, startingAfter, size);
+	}
+
+	// Never before the start, so a variable starting at or beyond the end of code is never live throughout a program counter
+	private static char end(@NotNull final AbstractLocalVariable localVariable, final long codeLength)
+	{
+		final int start = localVariable.startProgramCounter;
+		return (char) Math.max(start, Math.min(start + localVariable.length, codeLength));
+	}
+
+	private static int lastIndexAtOrBefore(@NotNull final char[] sorted, final int value)
+	{
+		int low = 0;
+		int high = sorted.length;
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+			if (sorted[middle] <= value)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		return low - 1;
+	}
+
+	private final class LiveLocalVariables extends AbstractSet<LocalVariableAtProgramCounter>
+	{
+		private final char programCounter;
+		private final int started;
+		private final int startingBefore;
+		private final int startingAfter;
+		private final int size;
+
+		private LiveLocalVariables(final char programCounter, final int started, final int startingBefore, final int startingAfter, final int size)
+		{
+			this.programCounter = programCounter;
+			this.started = started;
+			this.startingBefore = startingBefore;
+			this.startingAfter = startingAfter;
+			this.size = size;
+		}
+
+		@Override
+		public int size()
+		{
+			return size;
+		}
+
+		@Override
+		public boolean contains(@Nullable final Object o)
+		{
+			if (!(o instanceof AbstractLocalVariable))
+			{
+				return false;
+			}
+			for (int index = lastIndexAtOrBefore(starts, ((AbstractLocalVariable) o).startProgramCounter); index != -1 && starts[index] == ((AbstractLocalVariable) o).startProgramCounter; index--)
+			{
+				if (localVariablesByStart[index] == o)
+				{
+					return isLive(index);
+				}
+			}
+			return false;
+		}
+
+		@NotNull
+		@Override
+		public Iterator<LocalVariableAtProgramCounter> iterator()
+		{
+			return new Iterator<LocalVariableAtProgramCounter>()
+			{
+				private int index = nextLive(0);
+
+				@Override
+				public boolean hasNext()
+				{
+					return index != -1;
+				}
+
+				@NotNull
+				@Override
+				public LocalVariableAtProgramCounter next()
+				{
+					if (index == -1)
+					{
+						throw new NoSuchElementException();
+					}
+					final AbstractLocalVariable localVariable = localVariablesByStart[index];
+					index = nextLive(index + 1);
+					return localVariable;
+				}
+			};
+		}
+
+		private int nextLive(final int from)
+		{
+			for (int index = from; index < started; index++)
+			{
+				if (endsByStart[index] > programCounter)
+				{
+					return index;
+				}
+			}
+			final int index = Math.max(from, startingBefore);
+			return index < startingAfter ? index : -1;
+		}
+
+		private boolean isLive(final int index)
+		{
+			return (index < started && endsByStart[index] > programCounter) || (index >= startingBefore && index < startingAfter);
+		}
+	}
+}
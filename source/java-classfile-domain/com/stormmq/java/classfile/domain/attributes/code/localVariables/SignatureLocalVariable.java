@@ -28,6 +28,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class SignatureLocalVariable extends AbstractLocalVariable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public final Signature localVariableSignature;
 
 	public SignatureLocalVariable(final char startProgramCounter, final char length, @NotNull final FieldName localVariableName, @NotNull final Signature localVariableSignature, final char localVariableIndex)
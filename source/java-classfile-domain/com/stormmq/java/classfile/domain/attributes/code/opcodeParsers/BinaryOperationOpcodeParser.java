@@ -29,7 +29,6 @@ import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExce
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
 import com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStack;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.operations.BinaryOperation;
-import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.NumericOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory;
 import org.jetbrains.annotations.NotNull;
 
@@ -62,9 +61,6 @@ public final class BinaryOperationOpcodeParser extends AbstractOneOpcodeParser
 	@Override
 	public void parse(@NotNull final OperandStack operandStack, @NotNull final CodeReader codeReader, @NotNull final Set<Character> lineNumbers, @NotNull final Set<LocalVariableAtProgramCounter> localVariablesAtProgramCounter, @NotNull final RuntimeConstantPool runtimeConstantPool) throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
 	{
-		final NumericOperandStackItem<Integer> value2 = operandStack.popNumeric(computationalCategory);
-		final NumericOperandStackItem<Integer> value1 = operandStack.popNumeric(computationalCategory);
-		final NumericOperandStackItem<Integer> result = value1.binaryOperation(binaryOperation, value2);
-		operandStack.pushWithCertainty(result);
+		operandStack.binaryOperation(computationalCategory, binaryOperation);
 	}
 }
@@ -27,13 +27,13 @@ import com.stormmq.java.classfile.domain.attributes.code.constants.RuntimeConsta
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
 import com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStack;
-import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.StoreReferenceLocalVariableOperandStackItem;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Set;
 
 import static com.stormmq.java.classfile.domain.attributes.code.localVariables.ForInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData.forInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData;
+import static com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory.reference;
 
 public final class NarrowFixedStoreReferenceVariableOpcodeParser extends AbstractOneOpcodeParser
 {
@@ -48,6 +48,6 @@ public final class NarrowFixedStoreReferenceVariableOpcodeParser extends Abstrac
 	public void parse(@NotNull final OperandStack operandStack, @NotNull final CodeReader codeReader, @NotNull final Set<Character> lineNumbers, @NotNull final Set<LocalVariableAtProgramCounter> localVariablesAtProgramCounter, @NotNull final RuntimeConstantPool runtimeConstantPool) throws OverflowInvalidOperandStackException
 	{
 		@Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter = forInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData(localVariablesAtProgramCounter, localVariableIndex);
-		operandStack.push(new StoreReferenceLocalVariableOperandStackItem(localVariableIndex, localVariableAtProgramCounter));
+		operandStack.pushStoreLocalVariable(reference, localVariableIndex, localVariableAtProgramCounter);
 	}
 }
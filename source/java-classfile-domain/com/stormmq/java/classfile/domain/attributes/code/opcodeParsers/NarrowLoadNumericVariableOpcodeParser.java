@@ -27,7 +27,6 @@ import com.stormmq.java.classfile.domain.attributes.code.constants.RuntimeConsta
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
 import com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStack;
-import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.LoadNumericLocalVariableOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -50,6 +49,6 @@ public final class NarrowLoadNumericVariableOpcodeParser extends AbstractTwoOpco
 	{
 		final char localVariableIndex = (char) codeReader.readUnsigned8BitInteger();
 		@Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter = forInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData(localVariablesAtProgramCounter, localVariableIndex);
-		operandStack.push(new LoadNumericLocalVariableOperandStackItem<>(computationalCategory, localVariableIndex, localVariableAtProgramCounter));
+		operandStack.pushLoadLocalVariable(computationalCategory, localVariableIndex, localVariableAtProgramCounter);
 	}
 }
@@ -27,13 +27,13 @@ import com.stormmq.java.classfile.domain.attributes.code.constants.RuntimeConsta
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
 import com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStack;
-import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.StoreReferenceLocalVariableOperandStackItem;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Set;
 
 import static com.stormmq.java.classfile.domain.attributes.code.localVariables.ForInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData.forInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData;
+import static com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory.reference;
 
 public final class NarrowStoreReferenceVariableOpcodeParser extends AbstractTwoOpcodeParser
 {
@@ -48,7 +48,7 @@ public final class NarrowStoreReferenceVariableOpcodeParser extends AbstractTwoO
 	{
 		final char localVariableIndex = (char) codeReader.readUnsigned8BitInteger();
 		@Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter = forInformationOnlyUntilWeWorkOutHowToProperlyInterpretThisData(localVariablesAtProgramCounter, localVariableIndex);
-		operandStack.push(new StoreReferenceLocalVariableOperandStackItem(localVariableIndex, localVariableAtProgramCounter));
+		operandStack.pushStoreLocalVariable(reference, localVariableIndex, localVariableAtProgramCounter);
 
 	}
 }
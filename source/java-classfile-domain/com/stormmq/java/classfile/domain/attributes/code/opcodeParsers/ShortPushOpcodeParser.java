@@ -27,7 +27,6 @@ import com.stormmq.java.classfile.domain.attributes.code.constants.RuntimeConsta
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
 import com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStack;
-import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.constantOperandStackItems.IntegerConstantOperandStackItem;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Set;
@@ -44,6 +43,6 @@ public final class ShortPushOpcodeParser extends AbstractThreeOpcodeParser
 	public void parse(@NotNull final OperandStack operandStack, @NotNull final CodeReader codeReader, @NotNull final Set<Character> lineNumbers, @NotNull final Set<LocalVariableAtProgramCounter> localVariablesAtProgramCounter, @NotNull final RuntimeConstantPool runtimeConstantPool) throws OverflowInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException
 	{
 		final short value = codeReader.readBigEndianSigned16BitInteger();
-		operandStack.push(new IntegerConstantOperandStackItem(value));
+		operandStack.pushIntegerConstant(value);
 	}
 }
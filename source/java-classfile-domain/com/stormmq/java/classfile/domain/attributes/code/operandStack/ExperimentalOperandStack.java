@@ -23,12 +23,15 @@
 package com.stormmq.java.classfile.domain.attributes.code.operandStack;
 
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
+import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.DoNothingOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.OperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.NumericOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.operations.BinaryOperation;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.ReferenceOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static com.stormmq.string.Formatting.formatPrintLineAndFlushWhilstSynchronized;
 import static java.lang.System.out;
@@ -111,4 +114,34 @@ public final class ExperimentalOperandStack implements OperandStack
 	{
 		trackingOperandStack.unchanged(doNothingOperandStackItem);
 	}
+
+	@Override
+	public void pushIntegerConstant(final int value) throws OverflowInvalidOperandStackException
+	{
+		trackingOperandStack.pushIntegerConstant(value);
+	}
+
+	@Override
+	public void pushNumericConstant(@NotNull final ComputationalCategory computationalCategory, @NotNull final Number value) throws OverflowInvalidOperandStackException
+	{
+		trackingOperandStack.pushNumericConstant(computationalCategory, value);
+	}
+
+	@Override
+	public void pushLoadLocalVariable(@NotNull final ComputationalCategory computationalCategory, final char localVariableIndex, @Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter) throws OverflowInvalidOperandStackException
+	{
+		trackingOperandStack.pushLoadLocalVariable(computationalCategory, localVariableIndex, localVariableAtProgramCounter);
+	}
+
+	@Override
+	public void pushStoreLocalVariable(@NotNull final ComputationalCategory computationalCategory, final char localVariableIndex, @Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter) throws OverflowInvalidOperandStackException
+	{
+		trackingOperandStack.pushStoreLocalVariable(computationalCategory, localVariableIndex, localVariableAtProgramCounter);
+	}
+
+	@Override
+	public void binaryOperation(@NotNull final ComputationalCategory computationalCategory, @NotNull final BinaryOperation binaryOperation) throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
+	{
+		trackingOperandStack.binaryOperation(computationalCategory, binaryOperation);
+	}
 }
@@ -23,12 +23,15 @@
 package com.stormmq.java.classfile.domain.attributes.code.operandStack;
 
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
+import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.DoNothingOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.OperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.NumericOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.operations.BinaryOperation;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.ReferenceOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public interface OperandStack
 {
@@ -56,4 +59,15 @@ public interface OperandStack
 	int pushWithCertainty(@NotNull final OperandStackItem operandStackItem);
 
 	void unchanged(@NotNull final DoNothingOperandStackItem doNothingOperandStackItem);
+
+	// The operations below are used by the common opcode parsers so that an implementation need not allocate an OperandStackItem for each
+	void pushIntegerConstant(final int value) throws OverflowInvalidOperandStackException;
+
+	void pushNumericConstant(@NotNull final ComputationalCategory computationalCategory, @NotNull final Number value) throws OverflowInvalidOperandStackException;
+
+	void pushLoadLocalVariable(@NotNull final ComputationalCategory computationalCategory, final char localVariableIndex, @Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter) throws OverflowInvalidOperandStackException;
+
+	void pushStoreLocalVariable(@NotNull final ComputationalCategory computationalCategory, final char localVariableIndex, @Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter) throws OverflowInvalidOperandStackException;
+
+	void binaryOperation(@NotNull final ComputationalCategory computationalCategory, @NotNull final BinaryOperation binaryOperation) throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException;
 }
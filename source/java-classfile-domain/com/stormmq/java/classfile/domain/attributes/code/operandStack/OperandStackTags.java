@@ -0,0 +1,108 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.operandStack;
+
+import com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory.reference;
+import static java.lang.Double.longBitsToDouble;
+import static java.lang.Float.intBitsToFloat;
+
+// The low bits hold ComputationalCategory.ordinal() + 1; zero is an item of unknown type which was pushed as an object
+public final class OperandStackTags
+{
+	public static final int ComputationalCategoryMask = 0x07;
+	public static final int Category2Flag = 0x08;
+	public static final int ConstantFlag = 0x10;
+	public static final int NullFlag = 0x20;
+
+	public static final int NullReferenceTag = tag(reference) | ConstantFlag | NullFlag;
+
+	@NotNull private static final ComputationalCategory[] ComputationalCategories = ComputationalCategory.values();
+
+	private OperandStackTags()
+	{
+	}
+
+	public static int tag(@NotNull final ComputationalCategory computationalCategory)
+	{
+		return (computationalCategory.ordinal() + 1) | (computationalCategory.isCategory1 ? 0 : Category2Flag);
+	}
+
+	public static int constantTag(@NotNull final ComputationalCategory computationalCategory)
+	{
+		return tag(computationalCategory) | ConstantFlag;
+	}
+
+	public static int unknownTag(final boolean isCategory1)
+	{
+		return isCategory1 ? 0 : Category2Flag;
+	}
+
+	@Nullable
+	public static ComputationalCategory computationalCategory(final int tag)
+	{
+		final int ordinalPlusOne = tag & ComputationalCategoryMask;
+		return ordinalPlusOne == 0 ? null : ComputationalCategories[ordinalPlusOne - 1];
+	}
+
+	public static boolean isOfComputationalCategory(final int tag, @NotNull final ComputationalCategory computationalCategory)
+	{
+		return (tag & ComputationalCategoryMask) == computationalCategory.ordinal() + 1;
+	}
+
+	public static boolean isCategory1(final int tag)
+	{
+		return (tag & Category2Flag) == 0;
+	}
+
+	public static boolean isConstant(final int tag)
+	{
+		return (tag & ConstantFlag) != 0;
+	}
+
+	public static boolean isNullReference(final int tag)
+	{
+		return (tag & NullFlag) != 0;
+	}
+
+	// Constants are held as raw bits in a long
+	@SuppressWarnings("NumericCastThatLosesPrecision")
+	public static int intConstant(final long constant)
+	{
+		return (int) constant;
+	}
+
+	@SuppressWarnings("NumericCastThatLosesPrecision")
+	public static float floatConstant(final long constant)
+	{
+		return intBitsToFloat((int) constant);
+	}
+
+	public static double doubleConstant(final long constant)
+	{
+		return longBitsToDouble(constant);
+	}
+}
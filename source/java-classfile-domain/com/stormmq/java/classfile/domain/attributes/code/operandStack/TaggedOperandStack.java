@@ -0,0 +1,421 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.operandStack;
+
+import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
+import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.DoNothingOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.OperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.ReturnAddressOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.constantOperandStackItems.*;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.NumericOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.UnknownNumericOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.operations.BinaryOperation;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.ReferenceOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.UnknownReferenceOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStackTags.*;
+import static com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory.*;
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Float.floatToRawIntBits;
+
+// Types and constant values are held as int tags and long slots; OperandStackItems are only kept when pushed as objects or materialised by pop() or peek()
+public final class TaggedOperandStack implements OperandStack
+{
+	@NotNull @NonNls private static final String LeftHandMessage = "Operand stack is mismatched; we expected ";
+
+	@NotNull private static final ComputationalCategory[] NumericComputationalCategories = {_int, _float, _long, _double};
+
+	@NotNull private final int[] tags;
+	@NotNull private final long[] constants;
+	@NotNull private final OperandStackItem[] operandStackItems;
+	private final int maximumPointer;
+	private int stackPointer;
+
+	public TaggedOperandStack(final char maximumDepthOfTheOperandStackOfTheMethod)
+	{
+		tags = new int[maximumDepthOfTheOperandStackOfTheMethod];
+		constants = new long[maximumDepthOfTheOperandStackOfTheMethod];
+		operandStackItems = new OperandStackItem[maximumDepthOfTheOperandStackOfTheMethod];
+		maximumPointer = maximumDepthOfTheOperandStackOfTheMethod - 1;
+		stackPointer = EmptyStackPointer;
+	}
+
+	// Allows a stack to be reused for another method with the same or a smaller maximum depth
+	public void clear()
+	{
+		while (stackPointer != EmptyStackPointer)
+		{
+			operandStackItems[stackPointer] = null;
+			stackPointer--;
+		}
+	}
+
+	@Override
+	public int currentStackPointer()
+	{
+		return stackPointer;
+	}
+
+	public void pushInteger(final int value) throws OverflowInvalidOperandStackException
+	{
+		constants[pushTag(constantTag(_int))] = value;
+	}
+
+	public void pushLong(final long value) throws OverflowInvalidOperandStackException
+	{
+		constants[pushTag(constantTag(_long))] = value;
+	}
+
+	public void pushFloat(final float value) throws OverflowInvalidOperandStackException
+	{
+		constants[pushTag(constantTag(_float))] = floatToRawIntBits(value);
+	}
+
+	public void pushDouble(final double value) throws OverflowInvalidOperandStackException
+	{
+		constants[pushTag(constantTag(_double))] = doubleToRawLongBits(value);
+	}
+
+	public void pushNullReference() throws OverflowInvalidOperandStackException
+	{
+		pushTag(NullReferenceTag);
+	}
+
+	public void pushUnknown(@NotNull final ComputationalCategory computationalCategory) throws OverflowInvalidOperandStackException
+	{
+		pushTag(tag(computationalCategory));
+	}
+
+	@Override
+	public void pushIntegerConstant(final int value) throws OverflowInvalidOperandStackException
+	{
+		pushInteger(value);
+	}
+
+	@Override
+	public void pushNumericConstant(@NotNull final ComputationalCategory computationalCategory, @NotNull final Number value) throws OverflowInvalidOperandStackException
+	{
+		switch (computationalCategory)
+		{
+			case _int:
+				pushInteger(value.intValue());
+				return;
+
+			case _float:
+				pushFloat(value.floatValue());
+				return;
+
+			case _long:
+				pushLong(value.longValue());
+				return;
+
+			case _double:
+				pushDouble(value.doubleValue());
+				return;
+
+			default:
+				throw new IllegalArgumentException("computationalCategory is not numeric");
+		}
+	}
+
+	// The local variable is not tracked; only its computational category is kept
+	@Override
+	public void pushLoadLocalVariable(@NotNull final ComputationalCategory computationalCategory, final char localVariableIndex, @Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter) throws OverflowInvalidOperandStackException
+	{
+		pushUnknown(computationalCategory);
+	}
+
+	@Override
+	public void pushStoreLocalVariable(@NotNull final ComputationalCategory computationalCategory, final char localVariableIndex, @Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter) throws OverflowInvalidOperandStackException
+	{
+		pushUnknown(computationalCategory);
+	}
+
+	@Override
+	public void binaryOperation(@NotNull final ComputationalCategory computationalCategory, @NotNull final BinaryOperation binaryOperation) throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
+	{
+		popTag(computationalCategory);
+		popTag(computationalCategory);
+		try
+		{
+			pushUnknown(computationalCategory);
+		}
+		catch (final OverflowInvalidOperandStackException e)
+		{
+			throw new IllegalStateException("There is supposed to be space on the operand stack", e);
+		}
+	}
+
+	private int pushTag(final int tag) throws OverflowInvalidOperandStackException
+	{
+		if (stackPointer == maximumPointer)
+		{
+			throw new OverflowInvalidOperandStackException();
+		}
+		stackPointer++;
+		tags[stackPointer] = tag;
+		constants[stackPointer] = 0L;
+		return stackPointer;
+	}
+
+	public int popTag() throws UnderflowInvalidOperandStackException
+	{
+		final int tag = peekTag(0);
+		operandStackItems[stackPointer] = null;
+		stackPointer--;
+		return tag;
+	}
+
+	public int popTag(@NotNull final ComputationalCategory computationalCategory) throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
+	{
+		if (!isOfComputationalCategory(peekTag(0), computationalCategory))
+		{
+			throw new MismatchedTypeInvalidOperandStackException(computationalCategory, LeftHandMessage);
+		}
+		return popTag();
+	}
+
+	// A depth of zero is the top of the stack
+	public int peekTag(final int depth) throws UnderflowInvalidOperandStackException
+	{
+		return tags[index(depth)];
+	}
+
+	public long peekConstant(final int depth) throws UnderflowInvalidOperandStackException
+	{
+		return constants[index(depth)];
+	}
+
+	@NotNull
+	public OperandStackItem peek(final int depth) throws UnderflowInvalidOperandStackException
+	{
+		return materialise(index(depth));
+	}
+
+	private int index(final int depth) throws UnderflowInvalidOperandStackException
+	{
+		final int index = stackPointer - depth;
+		if (depth < 0 || index < 0)
+		{
+			throw new UnderflowInvalidOperandStackException();
+		}
+		return index;
+	}
+
+	@Override
+	@NotNull
+	public OperandStackItem pop() throws UnderflowInvalidOperandStackException
+	{
+		final OperandStackItem operandStackItem = materialise(index(0));
+		operandStackItems[stackPointer] = null;
+		stackPointer--;
+		return operandStackItem;
+	}
+
+	@Override
+	@NotNull
+	public OperandStackItem popCategory1ComputationalType() throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
+	{
+		if (isCategory1(peekTag(0)))
+		{
+			return pop();
+		}
+		throw new MismatchedTypeInvalidOperandStackException("Operand stack is mismatched; we expected a Category 1 Computational Type");
+	}
+
+	@Override
+	@NotNull
+	public OperandStackItem popCategory2ComputationalType() throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
+	{
+		if (isCategory1(peekTag(0)))
+		{
+			throw new MismatchedTypeInvalidOperandStackException("Operand stack is mismatched; we expected a Category 2 Computational Type");
+		}
+		return pop();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@NotNull
+	public <N extends Number> NumericOperandStackItem<N> popNumeric(@NotNull final ComputationalCategory computationalCategory) throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
+	{
+		if (computationalCategory.isNotNumeric || !isOfComputationalCategory(peekTag(0), computationalCategory))
+		{
+			throw new MismatchedTypeInvalidOperandStackException(computationalCategory, LeftHandMessage);
+		}
+		return (NumericOperandStackItem<N>) pop();
+	}
+
+	@Override
+	@NotNull
+	public ReferenceOperandStackItem popReference() throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
+	{
+		if (!isOfComputationalCategory(peekTag(0), reference))
+		{
+			throw new MismatchedTypeInvalidOperandStackException(reference, LeftHandMessage);
+		}
+		return (ReferenceOperandStackItem) pop();
+	}
+
+	@Override
+	public int push(@NotNull final OperandStackItem operandStackItem) throws OverflowInvalidOperandStackException
+	{
+		final int stackPointer = pushTag(tagOf(operandStackItem));
+		constants[stackPointer] = constantOf(operandStackItem);
+		operandStackItems[stackPointer] = operandStackItem;
+		return operandStackItem.push(stackPointer);
+	}
+
+	@Override
+	public int pushWithCertainty(@NotNull final OperandStackItem operandStackItem)
+	{
+		final int oldStackPointer;
+		try
+		{
+			oldStackPointer = push(operandStackItem);
+		}
+		catch (final OverflowInvalidOperandStackException e)
+		{
+			throw new IllegalStateException("There is supposed to be space on the operand stack", e);
+		}
+		return oldStackPointer;
+	}
+
+	@Override
+	public void unchanged(@NotNull final DoNothingOperandStackItem doNothingOperandStackItem)
+	{
+	}
+
+	@NotNull
+	private OperandStackItem materialise(final int index)
+	{
+		final OperandStackItem extant = operandStackItems[index];
+		if (extant != null)
+		{
+			return extant;
+		}
+
+		final OperandStackItem operandStackItem = newOperandStackItem(tags[index], constants[index]);
+		operandStackItem.push(index);
+		operandStackItems[index] = operandStackItem;
+		return operandStackItem;
+	}
+
+	@NotNull
+	private static OperandStackItem newOperandStackItem(final int tag, final long constant)
+	{
+		final ComputationalCategory computationalCategory = computationalCategory(tag);
+		if (computationalCategory == null)
+		{
+			throw new IllegalStateException("Items of unknown type are only pushed as objects");
+		}
+
+		final boolean isConstant = isConstant(tag);
+		switch (computationalCategory)
+		{
+			case _int:
+				return isConstant ? new IntegerConstantOperandStackItem(intConstant(constant)) : new UnknownNumericOperandStackItem<Integer>(_int);
+
+			case _float:
+				return isConstant ? new FloatConstantOperandStackItem(floatConstant(constant)) : new UnknownNumericOperandStackItem<Float>(_float);
+
+			case _long:
+				return isConstant ? new LongConstantOperandStackItem(constant) : new UnknownNumericOperandStackItem<Long>(_long);
+
+			case _double:
+				return isConstant ? new DoubleConstantOperandStackItem(doubleConstant(constant)) : new UnknownNumericOperandStackItem<Double>(_double);
+
+			case reference:
+				return isNullReference(tag) ? new NullReferenceConstantOperandStackItem() : new UnknownReferenceOperandStackItem();
+
+			case returnAddress:
+				return new ReturnAddressOperandStackItem();
+
+			default:
+				throw new IllegalStateException("Unknown computational category " + computationalCategory);
+		}
+	}
+
+	private static int tagOf(@NotNull final OperandStackItem operandStackItem)
+	{
+		if (operandStackItem instanceof NumericOperandStackItem)
+		{
+			final NumericOperandStackItem<?> numericOperandStackItem = (NumericOperandStackItem<?>) operandStackItem;
+			for (final ComputationalCategory computationalCategory : NumericComputationalCategories)
+			{
+				if (!numericOperandStackItem.isNotOfComputationalCategory(computationalCategory))
+				{
+					return isNumericConstant(operandStackItem) ? constantTag(computationalCategory) : tag(computationalCategory);
+				}
+			}
+		}
+
+		if (operandStackItem instanceof NullReferenceConstantOperandStackItem)
+		{
+			return NullReferenceTag;
+		}
+
+		if (operandStackItem instanceof ReferenceOperandStackItem)
+		{
+			return tag(reference);
+		}
+
+		if (operandStackItem instanceof ReturnAddressOperandStackItem)
+		{
+			return tag(returnAddress);
+		}
+
+		return unknownTag(operandStackItem.isCategory1());
+	}
+
+	private static boolean isNumericConstant(@NotNull final OperandStackItem operandStackItem)
+	{
+		return operandStackItem instanceof IntegerConstantOperandStackItem || operandStackItem instanceof LongConstantOperandStackItem || operandStackItem instanceof FloatConstantOperandStackItem || operandStackItem instanceof DoubleConstantOperandStackItem;
+	}
+
+	private static long constantOf(@NotNull final OperandStackItem operandStackItem)
+	{
+		if (operandStackItem instanceof IntegerConstantOperandStackItem)
+		{
+			return ((IntegerConstantOperandStackItem) operandStackItem).value();
+		}
+		if (operandStackItem instanceof LongConstantOperandStackItem)
+		{
+			return ((LongConstantOperandStackItem) operandStackItem).value();
+		}
+		if (operandStackItem instanceof FloatConstantOperandStackItem)
+		{
+			return floatToRawIntBits(((FloatConstantOperandStackItem) operandStackItem).value());
+		}
+		if (operandStackItem instanceof DoubleConstantOperandStackItem)
+		{
+			return doubleToRawLongBits(((DoubleConstantOperandStackItem) operandStackItem).value());
+		}
+		return 0L;
+	}
+}
@@ -23,13 +23,19 @@
 package com.stormmq.java.classfile.domain.attributes.code.operandStack;
 
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
+import com.stormmq.java.classfile.domain.attributes.code.localVariables.LocalVariableAtProgramCounter;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.DoNothingOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.OperandStackItem;
-import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.NumericOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.constantOperandStackItems.IntegerConstantOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.*;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.operations.BinaryOperation;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.LoadReferenceLocalVariableOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.ReferenceOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.StoreReferenceLocalVariableOperandStackItem;
 import com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory.reference;
 
@@ -155,4 +161,36 @@ public final class TrackingOperandStack implements OperandStack
 	public void unchanged(@NotNull final DoNothingOperandStackItem doNothingOperandStackItem)
 	{
 	}
+
+	@Override
+	public void pushIntegerConstant(final int value) throws OverflowInvalidOperandStackException
+	{
+		push(new IntegerConstantOperandStackItem(value));
+	}
+
+	@Override
+	public void pushNumericConstant(@NotNull final ComputationalCategory computationalCategory, @NotNull final Number value) throws OverflowInvalidOperandStackException
+	{
+		push(new ConstantNumericOperandStackItem<>(computationalCategory, value));
+	}
+
+	@Override
+	public void pushLoadLocalVariable(@NotNull final ComputationalCategory computationalCategory, final char localVariableIndex, @Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter) throws OverflowInvalidOperandStackException
+	{
+		push(computationalCategory == reference ? new LoadReferenceLocalVariableOperandStackItem(localVariableIndex, localVariableAtProgramCounter) : new LoadNumericLocalVariableOperandStackItem<>(computationalCategory, localVariableIndex, localVariableAtProgramCounter));
+	}
+
+	@Override
+	public void pushStoreLocalVariable(@NotNull final ComputationalCategory computationalCategory, final char localVariableIndex, @Nullable final LocalVariableAtProgramCounter localVariableAtProgramCounter) throws OverflowInvalidOperandStackException
+	{
+		push(computationalCategory == reference ? new StoreReferenceLocalVariableOperandStackItem(localVariableIndex, localVariableAtProgramCounter) : new StoreNumericLocalVariableOperandStackItem<>(computationalCategory, localVariableIndex, localVariableAtProgramCounter));
+	}
+
+	@Override
+	public void binaryOperation(@NotNull final ComputationalCategory computationalCategory, @NotNull final BinaryOperation binaryOperation) throws UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException
+	{
+		final NumericOperandStackItem<Number> value2 = popNumeric(computationalCategory);
+		final NumericOperandStackItem<Number> value1 = popNumeric(computationalCategory);
+		pushWithCertainty(value1.binaryOperation(binaryOperation, value2));
+	}
 }
@@ -35,4 +35,9 @@ public final class DoubleConstantOperandStackItem extends AbstractNumericOperand
 		super(_double);
 		this.value = value;
 	}
+
+	public double value()
+	{
+		return value;
+	}
 }
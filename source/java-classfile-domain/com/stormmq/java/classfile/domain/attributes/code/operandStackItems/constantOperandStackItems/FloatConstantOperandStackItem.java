@@ -35,4 +35,9 @@ public final class FloatConstantOperandStackItem extends AbstractNumericOperandS
 		super(_float);
 		this.value = value;
 	}
+
+	public float value()
+	{
+		return value;
+	}
 }
@@ -35,4 +35,9 @@ public final class IntegerConstantOperandStackItem extends AbstractNumericOperan
 		super(_int);
 		this.value = value;
 	}
+
+	public int value()
+	{
+		return value;
+	}
 }
@@ -35,4 +35,9 @@ public final class LongConstantOperandStackItem extends AbstractNumericOperandSt
 		super(_long);
 		this.value = value;
 	}
+
+	public long value()
+	{
+		return value;
+	}
 }
@@ -22,8 +22,12 @@
 
 package com.stormmq.java.classfile.domain.attributes.code.stackMapFrames;
 
-public abstract class AbstractStackMapFrame implements StackMapFrame
+import java.io.Serializable;
+
+public abstract class AbstractStackMapFrame implements StackMapFrame, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final char offsetDelta;
 
 	protected AbstractStackMapFrame(final char offsetDelta)
@@ -27,6 +27,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class AppendStackMapFrame extends AbstractStackMapFrame
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final VerificationType[] verificationTypes;
 
 	public AppendStackMapFrame(final char offsetDelta, @NotNull final VerificationType... verificationTypes)
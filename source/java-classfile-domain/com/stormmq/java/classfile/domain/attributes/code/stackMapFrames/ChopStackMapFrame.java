@@ -24,6 +24,8 @@ package com.stormmq.java.classfile.domain.attributes.code.stackMapFrames;
 
 public final class ChopStackMapFrame extends AbstractStackMapFrame
 {
+	private static final long serialVersionUID = 1L;
+
 	public ChopStackMapFrame(final char offsetDelta)
 	{
 		super(offsetDelta);
@@ -25,8 +25,12 @@ package com.stormmq.java.classfile.domain.attributes.code.stackMapFrames;
 import com.stormmq.java.classfile.domain.attributes.code.stackMapFrames.verificationTypes.VerificationType;
 import org.jetbrains.annotations.NotNull;
 
-public final class FullStackMapFrame implements StackMapFrame
+import java.io.Serializable;
+
+public final class FullStackMapFrame implements StackMapFrame, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final char offsetDelta;
 	@NotNull private final VerificationType[] locals;
 	@NotNull private final VerificationType[] stack;
@@ -24,6 +24,8 @@ package com.stormmq.java.classfile.domain.attributes.code.stackMapFrames;
 
 public final class SameExtendedStackMapFrame extends AbstractStackMapFrame
 {
+	private static final long serialVersionUID = 1L;
+
 	public SameExtendedStackMapFrame(final char offsetDelta)
 	{
 		super(offsetDelta);
@@ -27,6 +27,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class SameLocals1StackItemStackMapFrame extends AbstractStackMapFrame
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final int OffsetDeltaCorrection = 64;
 
 	@NotNull private final VerificationType verificationType;
@@ -24,6 +24,8 @@ package com.stormmq.java.classfile.domain.attributes.code.stackMapFrames;
 
 public final class SameStackMapFrame extends AbstractStackMapFrame
 {
+	private static final long serialVersionUID = 1L;
+
 	public SameStackMapFrame(final short offsetDelta)
 	{
 		super((char) offsetDelta);
@@ -25,8 +25,12 @@ package com.stormmq.java.classfile.domain.attributes.code.stackMapFrames.verific
 import com.stormmq.java.classfile.domain.InternalTypeName;
 import org.jetbrains.annotations.NotNull;
 
-public final class ObjectVerificationType implements VerificationType
+import java.io.Serializable;
+
+public final class ObjectVerificationType implements VerificationType, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final InternalTypeName internalTypeName;
 
 	public ObjectVerificationType(@NotNull final InternalTypeName internalTypeName)
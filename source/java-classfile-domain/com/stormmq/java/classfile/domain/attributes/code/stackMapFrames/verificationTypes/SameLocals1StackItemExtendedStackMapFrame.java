@@ -27,6 +27,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class SameLocals1StackItemExtendedStackMapFrame extends AbstractStackMapFrame
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final VerificationType verificationType;
 
 	public SameLocals1StackItemExtendedStackMapFrame(final char offsetDelta, @NotNull final VerificationType verificationType)
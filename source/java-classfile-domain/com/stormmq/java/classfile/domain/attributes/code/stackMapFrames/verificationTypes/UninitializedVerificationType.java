@@ -22,8 +22,12 @@
 
 package com.stormmq.java.classfile.domain.attributes.code.stackMapFrames.verificationTypes;
 
-public final class UninitializedVerificationType implements VerificationType
+import java.io.Serializable;
+
+public final class UninitializedVerificationType implements VerificationType, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final char offset;
 
 	public UninitializedVerificationType(final char offset)
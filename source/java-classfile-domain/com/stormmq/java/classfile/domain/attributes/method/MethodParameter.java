@@ -25,8 +25,12 @@ package com.stormmq.java.classfile.domain.attributes.method;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public final class MethodParameter
+import java.io.Serializable;
+
+public final class MethodParameter implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final MethodParameter[] EmptyMethodParameters = {};
 
 	@Nullable private final String parameterName;
@@ -28,10 +28,13 @@ import com.stormmq.string.AbstractToString;
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
 import java.util.Arrays;
 
-public final class BootstrapMethod extends AbstractToString
+public final class BootstrapMethod extends AbstractToString implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final BootstrapMethod[] EmptyBootstrapMethods = {};
 
 	@NotNull private final MethodHandle methodHandle;
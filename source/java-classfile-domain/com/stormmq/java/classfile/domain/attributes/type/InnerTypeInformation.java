@@ -29,8 +29,12 @@ import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.Kno
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public final class InnerTypeInformation
+import java.io.Serializable;
+
+public final class InnerTypeInformation implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final InnerTypeInformation[] EmptyInnerTypeInformation = {};
 
 	@NotNull private final KnownReferenceTypeName innerTypeName;
@@ -27,8 +27,12 @@ import com.stormmq.java.classfile.domain.names.MethodName;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.NotNull;
 
-public final class InsideEnclosingMethod implements EnclosingMethod
+import java.io.Serializable;
+
+public final class InsideEnclosingMethod implements EnclosingMethod, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final KnownReferenceTypeName enclosingTypeName;
 	@NotNull private final MethodName methodName;
 	@NotNull private final MethodDescriptor methodDescriptor;
@@ -25,8 +25,12 @@ package com.stormmq.java.classfile.domain.attributes.type.enclosingMethods;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.NotNull;
 
-public final class OutsideEnclosingMethod implements EnclosingMethod
+import java.io.Serializable;
+
+public final class OutsideEnclosingMethod implements EnclosingMethod, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final KnownReferenceTypeName enclosingTypeName;
 
 	public OutsideEnclosingMethod(@NotNull final KnownReferenceTypeName enclosingTypeName)
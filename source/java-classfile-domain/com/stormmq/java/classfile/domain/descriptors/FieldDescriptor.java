@@ -24,22 +24,66 @@ package com.stormmq.java.classfile.domain.descriptors;
 
 import com.stormmq.java.classfile.domain.InternalTypeName;
 import com.stormmq.java.classfile.domain.InvalidInternalTypeNameException;
+import com.stormmq.java.parsing.utilities.names.InternedSymbol;
+import com.stormmq.java.parsing.utilities.names.SymbolTable;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.*;
 
+import java.io.Serializable;
+
 import static com.stormmq.string.Formatting.format;
 
-public final class FieldDescriptor implements Comparable<FieldDescriptor>
+public final class FieldDescriptor implements Comparable<FieldDescriptor>, Serializable, InternedSymbol
 {
-	@NotNull public final InternalTypeName internalTypeName;
+	private static final long serialVersionUID = 1L;
+
+	@NotNull private static final SymbolTable<String, FieldDescriptor> Symbols = new SymbolTable<>(16384);
 
-	public FieldDescriptor(@NotNull final InternalTypeName internalTypeName)
+	// Interned by the raw descriptor (eg Ljava/lang/Object;), so one already known need not be parsed again; internalTypeName must be that parsed from it
+	@NotNull
+	public static FieldDescriptor fieldDescriptor(@NonNls @NotNull final String rawFieldDescriptor, @NotNull final InternalTypeName internalTypeName)
 	{
 		if (internalTypeName.isVoid())
 		{
 			throw new IllegalArgumentException("A fieldDescriptor can not be void");
 		}
+		return Symbols.intern(rawFieldDescriptor, (key, identifier) -> new FieldDescriptor(key, internalTypeName, identifier));
+	}
+
+	@Nullable
+	public static FieldDescriptor knownFieldDescriptor(@NonNls @NotNull final String rawFieldDescriptor)
+	{
+		return Symbols.find(rawFieldDescriptor);
+	}
+
+	public static int numberOfFieldDescriptors()
+	{
+		return Symbols.size();
+	}
+
+	// Of knownFieldDescriptor(), so how often a descriptor need not be parsed
+	public static double fieldDescriptorHitRate()
+	{
+		return Symbols.findHitRate();
+	}
+
+	@NotNull @NonNls private final String rawFieldDescriptor;
+	@NotNull public final InternalTypeName internalTypeName;
+	private final transient int identifier;
+	private final transient int hashCode;
+
+	private FieldDescriptor(@NonNls @NotNull final String rawFieldDescriptor, @NotNull final InternalTypeName internalTypeName, final int identifier)
+	{
+		this.rawFieldDescriptor = rawFieldDescriptor;
 		this.internalTypeName = internalTypeName;
+		this.identifier = identifier;
+		hashCode = rawFieldDescriptor.hashCode();
+	}
+
+	@NotNull
+	private Object readResolve()
+	{
+		return fieldDescriptor(rawFieldDescriptor, internalTypeName);
 	}
 
 	@Override
@@ -55,33 +99,21 @@ public final class FieldDescriptor implements Comparable<FieldDescriptor>
 		return format("%1$s(%2$s)", getClass().getSimpleName(), internalTypeName);
 	}
 
-	@SuppressWarnings("RedundantIfStatement")
 	@Override
 	public boolean equals(@Nullable final Object o)
 	{
-		if (this == o)
-		{
-			return true;
-		}
-		if (o == null || getClass() != o.getClass())
-		{
-			return false;
-		}
-
-		final FieldDescriptor that = (FieldDescriptor) o;
-
-		if (!internalTypeName.equals(that.internalTypeName))
-		{
-			return false;
-		}
-
-		return true;
+		return this == o;
 	}
 
 	@Override
 	public int hashCode()
 	{
-		return internalTypeName.hashCode();
+		return hashCode;
+	}
+
+	public int identifier()
+	{
+		return identifier;
 	}
 
 	public boolean is(@NotNull final InternalTypeName internalTypeName)
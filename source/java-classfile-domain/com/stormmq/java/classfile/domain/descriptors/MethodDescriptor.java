@@ -23,21 +23,24 @@
 package com.stormmq.java.classfile.domain.descriptors;
 
 import com.stormmq.java.classfile.domain.InternalTypeName;
+import com.stormmq.java.parsing.utilities.names.InternedSymbol;
+import com.stormmq.java.parsing.utilities.names.SymbolTable;
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.*;
 
+import java.io.Serializable;
 import java.util.*;
 
-public final class MethodDescriptor
+public final class MethodDescriptor implements Serializable, InternedSymbol
 {
-	@NotNull private final InternalTypeName returnDescriptor;
-	@NotNull private final InternalTypeName[] parameterDescriptors;
-	@SuppressWarnings("FieldNotUsedInToString") private final int parameterCount;
+	private static final long serialVersionUID = 1L;
 
-	public MethodDescriptor(@NotNull final InternalTypeName returnDescriptor, @NotNull final InternalTypeName... parameterDescriptors)
+	@NotNull private static final SymbolTable<String, MethodDescriptor> Symbols = new SymbolTable<>(16384);
+
+	// Interned by the raw descriptor (eg (ILjava/lang/String;)V), so one already known need not be parsed again; returnDescriptor and parameterDescriptors must be those parsed from it
+	@NotNull
+	public static MethodDescriptor methodDescriptor(@NonNls @NotNull final String rawMethodDescriptor, @NotNull final InternalTypeName returnDescriptor, @NotNull final InternalTypeName... parameterDescriptors)
 	{
-		this.returnDescriptor = returnDescriptor;
-		this.parameterDescriptors = parameterDescriptors;
 		for (final InternalTypeName parameterDescriptor : parameterDescriptors)
 		{
 			if (parameterDescriptor.isVoid())
@@ -45,7 +48,48 @@ public final class MethodDescriptor
 				throw new IllegalArgumentException("parameterDescriptors must not contain void");
 			}
 		}
+		return Symbols.intern(rawMethodDescriptor, (key, identifier) -> new MethodDescriptor(key, returnDescriptor, parameterDescriptors, identifier));
+	}
+
+	@Nullable
+	public static MethodDescriptor knownMethodDescriptor(@NonNls @NotNull final String rawMethodDescriptor)
+	{
+		return Symbols.find(rawMethodDescriptor);
+	}
+
+	public static int numberOfMethodDescriptors()
+	{
+		return Symbols.size();
+	}
+
+	// Of knownMethodDescriptor(), so how often a descriptor need not be parsed
+	public static double methodDescriptorHitRate()
+	{
+		return Symbols.findHitRate();
+	}
+
+	@NotNull @NonNls private final String rawMethodDescriptor;
+	@NotNull private final InternalTypeName returnDescriptor;
+	@NotNull private final InternalTypeName[] parameterDescriptors;
+	@SuppressWarnings("FieldNotUsedInToString") private final int parameterCount;
+	private final transient int identifier;
+	private final transient int hashCode;
+
+	private MethodDescriptor(@NonNls @NotNull final String rawMethodDescriptor, @NotNull final InternalTypeName returnDescriptor, @NotNull final InternalTypeName[] parameterDescriptors, final int identifier)
+	{
+		this.rawMethodDescriptor = rawMethodDescriptor;
+		this.returnDescriptor = returnDescriptor;
+		this.parameterDescriptors = parameterDescriptors;
 		parameterCount = parameterDescriptors.length;
+		this.identifier = identifier;
+		hashCode = rawMethodDescriptor.hashCode();
+	}
+
+	// Its return and parameter descriptors have already been resolved to their canonical instances, so rawMethodDescriptor is not parsed again
+	@NotNull
+	private Object readResolve()
+	{
+		return methodDescriptor(rawMethodDescriptor, returnDescriptor, parameterDescriptors);
 	}
 
 	@NotNull
@@ -55,40 +99,21 @@ public final class MethodDescriptor
 		return Formatting.format("%1$s(%2$s, %3$s)", getClass().getSimpleName(), returnDescriptor, Arrays.toString(parameterDescriptors));
 	}
 
-	@SuppressWarnings("RedundantIfStatement")
 	@Override
 	public boolean equals(@Nullable final Object o)
 	{
-		if (this == o)
-		{
-			return true;
-		}
-		if (o == null || getClass() != o.getClass())
-		{
-			return false;
-		}
-
-		final MethodDescriptor that = (MethodDescriptor) o;
-
-		if (!returnDescriptor.equals(that.returnDescriptor))
-		{
-			return false;
-		}
-		// Probably incorrect - comparing Object[] arrays with Arrays.equals
-		if (!Arrays.equals(parameterDescriptors, that.parameterDescriptors))
-		{
-			return false;
-		}
-
-		return true;
+		return this == o;
 	}
 
 	@Override
 	public int hashCode()
 	{
-		int result = returnDescriptor.hashCode();
-		result = 31 * result + Arrays.hashCode(parameterDescriptors);
-		return result;
+		return hashCode;
+	}
+
+	public int identifier()
+	{
+		return identifier;
 	}
 
 	public boolean hasParameters()
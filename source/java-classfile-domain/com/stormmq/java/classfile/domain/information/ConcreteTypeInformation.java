@@ -39,14 +39,17 @@ import com.stormmq.string.AbstractToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.function.Consumer;
 
 import static com.stormmq.functions.collections.ListHelper.trimToSizeOrReplaceWithEmptyOrSingleton;
 import static com.stormmq.functions.collections.SizedIterator.sizedIteratorFromCollection;
 
-public final class ConcreteTypeInformation extends AbstractToString implements TypeInformation
+public final class ConcreteTypeInformation extends AbstractToString implements TypeInformation, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private static final List<FieldInformation> EmptyFields = Collections.emptyList();
 
 	@SuppressWarnings("WeakerAccess") @NotNull public final TypeKind typeKind;
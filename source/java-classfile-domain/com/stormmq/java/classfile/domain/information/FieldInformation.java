@@ -31,13 +31,16 @@ import com.stormmq.java.parsing.utilities.Visibility;
 import com.stormmq.string.AbstractToString;
 import org.jetbrains.annotations.*;
 
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 
 import static com.stormmq.java.parsing.utilities.Visibility.Private;
 import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName.knownReferenceTypeName;
 
-public final class FieldInformation extends AbstractToString
+public final class FieldInformation extends AbstractToString implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public final FieldUniqueness fieldUniqueness;
 	public final boolean isSynthetic;
 	@NotNull public final Visibility fieldVisibility;
@@ -25,6 +25,9 @@ package com.stormmq.java.classfile.domain.information;
 import com.stormmq.java.classfile.domain.attributes.UnknownAttributes;
 import com.stormmq.java.classfile.domain.attributes.annotations.*;
 import com.stormmq.java.classfile.domain.attributes.code.Code;
+import com.stormmq.java.classfile.domain.attributes.code.codeReaders.InstructionCursor;
+import com.stormmq.java.classfile.domain.attributes.code.controlFlow.ControlFlowGraph;
+import com.stormmq.java.classfile.domain.attributes.code.controlFlow.InvalidControlFlowException;
 import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
 import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
 import com.stormmq.java.classfile.domain.attributes.method.MethodParameter;
@@ -37,10 +40,13 @@ import com.stormmq.string.AbstractToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.Set;
 
-public final class MethodInformation extends AbstractToString
+public final class MethodInformation extends AbstractToString implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final MethodUniqueness methodUniqueness;
 	@NotNull private final Visibility visibility;
 	private final boolean isSynthetic;
@@ -97,6 +103,36 @@ public final class MethodInformation extends AbstractToString
 		return fields(methodUniqueness, code, visibility, isSynthetic, isBridge, isVarArgs, completeness, isSynchronized, isNative, isStatic, isStrictFloatingPoint, isSyntheticAttribute, isDeprecated, signature, runtimeAnnotationValues, parameterAnnotations, visibleTypeAnnotations, invisibleTypeAnnotations, exceptions, methodParameters, annotationDefault, unknownAttributes);
 	}
 
+	// Zero for abstract and native methods
+	public long codeLength()
+	{
+		if (code == null)
+		{
+			return 0L;
+		}
+		return code.codeLength();
+	}
+
+	@Nullable
+	public InstructionCursor instructionCursor()
+	{
+		if (code == null)
+		{
+			return null;
+		}
+		return code.instructionCursor();
+	}
+
+	@Nullable
+	public ControlFlowGraph controlFlowGraph() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		if (code == null)
+		{
+			return null;
+		}
+		return code.controlFlowGraph();
+	}
+
 	public void parseCode() throws MismatchedTypeInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException, InvalidOpcodeException, UnderflowInvalidOperandStackException, OverflowInvalidOperandStackException
 	{
 		if (code == null)
@@ -0,0 +1,69 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.information;
+
+import com.stormmq.java.classfile.domain.TypeKind;
+import com.stormmq.java.parsing.utilities.Completeness;
+import com.stormmq.java.parsing.utilities.Visibility;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import com.stormmq.string.AbstractToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+// Just what a class file's header (access flags, this class, super class and interfaces) says about a type; enough to index a class path without parsing fields, methods or attributes
+public final class TypeHeader extends AbstractToString
+{
+	@NotNull
+	public static TypeHeader typeHeader(@NotNull final ConcreteTypeInformation typeInformation)
+	{
+		return new TypeHeader(typeInformation.typeKind, typeInformation.visibility, typeInformation.completeness, typeInformation.isSynthetic, typeInformation.thisClassTypeName, typeInformation.superClassTypeName, typeInformation.interfaces);
+	}
+
+	@SuppressWarnings("WeakerAccess") @NotNull public final TypeKind typeKind;
+	@SuppressWarnings("WeakerAccess") @NotNull public final Visibility visibility;
+	@SuppressWarnings("WeakerAccess") @NotNull public final Completeness completeness;
+	@SuppressWarnings("WeakerAccess") public final boolean isSynthetic;
+	@SuppressWarnings("WeakerAccess") @NotNull public final KnownReferenceTypeName thisClassTypeName;
+	@SuppressWarnings("WeakerAccess") @Nullable public final KnownReferenceTypeName superClassTypeName;
+	@SuppressWarnings("WeakerAccess") @NotNull public final Set<KnownReferenceTypeName> interfaces;
+
+	public TypeHeader(@NotNull final TypeKind typeKind, @NotNull final Visibility visibility, @NotNull final Completeness completeness, final boolean isSynthetic, @NotNull final KnownReferenceTypeName thisClassTypeName, @Nullable final KnownReferenceTypeName superClassTypeName, @NotNull final Set<KnownReferenceTypeName> interfaces)
+	{
+		this.typeKind = typeKind;
+		this.visibility = visibility;
+		this.completeness = completeness;
+		this.isSynthetic = isSynthetic;
+		this.thisClassTypeName = thisClassTypeName;
+		this.superClassTypeName = superClassTypeName;
+		this.interfaces = interfaces;
+	}
+
+	@NotNull
+	@Override
+	protected Object[] fields()
+	{
+		return fields(typeKind, visibility, completeness, isSynthetic, thisClassTypeName, superClassTypeName, interfaces);
+	}
+}
@@ -22,15 +22,44 @@
 
 package com.stormmq.java.classfile.domain.names;
 
+import com.stormmq.java.parsing.utilities.names.InternedSymbol;
+import com.stormmq.java.parsing.utilities.names.SymbolTable;
 import org.jetbrains.annotations.*;
 
-public final class FieldName implements Comparable<FieldName>
+import java.io.Serializable;
+
+public final class FieldName implements Comparable<FieldName>, Serializable, InternedSymbol
 {
+	private static final long serialVersionUID = 1L;
+
+	@NotNull private static final SymbolTable<String, FieldName> Symbols = new SymbolTable<>(16384);
+
+	@NotNull
+	public static FieldName fieldName(@NotNull @NonNls final String validatedFieldName)
+	{
+		return Symbols.intern(validatedFieldName, FieldName::new);
+	}
+
+	public static int numberOfFieldNames()
+	{
+		return Symbols.size();
+	}
+
 	@NotNull private final String validatedFieldName;
+	private final transient int identifier;
+	private final transient int hashCode;
 
-	public FieldName(@NotNull @NonNls final String validatedFieldName)
+	private FieldName(@NotNull @NonNls final String validatedFieldName, final int identifier)
 	{
 		this.validatedFieldName = validatedFieldName;
+		this.identifier = identifier;
+		hashCode = validatedFieldName.hashCode();
+	}
+
+	@NotNull
+	private Object readResolve()
+	{
+		return fieldName(validatedFieldName);
 	}
 
 	@Override
@@ -52,32 +81,20 @@ public final class FieldName implements Comparable<FieldName>
 		return validatedFieldName;
 	}
 
-	@SuppressWarnings("RedundantIfStatement")
 	@Override
 	public boolean equals(@Nullable final Object o)
 	{
-		if (this == o)
-		{
-			return true;
-		}
-		if (o == null || getClass() != o.getClass())
-		{
-			return false;
-		}
-
-		final FieldName that = (FieldName) o;
-
-		if (!validatedFieldName.equals(that.validatedFieldName))
-		{
-			return false;
-		}
-
-		return true;
+		return this == o;
 	}
 
 	@Override
 	public int hashCode()
 	{
-		return validatedFieldName.hashCode();
+		return hashCode;
+	}
+
+	public int identifier()
+	{
+		return identifier;
 	}
 }
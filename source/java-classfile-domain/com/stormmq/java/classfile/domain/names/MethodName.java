@@ -22,21 +22,50 @@
 
 package com.stormmq.java.classfile.domain.names;
 
+import com.stormmq.java.parsing.utilities.names.InternedSymbol;
+import com.stormmq.java.parsing.utilities.names.SymbolTable;
 import org.jetbrains.annotations.*;
 
+import java.io.Serializable;
+
 import static com.stormmq.string.StringConstants.InstanceInitializerMethodName;
 import static com.stormmq.string.StringConstants.StaticInitializerMethodName;
 
-public final class MethodName
+public final class MethodName implements Serializable, InternedSymbol
 {
-	@NotNull public static final MethodName InstanceInitializer = new MethodName(InstanceInitializerMethodName);
-	@NotNull public static final MethodName StaticInstanceInitializer = new MethodName(StaticInitializerMethodName);
+	private static final long serialVersionUID = 1L;
+
+	@NotNull private static final SymbolTable<String, MethodName> Symbols = new SymbolTable<>(16384);
+
+	@NotNull public static final MethodName InstanceInitializer = methodName(InstanceInitializerMethodName);
+	@NotNull public static final MethodName StaticInstanceInitializer = methodName(StaticInitializerMethodName);
+
+	@NotNull
+	public static MethodName methodName(@NotNull @NonNls final String validatedMethodName)
+	{
+		return Symbols.intern(validatedMethodName, MethodName::new);
+	}
+
+	public static int numberOfMethodNames()
+	{
+		return Symbols.size();
+	}
 
 	@NotNull private final String validatedMethodName;
+	private final transient int identifier;
+	private final transient int hashCode;
 
-	public MethodName(@NotNull @NonNls final String validatedMethodName)
+	private MethodName(@NotNull @NonNls final String validatedMethodName, final int identifier)
 	{
 		this.validatedMethodName = validatedMethodName;
+		this.identifier = identifier;
+		hashCode = validatedMethodName.hashCode();
+	}
+
+	@NotNull
+	private Object readResolve()
+	{
+		return methodName(validatedMethodName);
 	}
 
 	@Override
@@ -46,32 +75,20 @@ public final class MethodName
 		return validatedMethodName;
 	}
 
-	@SuppressWarnings("RedundantIfStatement")
 	@Override
 	public boolean equals(@Nullable final Object o)
 	{
-		if (this == o)
-		{
-			return true;
-		}
-		if (o == null || getClass() != o.getClass())
-		{
-			return false;
-		}
-
-		final MethodName that = (MethodName) o;
-
-		if (!validatedMethodName.equals(that.validatedMethodName))
-		{
-			return false;
-		}
-
-		return true;
+		return this == o;
 	}
 
 	@Override
 	public int hashCode()
 	{
-		return validatedMethodName.hashCode();
+		return hashCode;
+	}
+
+	public int identifier()
+	{
+		return identifier;
 	}
 }
@@ -27,11 +27,14 @@ import com.stormmq.java.classfile.domain.descriptors.MethodDescriptor;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.*;
 
+import java.io.Serializable;
 import java.util.Set;
 
 @SuppressWarnings("SpellCheckingInspection")
-public final class Signature
+public final class Signature implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	/*
 		Example 1
 			<XX:Ljava/lang/Object;>Ljava/lang/Object;
@@ -28,15 +28,21 @@ import com.stormmq.string.AbstractToString;
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.*;
 
-public final class FieldUniqueness extends AbstractToString implements Comparable<FieldUniqueness>
+import java.io.Serializable;
+
+public final class FieldUniqueness extends AbstractToString implements Comparable<FieldUniqueness>, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public final FieldName fieldName;
 	@NotNull public final FieldDescriptor fieldDescriptor;
+	private final int hashCode;
 
 	public FieldUniqueness(@NotNull final FieldName fieldName, @NotNull @NonNls final FieldDescriptor fieldDescriptor)
 	{
 		this.fieldName = fieldName;
 		this.fieldDescriptor = fieldDescriptor;
+		hashCode = 31 * fieldName.hashCode() + fieldDescriptor.hashCode();
 	}
 
 	@NonNls
@@ -87,11 +93,12 @@ public final class FieldUniqueness extends AbstractToString implements Comparabl
 
 		final FieldUniqueness that = (FieldUniqueness) o;
 
-		if (!fieldName.equals(that.fieldName))
+		// FieldName and FieldDescriptor are interned
+		if (fieldName != that.fieldName)
 		{
 			return false;
 		}
-		if (!fieldDescriptor.equals(that.fieldDescriptor))
+		if (fieldDescriptor != that.fieldDescriptor)
 		{
 			return false;
 		}
@@ -102,8 +109,6 @@ public final class FieldUniqueness extends AbstractToString implements Comparabl
 	@Override
 	public int hashCode()
 	{
-		int result = fieldName.hashCode();
-		result = 31 * result + fieldDescriptor.hashCode();
-		return result;
+		return hashCode;
 	}
 }
@@ -27,15 +27,21 @@ import com.stormmq.java.classfile.domain.names.MethodName;
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.*;
 
-public final class MethodUniqueness
+import java.io.Serializable;
+
+public final class MethodUniqueness implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final MethodName methodName;
 	@NotNull private final MethodDescriptor methodDescriptor;
+	private final int hashCode;
 
 	public MethodUniqueness(@NotNull final MethodName methodName, @NotNull @NonNls final MethodDescriptor methodDescriptor)
 	{
 		this.methodName = methodName;
 		this.methodDescriptor = methodDescriptor;
+		hashCode = 31 * methodName.hashCode() + methodDescriptor.hashCode();
 	}
 
 	@NonNls
@@ -61,11 +67,12 @@ public final class MethodUniqueness
 
 		final MethodUniqueness that = (MethodUniqueness) o;
 
-		if (!methodName.equals(that.methodName))
+		// MethodName and MethodDescriptor are interned
+		if (methodName != that.methodName)
 		{
 			return false;
 		}
-		if (!methodDescriptor.equals(that.methodDescriptor))
+		if (methodDescriptor != that.methodDescriptor)
 		{
 			return false;
 		}
@@ -76,8 +83,6 @@ public final class MethodUniqueness
 	@Override
 	public int hashCode()
 	{
-		int result = methodName.hashCode();
-		result = 31 * result + methodDescriptor.hashCode();
-		return result;
+		return hashCode;
 	}
 }
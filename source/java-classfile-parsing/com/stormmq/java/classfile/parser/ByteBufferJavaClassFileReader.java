@@ -0,0 +1,315 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.parser;
+
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.JavaClassFileContainsDataTooLongToReadException;
+import com.stormmq.string.Formatting;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static com.stormmq.byteReaders.ByteReader.ByteMask;
+import static java.lang.Integer.MAX_VALUE;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+// This class is NOT thread safe
+// Reads with absolute indices and hands out slices, so a mapped class file is parsed without copying it onto the heap
+public final class ByteBufferJavaClassFileReader implements JavaClassFileReader
+{
+	// Mappings are released only when their buffers are garbage collected, and a process may have only so many (eg vm.max_map_count), so the many small class files are read instead; callers parsing many files should read those into reused buffers (see readAllBytes)
+	public static final int MinimumSizeToMap = 64 * 1024;
+
+	@NotNull
+	public static ByteBuffer mapReadOnly(@NotNull final Path path) throws IOException
+	{
+		try (final FileChannel fileChannel = FileChannel.open(path, READ))
+		{
+			return fileChannel.map(READ_ONLY, 0L, sizeOf(path, fileChannel));
+		}
+	}
+
+	@NotNull
+	public static ByteBuffer mapReadOnlyOrReadAllBytes(@NotNull final Path path) throws IOException
+	{
+		try (final FileChannel fileChannel = FileChannel.open(path, READ))
+		{
+			final int size = sizeOf(path, fileChannel);
+			if (size < MinimumSizeToMap)
+			{
+				return readAllBytes(path, fileChannel, allocate(size));
+			}
+			return mapReadOnlyOrReadAllBytes(path, fileChannel, size);
+		}
+	}
+
+	@NotNull
+	public static ByteBuffer mapReadOnlyOrReadAllBytes(@NotNull final Path path, @NotNull final FileChannel fileChannel, final int size) throws IOException
+	{
+		try
+		{
+			return fileChannel.map(READ_ONLY, 0L, size);
+		}
+		catch (final IOException e)
+		{
+			// The JDK reports running out of mappings as an IOException caused by an OutOfMemoryError; anything else is a real failure to read
+			if (e.getCause() instanceof OutOfMemoryError)
+			{
+				return readAllBytes(path, fileChannel, allocate(size));
+			}
+			throw e;
+		}
+	}
+
+	public static int sizeOf(@NotNull final Path path, @NotNull final FileChannel fileChannel) throws IOException
+	{
+		final long size = fileChannel.size();
+		if (size > MAX_VALUE)
+		{
+			throw new IOException(Formatting.format("File '%1$s' is too large to map", path));
+		}
+		return (int) size;
+	}
+
+	// Reads the file from its start until fileData is full
+	@NotNull
+	public static ByteBuffer readAllBytes(@NotNull final Path path, @NotNull final FileChannel fileChannel, @NotNull final ByteBuffer fileData) throws IOException
+	{
+		while (fileData.hasRemaining())
+		{
+			if (fileChannel.read(fileData, fileData.position()) == -1)
+			{
+				throw new EOFException(Formatting.format("File '%1$s' was truncated whilst being read", path));
+			}
+		}
+		fileData.flip();
+		return fileData;
+	}
+
+	@NotNull private final ByteBuffer byteBuffer;
+	private final boolean byteBufferIsReused;
+	private final int limit;
+	private int position;
+	@NotNull private final ModifiedUtf8StringDecoder modifiedUtf8StringDecoder;
+
+	public ByteBufferJavaClassFileReader(@NotNull final ByteBuffer byteBuffer)
+	{
+		this(byteBuffer, false);
+	}
+
+	// If the byteBuffer is reused after parsing, bytes that outlive parsing (eg Code) are copied rather than sliced
+	public ByteBufferJavaClassFileReader(@NotNull final ByteBuffer byteBuffer, final boolean byteBufferIsReused)
+	{
+		this.byteBuffer = byteBuffer.slice();
+		this.byteBufferIsReused = byteBufferIsReused;
+		limit = this.byteBuffer.limit();
+		position = 0;
+		modifiedUtf8StringDecoder = new ModifiedUtf8StringDecoder(this.byteBuffer);
+	}
+
+	@Override
+	public long bytesReadSoFar()
+	{
+		return position;
+	}
+
+	@Override
+	public float readBigEndianFloat(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		guardForAvailable(4, what);
+		final float value = byteBuffer.getFloat(position);
+		position += 4;
+		return value;
+	}
+
+	@Override
+	public short readUnsigned8BitInteger(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		guardForAvailable(1, what);
+		final short value = (short) (byteBuffer.get(position) & ByteMask);
+		position++;
+		return value;
+	}
+
+	@Override
+	public short readBigEndianSigned16BitInteger(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		guardForAvailable(2, what);
+		final short value = byteBuffer.getShort(position);
+		position += 2;
+		return value;
+	}
+
+	@Override
+	public char readBigEndianUnsigned16BitInteger(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		guardForAvailable(2, what);
+		final char value = byteBuffer.getChar(position);
+		position += 2;
+		return value;
+	}
+
+	@Override
+	public int readBigEndianSigned32BitInteger(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		guardForAvailable(4, what);
+		final int value = byteBuffer.getInt(position);
+		position += 4;
+		return value;
+	}
+
+	@Override
+	public long readBigEndianUnsigned32BitInteger(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		return Integer.toUnsignedLong(readBigEndianSigned32BitInteger(what));
+	}
+
+	@Override
+	public long readBigEndianSigned64BitInteger(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		guardForAvailable(8, what);
+		final long value = byteBuffer.getLong(position);
+		position += 8;
+		return value;
+	}
+
+	@Override
+	public long readBigEndianRawDouble(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		return readBigEndianSigned64BitInteger(what);
+	}
+
+	@NotNull
+	@Override
+	public ByteBuffer readBytes(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException
+	{
+		final int intLength = guardForLength(length);
+		final ByteBuffer slice = slice(what, intLength);
+		if (!byteBufferIsReused)
+		{
+			return slice;
+		}
+
+		final ByteBuffer copy = allocate(intLength);
+		copy.put(slice);
+		copy.flip();
+		return copy;
+	}
+
+	@Override
+	public void skipBytes(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException
+	{
+		final int intLength = guardForLength(length);
+		guardForAvailable(intLength, what);
+		position += intLength;
+	}
+
+	@NotNull
+	@Override
+	public String readModifiedUtf8StringWithPrefixedBigEndianUnsigned16BitLength(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		final char length = readBigEndianUnsigned16BitInteger(what);
+		return modifiedUtf8String(what, length);
+	}
+
+	@NotNull
+	@Override
+	public String readModifiedUtf8String(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException
+	{
+		final int intLength = guardForLength(length);
+		return modifiedUtf8String(what, intLength);
+	}
+
+	@Nullable
+	@Override
+	public ByteBuffer unreadBytes()
+	{
+		if (byteBufferIsReused)
+		{
+			return null;
+		}
+
+		final ByteBuffer unreadBytes = byteBuffer.duplicate();
+		unreadBytes.position(position);
+		return unreadBytes.slice();
+	}
+
+	// Used to revisit bytes already read, eg when decoding a lazy constant pool's entries
+	public void moveTo(final int position)
+	{
+		if (position < 0 || position > limit)
+		{
+			throw new IllegalArgumentException(Formatting.format("position '%1$s' is out of range", position));
+		}
+		this.position = position;
+	}
+
+	@NotNull
+	private String modifiedUtf8String(@NotNull @NonNls final String what, final int length) throws InvalidJavaClassFileException
+	{
+		guardForAvailable(length, what);
+
+		final String modifiedUtf8String = modifiedUtf8StringDecoder.decodeModifiedUtf8String(position, length);
+		position += length;
+		return modifiedUtf8String;
+	}
+
+	@NotNull
+	private ByteBuffer slice(@NotNull @NonNls final String what, final int length) throws InvalidJavaClassFileException
+	{
+		guardForAvailable(length, what);
+
+		final ByteBuffer slice = byteBuffer.duplicate();
+		slice.position(position);
+		slice.limit(position + length);
+		position += length;
+		return slice.slice();
+	}
+
+	private void guardForAvailable(final int length, @NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		if (length > limit - position)
+		{
+			throw new InvalidJavaClassFileException(Formatting.format("Could not read '%1$s'", what), new EOFException());
+		}
+	}
+
+	@SuppressWarnings("NumericCastThatLosesPrecision")
+	private static int guardForLength(final long length) throws JavaClassFileContainsDataTooLongToReadException
+	{
+		if (length > MAX_VALUE)
+		{
+			throw new JavaClassFileContainsDataTooLongToReadException();
+		}
+		return (int) length;
+	}
+}
@@ -0,0 +1,72 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+import com.stormmq.java.classfile.domain.TypeKind;
+import com.stormmq.java.classfile.domain.information.TypeHeader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPoolJavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFileParsers.TypeInterfacesParser;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import static com.stormmq.java.classfile.domain.JavaClassFileVersion.Java8;
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.readMagicNumberAndJavaClassFileVersion;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.accessFlags.TypeAccessFlags.*;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser.constantParsers;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFileParsers.ModernClassFileVersionedClassFileParser.parseConstantPoolLazily;
+
+public final class JavaClassFileHeaderScanner
+{
+	// As for VersionedClassFileParserChooser, every supported version is treated as Java 8
+	@NotNull private static final ConstantParser[] Java8ConstantParsers = constantParsers(Java8);
+
+	// Walks the constant pool recording only the tag and offset of each entry, then decodes just this class, super class and interfaces; nothing scanned retains byteBuffer, so it may be reused afterwards
+	@NotNull
+	public static TypeHeader scanJavaClassFileHeader(@NotNull final ByteBuffer byteBuffer) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final JavaClassFileReader javaClassFileReader = new ByteBufferJavaClassFileReader(byteBuffer);
+		readMagicNumberAndJavaClassFileVersion(javaClassFileReader);
+		final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader = parseConstantPoolLazily(javaClassFileReader, Java8ConstantParsers);
+
+		final char typeAccessFlags = constantPoolJavaClassFileReader.readAccessFlags(TypeAccessFlagsValidityMask);
+		final TypeKind typeKind = typeKind(typeAccessFlags, Java8);
+
+		final TypeInterfacesParser typeInterfacesParser = new TypeInterfacesParser(constantPoolJavaClassFileReader, typeKind);
+		final KnownReferenceTypeName thisClassTypeName = typeInterfacesParser.parseThisClass();
+		@Nullable final KnownReferenceTypeName superClassTypeName = typeInterfacesParser.parseSuperClass(thisClassTypeName);
+		final Set<KnownReferenceTypeName> interfaces = typeInterfacesParser.parseInterfaces(thisClassTypeName, superClassTypeName);
+
+		return new TypeHeader(typeKind, typeVisibility(typeAccessFlags), typeCompleteness(typeAccessFlags), isTypeSynthetic(typeAccessFlags), thisClassTypeName, superClassTypeName, interfaces);
+	}
+
+	private JavaClassFileHeaderScanner()
+	{
+	}
+}
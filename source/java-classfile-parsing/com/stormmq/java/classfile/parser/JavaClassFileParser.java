@@ -28,27 +28,56 @@ import com.stormmq.byteReaders.ByteReader;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.VersionedClassFileParserChooser;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.*;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFileParsers.VersionedClassFileParser;
+import com.stormmq.java.classfile.parser.visitors.ConcreteTypeInformationVisitor;
+import com.stormmq.java.classfile.parser.visitors.JavaClassFileVisitor;
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
 import java.util.function.Function;
 
 import static com.stormmq.java.classfile.domain.JavaClassFileVersion.values;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.VersionedClassFileParserChooser.Lax;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.VersionedClassFileParserChooser.Strict;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.VersionedClassFileParserChooser.versionedClassFileParserChooser;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException.JavaClassFileMagicNumber;
 
 public final class JavaClassFileParser
 {
+	// Increment whenever a change alters what is parsed, including the shape of any serialized domain class, so snapshots made by an earlier version are not reused
+	public static final int ParserVersion = 3;
+
 	@NotNull
 	public static ConcreteTypeInformation parseJavaClassFile(@NotNull final ByteReader byteReader, final boolean permitConstantsInInstanceFields) throws InvalidJavaClassFileException, NotAJavaClassFileException
 	{
-		return parseJavaClassFile(new SimpleJavaClassFileReader(byteReader), permitConstantsInInstanceFields ? Lax : Strict);
+		return parseJavaClassFile(new SimpleJavaClassFileReader(byteReader), permitConstantsInInstanceFields ? Lax : Strict, new ConcreteTypeInformationVisitor());
+	}
+
+	@NotNull
+	public static ConcreteTypeInformation parseJavaClassFile(@NotNull final ByteBuffer byteBuffer, final boolean byteBufferIsReused, @NotNull final ParserConfiguration parserConfiguration) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		return parseJavaClassFile(byteBuffer, byteBufferIsReused, parserConfiguration, new ConcreteTypeInformationVisitor());
+	}
+
+	// Pushes events to javaClassFileVisitor as the class file is parsed, so a single pass analysis need not build ConcreteTypeInformation
+	@NotNull
+	public static <R> R parseJavaClassFile(@NotNull final ByteBuffer byteBuffer, final boolean byteBufferIsReused, @NotNull final ParserConfiguration parserConfiguration, @NotNull final JavaClassFileVisitor<R> javaClassFileVisitor) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		return parseJavaClassFile(new ByteBufferJavaClassFileReader(byteBuffer, byteBufferIsReused), versionedClassFileParserChooser(parserConfiguration), javaClassFileVisitor);
 	}
 
 	@NotNull
-	private static ConcreteTypeInformation parseJavaClassFile(@NotNull final JavaClassFileReader javaClassFileReader, @NotNull final VersionedClassFileParserChooser versionedClassFileParserChooser) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	private static <R> R parseJavaClassFile(@NotNull final JavaClassFileReader javaClassFileReader, @NotNull final VersionedClassFileParserChooser versionedClassFileParserChooser, @NotNull final JavaClassFileVisitor<R> javaClassFileVisitor) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final JavaClassFileVersion javaClassFileVersion = readMagicNumberAndJavaClassFileVersion(javaClassFileReader);
+
+		final Function<JavaClassFileReader, VersionedClassFileParser> constructor = versionedClassFileParserChooser.choose(javaClassFileVersion);
+		return constructor.apply(javaClassFileReader).parse(javaClassFileVisitor);
+	}
+
+	@NotNull
+	static JavaClassFileVersion readMagicNumberAndJavaClassFileVersion(@NotNull final JavaClassFileReader javaClassFileReader) throws InvalidJavaClassFileException, NotAJavaClassFileException
 	{
 		final int magicNumber;
 		try
@@ -67,10 +96,7 @@ public final class JavaClassFileParser
 		final char minorVersionNumber = javaClassFileReader.readBigEndianUnsigned16BitInteger("minor version number");
 		final char majorVersionNumber = javaClassFileReader.readBigEndianUnsigned16BitInteger("major version number");
 
-		final JavaClassFileVersion javaClassFileVersion = parseJavaClassFileVersion(majorVersionNumber, minorVersionNumber);
-
-		final Function<JavaClassFileReader, VersionedClassFileParser> constructor = versionedClassFileParserChooser.choose(javaClassFileVersion);
-		return constructor.apply(javaClassFileReader).parse();
+		return parseJavaClassFileVersion(majorVersionNumber, minorVersionNumber);
 	}
 
 	@NotNull
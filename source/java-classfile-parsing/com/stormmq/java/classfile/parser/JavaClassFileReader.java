@@ -25,6 +25,7 @@ package com.stormmq.java.classfile.parser;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
 
@@ -66,6 +67,12 @@ public interface JavaClassFileReader
 	@NotNull
 	ByteBuffer readBytes(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException;
 
+	void skipBytes(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException;
+
 	@NotNull
 	String readModifiedUtf8String(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException;
+
+	// Does not advance; null if the unread bytes can not be revisited once parsing has finished (eg because they are streamed or their buffer is reused)
+	@Nullable
+	ByteBuffer unreadBytes();
 }
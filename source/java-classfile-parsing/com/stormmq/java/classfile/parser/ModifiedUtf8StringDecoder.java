@@ -0,0 +1,233 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.parser;
+
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+
+import static com.stormmq.byteReaders.ByteReader.ByteMask;
+
+// This class is NOT thread safe
+// Heap buffers are decoded from their backing array; other (eg memory mapped) buffers have each string copied in bulk into a scratch array kept for the whole class file, as reading them a byte at a time is slower than one copy
+final class ModifiedUtf8StringDecoder
+{
+	@NotNull private static final String MalformedExceptionMessage = "Malformed Modified UTF-8 String";
+	@NotNull private static final byte[] NoBytes = {};
+	private static final long HighBitOfEveryByte = 0x8080808080808080L;
+	private static final int xC0 = 0xC0;
+	private static final int x80 = 0x80;
+	private static final int x1F = 0x1F;
+	private static final int x3F = 0x3F;
+	private static final int x0F = 0x0F;
+
+	// Decodes from byteBuffer's position, which is left unchanged; for one-off strings, as each call creates a decoder
+	@NotNull
+	static String decodeModifiedUtf8String(@NotNull final ByteBuffer byteBuffer, final int length) throws InvalidJavaClassFileException
+	{
+		return new ModifiedUtf8StringDecoder(byteBuffer).decodeModifiedUtf8String(byteBuffer.position(), length);
+	}
+
+	@NotNull private final ByteBuffer byteBuffer;
+	@Nullable private final byte[] array;
+	private final int arrayOffset;
+	@NotNull private byte[] scratch;
+
+	// Decodes with absolute indices, so byteBuffer's position is left unchanged
+	ModifiedUtf8StringDecoder(@NotNull final ByteBuffer byteBuffer)
+	{
+		final boolean hasArray = byteBuffer.hasArray();
+		this.byteBuffer = hasArray ? byteBuffer : byteBuffer.duplicate();
+		array = hasArray ? byteBuffer.array() : null;
+		arrayOffset = hasArray ? byteBuffer.arrayOffset() : 0;
+		scratch = NoBytes;
+	}
+
+	@NotNull
+	String decodeModifiedUtf8String(final int index, final int length) throws InvalidJavaClassFileException
+	{
+		final int asciiLength = asciiLength(byteBuffer, index, length);
+
+		final byte[] bytes;
+		final int offset;
+		if (array == null)
+		{
+			if (scratch.length < length)
+			{
+				scratch = new byte[Math.max(length, scratch.length * 2)];
+			}
+			byteBuffer.position(index);
+			byteBuffer.get(scratch, 0, length);
+			bytes = scratch;
+			offset = 0;
+		}
+		else
+		{
+			bytes = array;
+			offset = arrayOffset + index;
+		}
+
+		// Optimisation that assumes most strings are US-ASCII
+		if (asciiLength == length)
+		{
+			return asciiString(bytes, offset, length);
+		}
+		return decodeModifiedUtf8String(bytes, offset, length, asciiLength);
+	}
+
+	// The deprecated hibyte constructor widens each byte in a plain loop, where the ISO_8859_1 charset constructor goes through a decoder on Java 8; on a JVM with compact strings it copies the bytes as Latin-1, with no intermediate char[]
+	@SuppressWarnings("deprecation")
+	@NotNull
+	private static String asciiString(@NotNull final byte[] bytes, final int offset, final int length)
+	{
+		return new String(bytes, 0, offset, length);
+	}
+
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	private static String decodeModifiedUtf8String(@NotNull final byte[] bytes, final int offset, final int length, final int asciiLength) throws InvalidJavaClassFileException
+	{
+		final char[] characters = new char[length];
+
+		int count = 0;
+		int charactersCount = 0;
+
+		while (count < asciiLength)
+		{
+			characters[charactersCount] = (char) bytes[offset + count];
+			count++;
+			charactersCount++;
+		}
+
+		while (count < length)
+		{
+			final int char1 = getByteAsInteger(bytes, offset + count);
+			final int char2;
+			final int char3;
+			final char character;
+			switch (char1 >> 4)
+			{
+				case 0:
+				case 1:
+				case 2:
+				case 3:
+				case 4:
+				case 5:
+				case 6:
+				case 7:
+					count++;
+
+					character = (char) char1;
+					break;
+
+				case 12:
+				case 13:
+					count += 2;
+
+					guardForCompleteSequence(length, count);
+
+					char2 = getByteAsInteger(bytes, offset + count - 1);
+					guardForMalformedCharacter(char2);
+
+					character = (char) ((char1 & x1F) << 6 | extractPartOfCodepoint(char2));
+					break;
+
+				case 14:
+					count += 3;
+
+					guardForCompleteSequence(length, count);
+
+					char2 = getByteAsInteger(bytes, offset + count - 2);
+					guardForMalformedCharacter(char2);
+
+					char3 = getByteAsInteger(bytes, offset + count - 1);
+					guardForMalformedCharacter(char3);
+
+					character = (char) ((char1 & x0F) << 12 | extractPartOfCodepoint(char2) << 6 | extractPartOfCodepoint(char3));
+					break;
+
+				default:
+					throw newMalformedInput();
+			}
+
+			characters[charactersCount] = character;
+			charactersCount++;
+		}
+		return new String(characters, 0, charactersCount);
+	}
+
+	// Reads 8 bytes at a time as a long, so there is only one branch on the high bits per 8 bytes
+	private static int asciiLength(@NotNull final ByteBuffer byteBuffer, final int index, final int length)
+	{
+		int count = 0;
+		while (count <= length - 8)
+		{
+			if ((byteBuffer.getLong(index + count) & HighBitOfEveryByte) != 0L)
+			{
+				break;
+			}
+			count += 8;
+		}
+		while (count < length && byteBuffer.get(index + count) >= 0)
+		{
+			count++;
+		}
+		return count;
+	}
+
+	private static int getByteAsInteger(@NotNull final byte[] bytes, final int index)
+	{
+		return bytes[index] & ByteMask;
+	}
+
+	private static int extractPartOfCodepoint(final int char3)
+	{
+		return char3 & x3F;
+	}
+
+	private static void guardForMalformedCharacter(final int character) throws InvalidJavaClassFileException
+	{
+		if ((character & xC0) != x80)
+		{
+			throw newMalformedInput();
+		}
+	}
+
+	private static void guardForCompleteSequence(final int length, final int count) throws InvalidJavaClassFileException
+	{
+		if (count > length)
+		{
+			throw new InvalidJavaClassFileException(MalformedExceptionMessage, new UTFDataFormatException("Missing end of sequence of encoded characters (underflow)"));
+		}
+	}
+
+	@NotNull
+	private static InvalidJavaClassFileException newMalformedInput()
+	{
+		return new InvalidJavaClassFileException(MalformedExceptionMessage, new UTFDataFormatException("Malformed input around byte"));
+	}
+}
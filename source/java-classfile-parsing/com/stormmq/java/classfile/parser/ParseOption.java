@@ -0,0 +1,68 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.Attributes.*;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+// Skipped attributes are stepped over by their declared length and are then treated as absent, eg a method without code is given a null Code
+public enum ParseOption
+{
+	SkipCode(Code),
+	SkipDebug(SourceFile, SourceDebugExtension, LineNumberTable, LocalVariableTable, LocalVariableTypeTable, MethodParameters),
+	SkipFrames(StackMapTable),
+	SkipAnnotations(AnnotationDefault, RuntimeVisibleAnnotations, RuntimeInvisibleAnnotations, RuntimeVisibleParameterAnnotations, RuntimeInvisibleParameterAnnotations, RuntimeVisibleTypeAnnotations, RuntimeInvisibleTypeAnnotations),
+	;
+
+	@NotNull public static final Set<ParseOption> NoParseOptions = unmodifiableSet(EnumSet.noneOf(ParseOption.class));
+
+	@NotNull
+	public static Set<String> skippedAttributeNames(@NotNull final Set<ParseOption> parseOptions)
+	{
+		if (parseOptions.isEmpty())
+		{
+			return emptySet();
+		}
+
+		final Set<String> skippedAttributeNames = new HashSet<>(16);
+		for (final ParseOption parseOption : parseOptions)
+		{
+			skippedAttributeNames.addAll(parseOption.attributeNames);
+		}
+		return skippedAttributeNames;
+	}
+
+	@NotNull private final List<String> attributeNames;
+
+	ParseOption(@NonNls @NotNull final String... attributeNames)
+	{
+		this.attributeNames = asList(attributeNames);
+	}
+}
@@ -0,0 +1,50 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.stormmq.java.classfile.parser.ParseOption.NoParseOptions;
+import static java.util.Collections.unmodifiableSet;
+
+// How class files are parsed, independent of the bytes given; made with a ParserConfigurationBuilder
+public final class ParserConfiguration
+{
+	@NotNull public static final ParserConfiguration DefaultParserConfiguration = new ParserConfigurationBuilder().build();
+
+	public final boolean permitConstantsInInstanceFields;
+	public final boolean lazyConstantPool;
+	@NotNull public final Set<ParseOption> parseOptions;
+	@NotNull public final ValidationLevel validationLevel;
+
+	ParserConfiguration(final boolean permitConstantsInInstanceFields, final boolean lazyConstantPool, @NotNull final Set<ParseOption> parseOptions, @NotNull final ValidationLevel validationLevel)
+	{
+		this.permitConstantsInInstanceFields = permitConstantsInInstanceFields;
+		this.lazyConstantPool = lazyConstantPool;
+		this.parseOptions = parseOptions.isEmpty() ? NoParseOptions : unmodifiableSet(EnumSet.copyOf(parseOptions));
+		this.validationLevel = validationLevel;
+	}
+}
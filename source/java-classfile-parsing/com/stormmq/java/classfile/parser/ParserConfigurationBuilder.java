@@ -0,0 +1,83 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+import static com.stormmq.java.classfile.parser.ParseOption.NoParseOptions;
+import static com.stormmq.java.classfile.parser.ValidationLevel.Full;
+
+// Defaults are those of ParserConfiguration.DefaultParserConfiguration
+public final class ParserConfigurationBuilder
+{
+	private boolean permitConstantsInInstanceFields;
+	private boolean lazyConstantPool;
+	@NotNull private Set<ParseOption> parseOptions;
+	@NotNull private ValidationLevel validationLevel;
+
+	public ParserConfigurationBuilder()
+	{
+		permitConstantsInInstanceFields = false;
+		lazyConstantPool = false;
+		parseOptions = NoParseOptions;
+		validationLevel = Full;
+	}
+
+	@NotNull
+	public ParserConfigurationBuilder permitConstantsInInstanceFields(final boolean permitConstantsInInstanceFields)
+	{
+		this.permitConstantsInInstanceFields = permitConstantsInInstanceFields;
+		return this;
+	}
+
+	// A lazy constant pool decodes (and validates) entries only when they are used; it is ignored if the bytes parsed are reused, as entries would then be decoded from reused bytes
+	@NotNull
+	public ParserConfigurationBuilder lazyConstantPool(final boolean lazyConstantPool)
+	{
+		this.lazyConstantPool = lazyConstantPool;
+		return this;
+	}
+
+	@NotNull
+	public ParserConfigurationBuilder parseOptions(@NotNull final Set<ParseOption> parseOptions)
+	{
+		this.parseOptions = parseOptions;
+		return this;
+	}
+
+	// A validationLevel below Full is only for trusted class files, eg those just compiled by javac in our own build
+	@NotNull
+	public ParserConfigurationBuilder validationLevel(@NotNull final ValidationLevel validationLevel)
+	{
+		this.validationLevel = validationLevel;
+		return this;
+	}
+
+	@NotNull
+	public ParserConfiguration build()
+	{
+		return new ParserConfiguration(permitConstantsInInstanceFields, lazyConstantPool, parseOptions, validationLevel);
+	}
+}
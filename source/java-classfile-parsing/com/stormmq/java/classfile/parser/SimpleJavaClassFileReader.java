@@ -28,32 +28,30 @@ import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.JavaCla
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.*;
+import java.io.EOFException;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
 
 import static com.stormmq.byteReaders.ByteReader.ByteMask;
+import static com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader.mapReadOnlyOrReadAllBytes;
+import static com.stormmq.java.classfile.parser.ModifiedUtf8StringDecoder.decodeModifiedUtf8String;
 import static java.lang.Float.intBitsToFloat;
 import static java.lang.Integer.MAX_VALUE;
-import static java.nio.file.Files.readAllBytes;
 
 // This class is NOT thread safe
 public final class SimpleJavaClassFileReader implements JavaClassFileReader
 {
-	@NotNull private static final String MalformedExceptionMessage = "Malformed Modified UTF-8 String";
-	private static final int xC0 = 0xC0;
-	private static final int x80 = 0x80;
-	private static final int x1F = 0x1F;
-	private static final int x3F = 0x3F;
-	private static final int x0F = 0x0F;
-
 	@NotNull
 	public static JavaClassFileReader classFileReaderForFile(@NotNull final Path path) throws IOException
 	{
-		return new SimpleJavaClassFileReader(new ByteArrayByteReader(readAllBytes(path)));
+		return new ByteBufferJavaClassFileReader(mapReadOnlyOrReadAllBytes(path));
 	}
 
+	private static final int SkipStride = 8;
+
 	@NotNull private final ByteReader byteReader;
 
 	public SimpleJavaClassFileReader(@NotNull final ByteReader byteReader)
@@ -136,6 +134,23 @@ public final class SimpleJavaClassFileReader implements JavaClassFileReader
 		return readBytesBuffer(what, intLength);
 	}
 
+	// A ByteReader can only move forward by reading, so bytes are read into its own scratch bytes, as for readBigEndianSigned64BitInteger, rather than into a new buffer
+	@Override
+	public void skipBytes(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException
+	{
+		long remaining = length;
+		while (remaining >= SkipStride)
+		{
+			readFully(SkipStride, what);
+			remaining -= SkipStride;
+		}
+		while (remaining > 0L)
+		{
+			readByte(what);
+			remaining--;
+		}
+	}
+
 	@Override
 	@NotNull
 	public String readModifiedUtf8StringWithPrefixedBigEndianUnsigned16BitLength(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
@@ -157,119 +172,19 @@ public final class SimpleJavaClassFileReader implements JavaClassFileReader
 		return parseModifiedUtf8String(what, (int) length);
 	}
 
-	@SuppressWarnings("MagicNumber")
-	@NotNull
-	private String parseModifiedUtf8String(@NonNls @NotNull final String what, final int length) throws InvalidJavaClassFileException
-	{
-		final ByteBuffer byteBuffer = readBytesBuffer(what, length);
-
-		final char[] characters = new char[length];
-
-		int count = 0;
-		int charactersCount = 0;
-
-		// Optimisation that assumes most strings are US-ASCII
-		while (count < length)
-		{
-			final int char1 = getByteAsInteger(byteBuffer, count);
-			if (char1 > 127)
-			{
-				break;
-			}
-			count++;
-			characters[charactersCount] = (char) char1;
-			charactersCount++;
-		}
-
-		while (count < length)
-		{
-			final int char1 = getByteAsInteger(byteBuffer, count);
-			final int char2;
-			final int char3;
-			final char character;
-			switch (char1 >> 4)
-			{
-				case 0:
-				case 1:
-				case 2:
-				case 3:
-				case 4:
-				case 5:
-				case 6:
-				case 7:
-					count++;
-
-					character = (char) char1;
-					break;
-
-				case 12:
-				case 13:
-					count += 2;
-
-					guardForCompleteSequence(length, count);
-
-					char2 = getByteAsInteger(byteBuffer, count - 1);
-					guardForMalformedCharacter(char2);
-
-					character = (char) ((char1 & x1F) << 6 | extractPartOfCodepoint(char2));
-					break;
-
-				case 14:
-					count += 3;
-
-					guardForCompleteSequence(length, count);
-
-					char2 = getByteAsInteger(byteBuffer, count - 2);
-					guardForMalformedCharacter(char2);
-
-					char3 = getByteAsInteger(byteBuffer, count - 1);
-					guardForMalformedCharacter(char3);
-
-					character = (char) ((char1 & x0F) << 12 | extractPartOfCodepoint(char2) << 6 | extractPartOfCodepoint(char3));
-					break;
-
-				default:
-					throw newMalformedInput();
-			}
-
-			characters[charactersCount] = character;
-			charactersCount++;
-		}
-		return new String(characters, 0, charactersCount);
-	}
-
-	private static int getByteAsInteger(@NotNull final ByteBuffer byteBuffer, final int count)
-	{
-		return byteBuffer.get(count) & ByteMask;
-	}
-
-	private static int extractPartOfCodepoint(final int char3)
-	{
-		return char3 & x3F;
-	}
-
-	private static void guardForMalformedCharacter(final int character) throws InvalidJavaClassFileException
-	{
-		if ((character & xC0) != x80)
-		{
-			throw newMalformedInput();
-		}
-	}
-
-	private static void guardForCompleteSequence(final int length, final int count) throws InvalidJavaClassFileException
+	@Nullable
+	@Override
+	public ByteBuffer unreadBytes()
 	{
-		if (count > length)
-		{
-			throw new InvalidJavaClassFileException(MalformedExceptionMessage, new UTFDataFormatException("Missing end of sequence of encoded characters (underflow)"));
-		}
+		return null;
 	}
 
 	@NotNull
-	private static InvalidJavaClassFileException newMalformedInput()
+	private String parseModifiedUtf8String(@NonNls @NotNull final String what, final int length) throws InvalidJavaClassFileException
 	{
-		return new InvalidJavaClassFileException(MalformedExceptionMessage, new UTFDataFormatException("Malformed input around byte"));
+		return decodeModifiedUtf8String(readBytesBuffer(what, length), length);
 	}
-	
+
 	private int readByte(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
 	{
 		try
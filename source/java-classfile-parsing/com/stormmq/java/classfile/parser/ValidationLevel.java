@@ -0,0 +1,51 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+// Lower levels are for class files from a trusted compiler, eg reparsing our own build's output; an invalid class file may then be accepted, or fail with an unchecked exception
+public enum ValidationLevel
+{
+	// As Structural, but the constant pool's references are not validated up front, and duplicate members are not rejected, so a later duplicate may replace an earlier one and members be lost
+	None,
+
+	// Checks that the class file is well-formed and has no duplicate members, but not that members and attributes are consistent, eg parameter counts, signatures against descriptors and annotation-only attributes
+	Structural,
+
+	Full,
+	;
+
+	public boolean validatesConstantPoolReferenceIndices()
+	{
+		return this != None;
+	}
+
+	public boolean rejectsDuplicateMembers()
+	{
+		return this != None;
+	}
+
+	public boolean crossChecks()
+	{
+		return this == Full;
+	}
+}
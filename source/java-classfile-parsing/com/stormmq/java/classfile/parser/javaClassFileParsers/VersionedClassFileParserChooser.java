@@ -25,18 +25,27 @@ package com.stormmq.java.classfile.parser.javaClassFileParsers;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFileParsers.ModernClassFileVersionedClassFileParser;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFileParsers.VersionedClassFileParser;
 import com.stormmq.java.classfile.parser.JavaClassFileReader;
+import com.stormmq.java.classfile.parser.ParserConfiguration;
+import com.stormmq.java.classfile.parser.ParserConfigurationBuilder;
 import com.stormmq.java.classfile.domain.JavaClassFileVersion;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.function.Function;
 
 import static com.stormmq.java.classfile.domain.JavaClassFileVersion.Java8;
+import static com.stormmq.java.classfile.parser.ParserConfiguration.DefaultParserConfiguration;
 
 @FunctionalInterface
 public interface VersionedClassFileParserChooser
 {
-	@NotNull VersionedClassFileParserChooser Strict = javaClassFilesMajorVersionNumber -> javaClassFileReader -> new ModernClassFileVersionedClassFileParser(javaClassFileReader, Java8, false);
-	@NotNull VersionedClassFileParserChooser Lax = javaClassFilesMajorVersionNumber -> javaClassFileReader -> new ModernClassFileVersionedClassFileParser(javaClassFileReader, Java8, true);
+	@NotNull VersionedClassFileParserChooser Strict = versionedClassFileParserChooser(DefaultParserConfiguration);
+	@NotNull VersionedClassFileParserChooser Lax = versionedClassFileParserChooser(new ParserConfigurationBuilder().permitConstantsInInstanceFields(true).build());
+
+	@NotNull
+	static VersionedClassFileParserChooser versionedClassFileParserChooser(@NotNull final ParserConfiguration parserConfiguration)
+	{
+		return javaClassFilesMajorVersionNumber -> javaClassFileReader -> new ModernClassFileVersionedClassFileParser(javaClassFileReader, Java8, parserConfiguration);
+	}
 
 	@NotNull
 	Function<JavaClassFileReader, VersionedClassFileParser> choose(@NotNull final JavaClassFileVersion javaClassFileVersion);
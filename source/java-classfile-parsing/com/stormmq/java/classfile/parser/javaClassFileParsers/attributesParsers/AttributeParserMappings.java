@@ -44,7 +44,9 @@ import com.stormmq.java.classfile.domain.signatures.Signature;
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.DescriptorLocalVariable;
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.SignatureLocalVariable;
 import com.stormmq.java.classfile.parser.JavaClassFileReader;
+import com.stormmq.java.classfile.parser.ParseOption;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPoolJavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.KnownSymbol;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.referenceIndexConstants.NameAndTypeReferenceIndexConstant;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.functions.InvalidJavaClassFileExceptionBiIntConsumer;
@@ -58,8 +60,6 @@ import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.function.IntFunction;
 
-import static com.stormmq.functions.collections.MapHelper.putOnce;
-import static com.stormmq.functions.collections.MapHelper.useMapValueExceptionally;
 import static com.stormmq.functions.collections.CollectionHelper.addOnce;
 import static com.stormmq.java.classfile.domain.attributes.code.constants.BootstrapMethodArgument.EmptyBootstrapMethodArgumentConstants;
 import static com.stormmq.java.classfile.domain.JavaClassFileVersion.*;
@@ -70,6 +70,8 @@ import static com.stormmq.java.classfile.domain.attributes.code.ExceptionCode.Em
 import static com.stormmq.java.classfile.domain.attributes.code.stackMapFrames.verificationTypes.FixedVerificationType.*;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.accessFlags.InnerTypeAccessFlags.*;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.accessFlags.ParameterAccessFlags.*;
+import static com.stormmq.java.classfile.parser.ParseOption.NoParseOptions;
+import static com.stormmq.java.classfile.parser.ParseOption.skippedAttributeNames;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.Attributes.*;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.FieldSignatureParser.parseFieldSignature;
 import static com.stormmq.string.Formatting.format;
@@ -82,23 +84,33 @@ public final class AttributeParserMappings
 	@NotNull private static final AttributeLocation[] OnlyField = {Field};
 	@NotNull private static final AttributeLocation[] OnlyMethod = {Method};
 	@NotNull private static final AttributeLocation[] OnlyCode = {AttributeLocation.Code};
-	private static final int NumberOfKnownAnnotations = 12;
+	private static final int NumberOfKnownSymbols = KnownSymbol.values().length;
 
 	@NotNull private final JavaClassFileVersion javaClassFileVersion;
 	@NotNull private final AttributeLocation attributeLocation;
-	@NotNull private final Map<String, AttributeParser> map;
-	@NotNull private final Set<String> notValidForThisVersion;
-	@NotNull private final Set<String> notValidForThisLocation;
+	// Indexed by KnownSymbol ordinal, so that an attribute name need never be decoded to a String to find its parser
+	@NotNull private final AttributeParser[] parsers;
+	@NotNull private final boolean[] notValidForThisVersion;
+	@NotNull private final boolean[] notValidForThisLocation;
+	@NotNull private final Set<String> skippedAttributeNames;
+	@NotNull private final boolean[] skipped;
 	@Nullable private final AttributesParser codeAttributesParser;
 
 	public AttributeParserMappings(@NotNull final JavaClassFileVersion javaClassFileVersion, @NotNull final AttributeLocation attributeLocation)
+	{
+		this(javaClassFileVersion, attributeLocation, NoParseOptions);
+	}
+
+	public AttributeParserMappings(@NotNull final JavaClassFileVersion javaClassFileVersion, @NotNull final AttributeLocation attributeLocation, @NotNull final Set<ParseOption> parseOptions)
 	{
 		this.javaClassFileVersion = javaClassFileVersion;
 		this.attributeLocation = attributeLocation;
-		map = new HashMap<>(NumberOfKnownAnnotations);
-		notValidForThisVersion = new HashSet<>(NumberOfKnownAnnotations);
-		notValidForThisLocation = new HashSet<>(NumberOfKnownAnnotations);
-		codeAttributesParser = attributeLocation == AttributeLocation.Code ? null : new AttributesParser(new AttributeParserMappings(javaClassFileVersion, AttributeLocation.Code));
+		parsers = new AttributeParser[NumberOfKnownSymbols];
+		notValidForThisVersion = new boolean[NumberOfKnownSymbols];
+		notValidForThisLocation = new boolean[NumberOfKnownSymbols];
+		skippedAttributeNames = skippedAttributeNames(parseOptions);
+		skipped = new boolean[NumberOfKnownSymbols];
+		codeAttributesParser = attributeLocation == AttributeLocation.Code ? null : new AttributesParser(new AttributeParserMappings(javaClassFileVersion, AttributeLocation.Code, parseOptions));
 
 		final TargetType[] targetTypesForLocation = allValidTargetTypesForLocationIndexedByTargetTypeTag(attributeLocation);
 
@@ -139,12 +151,12 @@ public final class AttributeParserMappings
 
 			final TypeAnnotation[] visibleTypeAnnotations = attributes.runtimeVisibleTypeAnnotations();
 			final TypeAnnotation[] invisibleTypeAnnotations = attributes.runtimeInvisibleTypeAnnotations();
-			final Map<Character, Set<Character>> programCounterToLineNumberEntryMap = attributes.lineNumberEntries(codeLength);
+			final LineNumberTable lineNumberTable = attributes.lineNumberTable(codeLength);
 			final LocalVariables localVariables = attributes.localVariableWithSignatures(codeLength, maximumLocals);
 			final StackMapFrame[] stackMapFrames = attributes.stackMapFrames();
 			final UnknownAttributes unknownAttributes = attributes.unknownAttributes();
 
-			return new Code(javaClassFileReader.constantPool(), maximumStack, maximumLocals, codeLength, code, exceptionCode, programCounterToLineNumberEntryMap, localVariables, stackMapFrames, unknownAttributes, visibleTypeAnnotations, invisibleTypeAnnotations, javaClassFileVersion.isJava7OrLater());
+			return new Code(javaClassFileReader.constantPool(), maximumStack, maximumLocals, codeLength, code, exceptionCode, lineNumberTable, localVariables, stackMapFrames, unknownAttributes, visibleTypeAnnotations, invisibleTypeAnnotations, javaClassFileVersion.isJava7OrLater());
 		});
 
 		mapping(ConstantValue, Java1_0_2, OnlyField, (attributeLength, javaClassFileReader) ->
@@ -228,7 +240,8 @@ public final class AttributeParserMappings
 			return new SignatureLocalVariable(startProgramCount, localVariableLength, localVariableName, signature, localVariableIndex);
 		});
 
-		tableArrayMapping(MethodParameters, Java8, OnlyMethod, MethodParameter[]::new, (javaClassFileReader) ->
+		// parameters_count is a u1, unlike the length of the other tables
+		tableArrayWith8BitLengthMapping(MethodParameters, Java8, OnlyMethod, MethodParameter[]::new, (javaClassFileReader) ->
 		{
 			@Nullable final String parameterName = javaClassFileReader.readNullableModifiedUtf8String("method parameter name");
 			final char accessFlags = javaClassFileReader.readAccessFlags(ParameterAccessFlagsValidityMask);
@@ -263,26 +276,49 @@ public final class AttributeParserMappings
 	}
 
 	@NotNull
-	public Object parseAttribute(@NotNull final String attributeName, final long attributeLengthUnsigned32BitInteger, @NotNull final ConstantPoolJavaClassFileReader javaClassFileReader) throws InvalidJavaClassFileException
+	public AttributeLocation attributeLocation()
+	{
+		return attributeLocation;
+	}
+
+	// Only attributes valid for this version and location are skipped, so that invalid ones are still rejected
+	public boolean isSkipped(@Nullable final KnownSymbol attributeNameSymbol)
+	{
+		return attributeNameSymbol != null && skipped[attributeNameSymbol.ordinal()];
+	}
+
+	// attributeNameSymbol is null for an attribute name which is not a known symbol, eg a vendor-specific attribute
+	@NotNull
+	public Object parseAttribute(@Nullable final KnownSymbol attributeNameSymbol, @NotNull final String attributeName, final long attributeLengthUnsigned32BitInteger, @NotNull final ConstantPoolJavaClassFileReader javaClassFileReader) throws InvalidJavaClassFileException
 	{
 		final long positionBefore = javaClassFileReader.bytesReadSoFar();
 
-		final ExceptionSupplier<Object, InvalidJavaClassFileException> ifAbsent = () ->
+		final Object attributeData;
+		if (attributeNameSymbol == null)
 		{
-			if (notValidForThisVersion.contains(attributeName))
+			attributeData = parseUnknownAttribute(attributeName, attributeLengthUnsigned32BitInteger, javaClassFileReader);
+		}
+		else
+		{
+			final int ordinal = attributeNameSymbol.ordinal();
+			@Nullable final AttributeParser attributeParser = parsers[ordinal];
+			if (attributeParser != null)
+			{
+				attributeData = attributeParser.parse(attributeLengthUnsigned32BitInteger, javaClassFileReader);
+			}
+			else if (notValidForThisVersion[ordinal])
 			{
 				throw new InvalidJavaClassFileException(format("The attribute '%1$s' is not valid for this version of Java ('%2$s')", attributeName, javaClassFileVersion));
 			}
-
-			if (notValidForThisLocation.contains(attributeName))
+			else if (notValidForThisLocation[ordinal])
 			{
 				throw new InvalidJavaClassFileException(format("The attribute '%1$s' is not valid for this location ('%2$s')", attributeName, attributeLocation));
 			}
-
-			return parseUnknownAttribute(attributeName, attributeLengthUnsigned32BitInteger, javaClassFileReader);
-		};
-
-		final Object attributeData = useMapValueExceptionally(map, attributeName, ifAbsent, attributeParser -> attributeParser.parse(attributeLengthUnsigned32BitInteger, javaClassFileReader));
+			else
+			{
+				attributeData = parseUnknownAttribute(attributeName, attributeLengthUnsigned32BitInteger, javaClassFileReader);
+			}
+		}
 
 		validateReadAttributeCorrectly(attributeName, attributeLengthUnsigned32BitInteger, javaClassFileReader, positionBefore);
 
@@ -320,21 +356,39 @@ public final class AttributeParserMappings
 		mapping(attributeName, introduced, attributeLocations, (attributeLengthUnsigned32BitInteger, javaClassFileReader) -> javaClassFileReader.parseTableAsArrayWith16BitLength(arrayCreator, emptyArray, () -> tableArrayParser.parse(javaClassFileReader)));
 	}
 
+	private <T> void tableArrayWith8BitLengthMapping(@NotNull @NonNls final String attributeName, @NotNull final JavaClassFileVersion introduced, @NotNull final AttributeLocation[] attributeLocations, @NotNull final IntFunction<T[]> arrayCreator, @NotNull final TableArrayParser<T> tableArrayParser)
+	{
+		final T[] emptyArray = arrayCreator.apply(0);
+		mapping(attributeName, introduced, attributeLocations, (attributeLengthUnsigned32BitInteger, javaClassFileReader) -> javaClassFileReader.parseTableAsArrayWith8BitLength(arrayCreator, emptyArray, () -> tableArrayParser.parse(javaClassFileReader)));
+	}
+
 	private void mapping(@NotNull @NonNls final String attributeName, @SuppressWarnings("TypeMayBeWeakened") @NotNull final JavaClassFileVersion introduced, @NotNull final AttributeLocation[] attributeLocations, @NotNull final AttributeParser attributeParser)
 	{
+		@Nullable final KnownSymbol attributeNameSymbol = KnownSymbol.knownSymbol(attributeName);
+		if (attributeNameSymbol == null)
+		{
+			throw new IllegalStateException(format("The attribute '%1$s' is not a known symbol", attributeName));
+		}
+		final int ordinal = attributeNameSymbol.ordinal();
+		if (parsers[ordinal] != null || notValidForThisVersion[ordinal] || notValidForThisLocation[ordinal])
+		{
+			throw new IllegalStateException(format("The attribute '%1$s' is already mapped", attributeName));
+		}
+
 		if (introduced.compareTo(javaClassFileVersion) > 0)
 		{
-			addOnce(notValidForThisVersion, attributeName);
+			notValidForThisVersion[ordinal] = true;
 			return;
 		}
 
 		if (hasLocation(attributeLocations, attributeLocation))
 		{
-			putOnce(map, attributeName, attributeParser);
+			parsers[ordinal] = attributeParser;
+			skipped[ordinal] = skippedAttributeNames.contains(attributeName);
 		}
 		else
 		{
-			addOnce(notValidForThisLocation, attributeName);
+			notValidForThisLocation[ordinal] = true;
 		}
 	}
 
@@ -353,7 +407,10 @@ public final class AttributeParserMappings
 	private static UnknownAttributeData parseUnknownAttribute(@NotNull final String attributeName, final long attributeLengthUnsigned32BitInteger, @NotNull final JavaClassFileReader javaClassFileReader) throws InvalidJavaClassFileException
 	{
 		final String what = format("unknown attribute '%1$s' of length '%2$s'", attributeName, attributeLengthUnsigned32BitInteger);
-		return new UnknownAttributeData(javaClassFileReader.readBytes(what, attributeLengthUnsigned32BitInteger));
+		final ByteBuffer attributeData = javaClassFileReader.readBytes(what, attributeLengthUnsigned32BitInteger);
+		final byte[] data = new byte[attributeData.remaining()];
+		attributeData.get(data);
+		return new UnknownAttributeData(data);
 	}
 
 	@NotNull
@@ -29,6 +29,7 @@ import com.stormmq.java.classfile.domain.attributes.UnknownAttributeData;
 import com.stormmq.java.classfile.domain.attributes.UnknownAttributes;
 import com.stormmq.java.classfile.domain.attributes.annotations.*;
 import com.stormmq.java.classfile.domain.attributes.code.LineNumberEntry;
+import com.stormmq.java.classfile.domain.attributes.code.LineNumberTable;
 import com.stormmq.java.classfile.domain.attributes.code.localVariables.*;
 import com.stormmq.java.classfile.domain.attributes.code.stackMapFrames.StackMapFrame;
 import com.stormmq.java.classfile.domain.attributes.method.MethodParameter;
@@ -36,6 +37,7 @@ import com.stormmq.java.classfile.domain.attributes.type.BootstrapMethod;
 import com.stormmq.java.classfile.domain.descriptors.FieldDescriptor;
 import com.stormmq.java.classfile.domain.descriptors.MethodDescriptor;
 import com.stormmq.java.classfile.domain.fieldConstants.FieldConstant;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.KnownSymbol;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.*;
@@ -50,6 +52,7 @@ import static com.stormmq.functions.collections.MapHelper.useMapValueExceptional
 import static com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValue.EmptyParameterAnnotations;
 import static com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValues.*;
 import static com.stormmq.java.classfile.domain.attributes.annotations.TypeAnnotation.EmptyTypeAnnotations;
+import static com.stormmq.java.classfile.domain.attributes.code.LineNumberTable.EmptyLineNumberTable;
 import static com.stormmq.java.classfile.domain.attributes.code.stackMapFrames.StackMapFrame.ImplicitStackMap;
 import static com.stormmq.java.classfile.domain.attributes.method.MethodParameter.EmptyMethodParameters;
 import static com.stormmq.java.classfile.domain.attributes.type.BootstrapMethod.EmptyBootstrapMethods;
@@ -88,17 +91,27 @@ public final class Attributes
 
 	@NotNull private final Map<String, Object> attributes;
 	@NotNull private final Map<String, List<UnknownAttributeData>> unknownAttributes;
+	private final long skippedAttributes;
+	private final boolean crossChecks;
 
 	public Attributes(@NotNull final Map<String, Object> attributes, @NotNull final Map<String, List<UnknownAttributeData>> unknownAttributes)
+	{
+		this(attributes, unknownAttributes, 0L, true);
+	}
+
+	// skippedAttributes has the KnownSymbol.bit of each skipped attribute set
+	public Attributes(@NotNull final Map<String, Object> attributes, @NotNull final Map<String, List<UnknownAttributeData>> unknownAttributes, final long skippedAttributes, final boolean crossChecks)
 	{
 		this.attributes = attributes;
 		this.unknownAttributes = unknownAttributes;
+		this.skippedAttributes = skippedAttributes;
+		this.crossChecks = crossChecks;
 	}
 
 	@Nullable
 	public Object annotationDefault(final boolean isAnnotation) throws InvalidJavaClassFileException
 	{
-		if (!isAnnotation && hasAttribute(AnnotationDefault))
+		if (crossChecks && !isAnnotation && hasAttribute(AnnotationDefault))
 		{
 			throw new InvalidJavaClassFileException("Only annotations can have an annotation default");
 		}
@@ -117,6 +130,12 @@ public final class Attributes
 		return getAttributeValueNullable(Code, null);
 	}
 
+	// True even if the Code attribute was skipped, so that its presence can still be validated
+	public boolean hasCode()
+	{
+		return hasAttribute(Code) || (skippedAttributes & KnownSymbol.Code.bit) != 0L;
+	}
+
 	@Nullable
 	public FieldConstant constantValue(final boolean isInstance, final boolean permitConstantsInInstanceFields) throws InvalidJavaClassFileException
 	{
@@ -145,7 +164,7 @@ public final class Attributes
 	public Set<KnownReferenceTypeName> exceptions(final boolean isAnnotation) throws InvalidJavaClassFileException
 	{
 		final Set<KnownReferenceTypeName> exceptions = getAttributeValueNotNull(Exceptions, EmptyExceptions);
-		if (isAnnotation && !exceptions.isEmpty())
+		if (crossChecks && isAnnotation && !exceptions.isEmpty())
 		{
 			throw new InvalidJavaClassFileException("An annotation can not have exceptions");
 		}
@@ -154,17 +173,16 @@ public final class Attributes
 
 	@SuppressWarnings("ForLoopReplaceableByForEach")
 	@NotNull
-	public Map<Character, Set<Character>> lineNumberEntries(final long codeLength) throws InvalidJavaClassFileException
+	public LineNumberTable lineNumberTable(final long codeLength) throws InvalidJavaClassFileException
 	{
 		final LineNumberEntry[] lineNumberEntries = getArrayMerged(LineNumberEntry[]::new, LineNumberTable, EmptyLineNumberEntries);
 
 		final int length = lineNumberEntries.length;
 		if (length == 0)
 		{
-			return emptyMap();
+			return EmptyLineNumberTable;
 		}
 
-		final Map<Character, Set<Character>> programCounterToLineNumberEntryMap = new HashMap<>(length);
 		for (int index = 0; index < length; index++)
 		{
 			final LineNumberEntry lineNumberEntry = lineNumberEntries[index];
@@ -172,10 +190,9 @@ public final class Attributes
 			{
 				throw new InvalidJavaClassFileException("LineNumberEntry exceeds code length");
 			}
-			lineNumberEntry.add(programCounterToLineNumberEntryMap);
 		}
 
-		return programCounterToLineNumberEntryMap;
+		return new LineNumberTable(lineNumberEntries);
 	}
 
 	@NotNull
@@ -265,9 +282,9 @@ public final class Attributes
 	public com.stormmq.java.classfile.domain.signatures.Signature signature(@NotNull final KnownReferenceTypeName thisClassTypeName, @Nullable final KnownReferenceTypeName superClassTypeName, @NotNull final Set<KnownReferenceTypeName> interfaces)
 	{
 		@Nullable final com.stormmq.java.classfile.domain.signatures.Signature signature = getSignature();
-		if (signature == null)
+		if (signature == null || !crossChecks)
 		{
-			return null;
+			return signature;
 		}
 		return signature.validate(thisClassTypeName, superClassTypeName, interfaces);
 	}
@@ -276,9 +293,9 @@ public final class Attributes
 	public com.stormmq.java.classfile.domain.signatures.Signature signature(@NotNull final FieldDescriptor fieldDescriptor)
 	{
 		@Nullable final com.stormmq.java.classfile.domain.signatures.Signature signature = getSignature();
-		if (signature == null)
+		if (signature == null || !crossChecks)
 		{
-			return null;
+			return signature;
 		}
 		return signature.validate(fieldDescriptor);
 	}
@@ -287,9 +304,9 @@ public final class Attributes
 	public com.stormmq.java.classfile.domain.signatures.Signature signature(@NotNull final MethodDescriptor methodDescriptor)
 	{
 		@Nullable final com.stormmq.java.classfile.domain.signatures.Signature signature = getSignature();
-		if (signature == null)
+		if (signature == null || !crossChecks)
 		{
-			return null;
+			return signature;
 		}
 		return signature.validate(methodDescriptor);
 	}
@@ -337,6 +354,11 @@ public final class Attributes
 	private <T> T[] parameterLike(final boolean isAnnotation, final int methodParameterCount, @NotNull final String attributeName, @NotNull final T[] empty) throws InvalidJavaClassFileException
 	{
 		final T[] values = getAttributeValueNotNull(attributeName, empty);
+		if (!crossChecks)
+		{
+			return values;
+		}
+
 		final int length = values.length;
 		if (isAnnotation)
 		{
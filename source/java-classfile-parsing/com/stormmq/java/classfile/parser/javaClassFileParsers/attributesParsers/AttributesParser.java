@@ -22,47 +22,89 @@
 
 package com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers;
 
+import com.stormmq.java.classfile.domain.attributes.AttributeLocation;
 import com.stormmq.java.classfile.domain.attributes.UnknownAttributeData;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValue;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPoolIndex;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPoolJavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.KnownSymbol;
+import com.stormmq.java.classfile.parser.visitors.JavaClassFileVisitor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
 import static com.stormmq.functions.collections.MapHelper.computeExceptionally;
-import static com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.Attributes.LineNumberTable;
-import static com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.Attributes.LocalVariableTable;
-import static com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.Attributes.LocalVariableTypeTable;
 import static com.stormmq.string.Formatting.format;
-import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 
 public final class AttributesParser
 {
 	@NotNull private final AttributeParserMappings attributeParserMappings;
+	@NotNull private final AttributeLocation attributeLocation;
 
 	public AttributesParser(@NotNull final AttributeParserMappings attributeParserMappings)
 	{
 		this.attributeParserMappings = attributeParserMappings;
+		attributeLocation = attributeParserMappings.attributeLocation();
 	}
 
-	@NotNull private static final Collection<String> AttributesWhichCanOccurMoreThanOnce = new HashSet<>(asList(new String[]
-	{
-		LineNumberTable,
-		LocalVariableTable,
-		LocalVariableTypeTable
-	}));
+	private static final long AttributesWhichCanOccurMoreThanOnce = KnownSymbol.LineNumberTable.bit | KnownSymbol.LocalVariableTable.bit | KnownSymbol.LocalVariableTypeTable.bit;
 
 	@NotNull
 	public Attributes parseAttributes(@NotNull final ConstantPoolJavaClassFileReader javaClassFileReader) throws InvalidJavaClassFileException
+	{
+		return parseAttributes(javaClassFileReader, true);
+	}
+
+	// crossChecks is false to skip checking attributes against their member, eg parameter counts and annotation-only attributes
+	@NotNull
+	public Attributes parseAttributes(@NotNull final ConstantPoolJavaClassFileReader javaClassFileReader, final boolean crossChecks) throws InvalidJavaClassFileException
+	{
+		return parseAttributes(javaClassFileReader, crossChecks, null);
+	}
+
+	// javaClassFileVisitor, if not null, sees each attribute before it is parsed and can skip it, and each annotation as it is parsed
+	@NotNull
+	public Attributes parseAttributes(@NotNull final ConstantPoolJavaClassFileReader javaClassFileReader, final boolean crossChecks, @Nullable final JavaClassFileVisitor<?> javaClassFileVisitor) throws InvalidJavaClassFileException
 	{
 		final Map<String, List<UnknownAttributeData>> unknownAttributes = new HashMap<>(0);
-		final Map<String, Object> attributes = javaClassFileReader.parseTableAsMapWith16BitLength((table, index) ->
+		final int numberOfAttributes = javaClassFileReader.readBigEndianUnsigned16BitInteger("16-bit table length");
+		final Map<String, Object> attributes = new HashMap<>(numberOfAttributes);
+		// Written as a loop, rather than with parseTableAsMapWith16BitLength, so that skipped attributes can be recorded as bits
+		long skippedAttributes = 0L;
+		// A visitor can skip one copy of an attribute and not another, so once-only attributes are checked across both
+		long parsedAttributes = 0L;
+		for (int index = 0; index < numberOfAttributes; index++)
 		{
-			final String attributeName = javaClassFileReader.readModifiedUtf8String("attribute name reference");
+			final ConstantPoolIndex attributeNameIndex = javaClassFileReader.readModifiedUtf8StringReferenceIndex("attribute name reference");
+			@Nullable final KnownSymbol attributeNameSymbol = javaClassFileReader.knownSymbol(attributeNameIndex);
+			final String attributeName = attributeNameSymbol == null ? javaClassFileReader.modifiedUtf8String(attributeNameIndex) : attributeNameSymbol.value;
 			final long attributeLength = javaClassFileReader.readBigEndianUnsigned32BitInteger("attribute length");
 
-			@NotNull final Object attributeData = attributeParserMappings.parseAttribute(attributeName, attributeLength, javaClassFileReader);
+			final boolean skippedByVisitor = javaClassFileVisitor != null && !javaClassFileVisitor.visitAttribute(attributeLocation, attributeName, attributeLength);
+			if (skippedByVisitor || attributeParserMappings.isSkipped(attributeNameSymbol))
+			{
+				if (attributeNameSymbol != null)
+				{
+					guardForDuplicateAttribute(skippedAttributes | parsedAttributes, attributeNameSymbol);
+					skippedAttributes |= attributeNameSymbol.bit;
+				}
+				javaClassFileReader.skipBytes(attributeName, attributeLength);
+				continue;
+			}
+
+			@NotNull final Object attributeData = attributeParserMappings.parseAttribute(attributeNameSymbol, attributeName, attributeLength, javaClassFileReader);
+
+			if (javaClassFileVisitor != null && (attributeNameSymbol == KnownSymbol.RuntimeVisibleAnnotations || attributeNameSymbol == KnownSymbol.RuntimeInvisibleAnnotations))
+			{
+				final boolean isVisible = attributeNameSymbol == KnownSymbol.RuntimeVisibleAnnotations;
+				for (final AnnotationValue annotationValue : (AnnotationValue[]) attributeData)
+				{
+					javaClassFileVisitor.visitAnnotation(attributeLocation, isVisible, annotationValue);
+				}
+			}
 
 			if (attributeData instanceof UnknownAttributeData)
 			{
@@ -70,9 +112,14 @@ public final class AttributesParser
 			}
 			else
 			{
-				computeExceptionally(table, attributeName, alreadyEncountered ->
+				if (attributeNameSymbol != null)
+				{
+					guardForDuplicateAttribute(skippedAttributes, attributeNameSymbol);
+					parsedAttributes |= attributeNameSymbol.bit;
+				}
+				computeExceptionally(attributes, attributeName, alreadyEncountered ->
 				{
-					if (AttributesWhichCanOccurMoreThanOnce.contains(attributeName))
+					if (attributeNameSymbol != null && (attributeNameSymbol.bit & AttributesWhichCanOccurMoreThanOnce) != 0L)
 					{
 						@SuppressWarnings("unchecked") final List<Object> canOccurMoreThanOnceList = alreadyEncountered == null ? new ArrayList<>(4) : (List<Object>) alreadyEncountered;
 						canOccurMoreThanOnceList.add(attributeData);
@@ -87,10 +134,41 @@ public final class AttributesParser
 					throw new InvalidJavaClassFileException(format("The attribute '%1$s' is only allowed to occur once", attributeName));
 				});
 			}
-		});
+		}
 
 		final Map<String, List<UnknownAttributeData>> optimisationToReduceMemoryUsage = unknownAttributes.isEmpty() ? emptyMap() : unknownAttributes;
-		return new Attributes(new HashMap<>(attributes), optimisationToReduceMemoryUsage);
+		return new Attributes(attributes, optimisationToReduceMemoryUsage, skippedAttributes, crossChecks);
+	}
+
+	private static void guardForDuplicateAttribute(final long encounteredAttributes, @NotNull final KnownSymbol attributeNameSymbol) throws InvalidJavaClassFileException
+	{
+		if ((encounteredAttributes & attributeNameSymbol.bit & ~AttributesWhichCanOccurMoreThanOnce) != 0L)
+		{
+			throw new InvalidJavaClassFileException(format("The attribute '%1$s' is only allowed to occur once", attributeNameSymbol.value));
+		}
+	}
+
+	// Skips an attributes table without parsing or validating its attributes; returns the KnownSymbol.bit of each attribute present
+	public long skipAttributes(@NotNull final ConstantPoolJavaClassFileReader javaClassFileReader) throws InvalidJavaClassFileException
+	{
+		final int numberOfAttributes = javaClassFileReader.readBigEndianUnsigned16BitInteger("16-bit table length");
+		long presentAttributes = 0L;
+		for (int index = 0; index < numberOfAttributes; index++)
+		{
+			final ConstantPoolIndex attributeNameIndex = javaClassFileReader.readModifiedUtf8StringReferenceIndex("attribute name reference");
+			@Nullable final KnownSymbol attributeNameSymbol = javaClassFileReader.knownSymbol(attributeNameIndex);
+			final long attributeLength = javaClassFileReader.readBigEndianUnsigned32BitInteger("attribute length");
+			if (attributeNameSymbol == null)
+			{
+				javaClassFileReader.skipBytes("attribute", attributeLength);
+			}
+			else
+			{
+				javaClassFileReader.skipBytes(attributeNameSymbol.value, attributeLength);
+				presentAttributes |= attributeNameSymbol.bit;
+			}
+		}
+		return presentAttributes;
 	}
 }
 
@@ -25,6 +25,10 @@ package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool;
 import com.stormmq.java.classfile.domain.*;
 import com.stormmq.java.classfile.domain.attributes.code.constants.*;
 import com.stormmq.java.classfile.domain.fieldConstants.FieldConstant;
+import com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader;
+import com.stormmq.java.classfile.parser.JavaClassFileReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.UnsupportedConstantParser;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.Constant;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.miscellaneous.ModifiedUtf8StringConstant;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.miscellaneous.PhantomConstant;
@@ -34,20 +38,162 @@ import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.const
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-public final class ConstantPool implements RuntimeConstantPool
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.stormmq.byteReaders.ByteReader.ByteMask;
+import static com.stormmq.java.classfile.parser.JavaClassFileReader.unsigned8BitIntegerToString;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.miscellaneous.PhantomConstant.Phantom;
+
+public final class ConstantPool implements RuntimeConstantPool, Serializable
 {
-	@NotNull private final Constant[] constants;
+	private static final long serialVersionUID = 1L;
+
+	private static final int Decoding = -1;
+	private static final int ModifiedUtf8StringTag = 1;
+	private static final byte KnownSymbolUnresolved = 0;
+	private static final byte KnownSymbolAbsent = 1;
+	private static final int KnownSymbolOrdinalOffset = 2;
+	@NotNull private static final KnownSymbol[] KnownSymbols = KnownSymbol.values();
+
+	// Records only the tag and offset of each entry; entries are decoded, and their references validated, when first retrieved
+	// The class file's bytes are retained only until every entry has been decoded, or parsing of the class file finishes (see copyUndecodedEntries())
+	// Advances javaClassFileReader past the entries, which must be the start of unreadBytes
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	public static ConstantPool lazyConstantPool(final char constantPoolCount, @NotNull final JavaClassFileReader javaClassFileReader, @NotNull final ByteBuffer unreadBytes, @NotNull final ConstantParser[] constantParsers) throws InvalidJavaClassFileException
+	{
+		if (constantPoolCount == 0)
+		{
+			throw new IllegalArgumentException("Constant pool count can not be zero");
+		}
+
+		final AtomicReferenceArray<Constant> constants = new AtomicReferenceArray<>(constantPoolCount);
+		final int[] tags = new int[constantPoolCount];
+		final int[] offsets = new int[constantPoolCount];
+		final int limit = unreadBytes.limit();
+
+		int offset = 0;
+		int index = 1;
+		int numberOfEntries = 0;
+		while (index < constantPoolCount)
+		{
+			guardForAvailable(offset, 1, limit, "constant pool tag");
+			final short tag = (short) (unreadBytes.get(offset) & ByteMask);
+			offset++;
+
+			final int length;
+			switch (constantParsers[tag] instanceof UnsupportedConstantParser ? 0 : tag)
+			{
+				case 1:
+					guardForAvailable(offset, 2, limit, "Modified UTF-8 constant");
+					length = 2 + unreadBytes.getChar(offset);
+					break;
+
+				case 7:
+				case 8:
+				case 16:
+					length = 2;
+					break;
+
+				case 15:
+					length = 3;
+					break;
+
+				case 3:
+				case 4:
+				case 9:
+				case 10:
+				case 11:
+				case 12:
+				case 18:
+					length = 4;
+					break;
+
+				case 5:
+				case 6:
+					length = 8;
+					break;
+
+				default:
+					throw new InvalidJavaClassFileException(Formatting.format("The tag '%1$s' at constant pool index '%2$s' is unsupported", unsigned8BitIntegerToString(tag), index));
+			}
+			guardForAvailable(offset, length, limit, "constant pool entry");
+
+			tags[index] = tag;
+			offsets[index] = offset;
+			offset += length;
+			numberOfEntries++;
+
+			if (tag == 5 || tag == 6)
+			{
+				new ConstantPoolIndex((char) index).incrementForDoubleWidthConstantPoolItem(constantPoolCount);
+				constants.set(index + 1, Phantom);
+				index += 2;
+			}
+			else
+			{
+				index++;
+			}
+		}
+
+		javaClassFileReader.readBytes("constant pool", offset);
+
+		final ByteBuffer entries = unreadBytes.duplicate();
+		entries.limit(offset);
+		return new ConstantPool(constantPoolCount, constants, tags, offsets, entries, constantParsers, numberOfEntries);
+	}
+
+	private static void guardForAvailable(final int offset, final int length, final int limit, @NotNull final String what) throws InvalidJavaClassFileException
+	{
+		if (length > limit - offset)
+		{
+			throw new InvalidJavaClassFileException(Formatting.format("Could not read '%1$s'", what), new EOFException());
+		}
+	}
+
+	// Read without a lock by retrieve(), so decoded constants are published safely to other threads
+	@NotNull private final AtomicReferenceArray<Constant> constants;
 	private final int constantPoolCount;
+	// Guarded by this, as all are released (made null) once every entry of a lazy constant pool has been decoded
+	@Nullable private transient int[] tags;
+	@Nullable private transient int[] offsets;
+	@Nullable private transient ByteBuffer entries;
+	@Nullable private transient ByteBufferJavaClassFileReader entriesReader;
+	@Nullable private transient ConstantPoolJavaClassFileReader entriesConstantPoolReader;
+	@Nullable private transient ConstantParser[] constantParsers;
+	private transient int numberOfUndecodedEntries;
+	@Nullable private transient byte[] knownSymbols;
 
 	public ConstantPool(final char constantPoolCount)
+	{
+		this(constantPoolCount, new AtomicReferenceArray<>(constantPoolCount), null, null, null, null, 0);
+	}
+
+	private ConstantPool(final char constantPoolCount, @NotNull final AtomicReferenceArray<Constant> constants, @Nullable final int[] tags, @Nullable final int[] offsets, @Nullable final ByteBuffer entries, @Nullable final ConstantParser[] constantParsers, final int numberOfUndecodedEntries)
 	{
 		if (constantPoolCount == 0)
 		{
 			throw new IllegalArgumentException("Constant pool count can not be zero");
 		}
-		constants = new Constant[constantPoolCount];
+		this.constants = constants;
 		this.constantPoolCount = constantPoolCount;
+		this.tags = tags;
+		this.offsets = offsets;
+		this.entries = entries;
+		entriesReader = entries == null ? null : new ByteBufferJavaClassFileReader(entries);
+		entriesConstantPoolReader = entriesReader == null ? null : new ConstantPoolJavaClassFileReader(entriesReader, this);
+		this.constantParsers = constantParsers;
+		this.numberOfUndecodedEntries = numberOfUndecodedEntries;
+	}
+
+	// False once every entry of a lazy constant pool has been decoded
+	public synchronized boolean isLazy()
+	{
+		return tags != null;
 	}
 
 	@NotNull
@@ -64,7 +210,15 @@ public final class ConstantPool implements RuntimeConstantPool
 			throw new InvalidConstantException(Formatting.format("Index '%1$s' is out of range for single width", (int) index), e);
 		}
 
-		final Constant constant = retrieve(referenceIndex);
+		final Constant constant;
+		try
+		{
+			constant = retrieve(referenceIndex);
+		}
+		catch (final InvalidJavaClassFileException e)
+		{
+			throw new InvalidConstantException(Formatting.format("Index '%1$s' is invalid", (int) index), e);
+		}
 		if (!(constant instanceof SingleWidthConstantForLoad))
 		{
 			throw new InvalidConstantException(Formatting.format("Index '%1$s' is not a single width constant suitable for loading", (int) index));
@@ -86,7 +240,15 @@ public final class ConstantPool implements RuntimeConstantPool
 			throw new InvalidConstantException(Formatting.format("Index '%1$s' is out of range for double width", (int) index), e);
 		}
 
-		final Constant constant = retrieve(referenceIndex);
+		final Constant constant;
+		try
+		{
+			constant = retrieve(referenceIndex);
+		}
+		catch (final InvalidJavaClassFileException e)
+		{
+			throw new InvalidConstantException(Formatting.format("Index '%1$s' is invalid", (int) index), e);
+		}
 		if (!(constant instanceof DoubleWidthConstantForLoad))
 		{
 			throw new InvalidConstantException(Formatting.format("Index '%1$s' is not a double width constant suitable for loading", (int) index));
@@ -108,11 +270,17 @@ public final class ConstantPool implements RuntimeConstantPool
 		return 1;
 	}
 
+	// A lazy constant pool validates the references of each entry as it is decoded (see decode())
 	public void validateReferenceIndices() throws InvalidJavaClassFileException
 	{
+		if (isLazy())
+		{
+			return;
+		}
+
 		for (int index = 1; index < constantPoolCount; index++)
 		{
-			final Constant constant = constants[index];
+			final Constant constant = constants.get(index);
 			constant.validateReferenceIndices();
 		}
 	}
@@ -133,6 +301,43 @@ public final class ConstantPool implements RuntimeConstantPool
 		return (ModifiedUtf8StringConstant) constant;
 	}
 
+	// Resolved once per index; a lazy constant pool matches the entry's raw bytes, so no String is decoded for it
+	// knownSymbols is created and filled without a lock: a thread which sees no array, or a zero (unresolved) byte, resolves again under resolveKnownSymbol's lock
+	// A byte is never torn, and the symbol for an index depends only on its immutable entry, so any non-zero byte seen is the one every thread would store
+	@Nullable
+	public KnownSymbol knownSymbol(@NotNull final ConstantPoolIndex referenceIndex) throws InvalidJavaClassFileException
+	{
+		@Nullable byte[] knownSymbols = this.knownSymbols;
+		if (knownSymbols == null)
+		{
+			knownSymbols = new byte[constantPoolCount];
+			this.knownSymbols = knownSymbols;
+		}
+
+		final int resolved = referenceIndex.retrieve(knownSymbols);
+		if (resolved != KnownSymbolUnresolved)
+		{
+			return resolved == KnownSymbolAbsent ? null : KnownSymbols[resolved - KnownSymbolOrdinalOffset];
+		}
+
+		@Nullable final KnownSymbol knownSymbol = resolveKnownSymbol(referenceIndex);
+		referenceIndex.set(knownSymbols, knownSymbol == null ? KnownSymbolAbsent : (byte) (knownSymbol.ordinal() + KnownSymbolOrdinalOffset));
+		return knownSymbol;
+	}
+
+	// Synchronized as the undecoded entries may be released by decode(); called once per index, so the lock is rarely taken
+	@SuppressWarnings("ConstantConditions")
+	@Nullable
+	private synchronized KnownSymbol resolveKnownSymbol(@NotNull final ConstantPoolIndex referenceIndex) throws InvalidJavaClassFileException
+	{
+		if (tags != null && referenceIndex.retrieve(constants) == null && referenceIndex.retrieve(tags) == ModifiedUtf8StringTag)
+		{
+			final int offset = referenceIndex.retrieve(offsets);
+			return KnownSymbol.knownSymbol(entries, offset + 2, entries.getChar(offset));
+		}
+		return KnownSymbol.knownSymbol(validateReferenceIndexIsModifiedUtf8String(referenceIndex).potentiallyInvalidValue());
+	}
+
 	@NotNull
 	public TypeReferenceIndexConstant validateReferenceIndexIsClass(@NotNull final ConstantPoolIndex referenceIndex) throws InvalidJavaClassFileException
 	{
@@ -234,11 +439,143 @@ public final class ConstantPool implements RuntimeConstantPool
 	}
 
 	@NotNull
-	public Constant retrieve(@NotNull final ConstantPoolIndex constantPoolIndex)
+	public Constant retrieve(@NotNull final ConstantPoolIndex constantPoolIndex) throws InvalidJavaClassFileException
+	{
+		@Nullable final Constant constant = constantPoolIndex.retrieve(constants);
+		if (constant != null)
+		{
+			return constant;
+		}
+		return decode(constantPoolIndex);
+	}
+
+	// Synchronized because a constant pool outlives parsing (eg in Code) and may then be used by several threads
+	@SuppressWarnings("ConstantConditions")
+	@NotNull
+	private synchronized Constant decode(@NotNull final ConstantPoolIndex constantPoolIndex) throws InvalidJavaClassFileException
+	{
+		@Nullable final Constant extant = constantPoolIndex.retrieve(constants);
+		if (extant != null)
+		{
+			return extant;
+		}
+
+		// tags is null once every entry has been decoded; a nested decode() of a referenced entry can not release it, as this entry is still undecoded
+		@Nullable final int[] tags = this.tags;
+		if (tags == null)
+		{
+			throw new IllegalStateException(Formatting.format("The constant at index '%1$s' has not been parsed", constantPoolIndex));
+		}
+
+		final int tag = constantPoolIndex.retrieve(tags);
+		if (tag == Decoding)
+		{
+			throw new InvalidJavaClassFileException(Formatting.format("The constant at index '%1$s' refers, directly or indirectly, to itself", constantPoolIndex));
+		}
+
+		constantPoolIndex.set(tags, Decoding);
+		final Constant constant;
+		try
+		{
+			entriesReader.moveTo(constantPoolIndex.retrieve(offsets));
+			constant = constantParsers[tag].parse(constantPoolIndex, entriesConstantPoolReader, this);
+			constant.validateReferenceIndices();
+			constantPoolIndex.set(constants, constant);
+		}
+		finally
+		{
+			constantPoolIndex.set(tags, tag);
+		}
+
+		numberOfUndecodedEntries--;
+		if (numberOfUndecodedEntries == 0)
+		{
+			releaseUndecodedEntries();
+		}
+		return constant;
+	}
+
+	// Called once parsing of the class file finishes, as a constant pool may outlive it (eg in Code); only the bytes of entries not yet decoded are kept
+	@SuppressWarnings("ConstantConditions")
+	public synchronized void copyUndecodedEntries()
 	{
-		final Constant retrieve = constantPoolIndex.retrieve(constants);
-		assert retrieve != null;
-		return retrieve;
+		@Nullable final ByteBuffer entries = this.entries;
+		if (entries == null)
+		{
+			return;
+		}
+
+		// Entries are contiguous and in index order, each preceded by its tag byte
+		final int[] lengths = new int[constantPoolCount];
+		int undecodedLength = 0;
+		int nextTagOffset = entries.limit();
+		for (int index = constantPoolCount - 1; index > 0; index--)
+		{
+			if (tags[index] == 0)
+			{
+				continue;
+			}
+			final int offset = offsets[index];
+			lengths[index] = nextTagOffset - offset;
+			nextTagOffset = offset - 1;
+			if (constants.get(index) == null)
+			{
+				undecodedLength += lengths[index];
+			}
+		}
+
+		final byte[] copied = new byte[undecodedLength];
+		final ByteBuffer source = entries.duplicate();
+		int copiedOffset = 0;
+		for (int index = 1; index < constantPoolCount; index++)
+		{
+			if (tags[index] == 0 || constants.get(index) != null)
+			{
+				continue;
+			}
+			final int length = lengths[index];
+			source.limit(offsets[index] + length);
+			source.position(offsets[index]);
+			source.get(copied, copiedOffset, length);
+			offsets[index] = copiedOffset;
+			copiedOffset += length;
+		}
+
+		this.entries = ByteBuffer.wrap(copied);
+		entriesReader = new ByteBufferJavaClassFileReader(this.entries);
+		entriesConstantPoolReader = new ConstantPoolJavaClassFileReader(entriesReader, this);
+	}
+
+	// Every constant is now in constants, so the class file's bytes need no longer be retained
+	private void releaseUndecodedEntries()
+	{
+		tags = null;
+		offsets = null;
+		entries = null;
+		entriesReader = null;
+		entriesConstantPoolReader = null;
+		constantParsers = null;
+	}
+
+	// Undecoded entries of a lazy constant pool refer to bytes which are not serialized
+	private void writeObject(@NotNull final ObjectOutputStream objectOutputStream) throws IOException
+	{
+		if (isLazy())
+		{
+			for (int index = 1; index < constantPoolCount; index++)
+			{
+				final ConstantPoolIndex constantPoolIndex = new ConstantPoolIndex((char) index);
+				try
+				{
+					retrieve(constantPoolIndex);
+				}
+				catch (final InvalidJavaClassFileException e)
+				{
+					throw new IOException(Formatting.format("Could not decode the constant at index '%1$s'", constantPoolIndex), e);
+				}
+			}
+		}
+		objectOutputStream.defaultWriteObject();
 	}
 
 	@NotNull
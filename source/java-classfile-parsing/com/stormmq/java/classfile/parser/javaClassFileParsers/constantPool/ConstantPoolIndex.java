@@ -27,10 +27,15 @@ import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.Invalid
 import com.stormmq.string.Formatting;
 import org.jetbrains.annotations.*;
 
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import static com.stormmq.java.classfile.parser.JavaClassFileReader.unsigned16BitIntegerToString;
 
-public final class ConstantPoolIndex
+public final class ConstantPoolIndex implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private static final char Maximum = 65535;
 	@NotNull private static final String InvalidMaximum = Formatting.format("constantPoolIndexUnsigned16BitValue can not be the maximum %1$s", unsigned16BitIntegerToString(Maximum));
 	@NotNull private static final ConstantPoolIndex[] ConstantPoolIndices = constantPoolIndices();
@@ -77,11 +82,22 @@ public final class ConstantPoolIndex
 		this.constantPoolIndexUnsigned16BitValue = constantPoolIndexUnsigned16BitValue;
 	}
 
-	@SuppressWarnings("MethodCanBeVariableArityMethod")
 	@Nullable
-	public Constant retrieve(@NotNull final Constant[] constants)
+	public Constant retrieve(@NotNull final AtomicReferenceArray<Constant> constants)
 	{
-		return constants[constantPoolIndexUnsigned16BitValue];
+		return constants.get(constantPoolIndexUnsigned16BitValue);
+	}
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	public int retrieve(@NotNull final int[] values)
+	{
+		return values[constantPoolIndexUnsigned16BitValue];
+	}
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	public int retrieve(@NotNull final byte[] values)
+	{
+		return values[constantPoolIndexUnsigned16BitValue];
 	}
 
 	@NotNull
@@ -129,12 +145,21 @@ public final class ConstantPoolIndex
 		return new ConstantPoolIndex((char) incremented);
 	}
 
-	public void set(@NotNull final Constant[] constants, @NotNull final Constant constant)
+	public void set(@NotNull final AtomicReferenceArray<Constant> constants, @NotNull final Constant constant)
 	{
-		if (constants[constantPoolIndexUnsigned16BitValue] != null)
+		if (!constants.compareAndSet(constantPoolIndexUnsigned16BitValue, null, constant))
 		{
 			throw new IllegalStateException(Formatting.format("Constant index '%1$s' is already in use", this));
 		}
-		constants[constantPoolIndexUnsigned16BitValue] = constant;
+	}
+
+	public void set(@NotNull final int[] values, final int value)
+	{
+		values[constantPoolIndexUnsigned16BitValue] = value;
+	}
+
+	public void set(@NotNull final byte[] values, final byte value)
+	{
+		values[constantPoolIndexUnsigned16BitValue] = value;
 	}
 }
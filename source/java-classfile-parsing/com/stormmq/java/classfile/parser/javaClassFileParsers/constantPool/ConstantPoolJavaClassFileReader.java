@@ -252,6 +252,12 @@ public final class ConstantPoolJavaClassFileReader implements JavaClassFileReade
 		return delegate.readBytes(what, length);
 	}
 
+	@Override
+	public void skipBytes(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException
+	{
+		delegate.skipBytes(what, length);
+	}
+
 	@NotNull
 	@Override
 	public String readModifiedUtf8String(@NotNull @NonNls final String what, final long length) throws InvalidJavaClassFileException
@@ -259,6 +265,13 @@ public final class ConstantPoolJavaClassFileReader implements JavaClassFileReade
 		return delegate.readModifiedUtf8String(what, length);
 	}
 
+	@Nullable
+	@Override
+	public ByteBuffer unreadBytes()
+	{
+		return delegate.unreadBytes();
+	}
+
 	public char readAccessFlags(final int validityMask) throws InvalidJavaClassFileException
 	{
 		final char accessFlags = readBigEndianUnsigned16BitInteger("access flags");
@@ -526,6 +539,25 @@ public final class ConstantPoolJavaClassFileReader implements JavaClassFileReade
 		return readReferenceAndResolveConstant(what, retrieveModifiedUtf8String);
 	}
 
+	@NotNull
+	public ConstantPoolIndex readModifiedUtf8StringReferenceIndex(@NotNull @NonNls final String what) throws InvalidJavaClassFileException
+	{
+		return readReferenceIndex(what);
+	}
+
+	@Nullable
+	public KnownSymbol knownSymbol(@NotNull final ConstantPoolIndex referenceIndex) throws InvalidJavaClassFileException
+	{
+		return constantPool.knownSymbol(referenceIndex);
+	}
+
+	@NonNls
+	@NotNull
+	public String modifiedUtf8String(@NotNull final ConstantPoolIndex referenceIndex) throws InvalidJavaClassFileException
+	{
+		return constantPool.retrieveModifiedUtf8String(referenceIndex);
+	}
+
 	@NotNull
 	public KnownReferenceTypeName readKnownReferenceTypeName(@NonNls @NotNull final String what) throws InvalidJavaClassFileException
 	{
@@ -659,7 +691,7 @@ public final class ConstantPoolJavaClassFileReader implements JavaClassFileReade
 	}
 
 	@NotNull
-	private <V> V[] parseTableAsArrayWith8BitLength(@NotNull final IntFunction<V[]> arrayCreator, @NotNull final V[] empty, @NotNull final InvalidJavaClassFileExceptionSupplier<V> parse) throws InvalidJavaClassFileException
+	public <Value> Value[] parseTableAsArrayWith8BitLength(@NotNull final IntFunction<Value[]> arrayCreator, @NotNull final Value[] empty, @NotNull final InvalidJavaClassFileExceptionSupplier<Value> parse) throws InvalidJavaClassFileException
 	{
 		return parseTableAsArray(arrayCreator, empty, parse, this::getTableLength8Bit);
 	}
@@ -682,12 +714,28 @@ public final class ConstantPoolJavaClassFileReader implements JavaClassFileReade
 		return parseTableAsMap(parse, this::getTableLength16Bit);
 	}
 
+	// Does not collect the entries, so that each can be used as it is parsed
+	public void forEachTableEntryWith16BitLength(@NotNull final InvalidJavaClassFileExceptionIntConsumer parse) throws InvalidJavaClassFileException
+	{
+		final int length = getTableLength16Bit();
+		for (int index = 0; index < length; index++)
+		{
+			parse.accept(index);
+		}
+	}
+
 	@NotNull
 	public RuntimeConstantPool constantPool()
 	{
 		return constantPool;
 	}
 
+	// Nothing more is read from the class file, so a lazy constant pool need no longer retain its bytes
+	public void parsingFinished()
+	{
+		constantPool.copyUndecodedEntries();
+	}
+
 	@NotNull
 	private static <Value> Value[] parseTableAsArray(@NotNull final IntFunction<Value[]> arrayCreator, @NotNull final Value[] empty, @NotNull final InvalidJavaClassFileExceptionSupplier<Value> parse, @NotNull final InvalidJavaClassFileExceptionIntSupplier length) throws InvalidJavaClassFileException
 	{
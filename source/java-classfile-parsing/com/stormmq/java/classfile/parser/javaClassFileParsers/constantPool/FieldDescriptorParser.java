@@ -26,6 +26,8 @@ import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.Invalid
 import com.stormmq.java.classfile.domain.descriptors.FieldDescriptor;
 import org.jetbrains.annotations.*;
 
+import static com.stormmq.java.classfile.domain.descriptors.FieldDescriptor.fieldDescriptor;
+import static com.stormmq.java.classfile.domain.descriptors.FieldDescriptor.knownFieldDescriptor;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ClassLikeTypeDescriptorParser.processClassLikeDescriptor;
 
 public final class FieldDescriptorParser
@@ -33,7 +35,12 @@ public final class FieldDescriptorParser
 	@NotNull
 	public static FieldDescriptor parseFieldDescriptor(@NonNls @NotNull final String rawFieldDescriptor) throws InvalidJavaClassFileException
 	{
-		return new FieldDescriptor(processClassLikeDescriptor(rawFieldDescriptor));
+		@Nullable final FieldDescriptor knownFieldDescriptor = knownFieldDescriptor(rawFieldDescriptor);
+		if (knownFieldDescriptor != null)
+		{
+			return knownFieldDescriptor;
+		}
+		return fieldDescriptor(rawFieldDescriptor, processClassLikeDescriptor(rawFieldDescriptor));
 	}
 
 	private FieldDescriptorParser()
@@ -24,18 +24,38 @@ package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool;
 
 import com.stormmq.java.classfile.domain.signatures.Signature;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.parsing.utilities.names.SymbolTable;
 import org.jetbrains.annotations.*;
 
 public final class FieldSignatureParser
 {
+	@NotNull private static final SymbolTable<String, Signature> Symbols = new SymbolTable<>(16384);
+
+	// An invalid signature is never interned, so is rejected every time
 	@NotNull
 	public static Signature parseFieldSignature(@NonNls @NotNull final String rawFieldSignature) throws InvalidJavaClassFileException
 	{
+		@Nullable final Signature knownFieldSignature = Symbols.find(rawFieldSignature);
+		if (knownFieldSignature != null)
+		{
+			return knownFieldSignature;
+		}
+
 		if (rawFieldSignature.isEmpty())
 		{
 			throw new InvalidJavaClassFileException("Field signature can not be empty");
 		}
-		return new Signature(rawFieldSignature);
+		return Symbols.intern(rawFieldSignature, (key, identifier) -> new Signature(key));
+	}
+
+	public static int numberOfFieldSignatures()
+	{
+		return Symbols.size();
+	}
+
+	public static double fieldSignatureHitRate()
+	{
+		return Symbols.findHitRate();
 	}
 
 	private FieldSignatureParser()
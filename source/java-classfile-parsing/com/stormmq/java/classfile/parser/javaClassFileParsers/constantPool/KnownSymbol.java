@@ -0,0 +1,159 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool;
+
+import com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.Attributes;
+import com.stormmq.string.StringConstants;
+import org.jetbrains.annotations.*;
+
+import java.nio.ByteBuffer;
+
+import static com.stormmq.string.Formatting.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+// All known symbols are ASCII, so their modified UTF-8 encoding is just their characters
+// Matched against a constant pool's raw bytes with a perfect hash, so that no String is created for them
+public enum KnownSymbol
+{
+	AnnotationDefault(Attributes.AnnotationDefault),
+	BootstrapMethods(Attributes.BootstrapMethods),
+	Code(Attributes.Code),
+	ConstantValue(Attributes.ConstantValue),
+	Deprecated(Attributes.Deprecated),
+	EnclosingMethod(Attributes.EnclosingMethod),
+	Exceptions(Attributes.Exceptions),
+	InnerClasses(Attributes.InnerClasses),
+	LineNumberTable(Attributes.LineNumberTable),
+	LocalVariableTable(Attributes.LocalVariableTable),
+	LocalVariableTypeTable(Attributes.LocalVariableTypeTable),
+	MethodParameters(Attributes.MethodParameters),
+	RuntimeVisibleAnnotations(Attributes.RuntimeVisibleAnnotations),
+	RuntimeInvisibleAnnotations(Attributes.RuntimeInvisibleAnnotations),
+	RuntimeVisibleParameterAnnotations(Attributes.RuntimeVisibleParameterAnnotations),
+	RuntimeInvisibleParameterAnnotations(Attributes.RuntimeInvisibleParameterAnnotations),
+	RuntimeVisibleTypeAnnotations(Attributes.RuntimeVisibleTypeAnnotations),
+	RuntimeInvisibleTypeAnnotations(Attributes.RuntimeInvisibleTypeAnnotations),
+	Signature(Attributes.Signature),
+	SourceDebugExtension(Attributes.SourceDebugExtension),
+	SourceFile(Attributes.SourceFile),
+	StackMapTable(Attributes.StackMapTable),
+	Synthetic(Attributes.Synthetic),
+	InstanceInitializerMethodName(StringConstants.InstanceInitializerMethodName),
+	StaticInitializerMethodName(StringConstants.StaticInitializerMethodName),
+	;
+
+	// Found offline as the smallest odd multiplier giving every known symbol its own slot; a new symbol which collides needs a new search
+	private static final int TableSizeInBits = 5;
+	private static final int Multiplier = 10193931;
+	@NotNull private static final KnownSymbol[] Values = values();
+	@NotNull private static final KnownSymbol[] Table = new KnownSymbol[1 << TableSizeInBits];
+
+	static
+	{
+		if (Values.length > Long.SIZE)
+		{
+			throw new IllegalStateException("Known symbols are held as bits in a long");
+		}
+
+		for (final KnownSymbol knownSymbol : Values)
+		{
+			final int slot = slot(knownSymbol.hash);
+			@Nullable final KnownSymbol collision = Table[slot];
+			if (collision != null)
+			{
+				throw new IllegalStateException(format("The known symbols '%1$s' and '%2$s' collide; the perfect hash multiplier must be searched for again", collision.value, knownSymbol.value));
+			}
+			Table[slot] = knownSymbol;
+		}
+	}
+
+	private static int slot(final int hash)
+	{
+		return (hash * Multiplier) >>> (32 - TableSizeInBits);
+	}
+
+	@SuppressWarnings("MagicNumber")
+	private static int hash(final int length, final int first, final int middle, final int last)
+	{
+		return ((length * 31 + first) * 31 + middle) * 31 + last;
+	}
+
+	// offset is that of the first byte of the string, not of its length
+	@Nullable
+	public static KnownSymbol knownSymbol(@NotNull final ByteBuffer bytes, final int offset, final int length)
+	{
+		if (length == 0)
+		{
+			return null;
+		}
+
+		final int hash = hash(length, bytes.get(offset) & 0xFF, bytes.get(offset + length / 2) & 0xFF, bytes.get(offset + length - 1) & 0xFF);
+		@Nullable final KnownSymbol knownSymbol = Table[slot(hash)];
+		if (knownSymbol == null || knownSymbol.encoded.length != length)
+		{
+			return null;
+		}
+
+		final byte[] encoded = knownSymbol.encoded;
+		for (int index = 0; index < length; index++)
+		{
+			if (bytes.get(offset + index) != encoded[index])
+			{
+				return null;
+			}
+		}
+		return knownSymbol;
+	}
+
+	@Nullable
+	public static KnownSymbol knownSymbol(@NotNull final String value)
+	{
+		final int length = value.length();
+		if (length == 0)
+		{
+			return null;
+		}
+
+		final int hash = hash(length, value.charAt(0), value.charAt(length / 2), value.charAt(length - 1));
+		@Nullable final KnownSymbol knownSymbol = Table[slot(hash)];
+		if (knownSymbol == null || !knownSymbol.value.equals(value))
+		{
+			return null;
+		}
+		return knownSymbol;
+	}
+
+	@SuppressWarnings("WeakerAccess") @NonNls @NotNull public final String value;
+	@SuppressWarnings("WeakerAccess") public final long bit;
+	@NotNull private final byte[] encoded;
+	private final int hash;
+
+	KnownSymbol(@NonNls @NotNull final String value)
+	{
+		this.value = value;
+		bit = 1L << ordinal();
+		encoded = value.getBytes(US_ASCII);
+		final int length = encoded.length;
+		hash = hash(length, encoded[0], encoded[length / 2], encoded[length - 1]);
+	}
+}
@@ -38,6 +38,9 @@ import static com.stormmq.functions.collections.ListHelper.listToArray;
 import static com.stormmq.java.classfile.domain.InternalTypeName.EmptyInternalTypeNames;
 import static com.stormmq.java.classfile.domain.InternalTypeName.MaximumArrayDimensions;
 import static com.stormmq.java.classfile.domain.InternalTypeName.VoidInternalTypeName;
+import static com.stormmq.java.classfile.domain.InternalTypeName.internalTypeName;
+import static com.stormmq.java.classfile.domain.descriptors.MethodDescriptor.knownMethodDescriptor;
+import static com.stormmq.java.classfile.domain.descriptors.MethodDescriptor.methodDescriptor;
 import static com.stormmq.java.parsing.utilities.ReservedIdentifiers.validateIsJavaIdentifier;
 import static com.stormmq.string.StringConstants.*;
 import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName.knownReferenceTypeName;
@@ -45,6 +48,7 @@ import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNa
 public final class MethodDescriptorParser
 {
 	private static final int MaximumLengthOfMethodParametersIncludingReturnType = 255;
+	private static final int InitialParameterDescriptorsCapacity = 8;
 
 	@NotNull
 	public static InternalTypeName processSimpleTypeDescriptor(final int length, @NonNls @NotNull final String rawTypeDescriptor) throws InvalidJavaClassFileException
@@ -54,6 +58,18 @@ public final class MethodDescriptorParser
 
 	@NotNull
 	public static MethodDescriptor parseMethodDescriptor(@NonNls @NotNull final String rawMethodDescriptor, final boolean returnTypeMustBeVoid) throws InvalidJavaClassFileException
+	{
+		@Nullable final MethodDescriptor knownMethodDescriptor = knownMethodDescriptor(rawMethodDescriptor);
+		final MethodDescriptor methodDescriptor = knownMethodDescriptor == null ? parseUnknownMethodDescriptor(rawMethodDescriptor) : knownMethodDescriptor;
+		if (returnTypeMustBeVoid && !methodDescriptor.hasVoidReturnType())
+		{
+			throw new InvalidJavaClassFileException("Return type of method is required to be void");
+		}
+		return methodDescriptor;
+	}
+
+	@NotNull
+	private static MethodDescriptor parseUnknownMethodDescriptor(@NonNls @NotNull final String rawMethodDescriptor) throws InvalidJavaClassFileException
 	{
 		final int length = rawMethodDescriptor.length();
 		if (length == 0)
@@ -73,17 +89,13 @@ public final class MethodDescriptorParser
 		final int initialIndex = result.initialIndex;
 
 		final InternalTypeName returnDescriptor = processReturnDescriptor(rawMethodDescriptor, length, methodParametersLengthExcludingThisButIncludingReturnType, initialIndex);
-		if (returnTypeMustBeVoid && !returnDescriptor.isVoid())
-		{
-			throw new InvalidJavaClassFileException("Return type of method is required to be void");
-		}
-		return new MethodDescriptor(returnDescriptor, parameterDescriptors);
+		return methodDescriptor(rawMethodDescriptor, returnDescriptor, parameterDescriptors);
 	}
 
 	@NotNull
 	private static ParameterDescriptorsResult processParameterDescriptors(@NonNls @NotNull final String rawMethodDescriptor, final int length) throws InvalidJavaClassFileException
 	{
-		final List<InternalTypeName> parameterDescriptors = new ArrayList<>(255);
+		final List<InternalTypeName> parameterDescriptors = new ArrayList<>(InitialParameterDescriptorsCapacity);
 
 		int methodParametersLengthExcludingThisButIncludingReturnType = 0;
 		int index = 1;
@@ -269,12 +281,12 @@ public final class MethodDescriptorParser
 
 		private ParsedTypeDescriptorResult(@NotNull final TypeName typeName, final int lastIndex, final int arrayDimensions)
 		{
-			this(new InternalTypeName(typeName, arrayDimensions), lastIndex, 1);
+			this(internalTypeName(typeName, arrayDimensions), lastIndex, 1);
 		}
 
 		private ParsedTypeDescriptorResult(@NotNull final TypeName typeName, final int lastIndex, final int arrayDimensions, final int parameterLength)
 		{
-			this(new InternalTypeName(typeName, arrayDimensions), lastIndex, parameterLength);
+			this(internalTypeName(typeName, arrayDimensions), lastIndex, parameterLength);
 		}
 
 		private ParsedTypeDescriptorResult(@NotNull final InternalTypeName internalTypeName, final int lastIndex)
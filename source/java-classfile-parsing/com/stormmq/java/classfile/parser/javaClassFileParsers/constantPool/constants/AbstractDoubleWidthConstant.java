@@ -25,8 +25,12 @@ package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.cons
 import com.stormmq.java.classfile.domain.attributes.code.constants.DoubleWidthConstantForLoad;
 import com.stormmq.java.classfile.domain.fieldConstants.FieldConstant;
 
-public abstract class AbstractDoubleWidthConstant implements FieldConstant, DoubleWidthConstantForLoad, Constant
+import java.io.Serializable;
+
+public abstract class AbstractDoubleWidthConstant implements FieldConstant, DoubleWidthConstantForLoad, Constant, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public final boolean doesConstantOccupyDoubleWidthSlot()
 	{
@@ -22,8 +22,12 @@
 
 package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants;
 
-public abstract class AbstractSingleWidthConstant implements Constant
+import java.io.Serializable;
+
+public abstract class AbstractSingleWidthConstant implements Constant, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public final boolean doesConstantOccupyDoubleWidthSlot()
 	{
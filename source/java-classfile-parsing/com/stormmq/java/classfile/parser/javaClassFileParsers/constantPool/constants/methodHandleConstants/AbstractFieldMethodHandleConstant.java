@@ -32,6 +32,8 @@ import org.jetbrains.annotations.*;
 
 public abstract class AbstractFieldMethodHandleConstant extends AbstractMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractFieldMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex)
 	{
 		super(constantPool, referenceIndex);
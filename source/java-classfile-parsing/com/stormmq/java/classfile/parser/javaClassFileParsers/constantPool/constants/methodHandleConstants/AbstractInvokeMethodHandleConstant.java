@@ -38,6 +38,8 @@ import static com.stormmq.java.classfile.domain.names.MethodName.StaticInstanceI
 
 public abstract class AbstractInvokeMethodHandleConstant extends AbstractMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	protected AbstractInvokeMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex)
 	{
 		super(constantPool, referenceIndex);
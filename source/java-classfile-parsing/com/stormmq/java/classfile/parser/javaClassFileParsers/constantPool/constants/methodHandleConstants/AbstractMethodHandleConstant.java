@@ -33,6 +33,8 @@ import org.jetbrains.annotations.NotNull;
 
 public abstract class AbstractMethodHandleConstant extends AbstractSingleWidthConstant implements MethodHandle
 {
+	private static final long serialVersionUID = 1L;
+
 	@SuppressWarnings("FieldNotUsedInToString") @NotNull private final ConstantPool constantPool;
 	@NotNull protected final ConstantPoolIndex referenceIndex;
 
@@ -70,7 +72,7 @@ public abstract class AbstractMethodHandleConstant extends AbstractSingleWidthCo
 	protected abstract void validate(@NotNull final Constant constant) throws InvalidJavaClassFileException;
 
 	@NotNull
-	private Constant retrieveConstant()
+	private Constant retrieveConstant() throws InvalidJavaClassFileException
 	{
 		return constantPool.retrieve(referenceIndex);
 	}
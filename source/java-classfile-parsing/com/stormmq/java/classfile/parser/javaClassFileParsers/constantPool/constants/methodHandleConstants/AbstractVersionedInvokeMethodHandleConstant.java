@@ -33,6 +33,8 @@ import org.jetbrains.annotations.NotNull;
 
 public abstract class AbstractVersionedInvokeMethodHandleConstant extends AbstractInvokeMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isLessThanJava8;
 
 	protected AbstractVersionedInvokeMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex, final boolean isLessThanJava8)
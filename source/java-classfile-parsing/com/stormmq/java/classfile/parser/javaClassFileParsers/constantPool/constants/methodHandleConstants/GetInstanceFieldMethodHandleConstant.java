@@ -28,6 +28,8 @@ import org.jetbrains.annotations.*;
 
 public final class GetInstanceFieldMethodHandleConstant extends AbstractFieldMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	public GetInstanceFieldMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex)
 	{
 		super(constantPool, referenceIndex);
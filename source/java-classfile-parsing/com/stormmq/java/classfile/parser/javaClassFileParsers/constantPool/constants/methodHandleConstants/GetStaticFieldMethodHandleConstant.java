@@ -28,6 +28,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class GetStaticFieldMethodHandleConstant extends AbstractFieldMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	public GetStaticFieldMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex)
 	{
 		super(constantPool, referenceIndex);
@@ -32,6 +32,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class InvokeInterfaceMethodHandleConstant extends AbstractInvokeMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	public InvokeInterfaceMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex)
 	{
 		super(constantPool, referenceIndex);
@@ -28,6 +28,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class InvokeSpecialMethodHandleConstant extends AbstractVersionedInvokeMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	public InvokeSpecialMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex, final boolean isLessThanJava8)
 	{
 		super(constantPool, referenceIndex, isLessThanJava8);
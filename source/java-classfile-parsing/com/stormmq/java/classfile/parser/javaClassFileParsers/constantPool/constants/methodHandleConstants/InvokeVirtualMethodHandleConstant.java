@@ -30,6 +30,8 @@ import org.jetbrains.annotations.*;
 
 public final class InvokeVirtualMethodHandleConstant extends AbstractInvokeMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	public InvokeVirtualMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex)
 	{
 		super(constantPool, referenceIndex);
@@ -36,6 +36,8 @@ import static com.stormmq.java.classfile.domain.names.MethodName.InstanceInitial
 
 public final class NewInvokeSpecialMethodHandleConstant extends AbstractInvokeMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	public NewInvokeSpecialMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex)
 	{
 		super(constantPool, referenceIndex);
@@ -28,6 +28,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class PutInstanceFieldMethodHandleConstant extends AbstractFieldMethodHandleConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	public PutInstanceFieldMethodHandleConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex referenceIndex)
 	{
 		super(constantPool, referenceIndex);
@@ -30,6 +30,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class InvokeDynamicIndexConstant extends AbstractSingleWidthConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private final ConstantPool constantPool;
 	private final char bootstrapMethodAttributeIndex;
 	@NotNull private final ConstantPoolIndex nameAndTypeDescriptorReferenceIndex;
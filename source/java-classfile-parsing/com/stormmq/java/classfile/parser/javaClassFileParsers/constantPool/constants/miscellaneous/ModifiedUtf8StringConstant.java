@@ -30,8 +30,13 @@ import org.jetbrains.annotations.NotNull;
 
 public final class ModifiedUtf8StringConstant extends AbstractSingleWidthConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull private static final CodePointUser<RuntimeException> DoNothing = (index, codePoint) -> {};
 	@NotNull private final String potentiallyInvalidValue;
+	// Only ever goes from false to true, and only once the final (so safely published) value has passed; a thread that misses the write checks the same string again
+	// An invalid value never sets it, so every use throws; transient so that a deserialized constant, whose string may not have come from this process, is checked again
+	private transient boolean validated;
 
 	public ModifiedUtf8StringConstant(@NotNull final String potentiallyInvalidValue)
 	{
@@ -56,10 +61,17 @@ public final class ModifiedUtf8StringConstant extends AbstractSingleWidthConstan
 		return false;
 	}
 
+	// Validated on first use only, as a name may be referenced many times from one constant pool
 	@NotNull
 	public String value() throws InvalidJavaClassFileException
 	{
-		return validateOnUse();
+		if (validated)
+		{
+			return potentiallyInvalidValue;
+		}
+		final String value = validateOnUse();
+		validated = true;
+		return value;
 	}
 
 	@NotNull
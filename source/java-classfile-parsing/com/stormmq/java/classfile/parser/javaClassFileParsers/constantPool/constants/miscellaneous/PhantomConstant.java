@@ -25,8 +25,12 @@ package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.cons
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.Constant;
 import org.jetbrains.annotations.NotNull;
 
-public final class PhantomConstant implements Constant
+import java.io.Serializable;
+
+public final class PhantomConstant implements Constant, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final Constant Phantom = new PhantomConstant();
 
 	private PhantomConstant()
@@ -30,6 +30,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class DoubleConstant extends AbstractDoubleWidthConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	private final long doubleValueAsRawLongBitsAsJavaLosesNaNInformationOnConversion;
 
 	public DoubleConstant(final long doubleValueAsRawLongBitsAsJavaLosesNaNInformationOnConversion)
@@ -31,6 +31,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class FloatConstant extends AbstractSingleWidthConstant implements FieldConstant, SingleWidthConstantForLoad
 {
+	private static final long serialVersionUID = 1L;
+
 	private final float floatValue;
 
 	public FloatConstant(final float floatValue)
@@ -31,6 +31,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class IntegerConstant extends AbstractSingleWidthConstant implements FieldConstant, SingleWidthConstantForLoad
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int signed32BitIntegerValue;
 
 	public IntegerConstant(final int signed32BitIntegerValue)
@@ -29,6 +29,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class LongConstant extends AbstractDoubleWidthConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	private final long signed64BitIntegerValue;
 
 	public LongConstant(final long signed64BitIntegerValue)
@@ -29,6 +29,7 @@ import com.stormmq.java.classfile.domain.names.MethodName;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPool;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPoolIndex;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.KnownSymbol;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.AbstractSingleWidthConstant;
 import com.stormmq.java.parsing.utilities.InvalidJavaIdentifierException;
 import com.stormmq.string.Formatting;
@@ -41,6 +42,8 @@ import static com.stormmq.java.parsing.utilities.ReservedIdentifiers.*;
 
 public final class NameAndTypeReferenceIndexConstant extends AbstractSingleWidthConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	@NonNls
 	@NotNull
 	public static FieldName parseFieldName(@NotNull @NonNls final String rawFieldName) throws InvalidJavaClassFileException
@@ -54,7 +57,7 @@ public final class NameAndTypeReferenceIndexConstant extends AbstractSingleWidth
 		{
 			throw new InvalidJavaClassFileException("field name is not a valid unqualified name", e);
 		}
-		return new FieldName(fieldName);
+		return FieldName.fieldName(fieldName);
 	}
 
 	@NotNull
@@ -69,7 +72,7 @@ public final class NameAndTypeReferenceIndexConstant extends AbstractSingleWidth
 		{
 			throw new InvalidJavaClassFileException("method name is not a valid unqualified name", e);
 		}
-		return new MethodName(methodName);
+		return MethodName.methodName(methodName);
 	}
 
 	@SuppressWarnings("FieldNotUsedInToString") @NotNull private final ConstantPool constantPool;
@@ -173,7 +176,7 @@ public final class NameAndTypeReferenceIndexConstant extends AbstractSingleWidth
 	@NotNull
 	public MethodDescriptor methodDescriptor() throws InvalidJavaClassFileException
 	{
-		final boolean returnTypeMustBeVoid = rawName().equals(StringConstants.InstanceInitializerMethodName);
+		final boolean returnTypeMustBeVoid = constantPool.knownSymbol(modifiedUtf8StringReferenceIndexForName) == KnownSymbol.InstanceInitializerMethodName;
 		final String rawMethodDescriptor = constantPool.retrieveModifiedUtf8String(modifiedUtf8StringReferenceIndexForDescriptor);
 		return parseMethodDescriptor(rawMethodDescriptor, returnTypeMustBeVoid);
 	}
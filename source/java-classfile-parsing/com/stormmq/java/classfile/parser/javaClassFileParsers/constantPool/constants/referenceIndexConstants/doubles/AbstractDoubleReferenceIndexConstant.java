@@ -38,6 +38,8 @@ import org.jetbrains.annotations.Nullable;
 
 public abstract class AbstractDoubleReferenceIndexConstant extends AbstractSingleWidthConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	@SuppressWarnings("FieldNotUsedInToString") @NotNull private final ConstantPool constantPool;
 	@NotNull private final ConstantPoolIndex classReferenceIndex;
 	@NotNull private final ConstantPoolIndex nameAndTypeDescriptorReferenceIndex;
@@ -31,6 +31,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class InterfaceMethodReferenceIndexConstant extends AbstractDoubleReferenceIndexConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	public InterfaceMethodReferenceIndexConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex classReferenceIndex, @NotNull final ConstantPoolIndex nameAndTypeDescriptorReferenceIndex)
 	{
 		super(constantPool, classReferenceIndex, nameAndTypeDescriptorReferenceIndex);
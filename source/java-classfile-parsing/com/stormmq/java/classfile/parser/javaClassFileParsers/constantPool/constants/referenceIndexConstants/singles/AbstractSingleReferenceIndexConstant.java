@@ -32,6 +32,8 @@ import org.jetbrains.annotations.Nullable;
 
 public abstract class AbstractSingleReferenceIndexConstant extends AbstractSingleWidthConstant
 {
+	private static final long serialVersionUID = 1L;
+
 	@SuppressWarnings("FieldNotUsedInToString") @NotNull private final ConstantPool constantPool;
 	@NotNull private final ConstantPoolIndex modifiedUtf8StringIndex;
 
@@ -33,6 +33,8 @@ import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPoo
 
 public final class MethodTypeReferenceIndexConstant extends AbstractSingleReferenceIndexConstant implements BootstrapMethodArgument, SingleWidthConstantForLoad
 {
+	private static final long serialVersionUID = 1L;
+
 	public MethodTypeReferenceIndexConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex modifiedUtf8StringIndex)
 	{
 		super(constantPool, modifiedUtf8StringIndex);
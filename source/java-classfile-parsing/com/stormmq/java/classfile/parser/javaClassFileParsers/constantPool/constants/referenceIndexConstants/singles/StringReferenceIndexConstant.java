@@ -32,6 +32,8 @@ import org.jetbrains.annotations.NotNull;
 
 public final class StringReferenceIndexConstant extends AbstractSingleReferenceIndexConstant implements FieldConstant, SingleWidthConstantForLoad
 {
+	private static final long serialVersionUID = 1L;
+
 	public StringReferenceIndexConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex modifiedUtf8StringIndex)
 	{
 		super(constantPool, modifiedUtf8StringIndex);
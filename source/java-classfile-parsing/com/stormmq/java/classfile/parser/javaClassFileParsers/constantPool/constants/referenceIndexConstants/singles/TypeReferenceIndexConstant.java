@@ -38,6 +38,8 @@ import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNa
 
 public final class TypeReferenceIndexConstant extends AbstractSingleReferenceIndexConstant implements BootstrapMethodArgument, SingleWidthConstantForLoad
 {
+	private static final long serialVersionUID = 1L;
+
 	public TypeReferenceIndexConstant(@NotNull final ConstantPool constantPool, @NotNull final ConstantPoolIndex modifiedUtf8StringIndex)
 	{
 		super(constantPool, modifiedUtf8StringIndex);
@@ -79,7 +81,7 @@ public final class TypeReferenceIndexConstant extends AbstractSingleReferenceInd
 		}
 
 		// eg java/lang/String
-		return new InternalTypeName(toKnownReferenceTypeName(rawInternalTypeName), 0);
+		return InternalTypeName.internalTypeName(toKnownReferenceTypeName(rawInternalTypeName), 0);
 	}
 
 	@NotNull
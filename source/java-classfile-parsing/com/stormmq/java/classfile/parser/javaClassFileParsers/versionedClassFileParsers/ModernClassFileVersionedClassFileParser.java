@@ -22,7 +22,7 @@
 
 package com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFileParsers;
 
-import com.stormmq.functions.collections.PutOnceViolationException;
+import com.stormmq.functions.collections.AddOnceViolationException;
 import com.stormmq.java.classfile.domain.*;
 import com.stormmq.java.classfile.domain.attributes.AttributeLocation;
 import com.stormmq.java.classfile.domain.attributes.UnknownAttributes;
@@ -41,12 +41,16 @@ import com.stormmq.java.classfile.domain.signatures.Signature;
 import com.stormmq.java.classfile.domain.uniqueness.FieldUniqueness;
 import com.stormmq.java.classfile.domain.uniqueness.MethodUniqueness;
 import com.stormmq.java.classfile.parser.JavaClassFileReader;
+import com.stormmq.java.classfile.parser.ParseOption;
+import com.stormmq.java.classfile.parser.ParserConfiguration;
+import com.stormmq.java.classfile.parser.ValidationLevel;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers.*;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.*;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.Constant;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
-import com.stormmq.java.classfile.parser.javaClassFileParsers.functions.InvalidJavaClassFileExceptionBiIntConsumer;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.functions.InvalidJavaClassFileExceptionIntConsumer;
+import com.stormmq.java.classfile.parser.visitors.JavaClassFileVisitor;
 import com.stormmq.java.parsing.utilities.*;
 import com.stormmq.java.parsing.utilities.names.parentNames.ParentName;
 import com.stormmq.java.parsing.utilities.names.typeNames.TypeName;
@@ -54,39 +58,79 @@ import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.Kno
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import static com.stormmq.functions.collections.CollectionHelper.addOnce;
 import static com.stormmq.functions.collections.MapHelper.getGuarded;
 import static com.stormmq.functions.collections.MapHelper.putOnce;
 import static com.stormmq.java.classfile.domain.TypeKind.*;
 import static com.stormmq.java.classfile.domain.TypeKind.Class;
 import static com.stormmq.java.classfile.domain.TypeKind.Enum;
 import static com.stormmq.java.classfile.domain.attributes.AttributeLocation.*;
+import static com.stormmq.java.classfile.domain.names.FieldName.fieldName;
 import static com.stormmq.java.classfile.domain.names.MethodName.InstanceInitializer;
 import static com.stormmq.java.classfile.domain.names.MethodName.StaticInstanceInitializer;
+import static com.stormmq.java.classfile.parser.ParseOption.NoParseOptions;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.accessFlags.FieldAccessFlags.*;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.accessFlags.MethodAccessFlags.*;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.accessFlags.TypeAccessFlags.*;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPool.lazyConstantPool;
 import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser.constantParsers;
 import static com.stormmq.java.parsing.utilities.Completeness.Abstract;
 import static com.stormmq.java.parsing.utilities.Completeness.Final;
 import static com.stormmq.java.parsing.utilities.Visibility.Public;
 import static com.stormmq.string.Formatting.format;
+import static java.util.Collections.unmodifiableSet;
 
 public final class ModernClassFileVersionedClassFileParser implements VersionedClassFileParser
 {
-	@NotNull private static final Map<JavaClassFileVersion, AttributesParser> TypeAttributesParsers = initialiseAttributesParsers(Type);
-	@NotNull private static final Map<JavaClassFileVersion, AttributesParser> FieldAttributesParsers = initialiseAttributesParsers(Field);
-	@NotNull private static final Map<JavaClassFileVersion, AttributesParser> MethodAttributesParsers = initialiseAttributesParsers(Method);
+	@NotNull private static final Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>> AttributesParsers = initialiseAttributesParsers(NoParseOptions);
+	@NotNull private static final ConcurrentMap<Set<ParseOption>, Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>>> SkippingAttributesParsers = new ConcurrentHashMap<>(16);
 	@NotNull private static final Map<JavaClassFileVersion, ConstantParser[]> ConstantParsers = initialiseConstantParsers();
+	@NotNull private static final FieldName OuterInstanceFieldName = fieldName("this$0");
 
 	@NotNull
-	private static Map<JavaClassFileVersion, AttributesParser> initialiseAttributesParsers(@NotNull final AttributeLocation attributeLocation)
+	private static Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>> attributesParsers(@NotNull final Set<ParseOption> parseOptions)
+	{
+		if (parseOptions.isEmpty())
+		{
+			return AttributesParsers;
+		}
+
+		@Nullable final Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>> extant = SkippingAttributesParsers.get(parseOptions);
+		if (extant != null)
+		{
+			return extant;
+		}
+
+		// Copied, as the key must not be altered by the caller after it is put
+		final Set<ParseOption> key = unmodifiableSet(EnumSet.copyOf(parseOptions));
+		final Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>> attributesParsers = initialiseAttributesParsers(key);
+		@Nullable final Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>> racedAttributesParsers = SkippingAttributesParsers.putIfAbsent(key, attributesParsers);
+		return racedAttributesParsers == null ? attributesParsers : racedAttributesParsers;
+	}
+
+	@NotNull
+	private static Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>> initialiseAttributesParsers(@NotNull final Set<ParseOption> parseOptions)
+	{
+		final Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>> map = new EnumMap<>(AttributeLocation.class);
+		for (final AttributeLocation attributeLocation : new AttributeLocation[]{Type, Field, Method})
+		{
+			putOnce(map, attributeLocation, initialiseAttributesParsers(attributeLocation, parseOptions));
+		}
+		return map;
+	}
+
+	@NotNull
+	private static Map<JavaClassFileVersion, AttributesParser> initialiseAttributesParsers(@NotNull final AttributeLocation attributeLocation, @NotNull final Set<ParseOption> parseOptions)
 	{
 		final Map<JavaClassFileVersion, AttributesParser> map = new EnumMap<>(JavaClassFileVersion.class);
 		for (final JavaClassFileVersion javaClassFileVersion : JavaClassFileVersion.values())
 		{
-			putOnce(map, javaClassFileVersion, new AttributesParser(new AttributeParserMappings(javaClassFileVersion, attributeLocation)));
+			putOnce(map, javaClassFileVersion, new AttributesParser(new AttributeParserMappings(javaClassFileVersion, attributeLocation, parseOptions)));
 		}
 		return map;
 	}
@@ -105,30 +149,40 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 	@NotNull private final JavaClassFileReader javaClassFileReader;
 	@NotNull private final JavaClassFileVersion javaClassFileVersion;
 	private final boolean permitConstantsInInstanceFields;
+	private final boolean lazyConstantPool;
+	private final boolean validatesConstantPoolReferenceIndices;
+	private final boolean rejectsDuplicateMembers;
+	private final boolean crossChecks;
 
 	@NotNull private final AttributesParser typeAttributesParser;
 	@NotNull private final AttributesParser methodAttributesParser;
 	@NotNull private final AttributesParser fieldAttributesParser;
 	@NotNull private final ConstantParser[] constantParsers;
 
-	public ModernClassFileVersionedClassFileParser(@NotNull final JavaClassFileReader javaClassFileReader, @NotNull final JavaClassFileVersion javaClassFileVersion, final boolean permitConstantsInInstanceFields)
+	// A lazy constant pool is only used if the javaClassFileReader's unread bytes can be revisited after parsing
+	public ModernClassFileVersionedClassFileParser(@NotNull final JavaClassFileReader javaClassFileReader, @NotNull final JavaClassFileVersion javaClassFileVersion, @NotNull final ParserConfiguration parserConfiguration)
 	{
 		this.javaClassFileReader = javaClassFileReader;
 		this.javaClassFileVersion = javaClassFileVersion;
-		this.permitConstantsInInstanceFields = permitConstantsInInstanceFields;
-
-		typeAttributesParser = getGuarded(TypeAttributesParsers, javaClassFileVersion);
-		methodAttributesParser = getGuarded(MethodAttributesParsers, javaClassFileVersion);
-		fieldAttributesParser = getGuarded(FieldAttributesParsers, javaClassFileVersion);
+		permitConstantsInInstanceFields = parserConfiguration.permitConstantsInInstanceFields;
+		lazyConstantPool = parserConfiguration.lazyConstantPool;
+		final ValidationLevel validationLevel = parserConfiguration.validationLevel;
+		validatesConstantPoolReferenceIndices = validationLevel.validatesConstantPoolReferenceIndices();
+		rejectsDuplicateMembers = validationLevel.rejectsDuplicateMembers();
+		crossChecks = validationLevel.crossChecks();
+
+		final Map<AttributeLocation, Map<JavaClassFileVersion, AttributesParser>> attributesParsers = attributesParsers(parserConfiguration.parseOptions);
+		typeAttributesParser = getGuarded(getGuarded(attributesParsers, Type), javaClassFileVersion);
+		methodAttributesParser = getGuarded(getGuarded(attributesParsers, Method), javaClassFileVersion);
+		fieldAttributesParser = getGuarded(getGuarded(attributesParsers, Field), javaClassFileVersion);
 		constantParsers = getGuarded(ConstantParsers, javaClassFileVersion);
 	}
 
 	@Override
 	@NotNull
-	public ConcreteTypeInformation parse() throws InvalidJavaClassFileException
+	public <R> R parse(@NotNull final JavaClassFileVisitor<R> javaClassFileVisitor) throws InvalidJavaClassFileException
 	{
-		final ConstantPool constantPool = newConstantPool();
-		final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader = parseConstantPool(constantPool);
+		final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader = lazyConstantPool ? parseConstantPoolLazily(javaClassFileReader, constantParsers, validatesConstantPoolReferenceIndices) : parseConstantPool(javaClassFileReader, newConstantPool(javaClassFileReader), constantParsers, validatesConstantPoolReferenceIndices);
 
 		final char typeAccessFlags = constantPoolJavaClassFileReader.readAccessFlags(TypeAccessFlagsValidityMask);
 		final boolean isTypeSynthetic = isTypeSynthetic(typeAccessFlags);
@@ -141,14 +195,15 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 		@NotNull final KnownReferenceTypeName thisClassTypeName = typeInterfacesParser.parseThisClass();
 		@Nullable final KnownReferenceTypeName superClassTypeName = typeInterfacesParser.parseSuperClass(thisClassTypeName);
 		final Set<KnownReferenceTypeName> interfaces = typeInterfacesParser.parseInterfaces(thisClassTypeName, superClassTypeName);
+		javaClassFileVisitor.visitTypeHeader(typeKind, typeVisibility, typeCompleteness, isTypeSynthetic, hasLegacySuperFlagSetting, thisClassTypeName, superClassTypeName, interfaces);
 
 		final boolean isAnnotation = typeKind == Annotation;
 		final boolean isEnum = typeKind == Enum;
 		final boolean isInterfaceOrAnnotation = typeKind == Interface || isAnnotation;
-		final Map<FieldUniqueness, FieldInformation> fields = parseFields(constantPoolJavaClassFileReader, isInterfaceOrAnnotation, thisClassTypeName);
-		final boolean isInnerClass = typeKind == Class && isInnerClass(fields, thisClassTypeName);
-		final Map<MethodUniqueness, MethodInformation> methods = parseMethods(constantPoolJavaClassFileReader, isInterfaceOrAnnotation, thisClassTypeName, isAnnotation, isEnum, isInnerClass);
-		final Attributes attributes = typeAttributesParser.parseAttributes(constantPoolJavaClassFileReader);
+		final boolean hasOuterInstanceField = parseFields(constantPoolJavaClassFileReader, isInterfaceOrAnnotation, thisClassTypeName, javaClassFileVisitor);
+		final boolean isInnerClass = typeKind == Class && hasOuterInstanceField;
+		parseMethods(constantPoolJavaClassFileReader, isInterfaceOrAnnotation, thisClassTypeName, isAnnotation, isEnum, isInnerClass, javaClassFileVisitor);
+		final Attributes attributes = typeAttributesParser.parseAttributes(constantPoolJavaClassFileReader, crossChecks, javaClassFileVisitor);
 
 		final boolean isSyntheticAttribute = attributes.isSynthetic();
 		final boolean isDeprecated = attributes.isDeprecated();
@@ -165,32 +220,33 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 		// TODO: There must be exactly one BootstrapMethods attribute in the attributes table of a ClassFile structure if the constant_pool table of the ClassFile structure has at least one CONSTANT_InvokeDynamic_info entry (§4.4.10).
 		// TODO: The value of the bootstrap_method_attr_index item must be a valid index into the bootstrap_methods array of the bootstrap method table (§4.7.23) of this class file.
 
-		return new ConcreteTypeInformation(typeKind, typeVisibility, typeCompleteness, isTypeSynthetic, hasLegacySuperFlagSetting, thisClassTypeName, superClassTypeName, interfaces, fields, methods, isSyntheticAttribute, isDeprecated, signature, runtimeAnnotationValues, visibleTypeAnnotations, invisibleTypeAnnotations, unknownAttributes, sourceFile, enclosingMethod, sourceDebugExtension, bootstrapMethods);
+		javaClassFileVisitor.visitTypeAttributes(isSyntheticAttribute, isDeprecated, signature, unknownAttributes, sourceFile, enclosingMethod, sourceDebugExtension, bootstrapMethods);
+		javaClassFileVisitor.visitTypeAnnotations(runtimeAnnotationValues, visibleTypeAnnotations, invisibleTypeAnnotations);
+		constantPoolJavaClassFileReader.parsingFinished();
+		return javaClassFileVisitor.visitEnd();
 	}
 
-	private static boolean isInnerClass(@NotNull final Map<FieldUniqueness, FieldInformation> fields, @NotNull final ParentName thisClassTypeName)
+	// eg this$0, the reference an inner class holds to its outer instance
+	private static boolean isOuterInstanceField(@NotNull final FieldUniqueness fieldUniqueness, @NotNull final ParentName thisClassTypeName)
 	{
-		for (final FieldUniqueness fieldUniqueness : fields.keySet())
+		if (fieldUniqueness.fieldName == OuterInstanceFieldName)
 		{
-			if (fieldUniqueness.fieldName.equals(new FieldName("this$0")))
+			final InternalTypeName internalTypeName = fieldUniqueness.fieldDescriptor.internalTypeName;
+			if (!internalTypeName.isArray())
 			{
-				final InternalTypeName internalTypeName = fieldUniqueness.fieldDescriptor.internalTypeName;
-				if (!internalTypeName.isArray())
+				final TypeName typeName = internalTypeName.typeName();
+				if (typeName instanceof KnownReferenceTypeName)
 				{
-					final TypeName typeName = internalTypeName.typeName();
-					if (typeName instanceof KnownReferenceTypeName)
+					final String value = ((KnownReferenceTypeName) typeName).fullyQualifiedNameUsingDotsAndDollarSigns();
+					final String thisClassValue = thisClassTypeName.fullyQualifiedNameUsingDotsAndDollarSigns();
+					if (thisClassValue.startsWith(value))
 					{
-						final String value = ((KnownReferenceTypeName) typeName).fullyQualifiedNameUsingDotsAndDollarSigns();
-						final String thisClassValue = thisClassTypeName.fullyQualifiedNameUsingDotsAndDollarSigns();
-						if (thisClassValue.startsWith(value))
+						final String innerClassName = thisClassValue.substring(value.length());
+						if (!innerClassName.isEmpty() && innerClassName.charAt(0) == '$')
 						{
-							final String innerClassName = thisClassValue.substring(value.length());
-							if (!innerClassName.isEmpty() && innerClassName.charAt(0) == '$')
+							if (innerClassName.substring(1).indexOf('$') == -1)
 							{
-								if (innerClassName.substring(1).indexOf('$') == -1)
-								{
-									return true;
-								}
+								return true;
 							}
 						}
 					}
@@ -201,7 +257,33 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 	}
 
 	@NotNull
-	private ConstantPool newConstantPool() throws InvalidJavaClassFileException
+	private static ConstantPool newConstantPool(@NotNull final JavaClassFileReader javaClassFileReader) throws InvalidJavaClassFileException
+	{
+		return new ConstantPool(readConstantPoolCount(javaClassFileReader));
+	}
+
+	@NotNull
+	public static ConstantPoolJavaClassFileReader parseConstantPoolLazily(@NotNull final JavaClassFileReader javaClassFileReader, @NotNull final ConstantParser[] constantParsers) throws InvalidJavaClassFileException
+	{
+		return parseConstantPoolLazily(javaClassFileReader, constantParsers, true);
+	}
+
+	// validateReferenceIndices is only used when javaClassFileReader's bytes are reused and so the constant pool must be parsed eagerly
+	@NotNull
+	public static ConstantPoolJavaClassFileReader parseConstantPoolLazily(@NotNull final JavaClassFileReader javaClassFileReader, @NotNull final ConstantParser[] constantParsers, final boolean validateReferenceIndices) throws InvalidJavaClassFileException
+	{
+		final char constantPoolCount = readConstantPoolCount(javaClassFileReader);
+
+		@Nullable final ByteBuffer unreadBytes = javaClassFileReader.unreadBytes();
+		if (unreadBytes == null)
+		{
+			return parseConstantPool(javaClassFileReader, new ConstantPool(constantPoolCount), constantParsers, validateReferenceIndices);
+		}
+
+		return new ConstantPoolJavaClassFileReader(javaClassFileReader, lazyConstantPool(constantPoolCount, javaClassFileReader, unreadBytes, constantParsers));
+	}
+
+	private static char readConstantPoolCount(@NotNull final JavaClassFileReader javaClassFileReader) throws InvalidJavaClassFileException
 	{
 		final char constantPoolCount = javaClassFileReader.readBigEndianUnsigned16BitInteger("constant pool count");
 
@@ -210,11 +292,12 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 			throw new InvalidJavaClassFileException("Constant pool count must be greater than zero");
 		}
 
-		return new ConstantPool(constantPoolCount);
+		return constantPoolCount;
 	}
 
+	// If validateReferenceIndices is false, a reference is only checked when it is used, and then only as far as is needed to use it
 	@NotNull
-	private ConstantPoolJavaClassFileReader parseConstantPool(@NotNull final ConstantPool constantPool) throws InvalidJavaClassFileException
+	private static ConstantPoolJavaClassFileReader parseConstantPool(@NotNull final JavaClassFileReader javaClassFileReader, @NotNull final ConstantPool constantPool, @NotNull final ConstantParser[] constantParsers, final boolean validateReferenceIndices) throws InvalidJavaClassFileException
 	{
 		@NotNull final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader = new ConstantPoolJavaClassFileReader(javaClassFileReader, constantPool);
 		char constantPoolIndexUnsigned16BitInteger = 1;
@@ -230,14 +313,19 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 			constantPoolIndexUnsigned16BitInteger += constantPool.add(constantPoolIndex, constant);
 		}
 
-		constantPool.validateReferenceIndices();
+		if (validateReferenceIndices)
+		{
+			constantPool.validateReferenceIndices();
+		}
 		return constantPoolJavaClassFileReader;
 	}
 
-	@NotNull
-	private Map<FieldUniqueness, FieldInformation> parseFields(@NotNull final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader, final boolean isInterfaceOrAnnotation, @NotNull final KnownReferenceTypeName thisClassTypeName) throws InvalidJavaClassFileException
+	// Returns true if there is an outer instance field
+	private boolean parseFields(@NotNull final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader, final boolean isInterfaceOrAnnotation, @NotNull final KnownReferenceTypeName thisClassTypeName, @NotNull final JavaClassFileVisitor<?> javaClassFileVisitor) throws InvalidJavaClassFileException
 	{
-		return constantPoolJavaClassFileReader.parseTableAsMapWith16BitLength((fields, index) ->
+		final Set<FieldUniqueness> fields = new HashSet<>();
+		final boolean[] hasOuterInstanceField = {false};
+		constantPoolJavaClassFileReader.forEachTableEntryWith16BitLength(index ->
 		{
 			final char fieldAccessFlags = constantPoolJavaClassFileReader.readAccessFlags(FieldAccessFlagsValidityMask);
 			final FieldName fieldName = constantPoolJavaClassFileReader.readFieldName("field name");
@@ -253,7 +341,30 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 			final boolean isFinal = isFieldFinal(fieldAccessFlags, isInterfaceOrAnnotation);
 			final boolean isStatic = isFieldStatic(fieldAccessFlags, isInterfaceOrAnnotation);
 
-			final Attributes attributes = fieldAttributesParser.parseAttributes(constantPoolJavaClassFileReader);
+			if (rejectsDuplicateMembers)
+			{
+				try
+				{
+					addOnce(fields, fieldUniqueness);
+				}
+				catch (final AddOnceViolationException e)
+				{
+					throw new InvalidJavaClassFileException(format("The field '%1$s' in type '%2$s' is a duplicate", fieldUniqueness, thisClassTypeName), e);
+				}
+			}
+
+			if (isOuterInstanceField(fieldUniqueness, thisClassTypeName))
+			{
+				hasOuterInstanceField[0] = true;
+			}
+
+			if (!javaClassFileVisitor.visitFieldStart(fieldAccessFlags, fieldUniqueness))
+			{
+				fieldAttributesParser.skipAttributes(constantPoolJavaClassFileReader);
+				return;
+			}
+
+			final Attributes attributes = fieldAttributesParser.parseAttributes(constantPoolJavaClassFileReader, crossChecks, javaClassFileVisitor);
 
 			final boolean isSyntheticAttribute = attributes.isSynthetic();
 			final boolean isDeprecated = attributes.isDeprecated();
@@ -263,27 +374,22 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 			@NotNull final TypeAnnotation[] invisibleTypeAnnotations = attributes.runtimeInvisibleTypeAnnotations();
 			@Nullable final FieldConstant constantValue = attributes.constantValue(!isStatic, permitConstantsInInstanceFields);
 
-			try
-			{
-				putOnce(fields, fieldUniqueness, new FieldInformation(fieldUniqueness, isSynthetic, fieldVisibility, fieldFinality, isTransient, isFinal, isStatic, isDeprecated, isSyntheticAttribute, signature, constantValue, runtimeAnnotationValues, visibleTypeAnnotations, invisibleTypeAnnotations));
-			}
-			catch (final PutOnceViolationException e)
-			{
-				throw new InvalidJavaClassFileException(format("The field '%1$s' in type '%2$s' is a duplicate", fieldUniqueness, thisClassTypeName), e);
-			}
+			javaClassFileVisitor.visitField(new FieldInformation(fieldUniqueness, isSynthetic, fieldVisibility, fieldFinality, isTransient, isFinal, isStatic, isDeprecated, isSyntheticAttribute, signature, constantValue, runtimeAnnotationValues, visibleTypeAnnotations, invisibleTypeAnnotations));
 		});
+		return hasOuterInstanceField[0];
 	}
 
-	@NotNull
-	private Map<MethodUniqueness, MethodInformation> parseMethods(@NotNull final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader, final boolean isInterfaceOrAnnotation, @NotNull final KnownReferenceTypeName thisClassTypeName, final boolean isAnnotation, final boolean isEnum, final boolean isInnerClass) throws InvalidJavaClassFileException
+	private void parseMethods(@NotNull final ConstantPoolJavaClassFileReader constantPoolJavaClassFileReader, final boolean isInterfaceOrAnnotation, @NotNull final KnownReferenceTypeName thisClassTypeName, final boolean isAnnotation, final boolean isEnum, final boolean isInnerClass, @NotNull final JavaClassFileVisitor<?> javaClassFileVisitor) throws InvalidJavaClassFileException
 	{
+		final Set<MethodUniqueness> methods = new HashSet<>();
+
 		//noinspection AnonymousInnerClass
-		return constantPoolJavaClassFileReader.parseTableAsMapWith16BitLength(new InvalidJavaClassFileExceptionBiIntConsumer<Map<MethodUniqueness, MethodInformation>>()
+		constantPoolJavaClassFileReader.forEachTableEntryWith16BitLength(new InvalidJavaClassFileExceptionIntConsumer()
 		{
 			private boolean staticInitializerEncountered = false;
 
 			@Override
-			public void accept(@NotNull final Map<MethodUniqueness, MethodInformation> methods, final int index) throws InvalidJavaClassFileException
+			public void accept(final int index) throws InvalidJavaClassFileException
 			{
 				final char methodAccessFlags = constantPoolJavaClassFileReader.readAccessFlags(MethodAccessFlagsValidityMask);
 				final MethodName methodName = constantPoolJavaClassFileReader.readMethodName("method name");
@@ -292,7 +398,7 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 				// This is a little odd. In Java code, methods must be unique by name and parameters (excluding return type) but in the specification, by name and parameters and return type
 				final MethodUniqueness methodUniqueness = new MethodUniqueness(methodName, methodDescriptor);
 
-				if (isAnnotation)
+				if (crossChecks && isAnnotation)
 				{
 					if (methodDescriptor.hasParameters())
 					{
@@ -314,8 +420,36 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 				final boolean isNative = isMethodNative(methodAccessFlags);
 				final boolean isStatic = isMethodStatic(methodAccessFlags);
 				final boolean isStrictFloatingPoint = isMethodStrictFloatingPoint(methodAccessFlags);
+				final boolean isStaticInitializer = methodName.equals(StaticInstanceInitializer);
+
+				if (rejectsDuplicateMembers)
+				{
+					try
+					{
+						addOnce(methods, methodUniqueness);
+					}
+					catch (final AddOnceViolationException e)
+					{
+						throw new InvalidJavaClassFileException(format("The method '%1$s' in type '%2$s' is a duplicate", methodUniqueness, thisClassTypeName), e);
+					}
+				}
 
-				final Attributes attributes = methodAttributesParser.parseAttributes(constantPoolJavaClassFileReader);
+				if (crossChecks && isStaticInitializer)
+				{
+					validateStaticInitializer(methodDescriptor);
+				}
+
+				if (!javaClassFileVisitor.visitMethodStart(methodAccessFlags, methodUniqueness))
+				{
+					final long presentAttributes = methodAttributesParser.skipAttributes(constantPoolJavaClassFileReader);
+					if (crossChecks)
+					{
+						validateCode((presentAttributes & KnownSymbol.Code.bit) != 0L, isNative, methodCompleteness, methodUniqueness);
+					}
+					return;
+				}
+
+				final Attributes attributes = methodAttributesParser.parseAttributes(constantPoolJavaClassFileReader, crossChecks, javaClassFileVisitor);
 
 				final boolean isSyntheticAttribute = attributes.isSynthetic();
 				final boolean isDeprecated = attributes.isDeprecated();
@@ -348,7 +482,50 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 				final UnknownAttributes unknownAttributes = attributes.unknownAttributes();
 
 				@Nullable final Code code = attributes.code();
-				final boolean hasCode = code != null;
+				if (crossChecks)
+				{
+					validateCode(attributes.hasCode(), isNative, methodCompleteness, methodUniqueness);
+				}
+
+				final MethodInformation methodInformation;
+				if (isStaticInitializer)
+				{
+					// Class and interface initialization methods are called implicitly by the Java Virtual Machine. The value of their access_flags item is ignored except for the setting of the ACC_STRICT flag.
+					methodInformation = new MethodInformation(methodUniqueness, Public, isSynthetic, isBridge, false, Final, false, false, true, isStrictFloatingPoint, isSyntheticAttribute, isDeprecated, signature, runtimeAnnotationValues, parameterAnnotations, visibleTypeAnnotations, invisibleTypeAnnotations, exceptions, methodParameters, code, annotationDefault, unknownAttributes);
+				}
+				else
+				{
+					methodInformation = new MethodInformation(methodUniqueness, methodVisibility, isSynthetic, isBridge, isVarArgs, methodCompleteness, isSynchronized, isNative, isStatic, isStrictFloatingPoint, isSyntheticAttribute, isDeprecated, signature, runtimeAnnotationValues, parameterAnnotations, visibleTypeAnnotations, invisibleTypeAnnotations, exceptions, methodParameters, code, annotationDefault, unknownAttributes);
+				}
+
+				if (code != null)
+				{
+					javaClassFileVisitor.visitCode(methodUniqueness, code);
+				}
+				javaClassFileVisitor.visitMethod(methodUniqueness, methodInformation);
+			}
+
+			private void validateStaticInitializer(@NotNull final MethodDescriptor methodDescriptor) throws InvalidJavaClassFileException
+			{
+				if (methodDescriptor.hasParameters())
+				{
+					throw new InvalidJavaClassFileException(format("The static initializer method has parameters in type '%1$s'", thisClassTypeName));
+				}
+
+				if (methodDescriptor.hasReturnTypeOtherThanVoid())
+				{
+					throw new InvalidJavaClassFileException(format("The static initializer method has a return type other than void in type '%1$s'", thisClassTypeName));
+				}
+
+				if (staticInitializerEncountered)
+				{
+					throw new InvalidJavaClassFileException(format("The static initializer method is duplicated in type '%1$s'", thisClassTypeName));
+				}
+				staticInitializerEncountered = true;
+			}
+
+			private void validateCode(final boolean hasCode, final boolean isNative, @NotNull final Completeness methodCompleteness, @NotNull final MethodUniqueness methodUniqueness) throws InvalidJavaClassFileException
+			{
 				if (hasCode)
 				{
 					if (isNative)
@@ -373,42 +550,6 @@ public final class ModernClassFileVersionedClassFileParser implements VersionedC
 						throw new InvalidJavaClassFileException(format("The method '%1$s' in type '%2$s' is '%3$s' and is not native but has a Code attribute", methodUniqueness, thisClassTypeName, methodCompleteness));
 					}
 				}
-
-				final MethodInformation methodInformation;
-				if (methodName.equals(StaticInstanceInitializer))
-				{
-					if (methodDescriptor.hasParameters())
-					{
-						throw new InvalidJavaClassFileException(format("The static initializer method has parameters in type '%1$s'", thisClassTypeName));
-					}
-
-					if (methodDescriptor.hasReturnTypeOtherThanVoid())
-					{
-						throw new InvalidJavaClassFileException(format("The static initializer method has a return type other than void in type '%1$s'", thisClassTypeName));
-					}
-
-					if (staticInitializerEncountered)
-					{
-						throw new InvalidJavaClassFileException(format("The static initializer method is duplicated in type '%1$s'", thisClassTypeName));
-					}
-					staticInitializerEncountered = true;
-
-					// Class and interface initialization methods are called implicitly by the Java Virtual Machine. The value of their access_flags item is ignored except for the setting of the ACC_STRICT flag.
-					methodInformation = new MethodInformation(methodUniqueness, Public, isSynthetic, isBridge, false, Final, false, false, true, isStrictFloatingPoint, isSyntheticAttribute, isDeprecated, signature, runtimeAnnotationValues, parameterAnnotations, visibleTypeAnnotations, invisibleTypeAnnotations, exceptions, methodParameters, code, annotationDefault, unknownAttributes);
-				}
-				else
-				{
-					methodInformation = new MethodInformation(methodUniqueness, methodVisibility, isSynthetic, isBridge, isVarArgs, methodCompleteness, isSynchronized, isNative, isStatic, isStrictFloatingPoint, isSyntheticAttribute, isDeprecated, signature, runtimeAnnotationValues, parameterAnnotations, visibleTypeAnnotations, invisibleTypeAnnotations, exceptions, methodParameters, code, annotationDefault, unknownAttributes);
-				}
-
-				try
-				{
-					putOnce(methods, methodUniqueness, methodInformation);
-				}
-				catch (final PutOnceViolationException e)
-				{
-					throw new InvalidJavaClassFileException(format("The method '%1$s' in type '%2$s' is a duplicate", methodUniqueness, thisClassTypeName), e);
-				}
 			}
 		});
 	}
@@ -24,11 +24,18 @@ package com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFil
 
 import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.visitors.ConcreteTypeInformationVisitor;
+import com.stormmq.java.classfile.parser.visitors.JavaClassFileVisitor;
 import org.jetbrains.annotations.NotNull;
 
-@FunctionalInterface
 public interface VersionedClassFileParser
 {
 	@NotNull
-	ConcreteTypeInformation parse() throws InvalidJavaClassFileException;
+	default ConcreteTypeInformation parse() throws InvalidJavaClassFileException
+	{
+		return parse(new ConcreteTypeInformationVisitor());
+	}
+
+	@NotNull
+	<R> R parse(@NotNull final JavaClassFileVisitor<R> javaClassFileVisitor) throws InvalidJavaClassFileException;
 }
@@ -0,0 +1,170 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.visitors;
+
+import com.stormmq.java.classfile.domain.TypeKind;
+import com.stormmq.java.classfile.domain.attributes.AttributeLocation;
+import com.stormmq.java.classfile.domain.attributes.UnknownAttributes;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValue;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValues;
+import com.stormmq.java.classfile.domain.attributes.annotations.TypeAnnotation;
+import com.stormmq.java.classfile.domain.attributes.code.Code;
+import com.stormmq.java.classfile.domain.attributes.type.BootstrapMethod;
+import com.stormmq.java.classfile.domain.attributes.type.enclosingMethods.EnclosingMethod;
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.domain.information.FieldInformation;
+import com.stormmq.java.classfile.domain.information.MethodInformation;
+import com.stormmq.java.classfile.domain.signatures.Signature;
+import com.stormmq.java.classfile.domain.uniqueness.FieldUniqueness;
+import com.stormmq.java.classfile.domain.uniqueness.MethodUniqueness;
+import com.stormmq.java.parsing.utilities.Completeness;
+import com.stormmq.java.parsing.utilities.Visibility;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static java.util.Collections.emptyMap;
+
+// Builds the object model; use once per class file
+public final class ConcreteTypeInformationVisitor implements JavaClassFileVisitor<ConcreteTypeInformation>
+{
+	@Nullable private TypeKind typeKind;
+	@Nullable private Visibility visibility;
+	@Nullable private Completeness completeness;
+	private boolean isSynthetic;
+	private boolean hasLegacySuperFlagSetting;
+	@Nullable private KnownReferenceTypeName thisClassTypeName;
+	@Nullable private KnownReferenceTypeName superClassTypeName;
+	@Nullable private Set<KnownReferenceTypeName> interfaces;
+	@NotNull private Map<FieldUniqueness, FieldInformation> fields;
+	@NotNull private Map<MethodUniqueness, MethodInformation> methods;
+	private boolean isSyntheticAttribute;
+	private boolean isDeprecated;
+	@Nullable private Signature signature;
+	@Nullable private UnknownAttributes unknownAttributes;
+	@Nullable private String sourceFile;
+	@Nullable private EnclosingMethod enclosingMethod;
+	@Nullable private String sourceDebugExtension;
+	@Nullable private BootstrapMethod[] bootstrapMethods;
+	@Nullable private AnnotationValues runtimeAnnotationValues;
+	@Nullable private TypeAnnotation[] visibleTypeAnnotations;
+	@Nullable private TypeAnnotation[] invisibleTypeAnnotations;
+
+	public ConcreteTypeInformationVisitor()
+	{
+		fields = emptyMap();
+		methods = emptyMap();
+	}
+
+	@Override
+	public void visitTypeHeader(@NotNull final TypeKind typeKind, @NotNull final Visibility visibility, @NotNull final Completeness completeness, final boolean isSynthetic, final boolean hasLegacySuperFlagSetting, @NotNull final KnownReferenceTypeName thisClassTypeName, @Nullable final KnownReferenceTypeName superClassTypeName, @NotNull final Set<KnownReferenceTypeName> interfaces)
+	{
+		this.typeKind = typeKind;
+		this.visibility = visibility;
+		this.completeness = completeness;
+		this.isSynthetic = isSynthetic;
+		this.hasLegacySuperFlagSetting = hasLegacySuperFlagSetting;
+		this.thisClassTypeName = thisClassTypeName;
+		this.superClassTypeName = superClassTypeName;
+		this.interfaces = interfaces;
+	}
+
+	@Override
+	public boolean visitFieldStart(final char fieldAccessFlags, @NotNull final FieldUniqueness fieldUniqueness)
+	{
+		return true;
+	}
+
+	@Override
+	public boolean visitMethodStart(final char methodAccessFlags, @NotNull final MethodUniqueness methodUniqueness)
+	{
+		return true;
+	}
+
+	@Override
+	public boolean visitAttribute(@NotNull final AttributeLocation attributeLocation, @NotNull final String attributeName, final long attributeLength)
+	{
+		return true;
+	}
+
+	@Override
+	public void visitAnnotation(@NotNull final AttributeLocation attributeLocation, final boolean isVisible, @NotNull final AnnotationValue annotationValue)
+	{
+	}
+
+	@Override
+	public void visitField(@NotNull final FieldInformation fieldInformation)
+	{
+		if (fields.isEmpty())
+		{
+			fields = new LinkedHashMap<>();
+		}
+		fields.put(fieldInformation.fieldUniqueness, fieldInformation);
+	}
+
+	@Override
+	public void visitCode(@NotNull final MethodUniqueness methodUniqueness, @NotNull final Code code)
+	{
+	}
+
+	@Override
+	public void visitMethod(@NotNull final MethodUniqueness methodUniqueness, @NotNull final MethodInformation methodInformation)
+	{
+		if (methods.isEmpty())
+		{
+			methods = new LinkedHashMap<>();
+		}
+		methods.put(methodUniqueness, methodInformation);
+	}
+
+	@Override
+	public void visitTypeAttributes(final boolean isSyntheticAttribute, final boolean isDeprecated, @Nullable final Signature signature, @NotNull final UnknownAttributes unknownAttributes, @Nullable final String sourceFile, @Nullable final EnclosingMethod enclosingMethod, @Nullable final String sourceDebugExtension, @NotNull final BootstrapMethod[] bootstrapMethods)
+	{
+		this.isSyntheticAttribute = isSyntheticAttribute;
+		this.isDeprecated = isDeprecated;
+		this.signature = signature;
+		this.unknownAttributes = unknownAttributes;
+		this.sourceFile = sourceFile;
+		this.enclosingMethod = enclosingMethod;
+		this.sourceDebugExtension = sourceDebugExtension;
+		this.bootstrapMethods = bootstrapMethods;
+	}
+
+	@Override
+	public void visitTypeAnnotations(@NotNull final AnnotationValues runtimeAnnotationValues, @NotNull final TypeAnnotation[] visibleTypeAnnotations, @NotNull final TypeAnnotation[] invisibleTypeAnnotations)
+	{
+		this.runtimeAnnotationValues = runtimeAnnotationValues;
+		this.visibleTypeAnnotations = visibleTypeAnnotations;
+		this.invisibleTypeAnnotations = invisibleTypeAnnotations;
+	}
+
+	@SuppressWarnings("ConstantConditions")
+	@NotNull
+	@Override
+	public ConcreteTypeInformation visitEnd()
+	{
+		return new ConcreteTypeInformation(typeKind, visibility, completeness, isSynthetic, hasLegacySuperFlagSetting, thisClassTypeName, superClassTypeName, interfaces, fields, methods, isSyntheticAttribute, isDeprecated, signature, runtimeAnnotationValues, visibleTypeAnnotations, invisibleTypeAnnotations, unknownAttributes, sourceFile, enclosingMethod, sourceDebugExtension, bootstrapMethods);
+	}
+}
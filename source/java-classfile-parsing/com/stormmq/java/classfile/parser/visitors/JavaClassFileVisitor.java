@@ -0,0 +1,78 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.visitors;
+
+import com.stormmq.java.classfile.domain.TypeKind;
+import com.stormmq.java.classfile.domain.attributes.AttributeLocation;
+import com.stormmq.java.classfile.domain.attributes.UnknownAttributes;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValue;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValues;
+import com.stormmq.java.classfile.domain.attributes.annotations.TypeAnnotation;
+import com.stormmq.java.classfile.domain.attributes.code.Code;
+import com.stormmq.java.classfile.domain.attributes.type.BootstrapMethod;
+import com.stormmq.java.classfile.domain.attributes.type.enclosingMethods.EnclosingMethod;
+import com.stormmq.java.classfile.domain.information.FieldInformation;
+import com.stormmq.java.classfile.domain.information.MethodInformation;
+import com.stormmq.java.classfile.domain.signatures.Signature;
+import com.stormmq.java.classfile.domain.uniqueness.FieldUniqueness;
+import com.stormmq.java.classfile.domain.uniqueness.MethodUniqueness;
+import com.stormmq.java.parsing.utilities.Completeness;
+import com.stormmq.java.parsing.utilities.Visibility;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+// Events are pushed in class file order: the type header, each field, each method (preceded by its code, if any), the type's attributes and annotations, then the end
+// Each field and method starts with visitFieldStart or visitMethodStart, then visitAttribute and visitAnnotation for its attributes, all before its information is built; the type's own attributes are likewise seen before visitTypeAttributes
+// Fields and methods are validated (eg for duplicates, other than at ValidationLevel.None) before they are visited, but a later event may still find the class file invalid
+public interface JavaClassFileVisitor<R>
+{
+	void visitTypeHeader(@NotNull final TypeKind typeKind, @NotNull final Visibility visibility, @NotNull final Completeness completeness, final boolean isSynthetic, final boolean hasLegacySuperFlagSetting, @NotNull final KnownReferenceTypeName thisClassTypeName, @Nullable final KnownReferenceTypeName superClassTypeName, @NotNull final Set<KnownReferenceTypeName> interfaces);
+
+	// Return false to skip the field's attributes unparsed; it is still checked for duplicates, but visitField is not called
+	boolean visitFieldStart(final char fieldAccessFlags, @NotNull final FieldUniqueness fieldUniqueness);
+
+	// Return false to skip the method's attributes unparsed; it is still checked for duplicates and for a Code attribute, but visitCode and visitMethod are not called
+	boolean visitMethodStart(final char methodAccessFlags, @NotNull final MethodUniqueness methodUniqueness);
+
+	// Not called for attributes nested in a Code attribute; return false to skip the attribute unparsed, as if by a ParseOption
+	boolean visitAttribute(@NotNull final AttributeLocation attributeLocation, @NotNull final String attributeName, final long attributeLength);
+
+	// Each entry of a RuntimeVisibleAnnotations or RuntimeInvisibleAnnotations attribute, before it is gathered into AnnotationValues
+	void visitAnnotation(@NotNull final AttributeLocation attributeLocation, final boolean isVisible, @NotNull final AnnotationValue annotationValue);
+
+	void visitField(@NotNull final FieldInformation fieldInformation);
+
+	void visitCode(@NotNull final MethodUniqueness methodUniqueness, @NotNull final Code code);
+
+	void visitMethod(@NotNull final MethodUniqueness methodUniqueness, @NotNull final MethodInformation methodInformation);
+
+	void visitTypeAttributes(final boolean isSyntheticAttribute, final boolean isDeprecated, @Nullable final Signature signature, @NotNull final UnknownAttributes unknownAttributes, @Nullable final String sourceFile, @Nullable final EnclosingMethod enclosingMethod, @Nullable final String sourceDebugExtension, @NotNull final BootstrapMethod[] bootstrapMethods);
+
+	void visitTypeAnnotations(@NotNull final AnnotationValues runtimeAnnotationValues, @NotNull final TypeAnnotation[] visibleTypeAnnotations, @NotNull final TypeAnnotation[] invisibleTypeAnnotations);
+
+	@NotNull
+	R visitEnd();
+}
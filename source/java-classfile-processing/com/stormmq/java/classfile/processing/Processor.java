@@ -22,33 +22,81 @@
 
 package com.stormmq.java.classfile.processing;
 
+import com.stormmq.java.classfile.domain.information.TypeHeader;
+import com.stormmq.java.classfile.parser.ValidationLevel;
+import com.stormmq.java.classfile.processing.caches.ContentHashParseCache;
+import com.stormmq.java.classfile.processing.caches.ParseCache;
 import com.stormmq.java.classfile.processing.fileParsers.FileParser;
 import com.stormmq.java.classfile.processing.fileParsers.JavaClassFileParser;
-import com.stormmq.java.classfile.processing.files.ParsableFile;
+import com.stormmq.java.classfile.processing.fileParsers.TypeHeaderFileParser;
+import com.stormmq.java.classfile.processing.files.InflatedEntryBufferPool;
 import com.stormmq.java.classfile.processing.multithreaded.*;
 import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
 import com.stormmq.java.classfile.processing.typeInformationUsers.*;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.concurrent.*;
 
+import static com.stormmq.java.classfile.domain.descriptors.FieldDescriptor.fieldDescriptorHitRate;
+import static com.stormmq.java.classfile.domain.descriptors.FieldDescriptor.numberOfFieldDescriptors;
+import static com.stormmq.java.classfile.domain.descriptors.MethodDescriptor.methodDescriptorHitRate;
+import static com.stormmq.java.classfile.domain.descriptors.MethodDescriptor.numberOfMethodDescriptors;
+import static com.stormmq.java.classfile.parser.ValidationLevel.Full;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.FieldSignatureParser.fieldSignatureHitRate;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.FieldSignatureParser.numberOfFieldSignatures;
+import static com.stormmq.java.classfile.processing.caches.ContentHashParseCache.DefaultMaximumParseCacheBytes;
+import static com.stormmq.java.classfile.processing.files.InflatedEntryBufferPool.DefaultMaximumPooledBytes;
+import static com.stormmq.java.classfile.processing.caches.UncachedParseCache.uncachedParseCache;
+import static com.stormmq.java.classfile.processing.multithreaded.ExecutionStrategy.processorSizedExecutionStrategy;
+import static com.stormmq.java.classfile.processing.snapshots.InputFingerprint.inputFingerprint;
+import static com.stormmq.java.classfile.processing.snapshots.RecordsSnapshot.readRecordsSnapshot;
+import static com.stormmq.java.classfile.processing.snapshots.RecordsSnapshot.writeRecordsSnapshot;
+import static java.lang.System.nanoTime;
+
 public final class Processor
 {
-	private static final int OptimumThreads = 16; // consider linking to CPU count and number of entries in sourcePaths
 	private static final int OptimumHashMapSizeWhenRecording = 75_000;
+	private static final double NanosecondsPerSecond = 1_000_000_000d;
+	private static final long NanosecondsPerMillisecond = 1_000_000L;
+	static final long DefaultMaximumInFlightBytesPerArchive = 64L * 1024L * 1024L;
+	static final long DefaultMaximumInFlightBytes = 256L * 1024L * 1024L;
 
 	private final boolean permitConstantsInInstanceFields;
+	@NotNull private final ValidationLevel validationLevel;
 	@NotNull private final ProcessLog processLog;
 	@NotNull private final UncaughtExceptionHandler uncaughtExceptionHandler;
+	@NotNull private final ExecutionStrategy executionStrategy;
+	private final long maximumInFlightBytesPerArchive;
+	private final long maximumInFlightBytes;
+	private final long maximumPooledBytes;
+	@Nullable private final Path parseCacheFolderPath;
+	private final long maximumParseCacheBytes;
 
+	// Use a ProcessorBuilder to choose the validation level, execution strategy, in-flight byte limits or a parse cache
 	public Processor(final boolean permitConstantsInInstanceFields, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
+	{
+		this(permitConstantsInInstanceFields, Full, processLog, uncaughtExceptionHandler, processorSizedExecutionStrategy(), DefaultMaximumInFlightBytesPerArchive, DefaultMaximumInFlightBytes, DefaultMaximumPooledBytes, null, DefaultMaximumParseCacheBytes);
+	}
+
+	Processor(final boolean permitConstantsInInstanceFields, @NotNull final ValidationLevel validationLevel, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler, @NotNull final ExecutionStrategy executionStrategy, final long maximumInFlightBytesPerArchive, final long maximumInFlightBytes, final long maximumPooledBytes, @Nullable final Path parseCacheFolderPath, final long maximumParseCacheBytes)
 	{
 		this.permitConstantsInInstanceFields = permitConstantsInInstanceFields;
+		this.validationLevel = validationLevel;
 		this.processLog = processLog;
 		this.uncaughtExceptionHandler = uncaughtExceptionHandler;
+		this.executionStrategy = executionStrategy;
+		this.maximumInFlightBytesPerArchive = maximumInFlightBytesPerArchive;
+		this.maximumInFlightBytes = maximumInFlightBytes;
+		this.maximumPooledBytes = maximumPooledBytes;
+		this.parseCacheFolderPath = parseCacheFolderPath;
+		this.maximumParseCacheBytes = maximumParseCacheBytes;
 	}
 
 	@NotNull
@@ -56,25 +104,93 @@ public final class Processor
 	{
 		final ConcurrentMap<KnownReferenceTypeName, TypeInformationTriplet> records = new ConcurrentHashMap<>(OptimumHashMapSizeWhenRecording);
 		final TypeInformationUser typeInformationUser = new RecordingTypeInformationUser(records, processLog);
-		final FileParser javaClassFileParser = new JavaClassFileParser(processLog, permitConstantsInInstanceFields, typeInformationUser);
-		final ConcurrentLinkedQueue<ParsableFile> parsableFileQueue = new ConcurrentLinkedQueue<>();
-		final Coordination coordination = new Coordination(OptimumThreads, parsableFileQueue, javaClassFileParser, processLog, uncaughtExceptionHandler);
-		final EnqueuePathsWalker enqueuePathsWalker = new EnqueuePathsWalker(coordination, new PathProcessor(parsableFileQueue));
+		final JavaClassFileParser javaClassFileParser = new JavaClassFileParser(processLog, permitConstantsInInstanceFields, validationLevel, typeInformationUser);
+		if (parseCacheFolderPath == null)
+		{
+			process(paths, javaClassFileParser, uncachedParseCache());
+		}
+		else
+		{
+			final ContentHashParseCache parseCache = new ContentHashParseCache(parseCacheFolderPath, maximumParseCacheBytes, permitConstantsInInstanceFields, validationLevel, processLog, javaClassFileParser);
+			process(paths, javaClassFileParser, parseCache);
+			processLog.genericSuccess("Parse cache hits: %1$s.  Misses: %2$s.", parseCache.hitCount(), parseCache.missCount());
+			parseCache.prune();
+		}
+
+		// The symbol tables are shared by the whole process, so these are cumulative across calls
+		processLog.genericSuccess("Descriptor lookup hit rates: method %1$.3f, field %2$.3f, field signature %3$.3f.  Interned: %4$s method descriptors, %5$s field descriptors, %6$s field signatures.", methodDescriptorHitRate(), fieldDescriptorHitRate(), fieldSignatureHitRate(), numberOfMethodDescriptors(), numberOfFieldDescriptors(), numberOfFieldSignatures());
+		return new ConcreteRecords(records);
+	}
 
+	// A snapshot written from other paths, or from these paths before any of their files changed (see InputFingerprint), is replaced by parsing paths again, as is one that is missing, corrupt or written by another version
+	@NotNull
+	public Records process(@NotNull final Iterable<Path> paths, @NotNull final Path snapshotFilePath)
+	{
+		final byte[] inputFingerprint;
+		try
+		{
+			inputFingerprint = inputFingerprint(paths);
+		}
+		catch (final IOException e)
+		{
+			processLog.snapshotNotReadWarning(snapshotFilePath, e);
+			return process(paths);
+		}
+
+		try
+		{
+			return readRecordsSnapshot(snapshotFilePath, inputFingerprint);
+		}
+		catch (final NoSuchFileException ignored)
+		{
+		}
+		catch (final IOException e)
+		{
+			processLog.snapshotNotReadWarning(snapshotFilePath, e);
+		}
+
+		// The fingerprint is taken before parsing, so a file changed while being parsed makes the snapshot stale rather than wrong
+		final Records records = process(paths);
+		try
+		{
+			writeRecordsSnapshot(records, inputFingerprint, snapshotFilePath);
+		}
+		catch (final IOException e)
+		{
+			processLog.snapshotNotWrittenWarning(snapshotFilePath, e);
+		}
+		return records;
+	}
+
+	// Much faster than process() for indexing a class path, as only access flags, this class, super class and interfaces are scanned
+	@NotNull
+	public Map<KnownReferenceTypeName, TypeHeader> scanHeaders(@NotNull final Iterable<Path> paths)
+	{
+		final ConcurrentMap<KnownReferenceTypeName, TypeHeader> records = new ConcurrentHashMap<>(OptimumHashMapSizeWhenRecording);
+		final TypeHeaderUser typeHeaderUser = new RecordingTypeHeaderUser(records, processLog);
+		process(paths, new TypeHeaderFileParser(processLog, typeHeaderUser), uncachedParseCache());
+		return records;
+	}
+
+	private void process(@NotNull final Iterable<Path> paths, @NotNull final FileParser fileParser, @NotNull final ParseCache parseCache)
+	{
+		final Scheduler scheduler = executionStrategy.newScheduler(fileParser, processLog, uncaughtExceptionHandler);
+		final EnqueuePathsWalker enqueuePathsWalker = new EnqueuePathsWalker(scheduler, new PathProcessor(scheduler, new InflatedEntryBufferPool(maximumInFlightBytesPerArchive, maximumInFlightBytes, maximumPooledBytes), parseCache));
+
+		final long started = nanoTime();
 		try
 		{
 			enqueuePathsWalker.parse(paths);
 		}
 		finally
 		{
+			final long elapsed = nanoTime() - started;
 			final int successCount = processLog.successCount();
 			final int failureCount = processLog.failureCount();
 			final int total = successCount + failureCount;
 
 			processLog.genericSuccess("Success: %1$s.  Failure: %2$s.  Total: %3$s.", successCount, failureCount, total);
+			processLog.genericSuccess("Scheduler %1$s processed %2$s files in %3$s ms (%4$.1f files per second).", scheduler, total, elapsed / NanosecondsPerMillisecond, total * NanosecondsPerSecond / Math.max(elapsed, 1L));
 		}
-
-		return new ConcreteRecords(records);
 	}
-
 }
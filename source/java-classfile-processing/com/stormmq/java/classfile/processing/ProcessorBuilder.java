@@ -0,0 +1,141 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing;
+
+import com.stormmq.java.classfile.parser.ValidationLevel;
+import com.stormmq.java.classfile.processing.multithreaded.ExecutionStrategy;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.nio.file.Path;
+
+import static com.stormmq.java.classfile.parser.ValidationLevel.Full;
+import static com.stormmq.java.classfile.processing.Processor.DefaultMaximumInFlightBytes;
+import static com.stormmq.java.classfile.processing.Processor.DefaultMaximumInFlightBytesPerArchive;
+import static com.stormmq.java.classfile.processing.caches.ContentHashParseCache.DefaultMaximumParseCacheBytes;
+import static com.stormmq.java.classfile.processing.files.InflatedEntryBufferPool.DefaultMaximumPooledBytes;
+import static com.stormmq.java.classfile.processing.multithreaded.ExecutionStrategy.processorSizedExecutionStrategy;
+import static com.stormmq.string.Formatting.format;
+
+// Defaults are those of Processor's public constructor
+public final class ProcessorBuilder
+{
+	@NotNull private final ProcessLog processLog;
+	@NotNull private final UncaughtExceptionHandler uncaughtExceptionHandler;
+	private boolean permitConstantsInInstanceFields;
+	@NotNull private ValidationLevel validationLevel;
+	@NotNull private ExecutionStrategy executionStrategy;
+	private long maximumInFlightBytesPerArchive;
+	private long maximumInFlightBytes;
+	private long maximumPooledBytes;
+	@Nullable private Path parseCacheFolderPath;
+	private long maximumParseCacheBytes;
+
+	public ProcessorBuilder(@NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
+	{
+		this.processLog = processLog;
+		this.uncaughtExceptionHandler = uncaughtExceptionHandler;
+		permitConstantsInInstanceFields = false;
+		validationLevel = Full;
+		executionStrategy = processorSizedExecutionStrategy();
+		maximumInFlightBytesPerArchive = DefaultMaximumInFlightBytesPerArchive;
+		maximumInFlightBytes = DefaultMaximumInFlightBytes;
+		maximumPooledBytes = DefaultMaximumPooledBytes;
+		parseCacheFolderPath = null;
+		maximumParseCacheBytes = DefaultMaximumParseCacheBytes;
+	}
+
+	@NotNull
+	public ProcessorBuilder permitConstantsInInstanceFields(final boolean permitConstantsInInstanceFields)
+	{
+		this.permitConstantsInInstanceFields = permitConstantsInInstanceFields;
+		return this;
+	}
+
+	// A validationLevel below Full is only for trusted class files, eg those just compiled by javac in our own build
+	@NotNull
+	public ProcessorBuilder validationLevel(@NotNull final ValidationLevel validationLevel)
+	{
+		this.validationLevel = validationLevel;
+		return this;
+	}
+
+	@NotNull
+	public ProcessorBuilder executionStrategy(@NotNull final ExecutionStrategy executionStrategy)
+	{
+		this.executionStrategy = executionStrategy;
+		return this;
+	}
+
+	// Bytes in flight are those of buffers holding files read ahead of parsing; buffers are kept for reuse once parsed, but only up to maximumPooledBytes, so at most maximumInFlightBytes plus maximumPooledBytes are held
+	@NotNull
+	public ProcessorBuilder maximumInFlightBytes(final long maximumInFlightBytesPerArchive, final long maximumInFlightBytes)
+	{
+		return maximumInFlightBytes(maximumInFlightBytesPerArchive, maximumInFlightBytes, maximumPooledBytes);
+	}
+
+	@NotNull
+	public ProcessorBuilder maximumInFlightBytes(final long maximumInFlightBytesPerArchive, final long maximumInFlightBytes, final long maximumPooledBytes)
+	{
+		if (maximumInFlightBytesPerArchive < 1L || maximumInFlightBytes < 1L)
+		{
+			throw new IllegalArgumentException(format("Maximum in-flight bytes per archive ('%1$s') and in total ('%2$s') must be positive", maximumInFlightBytesPerArchive, maximumInFlightBytes));
+		}
+		if (maximumPooledBytes < 0L)
+		{
+			throw new IllegalArgumentException(format("Maximum pooled bytes ('%1$s') can not be negative", maximumPooledBytes));
+		}
+		this.maximumInFlightBytesPerArchive = maximumInFlightBytesPerArchive;
+		this.maximumInFlightBytes = maximumInFlightBytes;
+		this.maximumPooledBytes = maximumPooledBytes;
+		return this;
+	}
+
+	// Archives whose contents have been parsed before, by any path, are read from snapshots in parseCacheFolderPath instead; it is created if needed
+	@NotNull
+	public ProcessorBuilder parseCacheFolderPath(@NotNull final Path parseCacheFolderPath)
+	{
+		return parseCacheFolderPath(parseCacheFolderPath, DefaultMaximumParseCacheBytes);
+	}
+
+	// After each run, the least recently used snapshots are deleted until parseCacheFolderPath holds no more than maximumParseCacheBytes
+	@NotNull
+	public ProcessorBuilder parseCacheFolderPath(@NotNull final Path parseCacheFolderPath, final long maximumParseCacheBytes)
+	{
+		if (maximumParseCacheBytes < 0L)
+		{
+			throw new IllegalArgumentException(format("Maximum parse cache bytes ('%1$s') can not be negative", maximumParseCacheBytes));
+		}
+		this.parseCacheFolderPath = parseCacheFolderPath;
+		this.maximumParseCacheBytes = maximumParseCacheBytes;
+		return this;
+	}
+
+	@NotNull
+	public Processor build()
+	{
+		return new Processor(permitConstantsInInstanceFields, validationLevel, processLog, uncaughtExceptionHandler, executionStrategy, maximumInFlightBytesPerArchive, maximumInFlightBytes, maximumPooledBytes, parseCacheFolderPath, maximumParseCacheBytes);
+	}
+}
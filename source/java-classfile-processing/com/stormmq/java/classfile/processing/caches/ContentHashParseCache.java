@@ -0,0 +1,421 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.caches;
+
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.parser.ValidationLevel;
+import com.stormmq.java.classfile.processing.fileParsers.CachedTypeInformationUser;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.ParserVersion;
+import static com.stormmq.java.classfile.parser.ValidationLevel.Full;
+import static com.stormmq.java.classfile.processing.processLogs.ProcessLog.zipPathDetails;
+import static com.stormmq.java.classfile.processing.snapshots.RecordsSnapshot.readTypeInformationTriplets;
+import static com.stormmq.java.classfile.processing.snapshots.RecordsSnapshot.writeTypeInformationTriplets;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.*;
+import static java.nio.file.Paths.get;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Comparator.comparingLong;
+
+// Archives are looked up by the SHA-256 of their contents, so one that is moved, copied or touched is still a hit, and one that is changed in place is a miss
+// An archive's hash is remembered in an index entry keyed by its absolute path, and is reused without reading the archive while its size and last modified time are unchanged (as make does)
+// Loose class files are not cached; hashing one costs about as much as parsing it
+public final class ContentHashParseCache implements ParseCache
+{
+	public static final long DefaultMaximumParseCacheBytes = 1024L * 1024L * 1024L;
+
+	@NonNls @NotNull private static final String HashAlgorithm = "SHA-256";
+	@NonNls @NotNull private static final String SnapshotFileExtension = ".snapshot";
+	@NonNls @NotNull private static final String IndexEntryFileExtension = ".index";
+	@NonNls @NotNull private static final String TemporaryFileExtension = ".tmp";
+	@NotNull private static final char[] HexadecimalDigits = "0123456789abcdef".toCharArray();
+	private static final int HashBufferSize = 65_536;
+	@NotNull private static final Path UnknownRelativeRootFolderPath = get("");
+
+	@NotNull private final Path cacheFolderPath;
+	private final long maximumCacheBytes;
+	@NotNull private final String snapshotFileNameSuffix;
+	@NotNull private final ProcessLog processLog;
+	@NotNull private final CachedTypeInformationUser cachedTypeInformationUser;
+	@NotNull private final AtomicInteger hitCount;
+	@NotNull private final AtomicInteger missCount;
+
+	public ContentHashParseCache(@NotNull final Path cacheFolderPath, final long maximumCacheBytes, final boolean permitConstantsInInstanceFields, @NotNull final ValidationLevel validationLevel, @NotNull final ProcessLog processLog, @NotNull final CachedTypeInformationUser cachedTypeInformationUser)
+	{
+		this.cacheFolderPath = cacheFolderPath;
+		this.maximumCacheBytes = maximumCacheBytes;
+		snapshotFileNameSuffix = '-' + Integer.toString(ParserVersion) + (permitConstantsInInstanceFields ? "-lax" : "-strict") + (validationLevel == Full ? "" : '-' + validationLevel.name()) + SnapshotFileExtension;
+		this.processLog = processLog;
+		this.cachedTypeInformationUser = cachedTypeInformationUser;
+		hitCount = new AtomicInteger(0);
+		missCount = new AtomicInteger(0);
+	}
+
+	@NotNull
+	@Override
+	public ParseRecording parseRecording(@NotNull final Path archiveFilePath) throws IOException
+	{
+		final Path snapshotFilePath = cacheFolderPath.resolve(indexedContentHash(archiveFilePath) + snapshotFileNameSuffix);
+		try
+		{
+			final List<TypeInformationTriplet> cached = readTypeInformationTriplets(snapshotFilePath);
+			hitCount.getAndIncrement();
+			touch(snapshotFilePath);
+			return new CachedParseRecording(cached);
+		}
+		catch (final NoSuchFileException ignored)
+		{
+		}
+		catch (final IOException e)
+		{
+			processLog.snapshotNotReadWarning(snapshotFilePath, e);
+		}
+		missCount.getAndIncrement();
+		return new WritingParseRecording(snapshotFilePath);
+	}
+
+	@Override
+	public int hitCount()
+	{
+		return hitCount.get();
+	}
+
+	@Override
+	public int missCount()
+	{
+		return missCount.get();
+	}
+
+	// Deletes the least recently used snapshots and index entries until the cache is no larger than its maximum; a hit marks its files as used, so this keeps what recent runs needed
+	public void prune()
+	{
+		final List<CacheFile> cacheFiles = new ArrayList<>(1024);
+		long cacheBytes = 0L;
+		try (final DirectoryStream<Path> directoryStream = newDirectoryStream(cacheFolderPath))
+		{
+			for (final Path filePath : directoryStream)
+			{
+				final BasicFileAttributes attributes = readAttributes(filePath, BasicFileAttributes.class);
+				if (attributes.isRegularFile())
+				{
+					cacheFiles.add(new CacheFile(filePath, attributes));
+					cacheBytes += attributes.size();
+				}
+			}
+		}
+		catch (final NoSuchFileException ignored)
+		{
+			return;
+		}
+		catch (final IOException e)
+		{
+			processLog.snapshotNotWrittenWarning(cacheFolderPath, e);
+			return;
+		}
+
+		cacheFiles.sort(comparingLong(cacheFile -> cacheFile.lastModifiedTime));
+		for (final CacheFile cacheFile : cacheFiles)
+		{
+			if (cacheBytes <= maximumCacheBytes)
+			{
+				return;
+			}
+			try
+			{
+				deleteIfExists(cacheFile.filePath);
+				cacheBytes -= cacheFile.size;
+			}
+			catch (final IOException e)
+			{
+				processLog.snapshotNotWrittenWarning(cacheFile.filePath, e);
+			}
+		}
+	}
+
+	@NotNull
+	private String indexedContentHash(@NotNull final Path archiveFilePath) throws IOException
+	{
+		final BasicFileAttributes attributes = readAttributes(archiveFilePath, BasicFileAttributes.class);
+		final long size = attributes.size();
+		final long lastModifiedTime = attributes.lastModifiedTime().toMillis();
+
+		final Path indexEntryFilePath = cacheFolderPath.resolve(hexadecimal(messageDigest().digest(archiveFilePath.toAbsolutePath().toString().getBytes(UTF_8))) + IndexEntryFileExtension);
+		@Nullable final String indexed = readIndexEntry(indexEntryFilePath, size, lastModifiedTime);
+		if (indexed != null)
+		{
+			touch(indexEntryFilePath);
+			return indexed;
+		}
+
+		// Should the archive change while it is hashed, its new last modified time will not match the one indexed, so it is hashed again next time
+		final String contentHash = hexadecimal(contentHash(archiveFilePath));
+		writeIndexEntry(indexEntryFilePath, size, lastModifiedTime, contentHash);
+		return contentHash;
+	}
+
+	// Null if there is no entry, or it is for an archive since changed, or it is unreadable; the archive is then hashed again
+	@Nullable
+	private static String readIndexEntry(@NotNull final Path indexEntryFilePath, final long size, final long lastModifiedTime)
+	{
+		try (final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(newInputStream(indexEntryFilePath))))
+		{
+			if (dataInputStream.readLong() != size || dataInputStream.readLong() != lastModifiedTime)
+			{
+				return null;
+			}
+			return dataInputStream.readUTF();
+		}
+		catch (final IOException ignored)
+		{
+			return null;
+		}
+	}
+
+	// Written aside then moved, so a concurrent or later reader never sees a partial entry
+	private void writeIndexEntry(@NotNull final Path indexEntryFilePath, final long size, final long lastModifiedTime, @NotNull final String contentHash)
+	{
+		try
+		{
+			createDirectories(cacheFolderPath);
+			final Path temporaryFilePath = createTempFile(cacheFolderPath, indexEntryFilePath.getFileName().toString(), TemporaryFileExtension);
+			try
+			{
+				try (final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(newOutputStream(temporaryFilePath))))
+				{
+					dataOutputStream.writeLong(size);
+					dataOutputStream.writeLong(lastModifiedTime);
+					dataOutputStream.writeUTF(contentHash);
+				}
+				move(temporaryFilePath, indexEntryFilePath, ATOMIC_MOVE, REPLACE_EXISTING);
+			}
+			finally
+			{
+				deleteIfExists(temporaryFilePath);
+			}
+		}
+		catch (final IOException e)
+		{
+			processLog.snapshotNotWrittenWarning(indexEntryFilePath, e);
+		}
+	}
+
+	// Marks a file as recently used, so prune() keeps it
+	private void touch(@NotNull final Path filePath)
+	{
+		try
+		{
+			setLastModifiedTime(filePath, FileTime.fromMillis(currentTimeMillis()));
+		}
+		catch (final IOException e)
+		{
+			processLog.snapshotNotWrittenWarning(filePath, e);
+		}
+	}
+
+	@NotNull
+	private static MessageDigest messageDigest()
+	{
+		try
+		{
+			return MessageDigest.getInstance(HashAlgorithm);
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			// Every Java platform must support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@NotNull
+	private static byte[] contentHash(@NotNull final Path archiveFilePath) throws IOException
+	{
+		final MessageDigest messageDigest = messageDigest();
+
+		final ByteBuffer buffer = allocateDirect(HashBufferSize);
+		try (final FileChannel fileChannel = FileChannel.open(archiveFilePath, READ))
+		{
+			while (fileChannel.read(buffer) != -1)
+			{
+				buffer.flip();
+				messageDigest.update(buffer);
+				buffer.clear();
+			}
+		}
+		return messageDigest.digest();
+	}
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	@NotNull
+	private static String hexadecimal(@NotNull final byte[] bytes)
+	{
+		final char[] characters = new char[bytes.length * 2];
+		for (int index = 0; index < bytes.length; index++)
+		{
+			final int value = bytes[index] & 0xFF;
+			characters[index * 2] = HexadecimalDigits[value >>> 4];
+			characters[index * 2 + 1] = HexadecimalDigits[value & 0x0F];
+		}
+		return new String(characters);
+	}
+
+	private static final class CacheFile
+	{
+		@NotNull private final Path filePath;
+		private final long size;
+		private final long lastModifiedTime;
+
+		private CacheFile(@NotNull final Path filePath, @NotNull final BasicFileAttributes attributes)
+		{
+			this.filePath = filePath;
+			size = attributes.size();
+			lastModifiedTime = attributes.lastModifiedTime().toMillis();
+		}
+	}
+
+	private final class CachedParseRecording implements ParseRecording
+	{
+		@NotNull private final List<TypeInformationTriplet> cached;
+
+		private CachedParseRecording(@NotNull final List<TypeInformationTriplet> cached)
+		{
+			this.cached = cached;
+		}
+
+		@Override
+		public boolean replayed(@NotNull final Path archiveFilePath, @NotNull final Path relativeRootPath)
+		{
+			final String archiveFilePathString = archiveFilePath.toString();
+			for (final TypeInformationTriplet typeInformationTriplet : cached)
+			{
+				cachedTypeInformationUser.useCached(zipPathDetails(archiveFilePathString, typeInformationTriplet.relativeFilePath), typeInformationTriplet, relativeRootPath);
+			}
+			return true;
+		}
+
+		@Override
+		public void started()
+		{
+		}
+
+		@Override
+		public void parsed(@NotNull final String relativeFilePath, @NotNull final ConcreteTypeInformation typeInformation)
+		{
+		}
+
+		@Override
+		public void incomplete()
+		{
+		}
+
+		@Override
+		public void finished()
+		{
+		}
+	}
+
+	// Entries of an archive are parsed concurrently, so the last to finish writes the snapshot
+	private final class WritingParseRecording implements ParseRecording
+	{
+		@NotNull private final Path snapshotFilePath;
+		@NotNull private final Collection<TypeInformationTriplet> parsed;
+		@NotNull private final AtomicInteger outstanding;
+		private volatile boolean incomplete;
+
+		private WritingParseRecording(@NotNull final Path snapshotFilePath)
+		{
+			this.snapshotFilePath = snapshotFilePath;
+			parsed = new ConcurrentLinkedQueue<>();
+			outstanding = new AtomicInteger(1);
+			incomplete = false;
+		}
+
+		@Override
+		public boolean replayed(@NotNull final Path archiveFilePath, @NotNull final Path relativeRootPath)
+		{
+			return false;
+		}
+
+		@Override
+		public void started()
+		{
+			outstanding.getAndIncrement();
+		}
+
+		// The relative root folder is that of whichever path the archive is found at when replayed
+		@Override
+		public void parsed(@NotNull final String relativeFilePath, @NotNull final ConcreteTypeInformation typeInformation)
+		{
+			parsed.add(new TypeInformationTriplet(typeInformation, relativeFilePath, UnknownRelativeRootFolderPath));
+		}
+
+		@Override
+		public void incomplete()
+		{
+			incomplete = true;
+		}
+
+		@Override
+		public void finished()
+		{
+			if (outstanding.decrementAndGet() != 0 || incomplete)
+			{
+				return;
+			}
+
+			try
+			{
+				createDirectories(cacheFolderPath);
+				writeTypeInformationTriplets(parsed, snapshotFilePath);
+			}
+			catch (final IOException e)
+			{
+				processLog.snapshotNotWrittenWarning(snapshotFilePath, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,94 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.caches;
+
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+public final class UncachedParseCache implements ParseCache, ParseRecording
+{
+	@NotNull private static final UncachedParseCache UncachedParseCacheInstance = new UncachedParseCache();
+
+	@NotNull
+	public static ParseCache uncachedParseCache()
+	{
+		return UncachedParseCacheInstance;
+	}
+
+	@NotNull
+	public static ParseRecording uncachedParseRecording()
+	{
+		return UncachedParseCacheInstance;
+	}
+
+	private UncachedParseCache()
+	{
+	}
+
+	@NotNull
+	@Override
+	public ParseRecording parseRecording(@NotNull final Path archiveFilePath)
+	{
+		return this;
+	}
+
+	@Override
+	public int hitCount()
+	{
+		return 0;
+	}
+
+	@Override
+	public int missCount()
+	{
+		return 0;
+	}
+
+	@Override
+	public boolean replayed(@NotNull final Path archiveFilePath, @NotNull final Path relativeRootPath)
+	{
+		return false;
+	}
+
+	@Override
+	public void started()
+	{
+	}
+
+	@Override
+	public void parsed(@NotNull final String relativeFilePath, @NotNull final ConcreteTypeInformation typeInformation)
+	{
+	}
+
+	@Override
+	public void incomplete()
+	{
+	}
+
+	@Override
+	public void finished()
+	{
+	}
+}
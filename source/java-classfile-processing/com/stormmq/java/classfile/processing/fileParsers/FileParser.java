@@ -22,16 +22,46 @@
 
 package com.stormmq.java.classfile.processing.fileParsers;
 
+import com.stormmq.java.classfile.processing.caches.ParseRecording;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import static com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader.mapReadOnlyOrReadAllBytes;
+
 public interface FileParser
 {
+	// Returns null, having logged why, if the file could not be read
+	@Nullable
+	static ByteBuffer readJavaClassFile(@NotNull final Path javaClassFilePath, @NotNull final ProcessLog processLog)
+	{
+		try
+		{
+			return mapReadOnlyOrReadAllBytes(javaClassFilePath);
+		}
+		catch (final IOException e)
+		{
+			processLog.failure(javaClassFilePath, e);
+			return null;
+		}
+		catch (@SuppressWarnings("ErrorNotRethrown") final OutOfMemoryError ignored)
+		{
+			processLog.failureJavaClassFileIsTooLarge(javaClassFilePath.toString());
+			return null;
+		}
+	}
+
 	void parseFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath);
 
-	@SuppressWarnings("MethodCanBeVariableArityMethod")
-	void parseFile(@NotNull final ZipFile zipFile, @NotNull final ZipEntry zipEntry, @NotNull final Path relativeRootPath, @NotNull final byte[] fileData);
+	// If fileDataIsReused, fileData is reused once this returns, so nothing parsed may retain it
+	void parseFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath, @NotNull final ByteBuffer fileData, final boolean fileDataIsReused);
+
+	// fileData is reused once this returns, so nothing parsed may retain it; what is parsed, or that it failed, is recorded in parseRecording
+	void parseFile(@NotNull final ZipFile zipFile, @NotNull final ZipEntry zipEntry, @NotNull final Path relativeRootPath, @NotNull final ByteBuffer fileData, @NotNull final ParseRecording parseRecording);
 }
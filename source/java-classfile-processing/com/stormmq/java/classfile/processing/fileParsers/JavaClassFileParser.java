@@ -23,82 +23,94 @@
 package com.stormmq.java.classfile.processing.fileParsers;
 
 import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
-import com.stormmq.byteReaders.ByteArrayByteReader;
+import com.stormmq.java.classfile.parser.ParserConfiguration;
+import com.stormmq.java.classfile.parser.ParserConfigurationBuilder;
+import com.stormmq.java.classfile.parser.ValidationLevel;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.*;
+import com.stormmq.java.classfile.processing.caches.ParseRecording;
 import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
 import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationUser;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import static com.stormmq.java.classfile.parser.JavaClassFileParser.parseJavaClassFile;
+import static com.stormmq.java.classfile.parser.ValidationLevel.Full;
+import static com.stormmq.java.classfile.processing.fileParsers.FileParser.readJavaClassFile;
+import static com.stormmq.java.classfile.processing.caches.UncachedParseCache.uncachedParseRecording;
 import static com.stormmq.java.classfile.processing.processLogs.ProcessLog.zipPathDetails;
-import static java.nio.file.Files.readAllBytes;
 
-public final class JavaClassFileParser implements FileParser
+public final class JavaClassFileParser implements FileParser, CachedTypeInformationUser
 {
 	@NotNull private final ProcessLog processLog;
-	private final boolean permitConstantsInInstanceFields;
+	@NotNull private final ParserConfiguration parserConfiguration;
 	@NotNull private final TypeInformationUser typeInformationUser;
 
 	public JavaClassFileParser(@NotNull final ProcessLog processLog, final boolean permitConstantsInInstanceFields, @NotNull final TypeInformationUser typeInformationUser)
+	{
+		this(processLog, permitConstantsInInstanceFields, Full, typeInformationUser);
+	}
+
+	public JavaClassFileParser(@NotNull final ProcessLog processLog, final boolean permitConstantsInInstanceFields, @NotNull final ValidationLevel validationLevel, @NotNull final TypeInformationUser typeInformationUser)
 	{
 		this.processLog = processLog;
-		this.permitConstantsInInstanceFields = permitConstantsInInstanceFields;
+		parserConfiguration = new ParserConfigurationBuilder().permitConstantsInInstanceFields(permitConstantsInInstanceFields).validationLevel(validationLevel).build();
 		this.typeInformationUser = typeInformationUser;
 	}
 
 	@Override
 	public void parseFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath)
 	{
-		final byte[] fileData;
-		try
-		{
-			fileData = readAllBytes(javaClassFilePath);
-		}
-		catch (final IOException e)
-		{
-			processLog.failure(javaClassFilePath, e);
-			return;
-		}
-		catch (@SuppressWarnings("ErrorNotRethrown") final OutOfMemoryError ignored)
+		@Nullable final ByteBuffer fileData = readJavaClassFile(javaClassFilePath, processLog);
+		if (fileData != null)
 		{
-			processLog.failureJavaClassFileIsTooLarge(javaClassFilePath.toString());
-			return;
+			parseFile(javaClassFilePath, relativeRootFolderPath, relativeJavaClassFilePath, fileData, false);
 		}
+	}
 
-		useFileData(javaClassFilePath.toString(), relativeJavaClassFilePath.toString(), relativeRootFolderPath, fileData);
+	@Override
+	public void parseFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath, @NotNull final ByteBuffer fileData, final boolean fileDataIsReused)
+	{
+		useFileData(javaClassFilePath.toString(), relativeJavaClassFilePath.toString(), relativeRootFolderPath, fileData, fileDataIsReused, uncachedParseRecording());
 	}
 
 	@Override
-	public void parseFile(@NotNull final ZipFile zipFile, @NotNull final ZipEntry zipEntry, @NotNull final Path relativeRootPath, @NotNull final byte[] fileData)
+	public void parseFile(@NotNull final ZipFile zipFile, @NotNull final ZipEntry zipEntry, @NotNull final Path relativeRootPath, @NotNull final ByteBuffer fileData, @NotNull final ParseRecording parseRecording)
 	{
-		useFileData(zipPathDetails(zipFile, zipEntry), zipEntry.getName(), relativeRootPath, fileData);
+		useFileData(zipPathDetails(zipFile, zipEntry), zipEntry.getName(), relativeRootPath, fileData, true, parseRecording);
 	}
 
-	private void useFileData(@NotNull final String javaClassFilePath, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final byte[] fileData)
+	@Override
+	public void useCached(@NotNull final String javaClassFilePath, @NotNull final TypeInformationTriplet cached, @NotNull final Path relativeRootPath)
+	{
+		typeInformationUser.use(cached.typeInformation, cached.relativeFilePath, relativeRootPath);
+		processLog.success(javaClassFilePath);
+	}
+
+	private void useFileData(@NotNull final String javaClassFilePath, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final ByteBuffer fileData, final boolean fileDataIsReused, @NotNull final ParseRecording parseRecording)
 	{
 		final ConcreteTypeInformation typeInformation;
-		try(final ByteArrayByteReader byteReader = new ByteArrayByteReader(fileData))
+		try
 		{
-			try
-			{
-				typeInformation = parseJavaClassFile(byteReader, permitConstantsInInstanceFields);
-			}
-			catch (final NotAJavaClassFileException ignored)
-			{
-				return;
-			}
-			catch (final InvalidJavaClassFileException e)
-			{
-				processLog.failure(javaClassFilePath, e);
-				return;
-			}
+			typeInformation = parseJavaClassFile(fileData, fileDataIsReused, parserConfiguration);
+		}
+		catch (final NotAJavaClassFileException ignored)
+		{
+			return;
+		}
+		catch (final InvalidJavaClassFileException e)
+		{
+			parseRecording.incomplete();
+			processLog.failure(javaClassFilePath, e);
+			return;
 		}
 
+		parseRecording.parsed(relativeFilePath, typeInformation);
 		typeInformationUser.use(typeInformation, relativeFilePath, relativeRootFolderPath);
 		processLog.success(javaClassFilePath);
 	}
@@ -0,0 +1,97 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.fileParsers;
+
+import com.stormmq.java.classfile.domain.information.TypeHeader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.*;
+import com.stormmq.java.classfile.processing.caches.ParseRecording;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import com.stormmq.java.classfile.processing.typeInformationUsers.TypeHeaderUser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static com.stormmq.java.classfile.parser.JavaClassFileHeaderScanner.scanJavaClassFileHeader;
+import static com.stormmq.java.classfile.processing.fileParsers.FileParser.readJavaClassFile;
+import static com.stormmq.java.classfile.processing.processLogs.ProcessLog.zipPathDetails;
+
+public final class TypeHeaderFileParser implements FileParser
+{
+	@NotNull private final ProcessLog processLog;
+	@NotNull private final TypeHeaderUser typeHeaderUser;
+
+	public TypeHeaderFileParser(@NotNull final ProcessLog processLog, @NotNull final TypeHeaderUser typeHeaderUser)
+	{
+		this.processLog = processLog;
+		this.typeHeaderUser = typeHeaderUser;
+	}
+
+	@Override
+	public void parseFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath)
+	{
+		@Nullable final ByteBuffer fileData = readJavaClassFile(javaClassFilePath, processLog);
+		if (fileData != null)
+		{
+			parseFile(javaClassFilePath, relativeRootFolderPath, relativeJavaClassFilePath, fileData, false);
+		}
+	}
+
+	@Override
+	public void parseFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath, @NotNull final ByteBuffer fileData, final boolean fileDataIsReused)
+	{
+		useFileData(javaClassFilePath.toString(), relativeJavaClassFilePath.toString(), relativeRootFolderPath, fileData);
+	}
+
+	// Headers are not type information, so nothing is recorded that a ParseCache could replay
+	@Override
+	public void parseFile(@NotNull final ZipFile zipFile, @NotNull final ZipEntry zipEntry, @NotNull final Path relativeRootPath, @NotNull final ByteBuffer fileData, @NotNull final ParseRecording parseRecording)
+	{
+		parseRecording.incomplete();
+		useFileData(zipPathDetails(zipFile, zipEntry), zipEntry.getName(), relativeRootPath, fileData);
+	}
+
+	private void useFileData(@NotNull final String javaClassFilePath, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final ByteBuffer fileData)
+	{
+		final TypeHeader typeHeader;
+		try
+		{
+			typeHeader = scanJavaClassFileHeader(fileData);
+		}
+		catch (final NotAJavaClassFileException ignored)
+		{
+			return;
+		}
+		catch (final InvalidJavaClassFileException e)
+		{
+			processLog.failure(javaClassFilePath, e);
+			return;
+		}
+
+		typeHeaderUser.use(typeHeader, relativeFilePath, relativeRootFolderPath);
+		processLog.success(javaClassFilePath);
+	}
+}
@@ -0,0 +1,144 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.processing.files;
+
+import com.stormmq.java.classfile.processing.fileParsers.FileParser;
+import com.stormmq.java.classfile.processing.multithreaded.Scheduler;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader.*;
+import static com.stormmq.java.classfile.processing.files.InflatedEntryBufferPool.bufferLength;
+import static java.lang.Thread.currentThread;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.READ;
+
+public final class ClassFileParsableFile implements ParsableFile
+{
+	@NotNull private final Path javaClassFilePath;
+	@NotNull private final Path relativeRootFolderPath;
+	@NotNull private final Path relativeJavaClassFilePath;
+	@NotNull private final Scheduler scheduler;
+	@NotNull private final InflatedEntryBufferPool inflatedEntryBufferPool;
+	@NotNull private final InFlightBytesLimit looseClassFilesInFlightBytesLimit;
+
+	public ClassFileParsableFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath, @NotNull final Scheduler scheduler, @NotNull final InflatedEntryBufferPool inflatedEntryBufferPool, @NotNull final InFlightBytesLimit looseClassFilesInFlightBytesLimit)
+	{
+		this.javaClassFilePath = javaClassFilePath;
+		this.relativeRootFolderPath = relativeRootFolderPath;
+		this.relativeJavaClassFilePath = relativeJavaClassFilePath;
+		this.scheduler = scheduler;
+		this.inflatedEntryBufferPool = inflatedEntryBufferPool;
+		this.looseClassFilesInFlightBytesLimit = looseClassFilesInFlightBytesLimit;
+	}
+
+	// Most class files are too small to be worth mapping, so they are read into a pooled buffer which is reused once parsed; reading waits for in-flight bytes, so input and output cannot run ahead of parsing onto the heap
+	@Override
+	public void process(@NotNull final FileParser fileParser, @NotNull final ProcessLog processLog)
+	{
+		try (final FileChannel fileChannel = FileChannel.open(javaClassFilePath, READ))
+		{
+			final int size = sizeOf(javaClassFilePath, fileChannel);
+			if (size < MinimumSizeToMap)
+			{
+				readIntoPooledBuffer(fileChannel, size);
+			}
+			else
+			{
+				schedule(mapReadOnlyOrReadAllBytes(javaClassFilePath, fileChannel, size));
+			}
+		}
+		catch (final IOException e)
+		{
+			processLog.failure(javaClassFilePath, e);
+		}
+		catch (@SuppressWarnings("ErrorNotRethrown") final OutOfMemoryError ignored)
+		{
+			processLog.failureJavaClassFileIsTooLarge(javaClassFilePath.toString());
+		}
+	}
+
+	// If the parse can not be scheduled, eg because the scheduler has shut down, the buffer and its in-flight bytes are released and the file is logged as a failure
+	private void readIntoPooledBuffer(@NotNull final FileChannel fileChannel, final int size) throws IOException
+	{
+		try
+		{
+			inflatedEntryBufferPool.acquireInFlightBytes(looseClassFilesInFlightBytesLimit, bufferLength(size));
+		}
+		catch (final InterruptedException ignored)
+		{
+			currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted before the file could be read");
+		}
+
+		final byte[] buffer = inflatedEntryBufferPool.acquireBuffer(size);
+		final ByteBuffer fileData;
+		try
+		{
+			fileData = readAllBytes(javaClassFilePath, fileChannel, wrap(buffer, 0, size));
+		}
+		catch (final IOException e)
+		{
+			release(buffer);
+			throw e;
+		}
+
+		try
+		{
+			scheduler.schedule((fileParser1, parseFailureLog1) ->
+			{
+				try
+				{
+					fileParser1.parseFile(javaClassFilePath, relativeRootFolderPath, relativeJavaClassFilePath, fileData, true);
+				}
+				finally
+				{
+					release(buffer);
+				}
+			});
+		}
+		catch (final RuntimeException e)
+		{
+			release(buffer);
+			throw new IOException("Could not be scheduled to be parsed", e);
+		}
+	}
+
+	private void release(@NotNull final byte[] buffer)
+	{
+		inflatedEntryBufferPool.releaseBuffer(buffer);
+		inflatedEntryBufferPool.releaseInFlightBytes(looseClassFilesInFlightBytesLimit, buffer.length);
+	}
+
+	private void schedule(@NotNull final ByteBuffer fileData)
+	{
+		scheduler.schedule((fileParser1, parseFailureLog1) -> fileParser1.parseFile(javaClassFilePath, relativeRootFolderPath, relativeJavaClassFilePath, fileData, false));
+	}
+}
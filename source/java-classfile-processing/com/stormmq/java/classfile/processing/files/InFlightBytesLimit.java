@@ -0,0 +1,97 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.processing.files;
+
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+
+import static java.util.concurrent.ForkJoinPool.managedBlock;
+
+// A single acquisition larger than the maximum is permitted when nothing else is in flight, otherwise it could never proceed
+public final class InFlightBytesLimit
+{
+	private final long maximumInFlightBytes;
+	private long inFlightBytes;
+
+	public InFlightBytesLimit(final long maximumInFlightBytes)
+	{
+		if (maximumInFlightBytes < 1L)
+		{
+			throw new IllegalArgumentException("maximumInFlightBytes must be positive");
+		}
+		this.maximumInFlightBytes = maximumInFlightBytes;
+		inFlightBytes = 0L;
+	}
+
+	public void acquire(final long bytes) throws InterruptedException
+	{
+		// Blocking this way lets a fork-join pool compensate with another worker, so the parsers that will release bytes still run
+		managedBlock(new ManagedBlocker()
+		{
+			@Override
+			public boolean block() throws InterruptedException
+			{
+				synchronized (InFlightBytesLimit.this)
+				{
+					while (!tryAcquire(bytes))
+					{
+						InFlightBytesLimit.this.wait();
+					}
+				}
+				return true;
+			}
+
+			@Override
+			public boolean isReleasable()
+			{
+				return tryAcquire(bytes);
+			}
+		});
+	}
+
+	public long maximumInFlightBytes()
+	{
+		return maximumInFlightBytes;
+	}
+
+	public synchronized long inFlightBytes()
+	{
+		return inFlightBytes;
+	}
+
+	public synchronized void release(final long bytes)
+	{
+		inFlightBytes -= bytes;
+		notifyAll();
+	}
+
+	private synchronized boolean tryAcquire(final long bytes)
+	{
+		if (inFlightBytes == 0L || inFlightBytes + bytes <= maximumInFlightBytes)
+		{
+			inFlightBytes += bytes;
+			return true;
+		}
+		return false;
+	}
+}
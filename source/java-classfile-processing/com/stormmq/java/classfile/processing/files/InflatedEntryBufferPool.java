@@ -0,0 +1,149 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.processing.files;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+
+// In-flight bytes are charged for the length of the buffer used, which is rounded up to a power of two, so the bytes in flight never exceed their ceilings; idle buffers, of at most maximumPooledBytes, are kept on top of that
+public final class InflatedEntryBufferPool
+{
+	public static final long DefaultMaximumPooledBytes = 32L * 1024L * 1024L;
+
+	private static final int SmallestSizeClassShift = 10;
+	private static final int LargestSizeClassShift = 20;
+	private static final int LargestPooledLength = 1 << LargestSizeClassShift;
+
+	private final long maximumInFlightBytesPerArchive;
+	@NotNull private final InFlightBytesLimit totalInFlightBytesLimit;
+	@NotNull private final List<ConcurrentLinkedQueue<byte[]>> pooledBuffersBySizeClass;
+	@NotNull private final AtomicLong pooledBytes;
+	private final long maximumPooledBytes;
+
+	public InflatedEntryBufferPool(final long maximumInFlightBytesPerArchive, final long maximumInFlightBytes)
+	{
+		this(maximumInFlightBytesPerArchive, maximumInFlightBytes, DefaultMaximumPooledBytes);
+	}
+
+	public InflatedEntryBufferPool(final long maximumInFlightBytesPerArchive, final long maximumInFlightBytes, final long maximumPooledBytes)
+	{
+		this.maximumInFlightBytesPerArchive = maximumInFlightBytesPerArchive;
+		totalInFlightBytesLimit = new InFlightBytesLimit(maximumInFlightBytes);
+
+		final int numberOfSizeClasses = LargestSizeClassShift - SmallestSizeClassShift + 1;
+		pooledBuffersBySizeClass = new ArrayList<>(numberOfSizeClasses);
+		for (int index = 0; index < numberOfSizeClasses; index++)
+		{
+			pooledBuffersBySizeClass.add(new ConcurrentLinkedQueue<>());
+		}
+		pooledBytes = new AtomicLong(0L);
+		this.maximumPooledBytes = maximumPooledBytes;
+	}
+
+	@NotNull
+	public InFlightBytesLimit newArchiveInFlightBytesLimit()
+	{
+		return new InFlightBytesLimit(maximumInFlightBytesPerArchive);
+	}
+
+	public void acquireInFlightBytes(@NotNull final InFlightBytesLimit archiveInFlightBytesLimit, final int length) throws InterruptedException
+	{
+		archiveInFlightBytesLimit.acquire(length);
+		try
+		{
+			totalInFlightBytesLimit.acquire(length);
+		}
+		catch (final InterruptedException e)
+		{
+			archiveInFlightBytesLimit.release(length);
+			throw e;
+		}
+	}
+
+	public void releaseInFlightBytes(@NotNull final InFlightBytesLimit archiveInFlightBytesLimit, final int length)
+	{
+		totalInFlightBytesLimit.release(length);
+		archiveInFlightBytesLimit.release(length);
+	}
+
+	// The length of the buffer acquireBuffer(length) returns, and so the in-flight bytes to acquire for it
+	public static int bufferLength(final int length)
+	{
+		if (length > LargestPooledLength)
+		{
+			return length;
+		}
+		return 1 << (sizeClass(length) + SmallestSizeClassShift);
+	}
+
+	@NotNull
+	public byte[] acquireBuffer(final int length)
+	{
+		if (length > LargestPooledLength)
+		{
+			return new byte[length];
+		}
+
+		final int sizeClass = sizeClass(length);
+		@Nullable final byte[] pooled = pooledBuffersBySizeClass.get(sizeClass).poll();
+		if (pooled == null)
+		{
+			return new byte[bufferLength(length)];
+		}
+		pooledBytes.addAndGet(-pooled.length);
+		return pooled;
+	}
+
+	public void releaseBuffer(@NotNull final byte[] buffer)
+	{
+		final int length = buffer.length;
+		if (length > LargestPooledLength || Integer.bitCount(length) != 1 || length < 1 << SmallestSizeClassShift)
+		{
+			return;
+		}
+		if (pooledBytes.addAndGet(length) > maximumPooledBytes)
+		{
+			pooledBytes.addAndGet(-length);
+			return;
+		}
+		pooledBuffersBySizeClass.get(sizeClass(length)).offer(buffer);
+	}
+
+	private static int sizeClass(final int length)
+	{
+		if (length <= 1 << SmallestSizeClassShift)
+		{
+			return 0;
+		}
+		final int shift = Integer.SIZE - numberOfLeadingZeros(length - 1);
+		return shift - SmallestSizeClassShift;
+	}
+}
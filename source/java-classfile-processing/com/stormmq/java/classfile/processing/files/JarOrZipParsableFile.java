@@ -20,79 +20,128 @@
 // OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 // SOFTWARE.
 
+
 package com.stormmq.java.classfile.processing.files;
 
+import com.stormmq.java.classfile.processing.caches.ParseCache;
+import com.stormmq.java.classfile.processing.caches.ParseRecording;
 import com.stormmq.java.classfile.processing.fileParsers.FileParser;
+import com.stormmq.java.classfile.processing.multithreaded.Scheduler;
 import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.*;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
-import static com.stormmq.path.FileAndFolderHelper.retrieveAllBytesForKnownInputStreamSize;
-import static com.stormmq.path.FileAndFolderHelper.retrieveAllBytesForUnknownInputStreamSize;
 import static com.stormmq.path.IsFileTypeFilter.isClassFile;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 
 public final class JarOrZipParsableFile implements ParsableFile
 {
-	private static final int OneMegabyte = 1048576;
+	private static final int EntriesPerRange = 256;
 
 	@NotNull private final Path zipFilePath;
 	@NotNull private final Path relativeRootPath;
-	@NotNull private final ConcurrentLinkedQueue<ParsableFile> parsableFileQueue;
+	@NotNull private final Scheduler scheduler;
+	@NotNull private final InflatedEntryBufferPool inflatedEntryBufferPool;
+	@NotNull private final ParseCache parseCache;
 
-	public JarOrZipParsableFile(@NotNull final Path zipFilePath, @NotNull final Path relativeRootPath, @NotNull final ConcurrentLinkedQueue<ParsableFile> parsableFileQueue)
+	public JarOrZipParsableFile(@NotNull final Path zipFilePath, @NotNull final Path relativeRootPath, @NotNull final Scheduler scheduler, @NotNull final InflatedEntryBufferPool inflatedEntryBufferPool, @NotNull final ParseCache parseCache)
 	{
 		this.zipFilePath = zipFilePath;
 		this.relativeRootPath = relativeRootPath;
-		this.parsableFileQueue = parsableFileQueue;
+		this.scheduler = scheduler;
+		this.inflatedEntryBufferPool = inflatedEntryBufferPool;
+		this.parseCache = parseCache;
 	}
 
 	@Override
 	public void process(@NotNull final FileParser fileParser, @NotNull final ProcessLog processLog)
 	{
-		try (final ZipFile zipFile = new ZipFile(zipFilePath.toFile()))
+		final ParseRecording parseRecording;
+		try
 		{
-			if (zipFile.size() == 0)
-			{
-				return;
-			}
-
-			zipFile.stream().filter((zipEntry) -> !zipEntry.isDirectory() && isClassFile(zipEntry.getName())).forEach(zipEntry ->
-			{
-				final long size = zipEntry.getSize();
-				if (size > Integer.MAX_VALUE)
-				{
-					processLog.failureJavaClassFileIsTooLarge(ProcessLog.zipPathDetails(zipFile, zipEntry));
-					return;
-				}
+			parseRecording = parseCache.parseRecording(zipFilePath);
+		}
+		catch (final IOException e)
+		{
+			processLog.failureZip(zipFilePath, e);
+			return;
+		}
 
-				@SuppressWarnings("NumericCastThatLosesPrecision") final int length = (int) size;
+		if (parseRecording.replayed(zipFilePath, relativeRootPath))
+		{
+			return;
+		}
 
-				final byte[] all;
-				try
-				{
-					all = length == -1 ? retrieveAllBytesForUnknownInputStreamSize(zipFile, zipEntry, OneMegabyte) : retrieveAllBytesForKnownInputStreamSize(zipFile, zipEntry, length);
-				}
-				catch (final IOException e)
-				{
-					processLog.failure(zipFile, zipEntry, e);
-					return;
-				}
-				parsableFileQueue.add((fileParser1, parseFailureLog1) -> fileParser1.parseFile(zipFile, zipEntry, relativeRootPath, all));
-			});
+		final ZipFile zipFile;
+		try
+		{
+			zipFile = new ZipFile(zipFilePath.toFile());
 		}
 		catch (final ZipException e)
 		{
 			processLog.failureZip(zipFilePath, e);
+			return;
 		}
 		catch (final IOException e)
 		{
 			processLog.failureZip(zipFilePath, e);
+			return;
+		}
+
+		// Until sharedZipFile owns the zip file, it is closed here if anything fails
+		final List<ZipEntry> classFileZipEntries;
+		final SharedZipFile sharedZipFile;
+		try
+		{
+			classFileZipEntries = classFileZipEntries(zipFile);
+			final int numberOfRanges = max(1, (classFileZipEntries.size() + EntriesPerRange - 1) / EntriesPerRange);
+			sharedZipFile = new SharedZipFile(zipFilePath, zipFile, relativeRootPath, numberOfRanges, inflatedEntryBufferPool.newArchiveInFlightBytesLimit(), scheduler, inflatedEntryBufferPool, parseRecording);
 		}
+		catch (final RuntimeException | Error e)
+		{
+			try
+			{
+				zipFile.close();
+			}
+			catch (final IOException closeException)
+			{
+				e.addSuppressed(closeException);
+			}
+			throw e;
+		}
+
+		final int size = classFileZipEntries.size();
+
+		// The first range is inflated by this task; the remainder are inflated concurrently
+		for (int fromIndex = EntriesPerRange; fromIndex < size; fromIndex += EntriesPerRange)
+		{
+			final List<ZipEntry> range = classFileZipEntries.subList(fromIndex, min(fromIndex + EntriesPerRange, size));
+			scheduler.scheduleInputOutput((fileParser1, processLog1) -> sharedZipFile.inflate(range, processLog1));
+		}
+		sharedZipFile.inflate(classFileZipEntries.subList(0, min(EntriesPerRange, size)), processLog);
 	}
 
+	@NotNull
+	private static List<ZipEntry> classFileZipEntries(@NotNull final ZipFile zipFile)
+	{
+		final List<ZipEntry> classFileZipEntries = new ArrayList<>(zipFile.size());
+		final Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+		while (zipEntries.hasMoreElements())
+		{
+			final ZipEntry zipEntry = zipEntries.nextElement();
+			if (zipEntry.isDirectory() || !isClassFile(zipEntry.getName()))
+			{
+				continue;
+			}
+			classFileZipEntries.add(zipEntry);
+		}
+		return classFileZipEntries;
+	}
 }
@@ -0,0 +1,261 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.files;
+
+import com.stormmq.java.classfile.processing.caches.ParseRecording;
+import com.stormmq.java.classfile.processing.multithreaded.Scheduler;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static com.stormmq.java.classfile.processing.files.InflatedEntryBufferPool.bufferLength;
+import static com.stormmq.java.classfile.processing.processLogs.ProcessLog.zipPathDetails;
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
+import static java.nio.ByteBuffer.wrap;
+import static java.util.Arrays.copyOf;
+
+// ZipFile is thread safe; it serializes only its raw reads, so ranges of entries sharing one handle are still inflated concurrently
+final class SharedZipFile
+{
+	private static final int InitialUnknownSizeBufferLength = 65_536;
+	private static final int MaximumArrayLength = MAX_VALUE - 8;
+
+	@NotNull private final Path zipFilePath;
+	@NotNull private final ZipFile zipFile;
+	@NotNull private final Path relativeRootPath;
+	@NotNull private final InFlightBytesLimit archiveInFlightBytesLimit;
+	@NotNull private final Scheduler scheduler;
+	@NotNull private final InflatedEntryBufferPool inflatedEntryBufferPool;
+	@NotNull private final ParseRecording parseRecording;
+	@NotNull private final AtomicInteger outstandingRanges;
+
+	SharedZipFile(@NotNull final Path zipFilePath, @NotNull final ZipFile zipFile, @NotNull final Path relativeRootPath, final int numberOfRanges, @NotNull final InFlightBytesLimit archiveInFlightBytesLimit, @NotNull final Scheduler scheduler, @NotNull final InflatedEntryBufferPool inflatedEntryBufferPool, @NotNull final ParseRecording parseRecording)
+	{
+		this.zipFilePath = zipFilePath;
+		this.zipFile = zipFile;
+		this.relativeRootPath = relativeRootPath;
+		this.archiveInFlightBytesLimit = archiveInFlightBytesLimit;
+		this.scheduler = scheduler;
+		this.inflatedEntryBufferPool = inflatedEntryBufferPool;
+		this.parseRecording = parseRecording;
+		outstandingRanges = new AtomicInteger(numberOfRanges);
+	}
+
+	// Closes the zip file once every range has been inflated; the parses scheduled need only its name, and each finishes its own part of parseRecording
+	void inflate(@NotNull final List<ZipEntry> range, @NotNull final ProcessLog processLog)
+	{
+		final int size = range.size();
+		int index = 0;
+		try
+		{
+			while (index < size)
+			{
+				processZipEntry(range.get(index), processLog);
+				index++;
+			}
+		}
+		catch (final InterruptedException ignored)
+		{
+			currentThread().interrupt();
+			parseRecording.incomplete();
+			for (int unprocessedIndex = index; unprocessedIndex < size; unprocessedIndex++)
+			{
+				processLog.failure(zipFile, range.get(unprocessedIndex), new InterruptedIOException("Interrupted before the entry could be inflated"));
+			}
+		}
+		finally
+		{
+			if (outstandingRanges.decrementAndGet() == 0)
+			{
+				close(processLog);
+				parseRecording.finished();
+			}
+		}
+	}
+
+	private void close(@NotNull final ProcessLog processLog)
+	{
+		try
+		{
+			zipFile.close();
+		}
+		catch (final IOException e)
+		{
+			processLog.failureZip(zipFilePath, e);
+		}
+	}
+
+	private void processZipEntry(@NotNull final ZipEntry zipEntry, @NotNull final ProcessLog processLog) throws InterruptedException
+	{
+		final long size = zipEntry.getSize();
+		if (size > MAX_VALUE)
+		{
+			parseRecording.incomplete();
+			processLog.failureJavaClassFileIsTooLarge(zipPathDetails(zipFile, zipEntry));
+			return;
+		}
+
+		if (size == -1L)
+		{
+			processZipEntryOfUnknownSize(zipEntry, processLog);
+			return;
+		}
+
+		@SuppressWarnings("NumericCastThatLosesPrecision") final int length = (int) size;
+
+		inflatedEntryBufferPool.acquireInFlightBytes(archiveInFlightBytesLimit, bufferLength(length));
+		final byte[] buffer = inflatedEntryBufferPool.acquireBuffer(length);
+		try
+		{
+			inflate(zipEntry, buffer, length);
+		}
+		catch (final IOException e)
+		{
+			release(buffer);
+			parseRecording.incomplete();
+			processLog.failure(zipFile, zipEntry, e);
+			return;
+		}
+		schedule(zipEntry, buffer, length, processLog);
+	}
+
+	// The largest an archive's entry may be is acquired before inflating, so an entry of unknown size never exceeds the budget; what is not used is released afterwards
+	private void processZipEntryOfUnknownSize(@NotNull final ZipEntry zipEntry, @NotNull final ProcessLog processLog) throws InterruptedException
+	{
+		@SuppressWarnings("NumericCastThatLosesPrecision") final int maximumLength = (int) min(archiveInFlightBytesLimit.maximumInFlightBytes(), MaximumArrayLength);
+		inflatedEntryBufferPool.acquireInFlightBytes(archiveInFlightBytesLimit, maximumLength);
+
+		byte[] buffer = new byte[min(InitialUnknownSizeBufferLength, maximumLength)];
+		int length = 0;
+		try (final InputStream inputStream = zipFile.getInputStream(zipEntry))
+		{
+			while (true)
+			{
+				if (length == buffer.length)
+				{
+					if (length == maximumLength)
+					{
+						if (inputStream.read() == -1)
+						{
+							break;
+						}
+						inflatedEntryBufferPool.releaseInFlightBytes(archiveInFlightBytesLimit, maximumLength);
+						parseRecording.incomplete();
+						processLog.failureJavaClassFileIsTooLarge(zipPathDetails(zipFile, zipEntry));
+						return;
+					}
+					buffer = copyOf(buffer, (int) min(length * 2L, maximumLength));
+				}
+
+				final int read = inputStream.read(buffer, length, buffer.length - length);
+				if (read == -1)
+				{
+					break;
+				}
+				length += read;
+			}
+		}
+		catch (final IOException e)
+		{
+			inflatedEntryBufferPool.releaseInFlightBytes(archiveInFlightBytesLimit, maximumLength);
+			parseRecording.incomplete();
+			processLog.failure(zipFile, zipEntry, e);
+			return;
+		}
+
+		inflatedEntryBufferPool.releaseInFlightBytes(archiveInFlightBytesLimit, maximumLength - buffer.length);
+		schedule(zipEntry, buffer, length, processLog);
+	}
+
+	// If the parse can not be scheduled, eg because the scheduler has shut down, it is treated as failed, so its bytes are released and parseRecording can still finish
+	private void schedule(@NotNull final ZipEntry zipEntry, @NotNull final byte[] buffer, final int length, @NotNull final ProcessLog processLog)
+	{
+		final ByteBuffer fileData = wrap(buffer, 0, length);
+		parseRecording.started();
+		try
+		{
+			scheduler.schedule((fileParser1, parseFailureLog1) ->
+			{
+				boolean parsed = false;
+				try
+				{
+					fileParser1.parseFile(zipFile, zipEntry, relativeRootPath, fileData, parseRecording);
+					parsed = true;
+				}
+				finally
+				{
+					release(buffer);
+					if (!parsed)
+					{
+						parseRecording.incomplete();
+					}
+					parseRecording.finished();
+				}
+			});
+		}
+		catch (final RuntimeException e)
+		{
+			release(buffer);
+			parseRecording.incomplete();
+			parseRecording.finished();
+			processLog.failure(zipFile, zipEntry, new IOException("Could not be scheduled to be parsed", e));
+		}
+	}
+
+	// The in-flight bytes acquired for a buffer are its whole length, not just the length used
+	private void release(@NotNull final byte[] buffer)
+	{
+		inflatedEntryBufferPool.releaseBuffer(buffer);
+		inflatedEntryBufferPool.releaseInFlightBytes(archiveInFlightBytesLimit, buffer.length);
+	}
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	private void inflate(@NotNull final ZipEntry zipEntry, @NotNull final byte[] buffer, final int length) throws IOException
+	{
+		try (final InputStream inputStream = zipFile.getInputStream(zipEntry))
+		{
+			int offset = 0;
+			while (offset < length)
+			{
+				final int read = inputStream.read(buffer, offset, length - offset);
+				if (read == -1)
+				{
+					throw new EOFException("ZIP entry is shorter than its recorded size");
+				}
+				offset += read;
+			}
+		}
+	}
+}
@@ -0,0 +1,205 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.methodAnalyses;
+
+import com.stormmq.java.classfile.domain.attributes.code.controlFlow.InvalidControlFlowException;
+import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.InvalidOperandStackException;
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
+import com.stormmq.java.classfile.domain.information.MethodInformation;
+import com.stormmq.java.classfile.domain.information.TypeInformation;
+import com.stormmq.java.classfile.processing.Records;
+import com.stormmq.string.AbstractToString;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+import static java.lang.Math.max;
+import static java.util.Arrays.binarySearch;
+import static java.util.function.Function.identity;
+
+// Methods are split into tasks of roughly equal total code length rather than equal counts, so one very large method does not leave other workers idle
+public final class MethodAnalyser extends AbstractToString
+{
+	private static final long DefaultMinimumCodeLengthPerTask = 16_384L;
+	private static final int TasksPerWorker = 8;
+
+	@NotNull private final ForkJoinPool forkJoinPool;
+	private final long minimumCodeLengthPerTask;
+
+	public MethodAnalyser(@NotNull final ForkJoinPool forkJoinPool)
+	{
+		this(forkJoinPool, DefaultMinimumCodeLengthPerTask);
+	}
+
+	MethodAnalyser(@NotNull final ForkJoinPool forkJoinPool, final long minimumCodeLengthPerTask)
+	{
+		this.forkJoinPool = forkJoinPool;
+		this.minimumCodeLengthPerTask = minimumCodeLengthPerTask;
+	}
+
+	@NotNull
+	@Override
+	protected Object[] fields()
+	{
+		return fields(forkJoinPool.getParallelism(), minimumCodeLengthPerTask);
+	}
+
+	@NotNull
+	public <R> MethodAnalysisResults<R> analyse(@NotNull final TypeInformation typeInformation, @NotNull final MethodAnalysis<R> methodAnalysis)
+	{
+		final MethodsToAnalyse methodsToAnalyse = new MethodsToAnalyse();
+		methodsToAnalyse.add(typeInformation);
+		return analyse(methodsToAnalyse, methodAnalysis);
+	}
+
+	@NotNull
+	public <R> MethodAnalysisResults<R> analyse(@NotNull final Records records, @NotNull final MethodAnalysis<R> methodAnalysis)
+	{
+		final MethodsToAnalyse methodsToAnalyse = new MethodsToAnalyse();
+		records.iterate((typeInformationTriplet, usefulRecords) -> methodsToAnalyse.add(typeInformationTriplet.typeInformation), identity());
+		return analyse(methodsToAnalyse, methodAnalysis);
+	}
+
+	@NotNull
+	private <R> MethodAnalysisResults<R> analyse(@NotNull final MethodsToAnalyse methodsToAnalyse, @NotNull final MethodAnalysis<R> methodAnalysis)
+	{
+		final int size = methodsToAnalyse.methodInformations.size();
+		final TypeInformation[] typeInformations = methodsToAnalyse.typeInformations.toArray(new TypeInformation[size]);
+		final MethodInformation[] methodInformations = methodsToAnalyse.methodInformations.toArray(new MethodInformation[size]);
+
+		final long[] cumulativeCodeLengths = new long[size + 1];
+		for (int index = 0; index < size; index++)
+		{
+			cumulativeCodeLengths[index + 1] = cumulativeCodeLengths[index] + methodInformations[index].codeLength();
+		}
+		final long maximumCodeLengthPerTask = max(minimumCodeLengthPerTask, cumulativeCodeLengths[size] / (forkJoinPool.getParallelism() * TasksPerWorker));
+
+		final Object[] results = new Object[size];
+		final Exception[] failures = new Exception[size];
+		final int numberOfFailures = size == 0 ? 0 : forkJoinPool.invoke(new MethodAnalysisTask<>(methodAnalysis, typeInformations, methodInformations, cumulativeCodeLengths, maximumCodeLengthPerTask, results, failures, 0, size));
+		return new MethodAnalysisResults<>(typeInformations, methodInformations, results, failures, numberOfFailures);
+	}
+
+	private static final class MethodsToAnalyse
+	{
+		@NotNull private final List<TypeInformation> typeInformations = new ArrayList<>();
+		@NotNull private final List<MethodInformation> methodInformations = new ArrayList<>();
+
+		private void add(@NotNull final TypeInformation typeInformation)
+		{
+			final Consumer<MethodInformation> action = methodInformation ->
+			{
+				if (methodInformation.codeLength() != 0L)
+				{
+					typeInformations.add(typeInformation);
+					methodInformations.add(methodInformation);
+				}
+			};
+			typeInformation.forEachStaticMethod(action);
+			typeInformation.forEachInstanceMethod(action);
+		}
+	}
+
+	// Computes the number of failures in [from, to)
+	private static final class MethodAnalysisTask<R> extends RecursiveTask<Integer>
+	{
+		@NotNull private final MethodAnalysis<R> methodAnalysis;
+		@NotNull private final TypeInformation[] typeInformations;
+		@NotNull private final MethodInformation[] methodInformations;
+		@NotNull private final long[] cumulativeCodeLengths;
+		private final long maximumCodeLengthPerTask;
+		@NotNull private final Object[] results;
+		@NotNull private final Exception[] failures;
+		private final int from;
+		private final int to;
+
+		private MethodAnalysisTask(@NotNull final MethodAnalysis<R> methodAnalysis, @NotNull final TypeInformation[] typeInformations, @NotNull final MethodInformation[] methodInformations, @NotNull final long[] cumulativeCodeLengths, final long maximumCodeLengthPerTask, @NotNull final Object[] results, @NotNull final Exception[] failures, final int from, final int to)
+		{
+			this.methodAnalysis = methodAnalysis;
+			this.typeInformations = typeInformations;
+			this.methodInformations = methodInformations;
+			this.cumulativeCodeLengths = cumulativeCodeLengths;
+			this.maximumCodeLengthPerTask = maximumCodeLengthPerTask;
+			this.results = results;
+			this.failures = failures;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Integer compute()
+		{
+			if (to - from == 1 || cumulativeCodeLengths[to] - cumulativeCodeLengths[from] <= maximumCodeLengthPerTask)
+			{
+				return analyseAll();
+			}
+
+			final int middle = middle();
+			final MethodAnalysisTask<R> left = new MethodAnalysisTask<>(methodAnalysis, typeInformations, methodInformations, cumulativeCodeLengths, maximumCodeLengthPerTask, results, failures, from, middle);
+			final MethodAnalysisTask<R> right = new MethodAnalysisTask<>(methodAnalysis, typeInformations, methodInformations, cumulativeCodeLengths, maximumCodeLengthPerTask, results, failures, middle, to);
+			left.fork();
+			final int rightNumberOfFailures = right.compute();
+			return left.join() + rightNumberOfFailures;
+		}
+
+		// The index which most evenly halves the code length of [from, to), leaving at least one method on each side
+		private int middle()
+		{
+			final long halfway = (cumulativeCodeLengths[from] + cumulativeCodeLengths[to]) / 2L;
+			final int index = binarySearch(cumulativeCodeLengths, from, to + 1, halfway);
+			final int middle = index >= 0 ? index : -index - 1;
+			if (middle <= from)
+			{
+				return from + 1;
+			}
+			if (middle >= to)
+			{
+				return to - 1;
+			}
+			return middle;
+		}
+
+		private int analyseAll()
+		{
+			int numberOfFailures = 0;
+			for (int index = from; index < to; index++)
+			{
+				try
+				{
+					results[index] = methodAnalysis.analyse(typeInformations[index], methodInformations[index]);
+				}
+				// Opcode parsers throw UnsupportedOperationException for opcodes not yet fully supported (eg invokedynamic)
+				catch (final InvalidOpcodeException | InvalidOperandStackException | InvalidControlFlowException | UnsupportedOperationException e)
+				{
+					failures[index] = e;
+					numberOfFailures++;
+				}
+			}
+			return numberOfFailures;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.methodAnalyses;
+
+import com.stormmq.java.classfile.domain.information.MethodInformation;
+import com.stormmq.java.classfile.domain.information.TypeInformation;
+import com.stormmq.string.AbstractToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// Each method has its own slot, written by exactly one task, so results are gathered without a shared collector
+public final class MethodAnalysisResults<R> extends AbstractToString
+{
+	@NotNull private final TypeInformation[] typeInformations;
+	@NotNull private final MethodInformation[] methodInformations;
+	@NotNull private final Object[] results;
+	@NotNull private final Exception[] failures;
+	private final int numberOfFailures;
+
+	MethodAnalysisResults(@NotNull final TypeInformation[] typeInformations, @NotNull final MethodInformation[] methodInformations, @NotNull final Object[] results, @NotNull final Exception[] failures, final int numberOfFailures)
+	{
+		this.typeInformations = typeInformations;
+		this.methodInformations = methodInformations;
+		this.results = results;
+		this.failures = failures;
+		this.numberOfFailures = numberOfFailures;
+	}
+
+	@NotNull
+	@Override
+	protected Object[] fields()
+	{
+		return fields(size(), numberOfFailures);
+	}
+
+	public int size()
+	{
+		return methodInformations.length;
+	}
+
+	public int numberOfFailures()
+	{
+		return numberOfFailures;
+	}
+
+	@NotNull
+	public TypeInformation typeInformation(final int index)
+	{
+		return typeInformations[index];
+	}
+
+	@NotNull
+	public MethodInformation methodInformation(final int index)
+	{
+		return methodInformations[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public R result(final int index)
+	{
+		return (R) results[index];
+	}
+
+	public boolean failed(final int index)
+	{
+		return failures[index] != null;
+	}
+
+	@Nullable
+	public Exception failure(final int index)
+	{
+		return failures[index];
+	}
+}
@@ -20,81 +20,100 @@
 // OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 // SOFTWARE.
 
+
 package com.stormmq.java.classfile.processing.multithreaded;
 
-import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
 import com.stormmq.java.classfile.processing.fileParsers.FileParser;
 import com.stormmq.java.classfile.processing.files.ParsableFile;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import com.stormmq.string.AbstractToString;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.Thread.UncaughtExceptionHandler;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.Thread.currentThread;
 
-public final class Coordination
+public abstract class AbstractScheduler extends AbstractToString implements Scheduler
 {
-	@NotNull private final Thread[] queueProcessors;
-	@NotNull private final AtomicBoolean finish;
-	@NotNull private final CountDownLatch countDownLatch;
+	@NotNull private final FileParser fileParser;
+	@NotNull private final ProcessLog processLog;
 	@NotNull private final UncaughtExceptionHandler uncaughtExceptionHandler;
+	@NotNull private final AtomicLong outstandingTasks;
+	@NotNull private final CountDownLatch completed;
 
-	public Coordination(final int count, @NotNull final ConcurrentLinkedQueue<ParsableFile> parsableFileQueue, @NotNull final FileParser fileParser, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
+	protected AbstractScheduler(@NotNull final FileParser fileParser, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
 	{
+		this.fileParser = fileParser;
+		this.processLog = processLog;
 		this.uncaughtExceptionHandler = uncaughtExceptionHandler;
-		queueProcessors = new Thread[count];
-		for(int index = 0; index < count; index++)
-		{
-			final QueueProcessor queueProcessor = new QueueProcessor(parsableFileQueue, fileParser, processLog, this);
-			queueProcessors[index] = new Thread(queueProcessor, "QueueProcessor" + index);
-		}
 
-		finish = new AtomicBoolean(false);
-		countDownLatch = new CountDownLatch(count);
+		// The extra task is the caller, which schedules until it awaits completion
+		outstandingTasks = new AtomicLong(1L);
+		completed = new CountDownLatch(1);
 	}
 
-	public void start()
+	@Override
+	public final void schedule(@NotNull final ParsableFile parsableFile)
 	{
-		for (final Thread queueProcessor : queueProcessors)
-		{
-			queueProcessor.setUncaughtExceptionHandler((t, e) ->
-			{
-				countDownLatch.countDown();
-				finish.set(true);
-				uncaughtExceptionHandler.uncaughtException(t, e);
-			});
-			queueProcessor.start();
-		}
+		outstandingTasks.getAndIncrement();
+		execute(() -> process(parsableFile));
 	}
 
-	public void finish()
+	@Override
+	public final void scheduleInputOutput(@NotNull final ParsableFile parsableFile)
 	{
-		finish.set(true);
+		outstandingTasks.getAndIncrement();
+		executeInputOutput(() -> process(parsableFile));
+	}
+
+	@Override
+	public final void awaitCompletion()
+	{
+		taskCompleted();
 
 		try
 		{
-			countDownLatch.await();
+			completed.await();
 		}
 		catch (final InterruptedException ignored)
 		{
 			currentThread().interrupt();
 		}
+		finally
+		{
+			shutdown();
+		}
 	}
 
-	public boolean shouldContinue()
-	{
-		return !isFinished();
-	}
+	protected abstract void execute(@NotNull final Runnable task);
+
+	protected abstract void executeInputOutput(@NotNull final Runnable task);
+
+	protected abstract void shutdown();
 
-	private boolean isFinished()
+	private void process(@NotNull final ParsableFile parsableFile)
 	{
-		return finish.get();
+		try
+		{
+			parsableFile.process(fileParser, processLog);
+		}
+		catch (@SuppressWarnings("ErrorNotRethrown") final Throwable throwable)
+		{
+			uncaughtExceptionHandler.uncaughtException(currentThread(), throwable);
+		}
+		finally
+		{
+			taskCompleted();
+		}
 	}
 
-	public void countDown()
+	private void taskCompleted()
 	{
-		countDownLatch.countDown();
+		if (outstandingTasks.decrementAndGet() == 0L)
+		{
+			completed.countDown();
+		}
 	}
 }
@@ -41,24 +41,27 @@ public final class EnqueuePathsWalker
 {
 
 	@NotNull private final PathProcessor pathProcessor;
-	@NotNull private final Coordination coordination;
+	@NotNull private final Scheduler scheduler;
 
-	public EnqueuePathsWalker(@NotNull final Coordination coordination, @NotNull final PathProcessor pathProcessor)
+	public EnqueuePathsWalker(@NotNull final Scheduler scheduler, @NotNull final PathProcessor pathProcessor)
 	{
 		this.pathProcessor = pathProcessor;
-		this.coordination = coordination;
+		this.scheduler = scheduler;
 	}
 
 	public void parse(@NotNull final Iterable<Path> paths)
 	{
-		coordination.start();
-
-		for (final Path path : paths)
+		try
 		{
-			parse(path);
+			for (final Path path : paths)
+			{
+				parse(path);
+			}
+		}
+		finally
+		{
+			scheduler.awaitCompletion();
 		}
-
-		coordination.finish();
 	}
 
 	private void parse(@NotNull final Path fullRootPath)
@@ -116,8 +119,10 @@ public final class EnqueuePathsWalker
 			}
 			else if (IsClassFile.accept(file))
 			{
-				final Path relativeRootFolderPath = fullRootPath.relativize(file).getParent();
-				pathProcessor.processClassFile(file, relativeRootFolderPath, fullRootPath.relativize(file).getFileName());
+				final Path relativeJavaClassFilePath = fullRootPath.relativize(file);
+				@Nullable final Path parent = relativeJavaClassFilePath.getParent();
+				final Path relativeRootFolderPath = parent == null ? Paths.get(".") : parent;
+				pathProcessor.processClassFile(file, relativeRootFolderPath, relativeJavaClassFilePath.getFileName());
 			}
 			return CONTINUE;
 		}
@@ -0,0 +1,80 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.processing.multithreaded;
+
+import com.stormmq.java.classfile.processing.fileParsers.FileParser;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.ThreadFactory;
+
+import static com.stormmq.java.classfile.processing.multithreaded.ThreadPerFileScheduler.virtualThreadFactory;
+import static java.lang.Runtime.getRuntime;
+
+@FunctionalInterface
+public interface ExecutionStrategy
+{
+	int MaximumInputOutputThreads = 64;
+
+	@NotNull
+	static ExecutionStrategy processorSizedExecutionStrategy()
+	{
+		return (fileParser, processLog, uncaughtExceptionHandler) -> new ForkJoinScheduler(availableProcessors(), fileParser, processLog, uncaughtExceptionHandler);
+	}
+
+	@NotNull
+	static ExecutionStrategy separateInputOutputExecutionStrategy()
+	{
+		final int availableProcessors = availableProcessors();
+		return separateInputOutputExecutionStrategy(availableProcessors, Math.min(availableProcessors * 2, MaximumInputOutputThreads));
+	}
+
+	@NotNull
+	static ExecutionStrategy separateInputOutputExecutionStrategy(final int parsingParallelism, final int inputOutputThreads)
+	{
+		return (fileParser, processLog, uncaughtExceptionHandler) -> new SeparateInputOutputScheduler(parsingParallelism, inputOutputThreads, fileParser, processLog, uncaughtExceptionHandler);
+	}
+
+	// Without virtual threads, falls back to processorSizedExecutionStrategy(), as a platform thread per file would be far too many threads
+	@NotNull
+	static ExecutionStrategy virtualThreadPerFileExecutionStrategy()
+	{
+		@Nullable final ThreadFactory virtualThreadFactory = virtualThreadFactory();
+		if (virtualThreadFactory == null)
+		{
+			return processorSizedExecutionStrategy();
+		}
+		return (fileParser, processLog, uncaughtExceptionHandler) -> new ThreadPerFileScheduler(virtualThreadFactory, fileParser, processLog, uncaughtExceptionHandler);
+	}
+
+	static int availableProcessors()
+	{
+		return getRuntime().availableProcessors();
+	}
+
+	@NotNull
+	Scheduler newScheduler(@NotNull final FileParser fileParser, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler);
+}
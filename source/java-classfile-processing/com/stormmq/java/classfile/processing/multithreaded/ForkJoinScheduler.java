@@ -0,0 +1,114 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.processing.multithreaded;
+
+import com.stormmq.java.classfile.processing.fileParsers.FileParser;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.*;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+
+import static java.util.concurrent.ForkJoinTask.adapt;
+import static java.util.concurrent.ForkJoinTask.getPool;
+
+// Tasks scheduled from a worker (eg the entries of a JAR) are forked onto that worker's own deque, so idle workers steal them rather than poll
+public final class ForkJoinScheduler extends AbstractScheduler
+{
+	private static final boolean AsynchronousMode = true;
+
+	@NotNull
+	static ForkJoinPool newForkJoinPool(final int parallelism, @NotNull @NonNls final String threadNamePrefix, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
+	{
+		return new ForkJoinPool(parallelism, new NamingForkJoinWorkerThreadFactory(threadNamePrefix), uncaughtExceptionHandler, AsynchronousMode);
+	}
+
+	static void fork(@NotNull final ForkJoinPool forkJoinPool, @NotNull final Runnable task)
+	{
+		if (getPool() == forkJoinPool)
+		{
+			adapt(task).fork();
+		}
+		else
+		{
+			forkJoinPool.execute(task);
+		}
+	}
+
+	private final int parallelism;
+	@NotNull private final ForkJoinPool forkJoinPool;
+
+	public ForkJoinScheduler(final int parallelism, @NotNull final FileParser fileParser, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
+	{
+		super(fileParser, processLog, uncaughtExceptionHandler);
+
+		this.parallelism = parallelism;
+		forkJoinPool = newForkJoinPool(parallelism, "ForkJoinScheduler", uncaughtExceptionHandler);
+	}
+
+	@NotNull
+	@Override
+	protected Object[] fields()
+	{
+		return fields(parallelism);
+	}
+
+	@Override
+	protected void execute(@NotNull final Runnable task)
+	{
+		fork(forkJoinPool, task);
+	}
+
+	@Override
+	protected void executeInputOutput(@NotNull final Runnable task)
+	{
+		fork(forkJoinPool, task);
+	}
+
+	@Override
+	protected void shutdown()
+	{
+		forkJoinPool.shutdown();
+	}
+
+	private static final class NamingForkJoinWorkerThreadFactory implements ForkJoinWorkerThreadFactory
+	{
+		@NotNull private final String threadNamePrefix;
+
+		private NamingForkJoinWorkerThreadFactory(@NotNull @NonNls final String threadNamePrefix)
+		{
+			this.threadNamePrefix = threadNamePrefix;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(@NotNull final ForkJoinPool pool)
+		{
+			final ForkJoinWorkerThread forkJoinWorkerThread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			forkJoinWorkerThread.setName(threadNamePrefix + forkJoinWorkerThread.getPoolIndex());
+			return forkJoinWorkerThread;
+		}
+	}
+}
@@ -22,29 +22,35 @@
 
 package com.stormmq.java.classfile.processing.multithreaded;
 
-import com.stormmq.java.classfile.processing.files.JarOrZipParsableFile;
-import com.stormmq.java.classfile.processing.files.ParsableFile;
+import com.stormmq.java.classfile.processing.caches.ParseCache;
+import com.stormmq.java.classfile.processing.files.*;
 import org.jetbrains.annotations.*;
 
 import java.nio.file.Path;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 public final class PathProcessor
 {
-	@NotNull private final ConcurrentLinkedQueue<ParsableFile> parsableFileQueue;
+	@NotNull private final Scheduler scheduler;
+	@NotNull private final InflatedEntryBufferPool inflatedEntryBufferPool;
+	@NotNull private final ParseCache parseCache;
+	@NotNull private final InFlightBytesLimit looseClassFilesInFlightBytesLimit;
 
-	public PathProcessor(@NotNull final ConcurrentLinkedQueue<ParsableFile> parsableFileQueue)
+	public PathProcessor(@NotNull final Scheduler scheduler, @NotNull final InflatedEntryBufferPool inflatedEntryBufferPool, @NotNull final ParseCache parseCache)
 	{
-		this.parsableFileQueue = parsableFileQueue;
+		this.scheduler = scheduler;
+		this.inflatedEntryBufferPool = inflatedEntryBufferPool;
+		this.parseCache = parseCache;
+		// Loose class files, from every folder, share one budget the size of an archive's
+		looseClassFilesInFlightBytesLimit = inflatedEntryBufferPool.newArchiveInFlightBytesLimit();
 	}
 
 	public void processJarOrZipFile(@NotNull final Path jarOrZipFilePath, @NotNull final Path relativeRootFolderPath)
 	{
-		parsableFileQueue.add(new JarOrZipParsableFile(jarOrZipFilePath, relativeRootFolderPath, parsableFileQueue));
+		scheduler.scheduleInputOutput(new JarOrZipParsableFile(jarOrZipFilePath, relativeRootFolderPath, scheduler, inflatedEntryBufferPool, parseCache));
 	}
 
 	public void processClassFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath)
 	{
-		parsableFileQueue.add((fileParser, parseFailureLog) -> fileParser.parseFile(javaClassFilePath, relativeRootFolderPath, relativeJavaClassFilePath));
+		scheduler.scheduleInputOutput(new ClassFileParsableFile(javaClassFilePath, relativeRootFolderPath, relativeJavaClassFilePath, scheduler, inflatedEntryBufferPool, looseClassFilesInFlightBytesLimit));
 	}
 }
@@ -0,0 +1,106 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.processing.multithreaded;
+
+import com.stormmq.java.classfile.processing.fileParsers.FileParser;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.stormmq.java.classfile.processing.multithreaded.ForkJoinScheduler.fork;
+import static com.stormmq.java.classfile.processing.multithreaded.ForkJoinScheduler.newForkJoinPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+// Reading files and archives blocks on the disk, so it is kept off the processor-sized parsing pool
+public final class SeparateInputOutputScheduler extends AbstractScheduler
+{
+	private static final long IdleInputOutputThreadKeepAliveSeconds = 1L;
+
+	private final int parsingParallelism;
+	private final int inputOutputThreads;
+	@NotNull private final ForkJoinPool parsingPool;
+	@NotNull private final ThreadPoolExecutor inputOutputPool;
+
+	public SeparateInputOutputScheduler(final int parsingParallelism, final int inputOutputThreads, @NotNull final FileParser fileParser, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
+	{
+		super(fileParser, processLog, uncaughtExceptionHandler);
+
+		this.parsingParallelism = parsingParallelism;
+		this.inputOutputThreads = inputOutputThreads;
+		parsingPool = newForkJoinPool(parsingParallelism, "ParsingScheduler", uncaughtExceptionHandler);
+		inputOutputPool = new ThreadPoolExecutor(inputOutputThreads, inputOutputThreads, IdleInputOutputThreadKeepAliveSeconds, SECONDS, new LinkedBlockingQueue<>(), new InputOutputThreadFactory(uncaughtExceptionHandler));
+		inputOutputPool.allowCoreThreadTimeOut(true);
+	}
+
+	@NotNull
+	@Override
+	protected Object[] fields()
+	{
+		return fields(parsingParallelism, inputOutputThreads);
+	}
+
+	@Override
+	protected void execute(@NotNull final Runnable task)
+	{
+		fork(parsingPool, task);
+	}
+
+	@Override
+	protected void executeInputOutput(@NotNull final Runnable task)
+	{
+		inputOutputPool.execute(task);
+	}
+
+	@Override
+	protected void shutdown()
+	{
+		inputOutputPool.shutdown();
+		parsingPool.shutdown();
+	}
+
+	private static final class InputOutputThreadFactory implements ThreadFactory
+	{
+		@NotNull private final UncaughtExceptionHandler uncaughtExceptionHandler;
+		@NotNull private final AtomicInteger threadIndex;
+
+		private InputOutputThreadFactory(@NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
+		{
+			this.uncaughtExceptionHandler = uncaughtExceptionHandler;
+			threadIndex = new AtomicInteger(0);
+		}
+
+		@NotNull
+		@Override
+		public Thread newThread(@NotNull final Runnable runnable)
+		{
+			final Thread thread = new Thread(runnable, "InputOutputScheduler" + threadIndex.getAndIncrement());
+			thread.setDaemon(true);
+			thread.setUncaughtExceptionHandler(uncaughtExceptionHandler);
+			return thread;
+		}
+	}
+}
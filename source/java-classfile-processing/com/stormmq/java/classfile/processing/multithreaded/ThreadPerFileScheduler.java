@@ -0,0 +1,93 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.stormmq.java.classfile.processing.multithreaded;
+
+import com.stormmq.java.classfile.processing.fileParsers.FileParser;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ThreadFactory;
+
+// Only sensible with virtual threads; platform threads would create one thread per JAR entry
+public final class ThreadPerFileScheduler extends AbstractScheduler
+{
+	// Looked up once; null before Java 21, which has no virtual threads
+	@Nullable private static final ThreadFactory VirtualThreadFactory = lookUpVirtualThreadFactory();
+
+	@Nullable
+	public static ThreadFactory virtualThreadFactory()
+	{
+		return VirtualThreadFactory;
+	}
+
+	@Nullable
+	private static ThreadFactory lookUpVirtualThreadFactory()
+	{
+		try
+		{
+			final Object virtualThreadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+			return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(virtualThreadBuilder);
+		}
+		catch (final NoSuchMethodException | ClassNotFoundException | IllegalAccessException | InvocationTargetException ignored)
+		{
+			return null;
+		}
+	}
+
+	@NotNull private final ThreadFactory threadFactory;
+
+	public ThreadPerFileScheduler(@NotNull final ThreadFactory threadFactory, @NotNull final FileParser fileParser, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
+	{
+		super(fileParser, processLog, uncaughtExceptionHandler);
+
+		this.threadFactory = threadFactory;
+	}
+
+	@NotNull
+	@Override
+	protected Object[] fields()
+	{
+		return fields(threadFactory);
+	}
+
+	@Override
+	protected void execute(@NotNull final Runnable task)
+	{
+		threadFactory.newThread(task).start();
+	}
+
+	@Override
+	protected void executeInputOutput(@NotNull final Runnable task)
+	{
+		execute(task);
+	}
+
+	@Override
+	protected void shutdown()
+	{
+	}
+}
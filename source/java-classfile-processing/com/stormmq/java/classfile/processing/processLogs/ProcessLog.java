@@ -25,6 +25,7 @@ package com.stormmq.java.classfile.processing.processLogs;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.JavaClassFileContainsDataTooLongToReadException;
 import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
@@ -39,7 +40,15 @@ public interface ProcessLog
 	@NotNull
 	static String zipPathDetails(@NotNull final ZipFile zipFile, @NotNull final ZipEntry zipEntry)
 	{
-		return zipFile.getName() + "!/" + zipEntry.getName();
+		return zipPathDetails(zipFile.getName(), zipEntry.getName());
+	}
+
+	@SuppressWarnings("HardcodedFileSeparator")
+	@NonNls
+	@NotNull
+	static String zipPathDetails(@NotNull final String zipFilePath, @NotNull final String zipEntryName)
+	{
+		return zipFilePath + "!/" + zipEntryName;
 	}
 
 	int failureCount();
@@ -65,4 +74,10 @@ public interface ProcessLog
 	void failureJavaClassFileIsTooLarge(@NotNull final String filePath);
 
 	void duplicateTypeInformationWarning(@NotNull final TypeInformationTriplet extant, @NotNull final TypeInformationTriplet replacement);
+
+	void duplicateTypeHeaderWarning(@NotNull final KnownReferenceTypeName thisClassTypeName, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath);
+
+	void snapshotNotReadWarning(@NotNull final Path snapshotFilePath, @NotNull final IOException e);
+
+	void snapshotNotWrittenWarning(@NotNull final Path snapshotFilePath, @NotNull final IOException e);
 }
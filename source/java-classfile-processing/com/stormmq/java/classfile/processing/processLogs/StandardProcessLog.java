@@ -25,6 +25,7 @@ package com.stormmq.java.classfile.processing.processLogs;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
 import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.JavaClassFileContainsDataTooLongToReadException;
 import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import com.stormmq.logs.Log;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
@@ -124,6 +125,24 @@ public final class StandardProcessLog implements ProcessLog
 		log.log(Notice, format("Duplicate type information for '%1$s' found at '%2$s' in '%3$s' overrides '%4$s' in '%5$s", replacement.thisClassTypeName(), replacement.relativeFilePath, replacement.relativeRootFolderPath, extant.relativeFilePath, extant.relativeRootFolderPath));
 	}
 
+	@Override
+	public void duplicateTypeHeaderWarning(@NotNull final KnownReferenceTypeName thisClassTypeName, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath)
+	{
+		log.log(Notice, format("Duplicate type header for '%1$s' found at '%2$s' in '%3$s' overrides an earlier one", thisClassTypeName, relativeFilePath, relativeRootFolderPath));
+	}
+
+	@Override
+	public void snapshotNotReadWarning(@NotNull final Path snapshotFilePath, @NotNull final IOException e)
+	{
+		log.log(Notice, format("Snapshot '%1$s' could not be read because of '%2$s', so it will be replaced", snapshotFilePath, e.getMessage()));
+	}
+
+	@Override
+	public void snapshotNotWrittenWarning(@NotNull final Path snapshotFilePath, @NotNull final IOException e)
+	{
+		log.log(Notice, format("Snapshot '%1$s' could not be written because of '%2$s'", snapshotFilePath, e.getMessage()));
+	}
+
 	@SuppressWarnings("OverloadedVarargsMethod")
 	private void failure(@NotNull @NonNls final String template, @NotNull final Object... arguments)
 	{
@@ -0,0 +1,75 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static java.lang.Math.min;
+
+final class ByteBufferInputStream extends InputStream
+{
+	@NotNull private final ByteBuffer byteBuffer;
+
+	ByteBufferInputStream(@NotNull final ByteBuffer byteBuffer)
+	{
+		this.byteBuffer = byteBuffer;
+	}
+
+	@Override
+	public int read()
+	{
+		if (byteBuffer.hasRemaining())
+		{
+			return byteBuffer.get() & 0xFF;
+		}
+		return -1;
+	}
+
+	@Override
+	public int read(@NotNull final byte[] bytes, final int offset, final int length)
+	{
+		if (length == 0)
+		{
+			return 0;
+		}
+
+		final int remaining = byteBuffer.remaining();
+		if (remaining == 0)
+		{
+			return -1;
+		}
+
+		final int count = min(length, remaining);
+		byteBuffer.get(bytes, offset, count);
+		return count;
+	}
+
+	@Override
+	public int available()
+	{
+		return byteBuffer.remaining();
+	}
+}
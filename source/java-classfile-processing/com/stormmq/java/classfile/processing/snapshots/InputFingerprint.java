@@ -0,0 +1,128 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.stormmq.path.FileAndFolderHelper.FollowLinks;
+import static com.stormmq.path.IsFileTypeFilter.IsClassFile;
+import static com.stormmq.path.IsFileTypeFilter.IsJarOrZipFile;
+import static com.stormmq.path.IsSubFolderFilter.IsSubFolder;
+import static java.lang.Integer.MAX_VALUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.Files.walkFileTree;
+import static java.util.Collections.sort;
+
+// A SHA-256 of the path, size and last modified time of every class, jar and zip file that processing the same paths would read, in a stable order
+// Cheap compared to parsing, as only file attributes are read; a file rewritten with the same size within the file system's timestamp resolution is not noticed
+public final class InputFingerprint
+{
+	@NonNls @NotNull private static final String HashAlgorithm = "SHA-256";
+	static final int InputFingerprintSize = 32;
+	@NotNull static final byte[] NoInputFingerprint = new byte[InputFingerprintSize];
+
+	@NotNull
+	public static byte[] inputFingerprint(@NotNull final Iterable<Path> paths) throws IOException
+	{
+		final MessageDigest messageDigest;
+		try
+		{
+			messageDigest = MessageDigest.getInstance(HashAlgorithm);
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			// Every Java platform must support SHA-256
+			throw new IllegalStateException(e);
+		}
+
+		for (final Path path : paths)
+		{
+			messageDigest.update(path.toAbsolutePath().normalize().toString().getBytes(UTF_8));
+			messageDigest.update((byte) 0);
+			for (final String input : inputs(path))
+			{
+				messageDigest.update(input.getBytes(UTF_8));
+			}
+			messageDigest.update((byte) 0);
+		}
+		return messageDigest.digest();
+	}
+
+	@NotNull
+	private static List<String> inputs(@NotNull final Path fullRootPath) throws IOException
+	{
+		final List<String> inputs = new ArrayList<>(64);
+		if (IsSubFolder.accept(fullRootPath))
+		{
+			walkFileTree(fullRootPath, FollowLinks, MAX_VALUE, new SimpleFileVisitor<Path>()
+			{
+				@Override
+				public FileVisitResult visitFile(@NotNull final Path file, @NotNull final BasicFileAttributes basicFileAttributes)
+				{
+					if (IsJarOrZipFile.accept(file) || IsClassFile.accept(file))
+					{
+						inputs.add(input(file, basicFileAttributes));
+					}
+					return CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(@NotNull final Path file, @NotNull final IOException exception) throws IOException
+				{
+					if (exception instanceof FileSystemLoopException)
+					{
+						return CONTINUE;
+					}
+					throw exception;
+				}
+			});
+			sort(inputs);
+		}
+		else if (IsJarOrZipFile.accept(fullRootPath) || IsClassFile.accept(fullRootPath))
+		{
+			inputs.add(input(fullRootPath, readAttributes(fullRootPath, BasicFileAttributes.class)));
+		}
+		return inputs;
+	}
+
+	@NotNull
+	private static String input(@NotNull final Path file, @NotNull final BasicFileAttributes basicFileAttributes)
+	{
+		return file.toAbsolutePath().normalize().toString() + '\0' + basicFileAttributes.size() + '\0' + basicFileAttributes.lastModifiedTime().toMillis() + '\n';
+	}
+
+	private InputFingerprint()
+	{
+	}
+}
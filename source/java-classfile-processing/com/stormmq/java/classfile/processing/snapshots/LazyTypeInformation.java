@@ -0,0 +1,193 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import com.stormmq.functions.collections.SizedIterator;
+import com.stormmq.java.classfile.domain.information.*;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import com.stormmq.string.AbstractToString;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static java.util.Locale.ENGLISH;
+
+// The names needed to walk a type hierarchy are known from the snapshot's index; everything else is deserialized on first use
+final class LazyTypeInformation extends AbstractToString implements TypeInformation, Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	@NotNull private final transient MappedSnapshot mappedSnapshot;
+	@NotNull private final KnownReferenceTypeName thisClassTypeName;
+	@Nullable private final KnownReferenceTypeName superClassTypeName;
+	private final int payloadOffset;
+	private final int payloadLength;
+	@Nullable private volatile ConcreteTypeInformation typeInformation;
+
+	LazyTypeInformation(@NotNull final MappedSnapshot mappedSnapshot, @NotNull final KnownReferenceTypeName thisClassTypeName, @Nullable final KnownReferenceTypeName superClassTypeName, final int payloadOffset, final int payloadLength)
+	{
+		this.mappedSnapshot = mappedSnapshot;
+		this.thisClassTypeName = thisClassTypeName;
+		this.superClassTypeName = superClassTypeName;
+		this.payloadOffset = payloadOffset;
+		this.payloadLength = payloadLength;
+	}
+
+	@NotNull
+	@Override
+	protected Object[] fields()
+	{
+		return fields(thisClassTypeName, superClassTypeName, payloadOffset, payloadLength);
+	}
+
+	@NotNull
+	ConcreteTypeInformation typeInformation()
+	{
+		@Nullable ConcreteTypeInformation typeInformation = this.typeInformation;
+		if (typeInformation == null)
+		{
+			synchronized (this)
+			{
+				typeInformation = this.typeInformation;
+				if (typeInformation == null)
+				{
+					typeInformation = deserialize();
+					this.typeInformation = typeInformation;
+				}
+			}
+		}
+		return typeInformation;
+	}
+
+	// The checksum and class table were checked when the snapshot was opened, and snapshots are only ever replaced by a move, so this fails only if the file was changed in place since
+	@NotNull
+	private ConcreteTypeInformation deserialize()
+	{
+		try
+		{
+			return mappedSnapshot.typeInformation(payloadOffset, payloadLength);
+		}
+		catch (final IOException | ClassNotFoundException e)
+		{
+			throw new IllegalStateException(format(ENGLISH, "Could not read type information for '%1$s' from snapshot because of '%2$s'", thisClassTypeName.name(), e.getMessage()), e);
+		}
+	}
+
+	// A snapshot is only valid whilst mapped, so the deserialized form is written in its place
+	@NotNull
+	private Object writeReplace()
+	{
+		return typeInformation();
+	}
+
+	@SuppressWarnings("unused")
+	private void readObject(@NotNull final ObjectInputStream objectInputStream) throws InvalidObjectException
+	{
+		throw new InvalidObjectException("LazyTypeInformation is serialized as ConcreteTypeInformation");
+	}
+
+	@Override
+	public boolean hasAnnotation(@NotNull final KnownReferenceTypeName annotationTypeName)
+	{
+		return typeInformation().hasAnnotation(annotationTypeName);
+	}
+
+	@Override
+	public int numberOfStaticFields()
+	{
+		return typeInformation().numberOfStaticFields();
+	}
+
+	@Override
+	public void forEachStaticField(@NotNull final Consumer<FieldInformation> action)
+	{
+		typeInformation().forEachStaticField(action);
+	}
+
+	@Override
+	public int numberOfInstanceFields()
+	{
+		return typeInformation().numberOfInstanceFields();
+	}
+
+	@Override
+	public void forEachInstanceField(@NotNull final Consumer<FieldInformation> action)
+	{
+		typeInformation().forEachInstanceField(action);
+	}
+
+	@NotNull
+	@Override
+	public SizedIterator<FieldInformation> instanceFieldsSizedIterator()
+	{
+		return typeInformation().instanceFieldsSizedIterator();
+	}
+
+	@Override
+	public int numberOfStaticMethods()
+	{
+		return typeInformation().numberOfStaticMethods();
+	}
+
+	@Override
+	public void forEachStaticMethod(@NotNull final Consumer<MethodInformation> action)
+	{
+		typeInformation().forEachStaticMethod(action);
+	}
+
+	@Override
+	public int numberOfInstanceMethods()
+	{
+		return typeInformation().numberOfInstanceMethods();
+	}
+
+	@Override
+	public void forEachInstanceMethod(@NotNull final Consumer<MethodInformation> action)
+	{
+		typeInformation().forEachInstanceMethod(action);
+	}
+
+	@Override
+	@NotNull
+	public KnownReferenceTypeName thisClassTypeName()
+	{
+		return thisClassTypeName;
+	}
+
+	@Nullable
+	@Override
+	public KnownReferenceTypeName superClassTypeName()
+	{
+		return superClassTypeName;
+	}
+
+	@NotNull
+	@Override
+	public KnownReferenceTypeName packageClass()
+	{
+		return thisClassTypeName.packageClass();
+	}
+}
@@ -0,0 +1,283 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32;
+
+import static com.stormmq.java.classfile.processing.snapshots.InputFingerprint.InputFingerprintSize;
+import static com.stormmq.java.classfile.processing.snapshots.SnapshotFormat.*;
+import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName.knownReferenceTypeName;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Paths.get;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Locale.ENGLISH;
+
+// Absolute reads of a mapped buffer do not change its state, so one instance can be shared by any number of threads
+final class MappedSnapshot
+{
+	@NotNull
+	static MappedSnapshot mapSnapshot(@NotNull final Path snapshotFilePath, @NotNull final byte[] inputFingerprint) throws IOException
+	{
+		final ByteBuffer snapshot;
+		try (final FileChannel fileChannel = FileChannel.open(snapshotFilePath, READ))
+		{
+			final long size = fileChannel.size();
+			if (size > Integer.MAX_VALUE)
+			{
+				throw new IOException(format(ENGLISH, "Snapshot '%1$s' is too large to map", snapshotFilePath));
+			}
+			snapshot = fileChannel.map(READ_ONLY, 0L, size);
+		}
+		return new MappedSnapshot(snapshotFilePath, snapshot, inputFingerprint);
+	}
+
+	@NotNull private final Path snapshotFilePath;
+	@NotNull private final ByteBuffer snapshot;
+	private final int numberOfStrings;
+	private final int numberOfRecords;
+	private final int stringOffsetsOffset;
+	private final int recordIndexOffset;
+	@NotNull private final String[] strings;
+	@NotNull private final ObjectStreamClass[] classDescriptors;
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	private MappedSnapshot(@NotNull final Path snapshotFilePath, @NotNull final ByteBuffer snapshot, @NotNull final byte[] inputFingerprint) throws IOException
+	{
+		this.snapshotFilePath = snapshotFilePath;
+		this.snapshot = snapshot;
+
+		if (snapshot.capacity() < HeaderSize + ChecksumSize)
+		{
+			throw newCorrupt("it is shorter than its header");
+		}
+		final int magic = snapshot.getInt(0);
+		if (magic != Magic)
+		{
+			throw newCorrupt("it is not a snapshot");
+		}
+		final int formatVersion = snapshot.getInt(4);
+		if (formatVersion != FormatVersion)
+		{
+			throw new IOException(format(ENGLISH, "Snapshot '%1$s' has format version %2$s but only %3$s is supported", snapshotFilePath, formatVersion, FormatVersion));
+		}
+		final int parserVersion = snapshot.getInt(8);
+		if (parserVersion != SnapshotParserVersion)
+		{
+			throw new IOException(format(ENGLISH, "Snapshot '%1$s' was written by parser version %2$s but this is parser version %3$s", snapshotFilePath, parserVersion, SnapshotParserVersion));
+		}
+		checkInputFingerprint(inputFingerprint);
+		checkChecksum();
+
+		numberOfStrings = snapshot.getInt(12);
+		final int numberOfClasses = snapshot.getInt(16);
+		numberOfRecords = snapshot.getInt(20);
+		if (numberOfStrings < 0 || numberOfClasses < 0 || numberOfRecords < 0)
+		{
+			throw newCorrupt("its header is invalid");
+		}
+
+		stringOffsetsOffset = HeaderSize;
+		final long classTableOffset = stringOffsetsOffset + (numberOfStrings + 1L) * 4L;
+		final long recordIndexEnd = classTableOffset + (long) numberOfClasses * ClassTableEntrySize + (long) numberOfRecords * RecordIndexEntrySize;
+		if (recordIndexEnd > snapshot.capacity() - ChecksumSize)
+		{
+			throw newCorrupt("it is truncated");
+		}
+		recordIndexOffset = (int) classTableOffset + numberOfClasses * ClassTableEntrySize;
+
+		strings = new String[numberOfStrings];
+		classDescriptors = new ObjectStreamClass[numberOfClasses];
+		for (int index = 0; index < numberOfClasses; index++)
+		{
+			final int offset = (int) classTableOffset + index * ClassTableEntrySize;
+			classDescriptors[index] = localClassDescriptor(snapshot.getInt(offset), snapshot.getLong(offset + 4));
+		}
+	}
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	private void checkInputFingerprint(@NotNull final byte[] inputFingerprint) throws IOException
+	{
+		for (int index = 0; index < InputFingerprintSize; index++)
+		{
+			if (snapshot.get(InputFingerprintOffset + index) != inputFingerprint[index])
+			{
+				throw new IOException(format(ENGLISH, "Snapshot '%1$s' was written from different input files, or from the same ones before they changed", snapshotFilePath));
+			}
+		}
+	}
+
+	// Reads all of the mapping, but is far cheaper than deserializing it, and means a damaged snapshot is rejected when opened rather than when a record is first used
+	private void checkChecksum() throws IOException
+	{
+		final int checksumOffset = snapshot.capacity() - ChecksumSize;
+		final ByteBuffer checksummed = snapshot.duplicate();
+		checksummed.position(0);
+		checksummed.limit(checksumOffset);
+		final CRC32 checksum = new CRC32();
+		checksum.update(checksummed);
+		if ((int) checksum.getValue() != snapshot.getInt(checksumOffset))
+		{
+			throw newCorrupt("its checksum does not match");
+		}
+	}
+
+	@NotNull
+	private ObjectStreamClass localClassDescriptor(final int nameIndex, final long fingerprint) throws IOException
+	{
+		final String className = string(nameIndex);
+		final Class<?> localClass;
+		try
+		{
+			localClass = Class.forName(className, false, MappedSnapshot.class.getClassLoader());
+		}
+		catch (final ClassNotFoundException e)
+		{
+			throw (IOException) new InvalidClassException(className, format(ENGLISH, "is in snapshot '%1$s' but not present locally", snapshotFilePath)).initCause(e);
+		}
+
+		@Nullable final ObjectStreamClass classDescriptor = ObjectStreamClass.lookup(localClass);
+		if (classDescriptor == null)
+		{
+			throw new InvalidClassException(className, "is not serializable");
+		}
+		if (fingerprint(classDescriptor) != fingerprint)
+		{
+			throw new InvalidClassException(className, format(ENGLISH, "has different serializable fields in snapshot '%1$s' to those it has locally", snapshotFilePath));
+		}
+		return classDescriptor;
+	}
+
+	@NotNull
+	Map<KnownReferenceTypeName, TypeInformationTriplet> records() throws IOException
+	{
+		final Map<KnownReferenceTypeName, TypeInformationTriplet> records = new HashMap<>(numberOfRecords * 4 / 3 + 1);
+		for (final TypeInformationTriplet typeInformationTriplet : typeInformationTriplets())
+		{
+			records.put(typeInformationTriplet.thisClassTypeName(), typeInformationTriplet);
+		}
+		return records;
+	}
+
+	@NotNull
+	List<TypeInformationTriplet> typeInformationTriplets() throws IOException
+	{
+		final List<TypeInformationTriplet> typeInformationTriplets = new ArrayList<>(numberOfRecords);
+		final Map<String, Path> relativeRootFolderPaths = new HashMap<>(16);
+		for (int index = 0; index < numberOfRecords; index++)
+		{
+			final int offset = recordIndexOffset + index * RecordIndexEntrySize;
+			final KnownReferenceTypeName thisClassTypeName = knownReferenceTypeName(string(snapshot.getInt(offset)));
+			final int superClassTypeNameIndex = snapshot.getInt(offset + 4);
+			@Nullable final KnownReferenceTypeName superClassTypeName = superClassTypeNameIndex == NoString ? null : knownReferenceTypeName(string(superClassTypeNameIndex));
+			final String relativeFilePath = string(snapshot.getInt(offset + 8));
+			final Path relativeRootFolderPath = relativeRootFolderPaths.computeIfAbsent(string(snapshot.getInt(offset + 12)), path -> get(path));
+			final int payloadOffset = snapshot.getInt(offset + 16);
+			final int payloadLength = snapshot.getInt(offset + 20);
+			if (payloadOffset < 0 || payloadLength < 0 || (long) payloadOffset + payloadLength > snapshot.capacity() - ChecksumSize)
+			{
+				throw newCorrupt(format(ENGLISH, "the payload of record %1$s is out of bounds", index));
+			}
+
+			final LazyTypeInformation typeInformation = new LazyTypeInformation(this, thisClassTypeName, superClassTypeName, payloadOffset, payloadLength);
+			typeInformationTriplets.add(new TypeInformationTriplet(typeInformation, relativeFilePath, relativeRootFolderPath));
+		}
+		return typeInformationTriplets;
+	}
+
+	@NotNull
+	ConcreteTypeInformation typeInformation(final int payloadOffset, final int payloadLength) throws IOException, ClassNotFoundException
+	{
+		final ByteBuffer payload = snapshot.duplicate();
+		payload.position(payloadOffset);
+		payload.limit(payloadOffset + payloadLength);
+		try (final ObjectInputStream objectInputStream = new SnapshotObjectInputStream(new ByteBufferInputStream(payload), this))
+		{
+			final Object typeInformation = objectInputStream.readObject();
+			if (typeInformation instanceof ConcreteTypeInformation)
+			{
+				return (ConcreteTypeInformation) typeInformation;
+			}
+			throw newCorrupt(format(ENGLISH, "the payload at %1$s is not type information", payloadOffset));
+		}
+	}
+
+	// Strings are decoded on first use; racing threads decode equal, immutable values, so no lock is needed
+	@NotNull
+	String string(final int index) throws IOException
+	{
+		if (index < 0 || index >= numberOfStrings)
+		{
+			throw newCorrupt(format(ENGLISH, "string index %1$s is out of bounds", index));
+		}
+
+		@Nullable final String cached = strings[index];
+		if (cached != null)
+		{
+			return cached;
+		}
+
+		final int offset = snapshot.getInt(stringOffsetsOffset + index * 4);
+		final int end = snapshot.getInt(stringOffsetsOffset + (index + 1) * 4);
+		if (offset < 0 || end < offset || end > snapshot.capacity() - ChecksumSize)
+		{
+			throw newCorrupt(format(ENGLISH, "string %1$s is out of bounds", index));
+		}
+		final byte[] bytes = new byte[end - offset];
+		final ByteBuffer string = snapshot.duplicate();
+		string.position(offset);
+		string.get(bytes);
+
+		final String value = new String(bytes, UTF_8);
+		strings[index] = value;
+		return value;
+	}
+
+	@NotNull
+	ObjectStreamClass classDescriptor(final int classIndex) throws IOException
+	{
+		if (classIndex < 0 || classIndex >= classDescriptors.length)
+		{
+			throw newCorrupt(format(ENGLISH, "class index %1$s is out of bounds", classIndex));
+		}
+		return classDescriptors[classIndex];
+	}
+
+	@NotNull
+	private IOException newCorrupt(@NotNull final String because)
+	{
+		return new StreamCorruptedException(format(ENGLISH, "Snapshot '%1$s' is corrupt because %2$s", snapshotFilePath, because));
+	}
+}
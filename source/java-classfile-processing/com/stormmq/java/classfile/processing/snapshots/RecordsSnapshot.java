@@ -0,0 +1,202 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import com.stormmq.java.classfile.processing.ConcreteRecords;
+import com.stormmq.java.classfile.processing.Records;
+import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static com.stormmq.java.classfile.processing.snapshots.InputFingerprint.InputFingerprintSize;
+import static com.stormmq.java.classfile.processing.snapshots.InputFingerprint.NoInputFingerprint;
+import static com.stormmq.java.classfile.processing.snapshots.MappedSnapshot.mapSnapshot;
+import static com.stormmq.java.classfile.processing.snapshots.SnapshotFormat.*;
+import static com.stormmq.java.classfile.processing.snapshots.SnapshotObjectOutputStream.stringIndex;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.*;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Locale.ENGLISH;
+
+// Type names, descriptors, paths and class names are shared by all records in a string table, so each is stored once however often it is referenced
+public final class RecordsSnapshot
+{
+	@NotNull private static final String TemporaryFileSuffix = ".tmp";
+	private static final int InitialPayloadsSize = 1024 * 1024;
+
+	// Only the index is read; each type's information is deserialized from the mapping when first used
+	// A snapshot that is corrupt, truncated, written from other inputs (see InputFingerprint) or by other versions of the domain classes is an IOException here rather than a failure on first use
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	@NotNull
+	public static Records readRecordsSnapshot(@NotNull final Path snapshotFilePath, @NotNull final byte[] inputFingerprint) throws IOException
+	{
+		return new ConcreteRecords(mapSnapshot(snapshotFilePath, inputFingerprint).records());
+	}
+
+	// For a snapshot whose file name identifies its input, such as a content hash; in the order written, including any with the same type name
+	@NotNull
+	public static List<TypeInformationTriplet> readTypeInformationTriplets(@NotNull final Path snapshotFilePath) throws IOException
+	{
+		return mapSnapshot(snapshotFilePath, NoInputFingerprint).typeInformationTriplets();
+	}
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	public static void writeRecordsSnapshot(@NotNull final Records records, @NotNull final byte[] inputFingerprint, @NotNull final Path snapshotFilePath) throws IOException
+	{
+		final List<TypeInformationTriplet> typeInformationTriplets = new ArrayList<>(4096);
+		records.iterate((typeInformationTriplet, usefulRecords) -> typeInformationTriplets.add(typeInformationTriplet), usefulRecords -> usefulRecords);
+		writeRecordsSnapshot(typeInformationTriplets, inputFingerprint, snapshotFilePath);
+	}
+
+	public static void writeTypeInformationTriplets(@NotNull final Collection<TypeInformationTriplet> typeInformationTriplets, @NotNull final Path snapshotFilePath) throws IOException
+	{
+		writeRecordsSnapshot(typeInformationTriplets, NoInputFingerprint, snapshotFilePath);
+	}
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	private static void writeRecordsSnapshot(@NotNull final Collection<TypeInformationTriplet> typeInformationTriplets, @NotNull final byte[] inputFingerprint, @NotNull final Path snapshotFilePath) throws IOException
+	{
+		if (inputFingerprint.length != InputFingerprintSize)
+		{
+			throw new IllegalArgumentException(format(ENGLISH, "An input fingerprint must be %1$s bytes long", InputFingerprintSize));
+		}
+
+		final int numberOfRecords = typeInformationTriplets.size();
+		final Map<String, Integer> stringTable = new LinkedHashMap<>(numberOfRecords * 8);
+		final Map<ObjectStreamClass, Integer> classTable = new LinkedHashMap<>(256);
+		final int[] recordIndex = new int[numberOfRecords * RecordIndexEntrySize / 4];
+		final ByteArrayOutputStream payloads = new ByteArrayOutputStream(InitialPayloadsSize);
+		int recordIndexIndex = 0;
+		for (final TypeInformationTriplet typeInformationTriplet : typeInformationTriplets)
+		{
+			@Nullable final KnownReferenceTypeName superClassTypeName = typeInformationTriplet.superClassTypeName();
+			recordIndex[recordIndexIndex++] = stringIndex(stringTable, typeInformationTriplet.thisClassTypeName().fullyQualifiedNameUsingDotsAndDollarSigns());
+			recordIndex[recordIndexIndex++] = superClassTypeName == null ? NoString : stringIndex(stringTable, superClassTypeName.fullyQualifiedNameUsingDotsAndDollarSigns());
+			recordIndex[recordIndexIndex++] = stringIndex(stringTable, typeInformationTriplet.relativeFilePath);
+			recordIndex[recordIndexIndex++] = stringIndex(stringTable, typeInformationTriplet.relativeRootFolderPath.toString());
+
+			final int payloadOffset = payloads.size();
+			try (final ObjectOutputStream objectOutputStream = new SnapshotObjectOutputStream(payloads, stringTable, classTable))
+			{
+				objectOutputStream.writeObject(typeInformationTriplet.typeInformation);
+			}
+			recordIndex[recordIndexIndex++] = payloadOffset;
+			recordIndex[recordIndexIndex++] = payloads.size() - payloadOffset;
+		}
+
+		final int numberOfClasses = classTable.size();
+		final int[] classNameIndices = new int[numberOfClasses];
+		final long[] classFingerprints = new long[numberOfClasses];
+		int classIndex = 0;
+		for (final ObjectStreamClass classDescriptor : classTable.keySet())
+		{
+			classNameIndices[classIndex] = stringIndex(stringTable, classDescriptor.getName());
+			classFingerprints[classIndex] = fingerprint(classDescriptor);
+			classIndex++;
+		}
+
+		final int numberOfStrings = stringTable.size();
+		final byte[][] strings = new byte[numberOfStrings][];
+		long stringsSize = 0L;
+		int stringsIndex = 0;
+		for (final String string : stringTable.keySet())
+		{
+			final byte[] bytes = string.getBytes(UTF_8);
+			strings[stringsIndex++] = bytes;
+			stringsSize += bytes.length;
+		}
+
+		final long stringsOffset = HeaderSize + (numberOfStrings + 1L) * 4L + (long) numberOfClasses * ClassTableEntrySize + (long) numberOfRecords * RecordIndexEntrySize;
+		final long payloadsOffset = stringsOffset + stringsSize;
+		if (payloadsOffset + payloads.size() + ChecksumSize > Integer.MAX_VALUE)
+		{
+			throw new IOException(format(ENGLISH, "Snapshot '%1$s' of %2$s records would be too large to map", snapshotFilePath, numberOfRecords));
+		}
+
+		final Path temporaryFilePath = createTempFile(snapshotFilePath.toAbsolutePath().getParent(), snapshotFilePath.getFileName().toString(), TemporaryFileSuffix);
+		try
+		{
+			final CRC32 checksum = new CRC32();
+			try (final DataOutputStream dataOutputStream = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(newOutputStream(temporaryFilePath)), checksum)))
+			{
+				dataOutputStream.writeInt(Magic);
+				dataOutputStream.writeInt(FormatVersion);
+				dataOutputStream.writeInt(SnapshotParserVersion);
+				dataOutputStream.writeInt(numberOfStrings);
+				dataOutputStream.writeInt(numberOfClasses);
+				dataOutputStream.writeInt(numberOfRecords);
+				dataOutputStream.write(inputFingerprint);
+
+				int stringOffset = (int) stringsOffset;
+				for (final byte[] string : strings)
+				{
+					dataOutputStream.writeInt(stringOffset);
+					stringOffset += string.length;
+				}
+				dataOutputStream.writeInt(stringOffset);
+
+				for (int index = 0; index < numberOfClasses; index++)
+				{
+					dataOutputStream.writeInt(classNameIndices[index]);
+					dataOutputStream.writeLong(classFingerprints[index]);
+				}
+
+				for (int index = 0; index < recordIndex.length; index += RecordIndexEntrySize / 4)
+				{
+					dataOutputStream.writeInt(recordIndex[index]);
+					dataOutputStream.writeInt(recordIndex[index + 1]);
+					dataOutputStream.writeInt(recordIndex[index + 2]);
+					dataOutputStream.writeInt(recordIndex[index + 3]);
+					dataOutputStream.writeInt((int) payloadsOffset + recordIndex[index + 4]);
+					dataOutputStream.writeInt(recordIndex[index + 5]);
+				}
+
+				for (final byte[] string : strings)
+				{
+					dataOutputStream.write(string);
+				}
+
+				payloads.writeTo(dataOutputStream);
+				dataOutputStream.writeInt((int) checksum.getValue());
+			}
+			move(temporaryFilePath, snapshotFilePath, ATOMIC_MOVE, REPLACE_EXISTING);
+		}
+		finally
+		{
+			deleteIfExists(temporaryFilePath);
+		}
+	}
+
+	private RecordsSnapshot()
+	{
+	}
+}
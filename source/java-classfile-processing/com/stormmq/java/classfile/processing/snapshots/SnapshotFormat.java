@@ -0,0 +1,76 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.ParserVersion;
+import static com.stormmq.java.classfile.processing.snapshots.InputFingerprint.InputFingerprintSize;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// Layout (big endian): header (ending with the input fingerprint), string offsets (one extra for the end of the last string), class table, record index entries, UTF-8 string bytes, record payloads, then a CRC-32 of everything before it
+final class SnapshotFormat
+{
+	static final int Magic = 0x4A435253;
+	static final int FormatVersion = 3;
+	static final int SnapshotParserVersion = ParserVersion;
+	static final int InputFingerprintOffset = 6 * 4;
+	static final int HeaderSize = InputFingerprintOffset + InputFingerprintSize;
+	static final int ClassTableEntrySize = 4 + 8;
+	static final int RecordIndexEntrySize = 6 * 4;
+	static final int ChecksumSize = 4;
+	static final int NoString = -1;
+
+	// Every serializable class declares a serialVersionUID, so it does not change when fields do; payloads omit field descriptions, so their shape is what must match
+	static long fingerprint(@NotNull final ObjectStreamClass classDescriptor)
+	{
+		final MessageDigest messageDigest;
+		try
+		{
+			messageDigest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (final NoSuchAlgorithmException e)
+		{
+			// Every Java platform must support SHA-256
+			throw new IllegalStateException(e);
+		}
+
+		messageDigest.update(classDescriptor.getName().getBytes(UTF_8));
+		for (final ObjectStreamField field : classDescriptor.getFields())
+		{
+			final String typeString = field.getTypeString();
+			messageDigest.update((field.getName() + ' ' + field.getTypeCode() + ' ' + (typeString == null ? "" : typeString) + '\n').getBytes(UTF_8));
+		}
+		return ByteBuffer.wrap(messageDigest.digest()).getLong();
+	}
+
+	private SnapshotFormat()
+	{
+	}
+}
@@ -0,0 +1,71 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+
+final class SnapshotObjectInputStream extends ObjectInputStream
+{
+	@NotNull private final MappedSnapshot mappedSnapshot;
+
+	SnapshotObjectInputStream(@NotNull final InputStream inputStream, @NotNull final MappedSnapshot mappedSnapshot) throws IOException
+	{
+		super(inputStream);
+		this.mappedSnapshot = mappedSnapshot;
+		enableResolveObject(true);
+	}
+
+	@Override
+	protected void readStreamHeader()
+	{
+	}
+
+	@NotNull
+	@Override
+	protected ObjectStreamClass readClassDescriptor() throws IOException
+	{
+		return mappedSnapshot.classDescriptor(readInt());
+	}
+
+	// The descriptor has already been resolved against a class; the default implementation would look it up again with a stack walk
+	@NotNull
+	@Override
+	protected Class<?> resolveClass(@NotNull final ObjectStreamClass classDescriptor)
+	{
+		return classDescriptor.forClass();
+	}
+
+	@Nullable
+	@Override
+	protected Object resolveObject(@Nullable final Object object) throws IOException
+	{
+		if (object instanceof SnapshotStringReference)
+		{
+			return mappedSnapshot.string(((SnapshotStringReference) object).index);
+		}
+		return object;
+	}
+}
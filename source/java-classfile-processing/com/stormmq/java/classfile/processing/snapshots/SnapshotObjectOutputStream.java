@@ -0,0 +1,77 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.*;
+
+final class SnapshotObjectOutputStream extends ObjectOutputStream
+{
+	@NotNull private final Map<String, Integer> stringTable;
+	@NotNull private final Map<ObjectStreamClass, Integer> classTable;
+
+	SnapshotObjectOutputStream(@NotNull final OutputStream outputStream, @NotNull final Map<String, Integer> stringTable, @NotNull final Map<ObjectStreamClass, Integer> classTable) throws IOException
+	{
+		super(outputStream);
+		this.stringTable = stringTable;
+		this.classTable = classTable;
+		enableReplaceObject(true);
+	}
+
+	// Each record is read independently of any other, so a header per record would be pure overhead
+	@Override
+	protected void writeStreamHeader()
+	{
+	}
+
+	// Descriptors are shared by all records in the class table, which is checked against the local classes when a snapshot is opened
+	@Override
+	protected void writeClassDescriptor(@NotNull final ObjectStreamClass classDescriptor) throws IOException
+	{
+		writeInt(classTable.computeIfAbsent(classDescriptor, key -> classTable.size()));
+	}
+
+	@Nullable
+	@Override
+	protected Object replaceObject(@Nullable final Object object)
+	{
+		if (object instanceof String)
+		{
+			return new SnapshotStringReference(stringIndex((String) object));
+		}
+		return object;
+	}
+
+	private int stringIndex(@NotNull final String value)
+	{
+		return stringIndex(stringTable, value);
+	}
+
+	static int stringIndex(@NotNull final Map<String, Integer> stringTable, @NotNull final String value)
+	{
+		return stringTable.computeIfAbsent(value, key -> stringTable.size());
+	}
+}
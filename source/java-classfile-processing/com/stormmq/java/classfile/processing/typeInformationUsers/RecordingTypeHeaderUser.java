@@ -0,0 +1,52 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.typeInformationUsers;
+
+import com.stormmq.java.classfile.domain.information.TypeHeader;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentMap;
+
+public final class RecordingTypeHeaderUser implements TypeHeaderUser
+{
+	@NotNull private final ConcurrentMap<KnownReferenceTypeName, TypeHeader> records;
+	@NotNull private final ProcessLog processLog;
+
+	public RecordingTypeHeaderUser(@NotNull final ConcurrentMap<KnownReferenceTypeName, TypeHeader> records, @NotNull final ProcessLog processLog)
+	{
+		this.records = records;
+		this.processLog = processLog;
+	}
+
+	@Override
+	public void use(@NotNull final TypeHeader typeHeader, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath)
+	{
+		if (records.put(typeHeader.thisClassTypeName, typeHeader) != null)
+		{
+			processLog.duplicateTypeHeaderWarning(typeHeader.thisClassTypeName, relativeFilePath, relativeRootFolderPath);
+		}
+	}
+}
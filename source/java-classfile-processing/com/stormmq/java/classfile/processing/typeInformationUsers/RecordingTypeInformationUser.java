@@ -22,7 +22,7 @@
 
 package com.stormmq.java.classfile.processing.typeInformationUsers;
 
-import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.domain.information.TypeInformation;
 import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
 import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
 import org.jetbrains.annotations.NotNull;
@@ -44,11 +44,11 @@ public final class RecordingTypeInformationUser implements TypeInformationUser
 	}
 
 	@Override
-	public void use(@NotNull final ConcreteTypeInformation typeInformation, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath)
+	public void use(@NotNull final TypeInformation typeInformation, @NotNull final String relativeFilePath, @NotNull final Path relativeRootFolderPath)
 	{
 		final TypeInformationTriplet typeInformationTriplet = new TypeInformationTriplet(typeInformation, relativeFilePath, relativeRootFolderPath);
 
-		records.compute(typeInformation.thisClassTypeName, new BiFunction<KnownReferenceTypeName, TypeInformationTriplet, TypeInformationTriplet>()
+		records.compute(typeInformation.thisClassTypeName(), new BiFunction<KnownReferenceTypeName, TypeInformationTriplet, TypeInformationTriplet>()
 		{
 			@Override
 			public TypeInformationTriplet apply(final KnownReferenceTypeName knownReferenceTypeName, @Nullable final TypeInformationTriplet value)
@@ -34,7 +34,7 @@ import java.util.function.Consumer;
 
 public final class TypeInformationTriplet extends AbstractToString implements TypeInformation
 {
-	@NotNull private final TypeInformation typeInformation;
+	@NotNull public final TypeInformation typeInformation;
 	@NotNull public final String relativeFilePath;
 	@NotNull public final Path relativeRootFolderPath;
 
@@ -0,0 +1,239 @@
+package com.stormmq.java.parsing.fileParsers.caches;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.stormmq.java.parsing.fileParsers.caches.RetainedSizeWeigher.RetainedSizeEstimate;
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.String.format;
+import static java.util.Locale.ENGLISH;
+
+// Thread safe. Entries are spread between segments to reduce contention, but share one maximum weight, so any entry up to that weight may be cached
+// Each segment evicts its least recently used entries first; others are evicted from once the segment inserted into has nothing else to evict
+public final class BoundedCache<V> implements Cache<V>
+{
+	@NotNull
+	public static CacheMaker boundedCacheMaker(final long maximumWeight)
+	{
+		return boundedCacheMaker(maximumWeight, RetainedSizeEstimate);
+	}
+
+	@NotNull
+	public static CacheMaker boundedCacheMaker(final long maximumWeight, @NotNull final Weigher<Object> weigher)
+	{
+		return new CacheMaker()
+		{
+			@NotNull
+			@Override
+			public <V2> Cache<V2> makeCache()
+			{
+				return new BoundedCache<V2>(maximumWeight, weigher::weigh);
+			}
+		};
+	}
+
+	private static final int DefaultNumberOfSegments = 16;
+	private static final long EntryOverhead = 64L;
+	private static final long KeyOverhead = 40L;
+
+	private final long maximumWeight;
+	@NotNull private final Weigher<? super V> weigher;
+	@NotNull private final List<Segment<V>> segments;
+	private final int segmentMask;
+	@NotNull private final AtomicLong weight;
+	@NotNull private final LongAdder hitCount;
+	@NotNull private final LongAdder missCount;
+	@NotNull private final LongAdder evictionCount;
+
+	public BoundedCache(final long maximumWeight)
+	{
+		this(maximumWeight, RetainedSizeEstimate);
+	}
+
+	public BoundedCache(final long maximumWeight, @NotNull final Weigher<? super V> weigher)
+	{
+		this(maximumWeight, weigher, DefaultNumberOfSegments);
+	}
+
+	public BoundedCache(final long maximumWeight, @NotNull final Weigher<? super V> weigher, final int numberOfSegments)
+	{
+		if (maximumWeight <= 0L)
+		{
+			throw new IllegalArgumentException(format(ENGLISH, "maximumWeight must be positive (not '%1$s')", maximumWeight));
+		}
+		if (numberOfSegments <= 0 || numberOfSegments > 1 << 16)
+		{
+			throw new IllegalArgumentException(format(ENGLISH, "numberOfSegments must be between 1 and 65536 (not '%1$s')", numberOfSegments));
+		}
+
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		final int powerOfTwoNumberOfSegments = numberOfSegments == 1 ? 1 : 1 << (32 - numberOfLeadingZeros(numberOfSegments - 1));
+		weight = new AtomicLong(0L);
+		segments = new ArrayList<>(powerOfTwoNumberOfSegments);
+		for (int index = 0; index < powerOfTwoNumberOfSegments; index++)
+		{
+			segments.add(new Segment<>(weight));
+		}
+		segmentMask = powerOfTwoNumberOfSegments - 1;
+		hitCount = new LongAdder();
+		missCount = new LongAdder();
+		evictionCount = new LongAdder();
+	}
+
+	// Replaces any extant value. A value heavier than the whole cache is not cached
+	@Override
+	public void cache(@NotNull final String filePathName, @NotNull final V parsedForm)
+	{
+		final long valueWeight = EntryOverhead + KeyOverhead + 2L * filePathName.length() + weigher.weigh(parsedForm);
+		final int segmentIndex = segmentIndex(filePathName);
+		final Segment<V> segment = segments.get(segmentIndex);
+		if (valueWeight > maximumWeight)
+		{
+			segment.remove(filePathName);
+			return;
+		}
+
+		segment.put(filePathName, parsedForm, valueWeight);
+		evictUntilNoHeavierThanMaximumWeight(segmentIndex, filePathName);
+	}
+
+	// Segments are locked one at a time, so concurrent puts cannot deadlock, and may briefly exceed the maximum weight between them
+	private void evictUntilNoHeavierThanMaximumWeight(final int segmentIndex, @NotNull final String justCachedFilePathName)
+	{
+		final int numberOfSegments = segments.size();
+		int index = segmentIndex;
+		int segmentsWithNothingToEvict = 0;
+		while (weight.get() > maximumWeight && segmentsWithNothingToEvict < numberOfSegments)
+		{
+			if (segments.get(index).evictLeastRecentlyUsed(justCachedFilePathName))
+			{
+				evictionCount.increment();
+				segmentsWithNothingToEvict = 0;
+			}
+			else
+			{
+				segmentsWithNothingToEvict++;
+				index = (index + 1) & segmentMask;
+			}
+		}
+	}
+
+	@Override
+	@Nullable
+	public V retrieve(@NotNull final String filePathName)
+	{
+		@Nullable final V parsedForm = segments.get(segmentIndex(filePathName)).get(filePathName);
+		if (parsedForm == null)
+		{
+			missCount.increment();
+		}
+		else
+		{
+			hitCount.increment();
+		}
+		return parsedForm;
+	}
+
+	public long hitCount()
+	{
+		return hitCount.sum();
+	}
+
+	public long missCount()
+	{
+		return missCount.sum();
+	}
+
+	public long evictionCount()
+	{
+		return evictionCount.sum();
+	}
+
+	public long weight()
+	{
+		return weight.get();
+	}
+
+	@Override
+	@NotNull
+	public String toString()
+	{
+		return format(ENGLISH, "%1$s(hits %2$s, misses %3$s, evictions %4$s, weight %5$s)", getClass().getSimpleName(), hitCount(), missCount(), evictionCount(), weight());
+	}
+
+	private int segmentIndex(@NotNull final String filePathName)
+	{
+		final int hashCode = filePathName.hashCode();
+		return (hashCode ^ (hashCode >>> 16)) & segmentMask;
+	}
+
+	private static final class Segment<V>
+	{
+		@NotNull private final AtomicLong weight;
+		@NotNull private final LinkedHashMap<String, WeightedValue<V>> leastRecentlyUsedFirst;
+
+		private Segment(@NotNull final AtomicLong weight)
+		{
+			this.weight = weight;
+			leastRecentlyUsedFirst = new LinkedHashMap<>(16, 0.75f, true);
+		}
+
+		@Nullable
+		private synchronized V get(@NotNull final String filePathName)
+		{
+			@Nullable final WeightedValue<V> weightedValue = leastRecentlyUsedFirst.get(filePathName);
+			return weightedValue == null ? null : weightedValue.value;
+		}
+
+		private synchronized void put(@NotNull final String filePathName, @NotNull final V parsedForm, final long valueWeight)
+		{
+			@Nullable final WeightedValue<V> extant = leastRecentlyUsedFirst.put(filePathName, new WeightedValue<>(parsedForm, valueWeight));
+			weight.addAndGet(extant == null ? valueWeight : valueWeight - extant.weight);
+		}
+
+		private synchronized void remove(@NotNull final String filePathName)
+		{
+			@Nullable final WeightedValue<V> extant = leastRecentlyUsedFirst.remove(filePathName);
+			if (extant != null)
+			{
+				weight.addAndGet(-extant.weight);
+			}
+		}
+
+		// The entry just cached is kept, even if it is the least recently used left
+		private synchronized boolean evictLeastRecentlyUsed(@NotNull final String justCachedFilePathName)
+		{
+			final Iterator<Entry<String, WeightedValue<V>>> iterator = leastRecentlyUsedFirst.entrySet().iterator();
+			if (!iterator.hasNext())
+			{
+				return false;
+			}
+			final Entry<String, WeightedValue<V>> eldest = iterator.next();
+			if (eldest.getKey().equals(justCachedFilePathName))
+			{
+				return false;
+			}
+			iterator.remove();
+			weight.addAndGet(-eldest.getValue().weight);
+			return true;
+		}
+	}
+
+	private static final class WeightedValue<V>
+	{
+		@NotNull private final V value;
+		private final long weight;
+
+		private WeightedValue(@NotNull final V value, final long weight)
+		{
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+}
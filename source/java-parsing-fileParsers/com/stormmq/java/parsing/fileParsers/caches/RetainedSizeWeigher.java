@@ -0,0 +1,228 @@
+package com.stormmq.java.parsing.fileParsers.caches;
+
+import com.stormmq.java.parsing.utilities.names.InternedSymbol;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static java.lang.reflect.Array.getLength;
+import static java.lang.reflect.Modifier.isStatic;
+
+// Estimates the bytes retained by a parsed form by walking its object graph, assuming a 64-bit JVM with compressed references
+// Objects shared with other parsed forms are counted in each, except interned symbols, classes and enum constants, which belong to the process rather than any one parsed form and so weigh nothing
+// Strings, boxed primitives and ByteBuffers are weighed without reflection, as java.lang and java.nio do not open their fields on Java 9 and later; a String is assumed to hold 2 bytes a character, and a heap ByteBuffer its capacity, as a slice retains only its share of a backing array shared with others
+// Other objects whose fields cannot be read are counted as leaves
+public final class RetainedSizeWeigher implements Weigher<Object>
+{
+	@NotNull public static final Weigher<Object> RetainedSizeEstimate = new RetainedSizeWeigher();
+
+	private static final long ObjectHeaderSize = 12L;
+	private static final long ArrayHeaderSize = 16L;
+	private static final long ReferenceSize = 4L;
+	private static final long StringSize = 24L;
+	private static final long ByteBufferSize = 48L;
+	private static final long NotALeaf = -1L;
+	static final int MaximumObjectsWalked = 10_000;
+
+	@NotNull private static final ClassValue<Layout> Layouts = new ClassValue<Layout>()
+	{
+		@Override
+		@NotNull
+		protected Layout computeValue(@NotNull final Class<?> type)
+		{
+			return layout(type);
+		}
+	};
+
+	private RetainedSizeWeigher()
+	{
+	}
+
+	@Override
+	public long weigh(@NotNull final Object parsedForm)
+	{
+		final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>(64));
+		final Deque<Object> pending = new ArrayDeque<>(64);
+		pending.push(parsedForm);
+		long weight = 0L;
+		while (!pending.isEmpty())
+		{
+			final int walked = visited.size();
+			if (walked == MaximumObjectsWalked)
+			{
+				// Rather than walk on, the objects still pending are assumed to weigh as much, on average, as those walked
+				return weight + pending.size() * (weight / walked);
+			}
+
+			final Object object = pending.pop();
+			if (!visited.add(object))
+			{
+				continue;
+			}
+
+			final long leafSize = leafSize(object);
+			if (leafSize != NotALeaf)
+			{
+				weight += leafSize;
+				continue;
+			}
+
+			final Class<?> type = object.getClass();
+			if (type.isArray())
+			{
+				weight += arraySize(object, type.getComponentType(), pending);
+				continue;
+			}
+
+			final Layout layout = Layouts.get(type);
+			weight += layout.shallowSize;
+			for (final Field referenceField : layout.referenceFields)
+			{
+				@Nullable final Object referent = read(referenceField, object);
+				if (referent != null && !isLeaf(referent))
+				{
+					pending.push(referent);
+				}
+			}
+		}
+		return weight;
+	}
+
+	private static long arraySize(@NotNull final Object array, @NotNull final Class<?> componentType, @NotNull final Deque<Object> pending)
+	{
+		if (componentType.isPrimitive())
+		{
+			final int length = getLength(array);
+			return align(ArrayHeaderSize + length * primitiveSize(componentType));
+		}
+
+		final Object[] elements = (Object[]) array;
+		for (final Object element : elements)
+		{
+			if (element != null && !isLeaf(element))
+			{
+				pending.push(element);
+			}
+		}
+		return align(ArrayHeaderSize + elements.length * ReferenceSize);
+	}
+
+	private static long leafSize(@NotNull final Object object)
+	{
+		if (object instanceof String)
+		{
+			return StringSize + align(ArrayHeaderSize + 2L * ((String) object).length());
+		}
+		if (object instanceof Long || object instanceof Double)
+		{
+			return align(ObjectHeaderSize + 8L);
+		}
+		if (object instanceof Integer || object instanceof Float || object instanceof Short || object instanceof Character || object instanceof Byte || object instanceof Boolean)
+		{
+			return align(ObjectHeaderSize + 4L);
+		}
+		if (object instanceof ByteBuffer)
+		{
+			final ByteBuffer byteBuffer = (ByteBuffer) object;
+			return byteBuffer.hasArray() ? ByteBufferSize + byteBuffer.capacity() : ByteBufferSize;
+		}
+		return NotALeaf;
+	}
+
+	private static boolean isLeaf(@NotNull final Object object)
+	{
+		return object instanceof InternedSymbol || object instanceof Class || object instanceof Enum;
+	}
+
+	@Nullable
+	private static Object read(@NotNull final Field field, @NotNull final Object object)
+	{
+		try
+		{
+			return field.get(object);
+		}
+		catch (final IllegalAccessException ignored)
+		{
+			return null;
+		}
+	}
+
+	@NotNull
+	private static Layout layout(@NotNull final Class<?> type)
+	{
+		long fieldsSize = 0L;
+		final List<Field> referenceFields = new ArrayList<>(8);
+		boolean fieldsAreReadable = true;
+		for (Class<?> current = type; current != null; current = current.getSuperclass())
+		{
+			for (final Field field : current.getDeclaredFields())
+			{
+				if (isStatic(field.getModifiers()))
+				{
+					continue;
+				}
+
+				final Class<?> fieldType = field.getType();
+				if (fieldType.isPrimitive())
+				{
+					fieldsSize += primitiveSize(fieldType);
+					continue;
+				}
+
+				fieldsSize += ReferenceSize;
+				if (fieldsAreReadable)
+				{
+					try
+					{
+						field.setAccessible(true);
+						referenceFields.add(field);
+					}
+					catch (final RuntimeException ignored)
+					{
+						// eg a module that does not open its package
+						fieldsAreReadable = false;
+					}
+				}
+			}
+		}
+		return new Layout(align(ObjectHeaderSize + fieldsSize), fieldsAreReadable ? referenceFields.toArray(new Field[referenceFields.size()]) : new Field[0]);
+	}
+
+	private static long primitiveSize(@NotNull final Class<?> primitiveType)
+	{
+		if (primitiveType == long.class || primitiveType == double.class)
+		{
+			return 8L;
+		}
+		if (primitiveType == int.class || primitiveType == float.class)
+		{
+			return 4L;
+		}
+		if (primitiveType == short.class || primitiveType == char.class)
+		{
+			return 2L;
+		}
+		return 1L;
+	}
+
+	private static long align(final long size)
+	{
+		return (size + 7L) & ~7L;
+	}
+
+	private static final class Layout
+	{
+		private final long shallowSize;
+		@NotNull private final Field[] referenceFields;
+
+		@SuppressWarnings("MethodCanBeVariableArityMethod")
+		private Layout(final long shallowSize, @NotNull final Field[] referenceFields)
+		{
+			this.shallowSize = shallowSize;
+			this.referenceFields = referenceFields;
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package com.stormmq.java.parsing.fileParsers.caches;
+
+import org.jetbrains.annotations.NotNull;
+
+@FunctionalInterface
+public interface Weigher<V>
+{
+	// Approximate bytes retained by parsedForm alone; BoundedCache adds the cost of the key and its own entry
+	long weigh(@NotNull final V parsedForm);
+}
@@ -37,6 +37,8 @@ import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNa
 
 public final class PackageName extends AbstractParentName
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final BiConsumer<PackageName, Consumer<String>> NamespaceSplitter = AbstractParentName.namespaceSplitter();
 	@NotNull public static final BiFunction<PackageName, String, String> NamespaceWithSimpleTypeNameJoiner = (packageName, simpleTypeName) -> packageName.fullyQualifiedNameUsingDotsAndDollarSigns + '.' + simpleTypeName;
 
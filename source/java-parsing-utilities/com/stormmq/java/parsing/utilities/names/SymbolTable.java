@@ -0,0 +1,102 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.parsing.utilities.names;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Interns symbols (eg names and descriptors) so there is one canonical instance per key for the life of the process, which can then be compared by identity
+// Identifiers are dense, in order of first interning, so can index an array sized by size(); only a key for which no symbol could be made leaves a gap
+// Unbounded, as evicting a symbol would let a second instance be made for its key, breaking comparison by identity and reissuing identifiers
+// Symbols should therefore implement InternedSymbol and equals() by identity; a serializable symbol must also intern itself again in readResolve(), as identifiers are of this process only and a deserialized copy would otherwise be a second instance
+public final class SymbolTable<K, S>
+{
+	@NotNull private final ConcurrentMap<K, S> symbols;
+	@NotNull private final AtomicInteger nextIdentifier;
+	@NotNull private final LongAdder findHitCount;
+	@NotNull private final LongAdder findMissCount;
+
+	public SymbolTable(final int initialCapacity)
+	{
+		symbols = new ConcurrentHashMap<>(initialCapacity);
+		nextIdentifier = new AtomicInteger(0);
+		findHitCount = new LongAdder();
+		findMissCount = new LongAdder();
+	}
+
+	@NotNull
+	public S intern(@NotNull final K key, @NotNull final SymbolMaker<K, S> symbolMaker)
+	{
+		// Nearly every lookup is a hit, and on Java 8 computeIfAbsent() locks even for a hit
+		@Nullable final S extant = symbols.get(key);
+		if (extant != null)
+		{
+			return extant;
+		}
+		return symbols.computeIfAbsent(key, absentKey -> symbolMaker.make(absentKey, nextIdentifier.getAndIncrement()));
+	}
+
+	// For a symbol which is costly to make (eg one which must first be parsed from its key), so that a known key is not made again
+	@Nullable
+	public S find(@NotNull final K key)
+	{
+		@Nullable final S extant = symbols.get(key);
+		if (extant == null)
+		{
+			findMissCount.increment();
+		}
+		else
+		{
+			findHitCount.increment();
+		}
+		return extant;
+	}
+
+	public int size()
+	{
+		return nextIdentifier.get();
+	}
+
+	public long findHitCount()
+	{
+		return findHitCount.sum();
+	}
+
+	public long findMissCount()
+	{
+		return findMissCount.sum();
+	}
+
+	// Cumulative for the life of the process
+	public double findHitRate()
+	{
+		final long findHitCount = findHitCount();
+		final long total = findHitCount + findMissCount();
+		return total == 0L ? 0d : (double) findHitCount / total;
+	}
+}
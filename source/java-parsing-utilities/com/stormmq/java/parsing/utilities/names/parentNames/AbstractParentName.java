@@ -29,6 +29,7 @@ import com.stormmq.string.StringUtilities;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -37,8 +38,10 @@ import static com.stormmq.string.StringConstants.ExternalTypeNameSeparator;
 import static com.stormmq.string.StringConstants.InternalTypeNameSeparatorString;
 import static com.stormmq.java.parsing.utilities.names.PackageName.packageName;
 
-public abstract class AbstractParentName extends AbstractToString implements ParentName
+public abstract class AbstractParentName extends AbstractToString implements ParentName, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull
 	protected static <P extends AbstractParentName> BiConsumer<P, Consumer<String>> namespaceSplitter()
 	{
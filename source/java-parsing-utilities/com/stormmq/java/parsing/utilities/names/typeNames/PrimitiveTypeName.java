@@ -26,14 +26,21 @@ import com.stormmq.string.StringConstants;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
 import java.util.function.Function;
 
 import static com.stormmq.java.parsing.utilities.names.typeNames.TypeNameCategory.FloatingPoint;
 import static com.stormmq.java.parsing.utilities.names.typeNames.TypeNameCategory.SignedInteger;
 import static com.stormmq.java.parsing.utilities.names.typeNames.TypeNameCategory.UnsignedInteger;
+import static java.lang.String.format;
+import static java.util.Locale.ENGLISH;
 
-public final class PrimitiveTypeName implements TypeName
+public final class PrimitiveTypeName implements TypeName, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final PrimitiveTypeName _boolean = new PrimitiveTypeName(StringConstants._boolean, 1, SignedInteger, TypeNameVisitor::useBoolean);
 	@NotNull public static final PrimitiveTypeName _byte = new PrimitiveTypeName(StringConstants._byte, 8, SignedInteger, TypeNameVisitor::useByte);
 	@NotNull public static final PrimitiveTypeName _short = new PrimitiveTypeName(StringConstants._short, 16, SignedInteger, TypeNameVisitor::useShort);
@@ -46,7 +53,7 @@ public final class PrimitiveTypeName implements TypeName
 	@NotNull private final String name;
 	@SuppressWarnings("FieldNotUsedInToString") private final int sizeInBitsOnASixtyFourBitCpu;
 	@SuppressWarnings("FieldNotUsedInToString") @NotNull private final TypeNameCategory typeNameCategory;
-	@NotNull private final Function<TypeNameVisitor<?>, ?> visitorMethod;
+	@NotNull private final transient Function<TypeNameVisitor<?>, ?> visitorMethod;
 
 	private <T> PrimitiveTypeName(@NotNull @NonNls final String name, final int sizeInBitsOnASixtyFourBitCpu, @NotNull final TypeNameCategory typeNameCategory, @NotNull final Function<TypeNameVisitor<?>, ?> visitorMethod)
 	{
@@ -56,6 +63,20 @@ public final class PrimitiveTypeName implements TypeName
 		this.visitorMethod = visitorMethod;
 	}
 
+	// visitorMethod is not serializable, so deserialization resolves to the canonical instance
+	@NotNull
+	private Object readResolve() throws ObjectStreamException
+	{
+		for (final PrimitiveTypeName primitiveTypeName : new PrimitiveTypeName[]{_boolean, _byte, _short, _char, _int, _long, _float, _double})
+		{
+			if (primitiveTypeName.name.equals(name))
+			{
+				return primitiveTypeName;
+			}
+		}
+		throw new InvalidObjectException(format(ENGLISH, "Unknown primitive type name '%1$s'", name));
+	}
+
 	@Override
 	public int sizeInBitsOnASixtyFourBitCpu()
 	{
@@ -26,10 +26,14 @@ import com.stormmq.string.StringConstants;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Serializable;
+
 import static com.stormmq.java.parsing.utilities.names.typeNames.TypeNameCategory.Void;
 
-public final class VoidTypeName implements TypeName
+public final class VoidTypeName implements TypeName, Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	@NotNull public static final VoidTypeName _void = new VoidTypeName(StringConstants._void, 0);
 
 	@NotNull private final String name;
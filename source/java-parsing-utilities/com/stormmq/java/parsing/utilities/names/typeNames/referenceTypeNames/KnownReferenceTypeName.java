@@ -22,6 +22,8 @@
 
 package com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames;
 
+import com.stormmq.java.parsing.utilities.names.InternedSymbol;
+import com.stormmq.java.parsing.utilities.names.SymbolTable;
 import com.stormmq.java.parsing.utilities.names.parentNames.AbstractParentName;
 import com.stormmq.java.parsing.utilities.names.typeNames.*;
 import org.jetbrains.annotations.*;
@@ -29,17 +31,17 @@ import org.jetbrains.annotations.*;
 import java.io.*;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import static com.stormmq.string.StringConstants.*;
 import static com.stormmq.java.parsing.utilities.names.typeNames.TypeNameCategory.Reference;
 import static com.stormmq.string.Utf8ByteUser.maximumUtf16ToUtf8EncodingSize;
 import static java.util.Collections.singleton;
 
-public final class KnownReferenceTypeName extends AbstractParentName implements ReferenceTypeName
+public final class KnownReferenceTypeName extends AbstractParentName implements ReferenceTypeName, InternedSymbol
 {
-	@NotNull private static final ConcurrentMap<String, KnownReferenceTypeName> cache = new ConcurrentHashMap<>(8192);
+	private static final long serialVersionUID = 1L;
+
+	@NotNull private static final SymbolTable<String, KnownReferenceTypeName> Symbols = new SymbolTable<>(8192);
 
 	@SuppressWarnings("HardcodedFileSeparator") @NotNull private static final String JavaLangObjectInternalName = "java/lang/Object";
 	@SuppressWarnings("HardcodedFileSeparator") @NotNull private static final String JavaLangAnnotationAnnotationInternalName = "java/lang/annotation/Annotation";
@@ -60,7 +62,7 @@ public final class KnownReferenceTypeName extends AbstractParentName implements
 	@NotNull
 	public static KnownReferenceTypeName knownReferenceTypeName(@NonNls @NotNull final String fullyQualifiedNameUsingDotsAndDollarSigns)
 	{
-		return cache.computeIfAbsent(fullyQualifiedNameUsingDotsAndDollarSigns, KnownReferenceTypeName::new);
+		return Symbols.intern(fullyQualifiedNameUsingDotsAndDollarSigns, KnownReferenceTypeName::new);
 	}
 
 	@NotNull
@@ -128,9 +130,42 @@ public final class KnownReferenceTypeName extends AbstractParentName implements
 		return new IllegalStateException(Should_not_be_possible, e);
 	}
 
-	private KnownReferenceTypeName(@NotNull final String fullyQualifiedNameUsingDotsAndDollarSigns)
+	public static int numberOfKnownReferenceTypeNames()
+	{
+		return Symbols.size();
+	}
+
+	private final transient int identifier;
+	private final transient int hashCode;
+
+	private KnownReferenceTypeName(@NotNull final String fullyQualifiedNameUsingDotsAndDollarSigns, final int identifier)
 	{
 		super(fullyQualifiedNameUsingDotsAndDollarSigns, true);
+		this.identifier = identifier;
+		hashCode = fullyQualifiedNameUsingDotsAndDollarSigns.hashCode();
+	}
+
+	@NotNull
+	private Object readResolve()
+	{
+		return knownReferenceTypeName(fullyQualifiedNameUsingDotsAndDollarSigns);
+	}
+
+	@Override
+	public boolean equals(@Nullable final Object o)
+	{
+		return this == o;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return hashCode;
+	}
+
+	public int identifier()
+	{
+		return identifier;
 	}
 
 	@Override
@@ -0,0 +1,132 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.*;
+
+import static com.stormmq.java.classfile.domain.attributes.code.LineNumberTable.EmptyLineNumberTable;
+import static com.stormmq.java.classfile.domain.attributes.code.LineNumberTable.NoLineNumber;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public final class LineNumberTableTest
+{
+	@Test
+	public void entriesAreSortedAndDuplicatesRemoved()
+	{
+		final LineNumberTable lineNumberTable = lineNumberTable(8, 12, 0, 10, 8, 11, 0, 10);
+
+		assertEquals(3, lineNumberTable.size());
+		assertEquals(0, lineNumberTable.programCounter(0));
+		assertEquals(10, lineNumberTable.lineNumber(0));
+		assertEquals(8, lineNumberTable.programCounter(1));
+		assertEquals(11, lineNumberTable.lineNumber(1));
+		assertEquals(8, lineNumberTable.programCounter(2));
+		assertEquals(12, lineNumberTable.lineNumber(2));
+	}
+
+	@Test
+	public void lineNumbersAtAProgramCounterWithoutEntriesAreShared()
+	{
+		final LineNumberTable lineNumberTable = lineNumberTable(0, 10, 8, 11);
+
+		assertTrue(lineNumberTable.lineNumbersAt((char) 4).isEmpty());
+		assertSame(lineNumberTable.lineNumbersAt((char) 4), EmptyLineNumberTable.lineNumbersAt((char) 0));
+	}
+
+	@Test
+	public void lineNumbersAtAProgramCounterAreThoseOfItsEntries()
+	{
+		final LineNumberTable lineNumberTable = lineNumberTable(0, 10, 8, 12, 8, 11, 9, 13);
+
+		assertEquals(Collections.singleton((char) 10), lineNumberTable.lineNumbersAt((char) 0));
+		assertEquals(new HashSet<>(asList((char) 11, (char) 12)), lineNumberTable.lineNumbersAt((char) 8));
+		assertTrue(lineNumberTable.lineNumbersAt((char) 8).contains((char) 12));
+		assertFalse(lineNumberTable.lineNumbersAt((char) 8).contains((char) 13));
+		assertFalse(lineNumberTable.lineNumbersAt((char) 8).contains(12));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void lineNumbersAtAProgramCounterCanNotBeChanged()
+	{
+		lineNumberTable(0, 10).lineNumbersAt((char) 0).add((char) 11);
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void lineNumbersAtAProgramCounterCanNotBeIteratedPastTheirEnd()
+	{
+		final Iterator<Character> iterator = lineNumberTable(0, 10).lineNumbersAt((char) 0).iterator();
+		assertEquals(Character.valueOf((char) 10), iterator.next());
+		iterator.next();
+	}
+
+	@Test
+	public void theLineNumberCoveringAProgramCounterIsThatOfTheNearestEntryAtOrBeforeIt()
+	{
+		final LineNumberTable lineNumberTable = lineNumberTable(4, 10, 8, 12, 8, 11);
+
+		assertEquals(NoLineNumber, lineNumberTable.lineNumberCovering((char) 3));
+		assertEquals(10, lineNumberTable.lineNumberCovering((char) 4));
+		assertEquals(10, lineNumberTable.lineNumberCovering((char) 7));
+		assertEquals(12, lineNumberTable.lineNumberCovering((char) 8));
+		assertEquals(12, lineNumberTable.lineNumberCovering((char) 100));
+	}
+
+	@Test
+	public void indicesBoundTheEntriesOfARangeOfProgramCounters()
+	{
+		final LineNumberTable lineNumberTable = lineNumberTable(0, 10, 4, 11, 4, 12, 8, 13);
+
+		assertEquals(1, lineNumberTable.firstIndexAtOrAfter((char) 1));
+		assertEquals(1, lineNumberTable.firstIndexAtOrAfter((char) 4));
+		assertEquals(3, lineNumberTable.firstIndexAfter((char) 4));
+		assertEquals(4, lineNumberTable.firstIndexAfter((char) 8));
+		assertTrue(lineNumberTable.hasLineNumbersAt((char) 4));
+		assertFalse(lineNumberTable.hasLineNumbersAt((char) 5));
+	}
+
+	@Test
+	public void asMapGroupsLineNumbersByProgramCounter()
+	{
+		final Map<Character, Set<Character>> map = lineNumberTable(0, 10, 4, 11, 4, 12).asMap();
+
+		assertEquals(2, map.size());
+		assertEquals(Collections.singleton((char) 10), map.get((char) 0));
+		assertEquals(new HashSet<>(asList((char) 11, (char) 12)), map.get((char) 4));
+	}
+
+	// Pairs of program counter and line number
+	@NotNull
+	private static LineNumberTable lineNumberTable(@NotNull final int... programCountersAndLineNumbers)
+	{
+		final LineNumberEntry[] lineNumberEntries = new LineNumberEntry[programCountersAndLineNumbers.length / 2];
+		for (int index = 0; index < lineNumberEntries.length; index++)
+		{
+			lineNumberEntries[index] = new LineNumberEntry((char) programCountersAndLineNumbers[index * 2], (char) programCountersAndLineNumbers[index * 2 + 1]);
+		}
+		return new LineNumberTable(lineNumberEntries);
+	}
+}
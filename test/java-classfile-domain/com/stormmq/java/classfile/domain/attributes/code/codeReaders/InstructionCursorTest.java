@@ -0,0 +1,190 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.codeReaders;
+
+import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.NotEnoughBytesInvalidOperandStackException;
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.OpcodeParser.*;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("MagicNumber")
+public final class InstructionCursorTest
+{
+	// iload_1; wide iinc 256 -5; ldc_w #3; goto 0; tableswitch; lookupswitch; return
+	@NotNull private static final int[] Code =
+	{
+		iload_1,
+		wide, iinc, 0x01, 0x00, 0xFF, 0xFB,
+		ldc_w, 0x00, 0x03,
+		_goto, 0xFF, 0xF6,
+		tableswitch, 0, 0, 0, 0, 0, 43, 0, 0, 0, 1, 0, 0, 0, 2, 0, 0, 0, 23, 0, 0, 0, 33,
+		lookupswitch, 0, 0, 0, 0, 0, 0, 20, 0, 0, 0, 1, 0, 0, 0, 7, 0, 0, 0, 12,
+		_return,
+	};
+
+	@Test
+	public void walksEveryInstruction() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		final InstructionCursor instructionCursor = cursor(Code);
+
+		final int[] programCounters = {0, 1, 7, 10, 13, 36, 56};
+		final int[] lengths = {1, 6, 3, 3, 23, 20, 1};
+		final short[] opcodes = {iload_1, iinc, ldc_w, _goto, tableswitch, lookupswitch, _return};
+		for (int index = 0; index < programCounters.length; index++)
+		{
+			assertTrue(instructionCursor.next());
+			assertEquals(programCounters[index], instructionCursor.programCounter());
+			assertEquals(lengths[index], instructionCursor.length());
+			assertEquals(opcodes[index], instructionCursor.opcode());
+		}
+		assertFalse(instructionCursor.next());
+		assertEquals(Code.length, instructionCursor.programCounter());
+	}
+
+	@Test
+	public void decodesOperands() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		final InstructionCursor instructionCursor = cursor(Code);
+
+		instructionCursor.next();
+		assertEquals(1, instructionCursor.localVariableIndex());
+		assertFalse(instructionCursor.hasConstantPoolIndex());
+
+		instructionCursor.next();
+		assertTrue(instructionCursor.isWide());
+		assertEquals(256, instructionCursor.localVariableIndex());
+		assertEquals(-5, instructionCursor.incrementConstant());
+
+		instructionCursor.next();
+		assertFalse(instructionCursor.isWide());
+		assertTrue(instructionCursor.hasConstantPoolIndex());
+		assertEquals(3, instructionCursor.constantPoolIndex());
+
+		instructionCursor.next();
+		assertTrue(instructionCursor.isBranch());
+		assertEquals(-10, instructionCursor.branchOffset());
+		assertEquals(0, instructionCursor.branchTarget());
+	}
+
+	@Test
+	public void decodesSwitchTablesAlignedToTheStartOfTheCode() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		final InstructionCursor instructionCursor = cursor(Code);
+		for (int index = 0; index < 5; index++)
+		{
+			instructionCursor.next();
+		}
+
+		assertTrue(instructionCursor.isSwitch());
+		assertEquals(43, instructionCursor.switchDefaultOffset());
+		assertEquals(1, instructionCursor.tableSwitchLow());
+		assertEquals(2, instructionCursor.tableSwitchHigh());
+		assertEquals(2, instructionCursor.switchCaseCount());
+		assertEquals(1, instructionCursor.switchKey(0));
+		assertEquals(2, instructionCursor.switchKey(1));
+		assertEquals(23, instructionCursor.switchOffset(0));
+		assertEquals(33, instructionCursor.switchOffset(1));
+
+		instructionCursor.next();
+		assertTrue(instructionCursor.isSwitch());
+		assertEquals(20, instructionCursor.switchDefaultOffset());
+		assertEquals(1, instructionCursor.switchCaseCount());
+		assertEquals(7, instructionCursor.switchKey(0));
+		assertEquals(12, instructionCursor.switchOffset(0));
+	}
+
+	@Test
+	public void rewindRestartsAtTheFirstInstruction() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		final InstructionCursor instructionCursor = cursor(Code);
+		instructionCursor.next();
+		instructionCursor.next();
+
+		instructionCursor.rewind();
+
+		assertTrue(instructionCursor.next());
+		assertEquals(0, instructionCursor.programCounter());
+		assertEquals(iload_1, instructionCursor.opcode());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void anInstructionWithoutAConstantPoolIndexDoesNotHaveOne() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		final InstructionCursor instructionCursor = cursor(iload_1);
+		instructionCursor.next();
+		instructionCursor.constantPoolIndex();
+	}
+
+	@Test(expected = NotEnoughBytesInvalidOperandStackException.class)
+	public void aTruncatedInstructionIsRejected() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		cursor(sipush, 0x01).next();
+	}
+
+	@Test(expected = InvalidOpcodeException.class)
+	public void anUndefinedOpcodeIsRejected() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		cursor(0xCB).next();
+	}
+
+	@Test(expected = InvalidOpcodeException.class)
+	public void invokedynamicIsRejectedBeforeJava7() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		new InstructionCursor(bytes(invokedynamic, 0x00, 0x01, 0x00, 0x00), 5, false).next();
+	}
+
+	@Test(expected = InvalidOpcodeException.class)
+	public void wideCanNotModifyAnArbitraryOpcode() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		cursor(wide, _goto, 0x00, 0x00).next();
+	}
+
+	@Test(expected = InvalidOpcodeException.class)
+	public void aTableSwitchWithAHighLessThanItsLowIsRejected() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException
+	{
+		cursor(tableswitch, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 0, 0, 0, 1).next();
+	}
+
+	@NotNull
+	private static InstructionCursor cursor(@NotNull final int... code)
+	{
+		return new InstructionCursor(bytes(code), code.length, true);
+	}
+
+	@NotNull
+	private static ByteBuffer bytes(@NotNull final int... code)
+	{
+		final ByteBuffer bytes = ByteBuffer.allocate(code.length);
+		for (final int value : code)
+		{
+			bytes.put((byte) value);
+		}
+		bytes.flip();
+		return bytes;
+	}
+}
@@ -0,0 +1,193 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.controlFlow;
+
+import com.stormmq.java.classfile.domain.attributes.code.ExceptionCode;
+import com.stormmq.java.classfile.domain.attributes.code.codeReaders.InstructionCursor;
+import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.NotEnoughBytesInvalidOperandStackException;
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.stormmq.java.classfile.domain.attributes.code.ExceptionCode.EmptyExceptionCodes;
+import static com.stormmq.java.classfile.domain.attributes.code.controlFlow.ControlFlowGraphBuilder.buildControlFlowGraph;
+import static com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.OpcodeParser.*;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("MagicNumber")
+public final class ControlFlowGraphBuilderTest
+{
+	@Test
+	public void straightLineCodeIsOneBlock() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		final ControlFlowGraph controlFlowGraph = controlFlowGraph(EmptyExceptionCodes, iconst_0, ireturn);
+
+		assertEquals(1, controlFlowGraph.numberOfBlocks());
+		assertEquals(0, controlFlowGraph.blockStart(0));
+		assertEquals(2, controlFlowGraph.blockEnd(0));
+		assertArrayEquals(new int[0], successors(controlFlowGraph, 0));
+	}
+
+	@Test
+	public void branchesSplitBlocksAndJoin() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		// 0: iload_0; 1: ifeq 8; 4: iconst_1; 5: goto 9; 8: iconst_0; 9: ireturn
+		final ControlFlowGraph controlFlowGraph = controlFlowGraph(EmptyExceptionCodes, iload_0, ifeq, 0, 7, iconst_1, _goto, 0, 4, iconst_0, ireturn);
+
+		assertEquals(4, controlFlowGraph.numberOfBlocks());
+		assertArrayEquals(new int[]{0, 4, 8, 9}, new int[]{controlFlowGraph.blockStart(0), controlFlowGraph.blockStart(1), controlFlowGraph.blockStart(2), controlFlowGraph.blockStart(3)});
+		assertArrayEquals(new int[]{2, 1}, successors(controlFlowGraph, 0));
+		assertArrayEquals(new int[]{3}, successors(controlFlowGraph, 1));
+		assertArrayEquals(new int[]{3}, successors(controlFlowGraph, 2));
+		assertArrayEquals(new int[0], successors(controlFlowGraph, 3));
+		assertArrayEquals(new int[]{1, 2}, predecessors(controlFlowGraph, 3));
+		assertEquals(1, controlFlowGraph.blockContaining(5));
+		assertEquals(2, controlFlowGraph.blockContaining(8));
+	}
+
+	@Test
+	public void aSwitchHasEachTargetOnceAsASuccessor() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		// 0: iload_0; 1: tableswitch default 24, 0: 24, 1: 25; 24: return; 25: return
+		final ControlFlowGraph controlFlowGraph = controlFlowGraph(EmptyExceptionCodes, iload_0, tableswitch, 0, 0, 0, 0, 0, 23, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 23, 0, 0, 0, 24, _return, _return);
+
+		assertEquals(3, controlFlowGraph.numberOfBlocks());
+		assertArrayEquals(new int[]{1, 2}, successors(controlFlowGraph, 0));
+		assertArrayEquals(new int[]{0}, predecessors(controlFlowGraph, 1));
+		assertArrayEquals(new int[]{0}, predecessors(controlFlowGraph, 2));
+	}
+
+	@Test
+	public void exceptionHandlersAreSharedByTheirEntries() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		// 0: iconst_0; 1: pop; 2: goto 6; 5: athrow; 6: return, with 0 to 2 handled at 5 by two entries, as for a finally
+		final ExceptionCode[] exceptionCodes = {exceptionCode(0, 2, 5), exceptionCode(0, 2, 5)};
+		final ControlFlowGraph controlFlowGraph = controlFlowGraph(exceptionCodes, iconst_0, pop, _goto, 0, 4, athrow, _return);
+
+		assertEquals(4, controlFlowGraph.numberOfBlocks());
+		assertArrayEquals(new int[]{2}, exceptionHandlers(controlFlowGraph, 0));
+		assertArrayEquals(new int[0], exceptionHandlers(controlFlowGraph, 1));
+		assertArrayEquals(new int[]{1}, successors(controlFlowGraph, 0));
+		assertArrayEquals(new int[]{3}, successors(controlFlowGraph, 1));
+		assertArrayEquals(new int[0], successors(controlFlowGraph, 2));
+		assertArrayEquals(new int[]{0}, predecessors(controlFlowGraph, 2));
+		assertArrayEquals(new int[]{1}, predecessors(controlFlowGraph, 3));
+	}
+
+	@Test
+	public void overlappingExceptionRangesKeepExceptionTableOrder() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		// 0: nop; 1: nop; 2: nop; 3: nop; 4: goto 9; 7: athrow; 8: athrow; 9: return, with 2 to 4 handled at 8, 0 to 4 at 7 and 1 to 3 at 7
+		final ExceptionCode[] exceptionCodes = {exceptionCode(2, 4, 8), exceptionCode(0, 4, 7), exceptionCode(1, 3, 7)};
+		final ControlFlowGraph controlFlowGraph = controlFlowGraph(exceptionCodes, nop, nop, nop, nop, _goto, 0, 5, athrow, athrow, _return);
+
+		assertEquals(8, controlFlowGraph.numberOfBlocks());
+		assertArrayEquals(new int[]{5}, exceptionHandlers(controlFlowGraph, 0));
+		assertArrayEquals(new int[]{5}, exceptionHandlers(controlFlowGraph, 1));
+		assertArrayEquals(new int[]{6, 5}, exceptionHandlers(controlFlowGraph, 2));
+		assertArrayEquals(new int[]{6, 5}, exceptionHandlers(controlFlowGraph, 3));
+		assertArrayEquals(new int[0], exceptionHandlers(controlFlowGraph, 4));
+		assertArrayEquals(new int[0], exceptionHandlers(controlFlowGraph, 5));
+		assertArrayEquals(new int[]{0, 1, 2, 3}, predecessors(controlFlowGraph, 5));
+		assertArrayEquals(new int[]{2, 3}, predecessors(controlFlowGraph, 6));
+		assertArrayEquals(new int[]{3}, predecessors(controlFlowGraph, 4));
+	}
+
+	@Test(expected = InvalidControlFlowException.class)
+	public void aBranchOutsideOfTheCodeIsRejected() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		controlFlowGraph(EmptyExceptionCodes, _goto, 0, 10);
+	}
+
+	@Test(expected = InvalidControlFlowException.class)
+	public void aBranchIntoAnInstructionIsRejected() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		controlFlowGraph(EmptyExceptionCodes, _goto, 0, 4, sipush, 0, 1, _return);
+	}
+
+	@Test(expected = InvalidControlFlowException.class)
+	public void fallingOffTheEndOfTheCodeIsRejected() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		controlFlowGraph(EmptyExceptionCodes, iconst_0, pop);
+	}
+
+	@Test(expected = InvalidControlFlowException.class)
+	public void anExceptionRangeOutsideOfTheCodeIsRejected() throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		controlFlowGraph(new ExceptionCode[]{exceptionCode(0, 3, 0)}, iconst_0, ireturn);
+	}
+
+	@NotNull
+	private static ControlFlowGraph controlFlowGraph(@NotNull final ExceptionCode[] exceptionCodes, @NotNull final int... code) throws InvalidOpcodeException, NotEnoughBytesInvalidOperandStackException, InvalidControlFlowException
+	{
+		final ByteBuffer bytes = ByteBuffer.allocate(code.length);
+		for (final int value : code)
+		{
+			bytes.put((byte) value);
+		}
+		bytes.flip();
+		return buildControlFlowGraph(new InstructionCursor(bytes, code.length, true), code.length, exceptionCodes);
+	}
+
+	@NotNull
+	private static ExceptionCode exceptionCode(final int start, final int end, final int handler)
+	{
+		return new ExceptionCode((char) start, (char) end, (char) handler, null);
+	}
+
+	@NotNull
+	private static int[] successors(@NotNull final ControlFlowGraph controlFlowGraph, final int block)
+	{
+		final int[] successors = new int[controlFlowGraph.numberOfSuccessors(block)];
+		for (int index = 0; index < successors.length; index++)
+		{
+			successors[index] = controlFlowGraph.successor(block, index);
+		}
+		return successors;
+	}
+
+	@NotNull
+	private static int[] exceptionHandlers(@NotNull final ControlFlowGraph controlFlowGraph, final int block)
+	{
+		final int[] exceptionHandlers = new int[controlFlowGraph.numberOfExceptionHandlers(block)];
+		for (int index = 0; index < exceptionHandlers.length; index++)
+		{
+			exceptionHandlers[index] = controlFlowGraph.exceptionHandler(block, index);
+		}
+		return exceptionHandlers;
+	}
+
+	@NotNull
+	private static int[] predecessors(@NotNull final ControlFlowGraph controlFlowGraph, final int block)
+	{
+		final int[] predecessors = new int[controlFlowGraph.numberOfPredecessors(block)];
+		for (int index = 0; index < predecessors.length; index++)
+		{
+			predecessors[index] = controlFlowGraph.predecessor(block, index);
+		}
+		return predecessors;
+	}
+}
@@ -0,0 +1,188 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.localVariables;
+
+import com.stormmq.java.classfile.domain.descriptors.FieldDescriptor;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.*;
+
+import static com.stormmq.java.classfile.domain.InternalTypeName.internalTypeName;
+import static com.stormmq.java.classfile.domain.descriptors.FieldDescriptor.fieldDescriptor;
+import static com.stormmq.java.classfile.domain.names.FieldName.fieldName;
+import static com.stormmq.java.parsing.utilities.names.typeNames.PrimitiveTypeName._int;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.*;
+
+public final class LocalVariablesIntervalIndexTest
+{
+	@NotNull private static final FieldDescriptor IntegerDescriptor = fieldDescriptor("I", internalTypeName(_int, 0));
+
+	@Test
+	public void aLocalVariableIsLiveFromItsStartUntilBeforeItsEnd()
+	{
+		final DescriptorLocalVariable localVariable = localVariable("a", 4, 6);
+		final LocalVariablesIntervalIndex localVariablesIntervalIndex = index(20, localVariable);
+
+		assertEquals(emptySet(), localVariablesIntervalIndex.liveAt((char) 0, (char) 1));
+		assertEquals(set(localVariable), localVariablesIntervalIndex.liveAt((char) 4, (char) 1));
+		assertEquals(set(localVariable), localVariablesIntervalIndex.liveAt((char) 9, (char) 1));
+		assertEquals(emptySet(), localVariablesIntervalIndex.liveAt((char) 10, (char) 1));
+	}
+
+	@Test
+	public void aLocalVariableStartingImmediatelyAfterAnInstructionIsLiveAtIt()
+	{
+		final DescriptorLocalVariable localVariable = localVariable("a", 4, 6);
+		final LocalVariablesIntervalIndex localVariablesIntervalIndex = index(20, localVariable);
+
+		assertEquals(set(localVariable), localVariablesIntervalIndex.liveAt((char) 2, (char) 2));
+		assertEquals(emptySet(), localVariablesIntervalIndex.liveAt((char) 2, (char) 1));
+	}
+
+	@Test
+	public void aLocalVariableOfZeroLengthIsNeverLive()
+	{
+		final LocalVariablesIntervalIndex localVariablesIntervalIndex = index(20, localVariable("a", 4, 0));
+
+		assertEquals(emptySet(), localVariablesIntervalIndex.liveAt((char) 3, (char) 1));
+		assertEquals(emptySet(), localVariablesIntervalIndex.liveAt((char) 4, (char) 1));
+	}
+
+	@Test
+	public void aLocalVariableEndsAtTheEndOfCode()
+	{
+		final DescriptorLocalVariable localVariable = localVariable("a", 0, 100);
+		final LocalVariablesIntervalIndex localVariablesIntervalIndex = index(10, localVariable);
+
+		assertEquals(set(localVariable), localVariablesIntervalIndex.liveAt((char) 9, (char) 1));
+		assertEquals(emptySet(), localVariablesIntervalIndex.liveAt((char) 10, (char) 1));
+	}
+
+	@Test
+	public void overlappingLocalVariablesAreLiveTogether()
+	{
+		final DescriptorLocalVariable outer = localVariable("outer", 0, 20);
+		final DescriptorLocalVariable inner = localVariable("inner", 5, 5);
+		final DescriptorLocalVariable later = localVariable("later", 10, 10);
+		final LocalVariablesIntervalIndex localVariablesIntervalIndex = index(20, later, inner, outer);
+
+		assertEquals(set(outer), localVariablesIntervalIndex.liveAt((char) 0, (char) 1));
+		assertEquals(set(outer, inner), localVariablesIntervalIndex.liveAt((char) 5, (char) 1));
+		assertEquals(set(outer, later), localVariablesIntervalIndex.liveAt((char) 10, (char) 1));
+		assertEquals(set(outer, inner, later), localVariablesIntervalIndex.liveAt((char) 9, (char) 1));
+	}
+
+	@Test
+	public void theLiveSetAnswersSizeAndContainsWithoutIteration()
+	{
+		final DescriptorLocalVariable outer = localVariable("outer", 0, 20);
+		final DescriptorLocalVariable inner = localVariable("inner", 5, 5);
+		final DescriptorLocalVariable starting = localVariable("starting", 7, 5);
+		final DescriptorLocalVariable notIndexed = localVariable("outer", 0, 20);
+		final Set<LocalVariableAtProgramCounter> live = index(20, starting, inner, outer).liveAt((char) 6, (char) 1);
+
+		assertEquals(3, live.size());
+		assertTrue(live.contains(outer));
+		assertTrue(live.contains(inner));
+		assertTrue(live.contains(starting));
+		assertFalse(live.contains(notIndexed));
+		assertFalse(live.contains("outer"));
+	}
+
+	@Test
+	public void aLocalVariableStartingAtTheEndOfCodeIsOnlyLiveAsItStarts()
+	{
+		final DescriptorLocalVariable localVariable = localVariable("a", 10, 4);
+		final LocalVariablesIntervalIndex localVariablesIntervalIndex = index(10, localVariable);
+
+		assertEquals(set(localVariable), localVariablesIntervalIndex.liveAt((char) 9, (char) 1));
+		assertEquals(emptySet(), localVariablesIntervalIndex.liveAt((char) 10, (char) 1));
+		assertEquals(emptySet(), localVariablesIntervalIndex.liveAt((char) 12, (char) 1));
+	}
+
+	@Test
+	public void agreesWithALinearScan()
+	{
+		final Random random = new Random(42L);
+		for (int iteration = 0; iteration < 200; iteration++)
+		{
+			final int codeLength = 1 + random.nextInt(64);
+			final List<DescriptorLocalVariable> localVariables = new ArrayList<>();
+			final int numberOfLocalVariables = random.nextInt(12);
+			for (int index = 0; index < numberOfLocalVariables; index++)
+			{
+				localVariables.add(localVariable("v" + index, random.nextInt(codeLength), random.nextInt(codeLength + 4)));
+			}
+			final LocalVariablesIntervalIndex localVariablesIntervalIndex = new LocalVariablesIntervalIndex(codeLength, localVariables, emptyList());
+
+			for (int programCounter = 0; programCounter < codeLength; programCounter++)
+			{
+				final int opcodeLength = 1 + random.nextInt(3);
+				assertEquals(linearScan(localVariables, codeLength, programCounter, opcodeLength), localVariablesIntervalIndex.liveAt((char) programCounter, (char) opcodeLength));
+			}
+		}
+	}
+
+	@NotNull
+	private static Set<LocalVariableAtProgramCounter> linearScan(@NotNull final Iterable<DescriptorLocalVariable> localVariables, final int codeLength, final int programCounter, final int opcodeLength)
+	{
+		final Set<LocalVariableAtProgramCounter> live = new HashSet<>();
+		for (final DescriptorLocalVariable localVariable : localVariables)
+		{
+			if (localVariable.length == 0)
+			{
+				continue;
+			}
+			final int start = localVariable.startProgramCounter;
+			final int end = Math.min(start + localVariable.length, codeLength);
+			if ((start <= programCounter && programCounter < end) || start == programCounter + opcodeLength)
+			{
+				live.add(localVariable);
+			}
+		}
+		return live;
+	}
+
+	@NotNull
+	private static LocalVariablesIntervalIndex index(final int codeLength, @NotNull final DescriptorLocalVariable... localVariables)
+	{
+		return new LocalVariablesIntervalIndex(codeLength, asList(localVariables), emptyList());
+	}
+
+	@NotNull
+	private static Set<LocalVariableAtProgramCounter> set(@NotNull final LocalVariableAtProgramCounter... localVariables)
+	{
+		return new HashSet<>(asList(localVariables));
+	}
+
+	@NotNull
+	private static DescriptorLocalVariable localVariable(@NonNls @NotNull final String name, final int startProgramCounter, final int length)
+	{
+		return new DescriptorLocalVariable((char) startProgramCounter, (char) length, fieldName(name), IntegerDescriptor, (char) 0);
+	}
+}
@@ -0,0 +1,195 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.domain.attributes.code.operandStack;
+
+import com.stormmq.java.classfile.domain.attributes.code.codeReaders.ByteBufferCodeReader;
+import com.stormmq.java.classfile.domain.attributes.code.codeReaders.CodeReader;
+import com.stormmq.java.classfile.domain.attributes.code.constants.DoubleWidthConstantForLoadUser;
+import com.stormmq.java.classfile.domain.attributes.code.constants.RuntimeConstantPool;
+import com.stormmq.java.classfile.domain.attributes.code.constants.SingleWidthConstantForLoadUser;
+import com.stormmq.java.classfile.domain.attributes.code.invalidOperandStackExceptions.*;
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.OpcodeParser;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.OperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.constantOperandStackItems.DoubleConstantOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.constantOperandStackItems.IntegerConstantOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.constantOperandStackItems.LongConstantOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.constantOperandStackItems.NullReferenceConstantOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.numericOperandStackItems.NumericOperandStackItem;
+import com.stormmq.java.classfile.domain.attributes.code.operandStackItems.referenceOperandStackItems.ReferenceOperandStackItem;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.OpcodeParser.*;
+import static com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStack.EmptyStackPointer;
+import static com.stormmq.java.classfile.domain.attributes.code.operandStack.OperandStackTags.*;
+import static com.stormmq.java.classfile.domain.attributes.code.typing.ComputationalCategory.*;
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("MagicNumber")
+public final class TaggedOperandStackTest
+{
+	// None of the opcodes used below load a constant
+	@NotNull private static final RuntimeConstantPool NoRuntimeConstantPool = new RuntimeConstantPool()
+	{
+		@NotNull
+		@Override
+		public <T> T singleWidthConstantForLoad(final char index, @NotNull final SingleWidthConstantForLoadUser<T> singleWidthConstantForLoadUser)
+		{
+			throw new UnsupportedOperationException("No constants");
+		}
+
+		@NotNull
+		@Override
+		public <T> T doubleWidthConstantForLoad(final char index, @NotNull final DoubleWidthConstantForLoadUser<T> doubleWidthConstantForLoadUser)
+		{
+			throw new UnsupportedOperationException("No constants");
+		}
+	};
+
+	@Test
+	public void constantsAreHeldAsTagsAndMaterialisedOnRequest() throws OverflowInvalidOperandStackException, UnderflowInvalidOperandStackException
+	{
+		final TaggedOperandStack operandStack = new TaggedOperandStack((char) 4);
+		operandStack.pushInteger(-7);
+		operandStack.pushLong(Long.MAX_VALUE);
+		operandStack.pushDouble(2.5d);
+		operandStack.pushNullReference();
+
+		assertEquals(3, operandStack.currentStackPointer());
+		assertEquals(NullReferenceTag, operandStack.peekTag(0));
+		assertEquals(constantTag(_double), operandStack.peekTag(1));
+		assertEquals(2.5d, doubleConstant(operandStack.peekConstant(1)), 0d);
+		assertEquals(Long.MAX_VALUE, operandStack.peekConstant(2));
+		assertEquals(-7, intConstant(operandStack.peekConstant(3)));
+
+		assertTrue(operandStack.pop() instanceof NullReferenceConstantOperandStackItem);
+		final OperandStackItem peeked = operandStack.peek(0);
+		assertSame(peeked, operandStack.pop());
+		assertEquals(2.5d, ((DoubleConstantOperandStackItem) peeked).value(), 0d);
+		assertEquals(Long.MAX_VALUE, ((LongConstantOperandStackItem) operandStack.pop()).value());
+		assertEquals(-7, ((IntegerConstantOperandStackItem) operandStack.pop()).value());
+		assertEquals(EmptyStackPointer, operandStack.currentStackPointer());
+	}
+
+	@Test
+	public void itemsPushedAsObjectsAreTaggedAndReturnedUnchanged() throws OverflowInvalidOperandStackException, UnderflowInvalidOperandStackException
+	{
+		final TaggedOperandStack operandStack = new TaggedOperandStack((char) 1);
+		final LongConstantOperandStackItem operandStackItem = new LongConstantOperandStackItem(5L);
+		operandStack.push(operandStackItem);
+
+		assertEquals(constantTag(_long), operandStack.peekTag(0));
+		assertFalse(isCategory1(operandStack.peekTag(0)));
+		assertEquals(5L, operandStack.peekConstant(0));
+		assertSame(operandStackItem, operandStack.pop());
+	}
+
+	@Test
+	public void theCommonOpcodeParsersRunWithoutMaterialisingItems() throws InvalidOpcodeException, UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException, OverflowInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException
+	{
+		// As for the tracking operand stack, a store leaves an item for the stored local variable
+		final TaggedOperandStack operandStack = new TaggedOperandStack((char) 5);
+		parse(operandStack, iconst_2, bipush, 40, iadd, istore_1, sipush, 0x01, 0x00, lconst_1, lload, 2, ladd, aload_0);
+
+		assertEquals(4, operandStack.currentStackPointer());
+		assertEquals(tag(reference), operandStack.peekTag(0));
+		assertEquals(tag(_long), operandStack.peekTag(1));
+		assertEquals(constantTag(_int), operandStack.peekTag(2));
+		assertEquals(256, intConstant(operandStack.peekConstant(2)));
+		assertEquals(tag(_int), operandStack.peekTag(3));
+		assertEquals(tag(_int), operandStack.peekTag(4));
+	}
+
+	@Test
+	public void theTaggedAndTrackingOperandStacksAgreeOnTheComputationalCategories() throws InvalidOpcodeException, UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException, OverflowInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException
+	{
+		final int[] code = {fconst_2, fload_0, fmul, dconst_1, aload_0, iconst_m1};
+		final TaggedOperandStack taggedOperandStack = new TaggedOperandStack((char) 4);
+		final TrackingOperandStack trackingOperandStack = new TrackingOperandStack((char) 4);
+		parse(taggedOperandStack, code);
+		parse(trackingOperandStack, code);
+
+		assertEquals(trackingOperandStack.currentStackPointer(), taggedOperandStack.currentStackPointer());
+		assertEquals(-1, ((IntegerConstantOperandStackItem) taggedOperandStack.pop()).value());
+		assertFalse(((NumericOperandStackItem<?>) trackingOperandStack.pop()).isNotOfComputationalCategory(_int));
+		assertTrue(taggedOperandStack.popReference() instanceof ReferenceOperandStackItem);
+		assertTrue(trackingOperandStack.popReference() instanceof ReferenceOperandStackItem);
+		assertFalse(taggedOperandStack.popNumeric(_double).isNotOfComputationalCategory(_double));
+		assertFalse(trackingOperandStack.popNumeric(_double).isNotOfComputationalCategory(_double));
+		assertFalse(taggedOperandStack.popNumeric(_float).isNotOfComputationalCategory(_float));
+		assertFalse(trackingOperandStack.popNumeric(_float).isNotOfComputationalCategory(_float));
+	}
+
+	@Test(expected = MismatchedTypeInvalidOperandStackException.class)
+	public void aBinaryOperationOnMismatchedCategoriesIsRejected() throws InvalidOpcodeException, UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException, OverflowInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException
+	{
+		parse(new TaggedOperandStack((char) 2), iconst_0, lconst_1, ladd);
+	}
+
+	@Test(expected = UnderflowInvalidOperandStackException.class)
+	public void aBinaryOperationOnTooFewItemsIsRejected() throws InvalidOpcodeException, UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException, OverflowInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException
+	{
+		parse(new TaggedOperandStack((char) 2), iconst_0, iadd);
+	}
+
+	@Test(expected = OverflowInvalidOperandStackException.class)
+	public void pushingBeyondTheMaximumDepthIsRejected() throws InvalidOpcodeException, UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException, OverflowInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException
+	{
+		parse(new TaggedOperandStack((char) 1), iconst_0, iconst_1);
+	}
+
+	@Test
+	public void clearEmptiesTheStackForReuse() throws OverflowInvalidOperandStackException, UnderflowInvalidOperandStackException
+	{
+		final TaggedOperandStack operandStack = new TaggedOperandStack((char) 2);
+		operandStack.pushUnknown(_int);
+		operandStack.pushUnknown(reference);
+		operandStack.clear();
+
+		assertEquals(EmptyStackPointer, operandStack.currentStackPointer());
+		operandStack.pushInteger(1);
+		operandStack.pushInteger(2);
+		assertEquals(2, intConstant(operandStack.peekConstant(0)));
+	}
+
+	private static void parse(@NotNull final OperandStack operandStack, @NotNull final int... code) throws InvalidOpcodeException, UnderflowInvalidOperandStackException, MismatchedTypeInvalidOperandStackException, OverflowInvalidOperandStackException, NotEnoughBytesInvalidOperandStackException
+	{
+		final byte[] bytes = new byte[code.length];
+		for (int index = 0; index < code.length; index++)
+		{
+			bytes[index] = (byte) code[index];
+		}
+		final ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+
+		final OpcodeParser[] opcodeParsers = chooseOpcodeParsers(true, false);
+		final CodeReader codeReader = new ByteBufferCodeReader(byteBuffer);
+		while (byteBuffer.hasRemaining())
+		{
+			opcodeParsers[codeReader.readUnsigned8BitInteger()].parse(operandStack, codeReader, emptySet(), emptySet(), NoRuntimeConstantPool);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader.MinimumSizeToMap;
+import static com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader.mapReadOnlyOrReadAllBytes;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.Files.write;
+import static org.junit.Assert.*;
+
+public final class ByteBufferJavaClassFileReaderTest
+{
+	@Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void smallFilesAreReadRatherThanMapped() throws IOException
+	{
+		final byte[] contents = contents(MinimumSizeToMap - 1);
+		final ByteBuffer fileData = mapReadOnlyOrReadAllBytes(file(contents));
+
+		assertFalse(fileData.isDirect());
+		assertEquals(wrap(contents), fileData);
+	}
+
+	@Test
+	public void largeFilesAreMapped() throws IOException
+	{
+		final byte[] contents = contents(MinimumSizeToMap);
+		final ByteBuffer fileData = mapReadOnlyOrReadAllBytes(file(contents));
+
+		assertTrue(fileData.isDirect());
+		assertEquals(wrap(contents), fileData);
+	}
+
+	@Test(expected = NoSuchFileException.class)
+	public void aMissingFileIsNotHidden() throws IOException
+	{
+		mapReadOnlyOrReadAllBytes(temporaryFolder.getRoot().toPath().resolve("Missing.class"));
+	}
+
+	@Test
+	public void readsBigEndianValues() throws InvalidJavaClassFileException
+	{
+		final ByteBufferJavaClassFileReader reader = new ByteBufferJavaClassFileReader(wrap(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0x00, 0x34, (byte) 0xFF}));
+
+		assertEquals(0xCAFEBABEL, reader.readBigEndianUnsigned32BitInteger("magic"));
+		assertEquals(0x34, reader.readBigEndianUnsigned16BitInteger("version"));
+		assertEquals(0xFF, reader.readUnsigned8BitInteger("byte"));
+		assertEquals(7L, reader.bytesReadSoFar());
+	}
+
+	@Test
+	public void readsSuccessiveModifiedUtf8StringsFromADirectBuffer() throws InvalidJavaClassFileException
+	{
+		final byte[] contents = {0x00, 0x01, 'T', 0x00, 0x02, (byte) 0xC3, (byte) 0xA9, 'x', 'y'};
+		final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(contents.length);
+		byteBuffer.put(contents).flip();
+		final ByteBufferJavaClassFileReader reader = new ByteBufferJavaClassFileReader(byteBuffer);
+
+		assertEquals("T", reader.readModifiedUtf8StringWithPrefixedBigEndianUnsigned16BitLength("first"));
+		assertEquals("\u00E9", reader.readModifiedUtf8StringWithPrefixedBigEndianUnsigned16BitLength("second"));
+		assertEquals("xy", reader.readModifiedUtf8String("third", 2L));
+		assertEquals(contents.length, reader.bytesReadSoFar());
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aModifiedUtf8StringLongerThanTheRemainingBytesIsInvalid() throws InvalidJavaClassFileException
+	{
+		new ByteBufferJavaClassFileReader(wrap(new byte[]{0x00, 0x03, 'a', 'b'})).readModifiedUtf8StringWithPrefixedBigEndianUnsigned16BitLength("too short");
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void readingPastTheEndIsInvalid() throws InvalidJavaClassFileException
+	{
+		new ByteBufferJavaClassFileReader(wrap(new byte[]{0x00})).readBigEndianUnsigned16BitInteger("too short");
+	}
+
+	@Test
+	public void bytesAreSlicedUnlessTheBufferIsReused() throws InvalidJavaClassFileException
+	{
+		final byte[] backing = {1, 2, 3, 4};
+		final ByteBuffer sliced = new ByteBufferJavaClassFileReader(wrap(backing), false).readBytes("sliced", 4L);
+		final ByteBuffer copied = new ByteBufferJavaClassFileReader(wrap(backing), true).readBytes("copied", 4L);
+		backing[0] = 9;
+
+		assertEquals(9, sliced.get(0));
+		assertEquals(1, copied.get(0));
+	}
+
+	@NotNull
+	private Path file(@NotNull final byte[] contents) throws IOException
+	{
+		final Path path = temporaryFolder.newFile().toPath();
+		write(path, contents);
+		return path;
+	}
+
+	@NotNull
+	private static byte[] contents(final int length)
+	{
+		final byte[] contents = new byte[length];
+		for (int index = 0; index < length; index++)
+		{
+			contents[index] = (byte) index;
+		}
+		return contents;
+	}
+}
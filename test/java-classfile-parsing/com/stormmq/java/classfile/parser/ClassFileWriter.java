@@ -0,0 +1,132 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// Writes class files, or parts of them, for tests; constant pool indices are the caller's to keep track of
+public final class ClassFileWriter
+{
+	private static final int Utf8Tag = 1;
+	private static final int IntegerTag = 3;
+	private static final int LongTag = 5;
+	private static final int ClassTag = 7;
+
+	@NotNull private final ByteArrayOutputStream bytes;
+	@NotNull private final DataOutputStream classFile;
+
+	public ClassFileWriter()
+	{
+		bytes = new ByteArrayOutputStream(128);
+		classFile = new DataOutputStream(bytes);
+	}
+
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	public ClassFileWriter header(final int majorVersion, final int constantPoolCount) throws IOException
+	{
+		classFile.writeInt(0xCAFEBABE);
+		classFile.writeShort(0);
+		classFile.writeShort(majorVersion);
+		classFile.writeShort(constantPoolCount);
+		return this;
+	}
+
+	// T, a Class for it at 2, java/lang/Object and a Class for it at 4
+	@NotNull
+	public ClassFileWriter thisAndSuperClass() throws IOException
+	{
+		return utf8("T").type(1).utf8("java/lang/Object").type(3);
+	}
+
+	// Access flags, this class, super class and no interfaces, for a constant pool which starts with thisAndSuperClass()
+	@NotNull
+	public ClassFileWriter classDeclaration(final int accessFlags) throws IOException
+	{
+		return u2(accessFlags).u2(2).u2(4).u2(0);
+	}
+
+	@NotNull
+	public ClassFileWriter utf8(@NonNls @NotNull final String value) throws IOException
+	{
+		classFile.writeByte(Utf8Tag);
+		classFile.writeUTF(value);
+		return this;
+	}
+
+	@NotNull
+	public ClassFileWriter integer(final int value) throws IOException
+	{
+		classFile.writeByte(IntegerTag);
+		classFile.writeInt(value);
+		return this;
+	}
+
+	@NotNull
+	public ClassFileWriter longInteger(final long value) throws IOException
+	{
+		classFile.writeByte(LongTag);
+		classFile.writeLong(value);
+		return this;
+	}
+
+	@NotNull
+	public ClassFileWriter type(final int nameIndex) throws IOException
+	{
+		classFile.writeByte(ClassTag);
+		classFile.writeShort(nameIndex);
+		return this;
+	}
+
+	@NotNull
+	public ClassFileWriter u1(final int value) throws IOException
+	{
+		classFile.writeByte(value);
+		return this;
+	}
+
+	@NotNull
+	public ClassFileWriter u2(final int value) throws IOException
+	{
+		classFile.writeShort(value);
+		return this;
+	}
+
+	@NotNull
+	public ClassFileWriter u4(final int value) throws IOException
+	{
+		classFile.writeInt(value);
+		return this;
+	}
+
+	@NotNull
+	public byte[] toByteArray()
+	{
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,149 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static com.stormmq.java.classfile.parser.ModifiedUtf8StringDecoder.decodeModifiedUtf8String;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteBuffer.wrap;
+import static org.junit.Assert.assertEquals;
+
+public final class ModifiedUtf8StringDecoderTest
+{
+	@NonNls private static final String Mixed = "java/lang/Object\u0000é€";
+
+	@Test
+	public void decodesFromAHeapBuffer() throws IOException, InvalidJavaClassFileException
+	{
+		final byte[] encoded = encode(Mixed);
+
+		assertEquals(Mixed, decodeModifiedUtf8String(wrap(encoded), encoded.length));
+	}
+
+	@Test
+	public void decodesFromADirectBuffer() throws IOException, InvalidJavaClassFileException
+	{
+		final byte[] encoded = encode(Mixed);
+
+		assertEquals(Mixed, decodeModifiedUtf8String(direct(encoded), encoded.length));
+	}
+
+	@Test
+	public void decodesFromThePositionAndLeavesItUnchanged() throws IOException, InvalidJavaClassFileException
+	{
+		final byte[] encoded = encode(Mixed);
+		final byte[] prefixed = new byte[encoded.length + 3];
+		System.arraycopy(encoded, 0, prefixed, 3, encoded.length);
+
+		for (final ByteBuffer byteBuffer : new ByteBuffer[]{wrap(prefixed), direct(prefixed)})
+		{
+			byteBuffer.position(3);
+			assertEquals(Mixed, decodeModifiedUtf8String(byteBuffer, encoded.length));
+			assertEquals(3, byteBuffer.position());
+		}
+	}
+
+	@Test
+	public void decodesASliceOfAHeapBuffer() throws IOException, InvalidJavaClassFileException
+	{
+		final byte[] encoded = encode(Mixed);
+		final byte[] prefixed = new byte[encoded.length + 5];
+		System.arraycopy(encoded, 0, prefixed, 5, encoded.length);
+		final ByteBuffer byteBuffer = wrap(prefixed);
+		byteBuffer.position(5);
+
+		assertEquals(Mixed, decodeModifiedUtf8String(byteBuffer.slice(), encoded.length));
+	}
+
+	@Test
+	public void findsANonAsciiByteAnywhereInAnEightByteBlock() throws IOException, InvalidJavaClassFileException
+	{
+		for (int nonAsciiIndex = 0; nonAsciiIndex < 17; nonAsciiIndex++)
+		{
+			final String value = "abcdefghijklmnopq".substring(0, nonAsciiIndex) + '\u00E9' + "rstuvwxyz";
+			final byte[] encoded = encode(value);
+
+			assertEquals(value, decodeModifiedUtf8String(wrap(encoded), encoded.length));
+			assertEquals(value, decodeModifiedUtf8String(direct(encoded), encoded.length));
+		}
+	}
+
+	@Test
+	public void oneDecoderDecodesSuccessiveStringsOfADirectBufferAtTheirIndices() throws IOException, InvalidJavaClassFileException
+	{
+		final byte[] shorter = encode("T");
+		final byte[] longer = encode(Mixed);
+		final byte[] ascii = encode("java/lang/String");
+		final byte[] all = new byte[shorter.length + longer.length + ascii.length];
+		System.arraycopy(shorter, 0, all, 0, shorter.length);
+		System.arraycopy(longer, 0, all, shorter.length, longer.length);
+		System.arraycopy(ascii, 0, all, shorter.length + longer.length, ascii.length);
+		final ByteBuffer byteBuffer = direct(all);
+		final ModifiedUtf8StringDecoder modifiedUtf8StringDecoder = new ModifiedUtf8StringDecoder(byteBuffer);
+
+		assertEquals("T", modifiedUtf8StringDecoder.decodeModifiedUtf8String(0, shorter.length));
+		assertEquals(Mixed, modifiedUtf8StringDecoder.decodeModifiedUtf8String(shorter.length, longer.length));
+		assertEquals("java/lang/String", modifiedUtf8StringDecoder.decodeModifiedUtf8String(shorter.length + longer.length, ascii.length));
+		assertEquals("T", modifiedUtf8StringDecoder.decodeModifiedUtf8String(0, shorter.length));
+		assertEquals(0, byteBuffer.position());
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void rejectsATruncatedSequenceInADirectBuffer() throws InvalidJavaClassFileException
+	{
+		final byte[] truncated = {'a', (byte) 0xE2, (byte) 0x82};
+		decodeModifiedUtf8String(direct(truncated), truncated.length);
+	}
+
+	@NotNull
+	private static byte[] encode(@NotNull final String value) throws IOException
+	{
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		try (final DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream))
+		{
+			dataOutputStream.writeUTF(value);
+		}
+		final byte[] withLength = byteArrayOutputStream.toByteArray();
+		final byte[] encoded = new byte[withLength.length - 2];
+		System.arraycopy(withLength, 2, encoded, 0, encoded.length);
+		return encoded;
+	}
+
+	@NotNull
+	private static ByteBuffer direct(@NotNull final byte[] bytes)
+	{
+		final ByteBuffer byteBuffer = allocateDirect(bytes.length);
+		byteBuffer.put(bytes);
+		byteBuffer.flip();
+		return byteBuffer;
+	}
+}
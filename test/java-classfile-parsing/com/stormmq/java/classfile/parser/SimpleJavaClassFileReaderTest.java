@@ -0,0 +1,66 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser;
+
+import com.stormmq.byteReaders.ByteArrayByteReader;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public final class SimpleJavaClassFileReaderTest
+{
+	@Test
+	public void skipsBytesNotAMultipleOfTheStride() throws InvalidJavaClassFileException
+	{
+		final SimpleJavaClassFileReader reader = reader(new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, (byte) 0xAB, (byte) 0xCD});
+
+		reader.skipBytes("skipped", 11L);
+
+		assertEquals(0xABCD, reader.readBigEndianUnsigned16BitInteger("after"));
+		assertEquals(13L, reader.bytesReadSoFar());
+	}
+
+	@Test
+	public void skippingNothingReadsNothing() throws InvalidJavaClassFileException
+	{
+		final SimpleJavaClassFileReader reader = reader(new byte[]{0x7F});
+
+		reader.skipBytes("nothing", 0L);
+
+		assertEquals(0x7F, reader.readUnsigned8BitInteger("after"));
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void skippingPastTheEndIsInvalid() throws InvalidJavaClassFileException
+	{
+		reader(new byte[]{0, 1, 2}).skipBytes("too short", 4L);
+	}
+
+	@NotNull
+	private static SimpleJavaClassFileReader reader(@NotNull final byte[] contents)
+	{
+		return new SimpleJavaClassFileReader(new ByteArrayByteReader(contents));
+	}
+}
@@ -0,0 +1,85 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers;
+
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.parser.ClassFileWriter;
+import com.stormmq.java.classfile.parser.ParserConfigurationBuilder;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.parseJavaClassFile;
+import static com.stormmq.java.classfile.parser.ParserConfiguration.DefaultParserConfiguration;
+import static java.nio.ByteBuffer.wrap;
+import static org.junit.Assert.assertEquals;
+
+public final class AttributeParserMappingsTest
+{
+	@Test
+	public void methodParametersCountIsAnUnsigned8BitInteger() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final byte[] classFile = abstractClassWithMethodParameters("first", "second");
+
+		final ConcreteTypeInformation eagerlyParsed = parseJavaClassFile(wrap(classFile), false, DefaultParserConfiguration);
+		final ConcreteTypeInformation lazilyParsed = parseJavaClassFile(wrap(classFile), false, new ParserConfigurationBuilder().lazyConstantPool(true).build());
+
+		assertEquals(1, eagerlyParsed.numberOfInstanceMethods());
+		assertEquals(1, lazilyParsed.numberOfInstanceMethods());
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void methodParametersLongerThanTheirCountAreRejected() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final byte[] classFile = abstractClassWithMethodParameters("first", "second");
+
+		// The attribute's length is unchanged, so the second parameter is left unread
+		classFile[indexOfMethodParametersCount(classFile)] = 1;
+
+		parseJavaClassFile(wrap(classFile), false, DefaultParserConfiguration);
+	}
+
+	private static int indexOfMethodParametersCount(@NotNull final byte[] classFile)
+	{
+		// The count is followed by the two parameters and the class's empty attributes
+		return classFile.length - 2 * 4 - 2 - 1;
+	}
+
+	// public abstract class T { public abstract void m(int first, int second); }
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	private static byte[] abstractClassWithMethodParameters(@NonNls @NotNull final String firstParameterName, @NonNls @NotNull final String secondParameterName) throws IOException
+	{
+		final ClassFileWriter classFile = new ClassFileWriter().header(52, 10).thisAndSuperClass().utf8("m").utf8("(II)V").utf8("MethodParameters").utf8(firstParameterName).utf8(secondParameterName);
+		classFile.classDeclaration(0x0421).u2(0);
+
+		classFile.u2(1).u2(0x0401).u2(5).u2(6);
+		classFile.u2(1).u2(7).u4(1 + 2 * 4).u1(2).u2(8).u2(0x0010).u2(9).u2(0);
+
+		return classFile.u2(0).toByteArray();
+	}
+}
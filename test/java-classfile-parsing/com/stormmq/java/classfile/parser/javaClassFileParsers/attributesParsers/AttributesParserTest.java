@@ -0,0 +1,123 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.attributesParsers;
+
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.parser.ClassFileWriter;
+import com.stormmq.java.classfile.parser.ParseOption;
+import com.stormmq.java.classfile.parser.ParserConfigurationBuilder;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.parseJavaClassFile;
+import static com.stormmq.java.classfile.parser.ParseOption.*;
+import static java.nio.ByteBuffer.wrap;
+import static java.util.EnumSet.of;
+import static org.junit.Assert.assertEquals;
+
+public final class AttributesParserTest
+{
+	@Test
+	public void aSkippedCodeAttributeStillCountsAsPresent() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final byte[] classFile = classWithOneMethod(1, 1, 1);
+
+		assertEquals(1L, codeLength(parse(classFile, NoParseOptions)));
+		assertEquals(0L, codeLength(parse(classFile, of(SkipCode))));
+	}
+
+	@Test
+	public void skippedAttributesWhichCanOccurMoreThanOnceMayBeRepeated() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final byte[] classFile = classWithOneMethod(1, 3, 1);
+
+		assertEquals(1L, codeLength(parse(classFile, NoParseOptions)));
+		assertEquals(1L, codeLength(parse(classFile, of(SkipDebug))));
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aDuplicatedAttributeIsRejected() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		parse(classWithOneMethod(1, 0, 2), NoParseOptions);
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aDuplicatedSkippedAttributeIsRejected() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		parse(classWithOneMethod(1, 0, 2), of(SkipDebug));
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aDuplicatedSkippedCodeAttributeIsRejected() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		parse(classWithOneMethod(2, 0, 1), of(SkipCode));
+	}
+
+	@NotNull
+	private static ConcreteTypeInformation parse(@NotNull final byte[] classFile, @NotNull final Set<ParseOption> parseOptions) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		return parseJavaClassFile(wrap(classFile), false, new ParserConfigurationBuilder().parseOptions(parseOptions).build());
+	}
+
+	private static long codeLength(@NotNull final ConcreteTypeInformation concreteTypeInformation)
+	{
+		final AtomicLong codeLength = new AtomicLong(-1L);
+		concreteTypeInformation.forEachInstanceMethod(methodInformation -> codeLength.set(methodInformation.codeLength()));
+		return codeLength.get();
+	}
+
+	// public class T { public void m() { return; } } with SourceFile and the given number of Code, LineNumberTable (in each Code) and SourceFile attributes
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	private static byte[] classWithOneMethod(final int numberOfCodeAttributes, final int numberOfLineNumberTables, final int numberOfSourceFiles) throws IOException
+	{
+		final ClassFileWriter classFile = new ClassFileWriter().header(52, 11).thisAndSuperClass().utf8("m").utf8("()V").utf8("Code").utf8("SourceFile").utf8("T.java").utf8("LineNumberTable");
+		classFile.classDeclaration(0x0021).u2(0);
+
+		classFile.u2(1).u2(0x0001).u2(5).u2(6).u2(numberOfCodeAttributes);
+		for (int code = 0; code < numberOfCodeAttributes; code++)
+		{
+			classFile.u2(7).u4(2 + 2 + 4 + 1 + 2 + 2 + numberOfLineNumberTables * (2 + 4 + 2 + 4));
+			classFile.u2(0).u2(1).u4(1).u1(0xB1).u2(0);
+			classFile.u2(numberOfLineNumberTables);
+			for (int lineNumberTable = 0; lineNumberTable < numberOfLineNumberTables; lineNumberTable++)
+			{
+				classFile.u2(10).u4(2 + 4).u2(1).u2(0).u2(lineNumberTable + 1);
+			}
+		}
+
+		classFile.u2(numberOfSourceFiles);
+		for (int sourceFile = 0; sourceFile < numberOfSourceFiles; sourceFile++)
+		{
+			classFile.u2(8).u4(2).u2(9);
+		}
+
+		return classFile.toByteArray();
+	}
+}
@@ -0,0 +1,135 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool;
+
+import com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader;
+import com.stormmq.java.classfile.parser.ClassFileWriter;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static com.stormmq.java.classfile.domain.JavaClassFileVersion.Java8;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.ConstantPool.lazyConstantPool;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constantParsers.ConstantParser.constantParsers;
+import static java.nio.ByteBuffer.wrap;
+import static java.util.Arrays.fill;
+import static org.junit.Assert.*;
+
+public final class ConstantPoolTest
+{
+	@Test
+	public void aLazyConstantPoolDecodesAnEntryWhenFirstRetrieved() throws IOException, InvalidJavaClassFileException
+	{
+		final ConstantPool constantPool = lazy(new ClassFileWriter().utf8("java/lang/Object").type(1).toByteArray(), 3);
+
+		assertEquals("InternalTypeName(KnownReferenceTypeName[java.lang.Object], 0)", constantPool.retrieveInternalTypeName(index(2)).toString());
+		assertSame(constantPool.retrieve(index(2)), constantPool.retrieve(index(2)));
+	}
+
+	@Test
+	public void aLazyConstantPoolReleasesItsBytesOnceEveryEntryIsDecoded() throws IOException, InvalidJavaClassFileException
+	{
+		final ConstantPool constantPool = lazy(new ClassFileWriter().utf8("value").longInteger(42L).integer(7).toByteArray(), 5);
+
+		constantPool.retrieve(index(1));
+		constantPool.retrieve(index(2));
+		assertTrue(constantPool.isLazy());
+
+		constantPool.retrieve(index(4));
+		assertFalse(constantPool.isLazy());
+		assertEquals("value", constantPool.retrieveModifiedUtf8String(index(1)));
+	}
+
+	@Test
+	public void decodingAReferencingEntryMayReleaseTheBytes() throws IOException, InvalidJavaClassFileException
+	{
+		final ConstantPool constantPool = lazy(new ClassFileWriter().type(2).utf8("java/lang/Object").toByteArray(), 3);
+
+		// Decodes entry 2 within the decoding of entry 1, so entry 1 is the last to be decoded
+		constantPool.retrieve(index(1));
+
+		assertFalse(constantPool.isLazy());
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aLazyConstantPoolValidatesReferencesOnFirstDecode() throws IOException, InvalidJavaClassFileException
+	{
+		final ConstantPool constantPool = lazy(new ClassFileWriter().integer(7).type(1).toByteArray(), 3);
+
+		constantPool.retrieve(index(2));
+	}
+
+	@Test
+	public void aLazyConstantPoolDoesNotValidateAnEntryThatIsNotDecoded() throws IOException, InvalidJavaClassFileException
+	{
+		final ConstantPool constantPool = lazy(new ClassFileWriter().integer(7).type(1).toByteArray(), 3);
+
+		constantPool.validateReferenceIndices();
+
+		assertTrue(constantPool.isLazy());
+	}
+
+	@Test
+	public void aLazyConstantPoolRecognisesAKnownSymbolWithoutDecodingIt() throws IOException, InvalidJavaClassFileException
+	{
+		final ConstantPool constantPool = lazy(new ClassFileWriter().utf8("Code").utf8("NotAnAttribute").toByteArray(), 3);
+
+		assertNotNull(constantPool.knownSymbol(index(1)));
+		assertNull(constantPool.knownSymbol(index(2)));
+		assertTrue(constantPool.isLazy());
+	}
+
+	@Test
+	public void undecodedEntriesAreCopiedOutOfTheClassFileOnceParsingFinishes() throws IOException, InvalidJavaClassFileException
+	{
+		final byte[] classFileBytes = new ClassFileWriter().utf8("java/lang/Object").longInteger(42L).integer(7).utf8("Code").type(1).toByteArray();
+		final ConstantPool constantPool = lazy(classFileBytes, 7);
+		assertEquals(42L, constantPool.retrieveLong(index(2)));
+
+		constantPool.copyUndecodedEntries();
+		fill(classFileBytes, (byte) 0);
+
+		assertEquals("InternalTypeName(KnownReferenceTypeName[java.lang.Object], 0)", constantPool.retrieveInternalTypeName(index(6)).toString());
+		assertEquals(7, constantPool.retrieveInteger(index(4)));
+		assertNotNull(constantPool.knownSymbol(index(5)));
+		assertTrue(constantPool.isLazy());
+	}
+
+	@NotNull
+	private static ConstantPoolIndex index(final int index)
+	{
+		return new ConstantPoolIndex((char) index);
+	}
+
+	@SuppressWarnings("MethodCanBeVariableArityMethod")
+	@NotNull
+	private static ConstantPool lazy(@NotNull final byte[] classFileBytes, final int constantPoolCount) throws InvalidJavaClassFileException
+	{
+		final ByteBufferJavaClassFileReader javaClassFileReader = new ByteBufferJavaClassFileReader(wrap(classFileBytes));
+		final ConstantPool constantPool = lazyConstantPool((char) constantPoolCount, javaClassFileReader, javaClassFileReader.unreadBytes(), constantParsers(Java8));
+		assertEquals(classFileBytes.length, javaClassFileReader.bytesReadSoFar());
+		return constantPool;
+	}
+}
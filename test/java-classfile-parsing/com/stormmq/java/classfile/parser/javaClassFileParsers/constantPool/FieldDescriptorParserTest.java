@@ -0,0 +1,95 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool;
+
+import com.stormmq.java.classfile.domain.descriptors.FieldDescriptor;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.*;
+
+import static com.stormmq.java.classfile.domain.descriptors.FieldDescriptor.knownFieldDescriptor;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.FieldDescriptorParser.parseFieldDescriptor;
+import static org.junit.Assert.*;
+
+public final class FieldDescriptorParserTest
+{
+	// Descriptors are interned for the life of the process, so each test uses ones no other test parses
+
+	@Test(timeout = 1000)
+	public void aRawDescriptorIsInternedOnFirstParse() throws InvalidJavaClassFileException
+	{
+		final String rawFieldDescriptor = "[Lcom/example/InternedOnFirstParse;";
+		assertNull(knownFieldDescriptor(rawFieldDescriptor));
+
+		final FieldDescriptor fieldDescriptor = parseFieldDescriptor(rawFieldDescriptor);
+		assertSame(fieldDescriptor, knownFieldDescriptor(rawFieldDescriptor));
+		assertSame(fieldDescriptor, parseFieldDescriptor(new String(rawFieldDescriptor)));
+	}
+
+	@Test(timeout = 1000)
+	public void differentRawDescriptorsAreDifferentInstances() throws InvalidJavaClassFileException
+	{
+		assertNotSame(parseFieldDescriptor("Lcom/example/Different;"), parseFieldDescriptor("[Lcom/example/Different;"));
+	}
+
+	@Test(timeout = 1000)
+	public void anInvalidRawDescriptorIsNotInterned()
+	{
+		final String rawFieldDescriptor = "Lcom/example/Unterminated";
+		for (int attempt = 0; attempt < 2; attempt++)
+		{
+			try
+			{
+				parseFieldDescriptor(rawFieldDescriptor);
+				fail("Expected an unterminated descriptor to be rejected");
+			}
+			catch (final InvalidJavaClassFileException ignored)
+			{
+			}
+			assertNull(knownFieldDescriptor(rawFieldDescriptor));
+		}
+	}
+
+	@Test(timeout = 1000)
+	public void deserializationResolvesToTheInternedInstance() throws InvalidJavaClassFileException, IOException, ClassNotFoundException
+	{
+		final FieldDescriptor fieldDescriptor = parseFieldDescriptor("Lcom/example/Deserialized;");
+		assertSame(fieldDescriptor, roundTrip(fieldDescriptor));
+	}
+
+	@NotNull
+	private static Object roundTrip(@NotNull final Serializable serializable) throws IOException, ClassNotFoundException
+	{
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream))
+		{
+			objectOutputStream.writeObject(serializable);
+		}
+		try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray())))
+		{
+			return objectInputStream.readObject();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool;
+
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.KnownSymbol.knownSymbol;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.Assert.*;
+
+public final class KnownSymbolTest
+{
+	private static final int Offset = 3;
+
+	@Test
+	public void everyKnownSymbolIsFoundFromItsString()
+	{
+		for (final KnownSymbol knownSymbol : KnownSymbol.values())
+		{
+			assertSame(knownSymbol, knownSymbol(knownSymbol.value));
+		}
+	}
+
+	@Test
+	public void everyKnownSymbolIsFoundFromItsBytes()
+	{
+		for (final KnownSymbol knownSymbol : KnownSymbol.values())
+		{
+			final byte[] bytes = knownSymbol.value.getBytes(US_ASCII);
+			assertSame(knownSymbol, knownSymbol(prefixed(bytes, false), Offset, bytes.length));
+			assertSame(knownSymbol, knownSymbol(prefixed(bytes, true), Offset, bytes.length));
+		}
+	}
+
+	@Test
+	public void aValueWithTheSameHashButDifferentCharactersIsNotAKnownSymbol()
+	{
+		// Same length and first, middle and last characters as Code and LineNumberTable, so the same slot
+		assertDifferentFromKnownSymbol("Cxde");
+		assertDifferentFromKnownSymbol("Lxxxxxxbxxxxxxe");
+	}
+
+	@Test
+	public void otherValuesAreNotKnownSymbols()
+	{
+		assertDifferentFromKnownSymbol("");
+		assertDifferentFromKnownSymbol("Codes");
+		assertDifferentFromKnownSymbol("Cod");
+		assertDifferentFromKnownSymbol("code");
+		assertDifferentFromKnownSymbol("java/lang/Object");
+	}
+
+	@Test
+	public void bitsAreDistinct()
+	{
+		long bits = 0L;
+		for (final KnownSymbol knownSymbol : KnownSymbol.values())
+		{
+			assertEquals(1, Long.bitCount(knownSymbol.bit));
+			assertEquals(0L, bits & knownSymbol.bit);
+			bits |= knownSymbol.bit;
+		}
+	}
+
+	private static void assertDifferentFromKnownSymbol(@NonNls @NotNull final String value)
+	{
+		assertNull(value, knownSymbol(value));
+		final byte[] bytes = value.getBytes(US_ASCII);
+		assertNull(value, knownSymbol(prefixed(bytes, false), Offset, bytes.length));
+	}
+
+	@NotNull
+	private static ByteBuffer prefixed(@NotNull final byte[] bytes, final boolean direct)
+	{
+		final ByteBuffer byteBuffer = direct ? allocateDirect(Offset + bytes.length) : wrap(new byte[Offset + bytes.length]);
+		byteBuffer.position(Offset);
+		byteBuffer.put(bytes);
+		byteBuffer.clear();
+		return byteBuffer;
+	}
+}
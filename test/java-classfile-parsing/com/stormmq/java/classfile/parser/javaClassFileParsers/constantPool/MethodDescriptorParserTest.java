@@ -0,0 +1,88 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool;
+
+import com.stormmq.java.classfile.domain.descriptors.MethodDescriptor;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.junit.Test;
+
+import static com.stormmq.java.classfile.domain.descriptors.MethodDescriptor.knownMethodDescriptor;
+import static com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.MethodDescriptorParser.parseMethodDescriptor;
+import static org.junit.Assert.*;
+
+public final class MethodDescriptorParserTest
+{
+	// Descriptors are interned for the life of the process, so each test uses ones no other test parses
+
+	@Test(timeout = 1000)
+	public void aRawDescriptorIsInternedOnFirstParse() throws InvalidJavaClassFileException
+	{
+		final String rawMethodDescriptor = "(Lcom/example/InternedOnFirstParse;J)V";
+		assertNull(knownMethodDescriptor(rawMethodDescriptor));
+
+		final MethodDescriptor methodDescriptor = parseMethodDescriptor(rawMethodDescriptor, false);
+		assertSame(methodDescriptor, knownMethodDescriptor(rawMethodDescriptor));
+		assertSame(methodDescriptor, parseMethodDescriptor(new String(rawMethodDescriptor), false));
+		assertEquals(2, methodDescriptor.parameterCount());
+		assertTrue(methodDescriptor.hasVoidReturnType());
+	}
+
+	@Test(timeout = 1000)
+	public void differentRawDescriptorsAreDifferentInstances() throws InvalidJavaClassFileException
+	{
+		assertNotSame(parseMethodDescriptor("(Lcom/example/Different;)I", false), parseMethodDescriptor("(Lcom/example/Different;)J", false));
+	}
+
+	@Test(timeout = 1000)
+	public void aVoidReturnTypeIsRequiredEvenWhenTheDescriptorIsKnown() throws InvalidJavaClassFileException
+	{
+		final String rawMethodDescriptor = "(Lcom/example/KnownNonVoid;)I";
+		parseMethodDescriptor(rawMethodDescriptor, false);
+		try
+		{
+			parseMethodDescriptor(rawMethodDescriptor, true);
+			fail("Expected a non-void return type to be rejected");
+		}
+		catch (final InvalidJavaClassFileException ignored)
+		{
+		}
+	}
+
+	@Test(timeout = 1000)
+	public void anInvalidRawDescriptorIsNotInterned()
+	{
+		final String rawMethodDescriptor = "(Lcom/example/Unterminated;";
+		for (int attempt = 0; attempt < 2; attempt++)
+		{
+			try
+			{
+				parseMethodDescriptor(rawMethodDescriptor, false);
+				fail("Expected an unterminated descriptor to be rejected");
+			}
+			catch (final InvalidJavaClassFileException ignored)
+			{
+			}
+			assertNull(knownMethodDescriptor(rawMethodDescriptor));
+		}
+	}
+}
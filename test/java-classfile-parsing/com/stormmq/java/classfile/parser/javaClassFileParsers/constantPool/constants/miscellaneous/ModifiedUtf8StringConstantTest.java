@@ -0,0 +1,96 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.constantPool.constants.miscellaneous;
+
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import org.jetbrains.annotations.NonNls;
+import org.junit.Test;
+
+import java.io.*;
+
+import static org.junit.Assert.*;
+
+public final class ModifiedUtf8StringConstantTest
+{
+	@NonNls private static final String Valid = "java/lang/Object";
+	@NonNls private static final String UnpairedSurrogate = "a\uD800b";
+
+	@Test
+	public void aValidValueIsReturnedOnEveryUse() throws InvalidJavaClassFileException
+	{
+		final ModifiedUtf8StringConstant constant = new ModifiedUtf8StringConstant(Valid);
+
+		assertSame(Valid, constant.value());
+		assertSame(Valid, constant.value());
+	}
+
+	@Test
+	public void anInvalidValueThrowsOnEveryUse()
+	{
+		final ModifiedUtf8StringConstant constant = new ModifiedUtf8StringConstant(UnpairedSurrogate);
+
+		for (int use = 0; use < 2; use++)
+		{
+			try
+			{
+				constant.value();
+				fail("Expected an unpaired surrogate to be invalid");
+			}
+			catch (final InvalidJavaClassFileException ignored)
+			{
+			}
+		}
+	}
+
+	@Test
+	public void anInvalidValueIsStillAvailableUnvalidated()
+	{
+		assertSame(UnpairedSurrogate, new ModifiedUtf8StringConstant(UnpairedSurrogate).potentiallyInvalidValue());
+	}
+
+	@Test
+	public void aDeserializedInvalidValueStillThrows() throws IOException, ClassNotFoundException
+	{
+		final ModifiedUtf8StringConstant constant = new ModifiedUtf8StringConstant(UnpairedSurrogate);
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes))
+		{
+			objectOutputStream.writeObject(constant);
+		}
+
+		final ModifiedUtf8StringConstant deserialized;
+		try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+		{
+			deserialized = (ModifiedUtf8StringConstant) objectInputStream.readObject();
+		}
+
+		try
+		{
+			deserialized.value();
+			fail("Expected an unpaired surrogate to be invalid");
+		}
+		catch (final InvalidJavaClassFileException ignored)
+		{
+		}
+	}
+}
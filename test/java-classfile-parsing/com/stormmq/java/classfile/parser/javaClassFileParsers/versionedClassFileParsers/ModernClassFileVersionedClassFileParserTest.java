@@ -0,0 +1,110 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.javaClassFileParsers.versionedClassFileParsers;
+
+import com.stormmq.java.classfile.domain.information.ConcreteTypeInformation;
+import com.stormmq.java.classfile.parser.ClassFileWriter;
+import com.stormmq.java.classfile.parser.ParserConfigurationBuilder;
+import com.stormmq.java.classfile.parser.ValidationLevel;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.parseJavaClassFile;
+import static com.stormmq.java.classfile.parser.ValidationLevel.*;
+import static java.nio.ByteBuffer.wrap;
+import static org.junit.Assert.assertEquals;
+
+public final class ModernClassFileVersionedClassFileParserTest
+{
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aDuplicateFieldIsRejectedAtFull() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		parse(abstractClass(2, 0), Full);
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aDuplicateFieldIsRejectedAtStructural() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		parse(abstractClass(2, 0), Structural);
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aDuplicateMethodIsRejectedAtStructural() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		parse(abstractClass(0, 2), Structural);
+	}
+
+	@Test
+	public void aDuplicateMemberIsLostAtNone() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final ConcreteTypeInformation concreteTypeInformation = parse(abstractClass(2, 2), None);
+
+		assertEquals(1, concreteTypeInformation.numberOfInstanceFields());
+		assertEquals(1, concreteTypeInformation.numberOfInstanceMethods());
+	}
+
+	@Test
+	public void distinctMembersAreAcceptedAtEveryLevel() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		for (final ValidationLevel validationLevel : ValidationLevel.values())
+		{
+			final ConcreteTypeInformation concreteTypeInformation = parse(abstractClass(1, 1), validationLevel);
+
+			assertEquals(1, concreteTypeInformation.numberOfInstanceFields());
+			assertEquals(1, concreteTypeInformation.numberOfInstanceMethods());
+		}
+	}
+
+	@NotNull
+	private static ConcreteTypeInformation parse(@NotNull final byte[] classFile, @NotNull final ValidationLevel validationLevel) throws InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		return parseJavaClassFile(wrap(classFile), false, new ParserConfigurationBuilder().validationLevel(validationLevel).build());
+	}
+
+	// public abstract class T { public int f; public abstract void m(); } with the given number of copies of f and m
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	private static byte[] abstractClass(final int numberOfFields, final int numberOfMethods) throws IOException
+	{
+		final ClassFileWriter classFile = new ClassFileWriter().header(52, 9).thisAndSuperClass().utf8("f").utf8("I").utf8("m").utf8("()V");
+		classFile.classDeclaration(0x0421);
+
+		classFile.u2(numberOfFields);
+		for (int field = 0; field < numberOfFields; field++)
+		{
+			classFile.u2(0x0001).u2(5).u2(6).u2(0);
+		}
+
+		classFile.u2(numberOfMethods);
+		for (int method = 0; method < numberOfMethods; method++)
+		{
+			classFile.u2(0x0401).u2(7).u2(8).u2(0);
+		}
+
+		return classFile.u2(0).toByteArray();
+	}
+}
@@ -0,0 +1,301 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.parser.visitors;
+
+import com.stormmq.java.classfile.domain.TypeKind;
+import com.stormmq.java.classfile.domain.attributes.AttributeLocation;
+import com.stormmq.java.classfile.domain.attributes.UnknownAttributes;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValue;
+import com.stormmq.java.classfile.domain.attributes.annotations.AnnotationValues;
+import com.stormmq.java.classfile.domain.attributes.annotations.TypeAnnotation;
+import com.stormmq.java.classfile.domain.attributes.code.Code;
+import com.stormmq.java.classfile.domain.attributes.type.BootstrapMethod;
+import com.stormmq.java.classfile.domain.attributes.type.enclosingMethods.EnclosingMethod;
+import com.stormmq.java.classfile.domain.information.FieldInformation;
+import com.stormmq.java.classfile.domain.information.MethodInformation;
+import com.stormmq.java.classfile.domain.signatures.Signature;
+import com.stormmq.java.classfile.domain.uniqueness.FieldUniqueness;
+import com.stormmq.java.classfile.domain.uniqueness.MethodUniqueness;
+import com.stormmq.java.classfile.parser.ClassFileWriter;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.InvalidJavaClassFileException;
+import com.stormmq.java.classfile.parser.javaClassFileParsers.exceptions.NotAJavaClassFileException;
+import com.stormmq.java.parsing.utilities.Completeness;
+import com.stormmq.java.parsing.utilities.Visibility;
+import com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.stormmq.java.classfile.parser.JavaClassFileParser.parseJavaClassFile;
+import static com.stormmq.java.classfile.parser.ParserConfiguration.DefaultParserConfiguration;
+import static java.nio.ByteBuffer.wrap;
+import static org.junit.Assert.*;
+
+public final class JavaClassFileVisitorTest
+{
+	@Test
+	public void memberAttributeAndAnnotationEventsPrecedeTheMember() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final List<String> events = parse(new RecordingJavaClassFileVisitor(null, null));
+
+		final int fieldStart = events.indexOf("fieldStart annotated");
+		final int fieldAttribute = events.indexOf("attribute Field RuntimeVisibleAnnotations");
+		final int fieldAnnotation = events.indexOf("annotation Field true");
+		final int field = events.indexOf("field annotated");
+		assertTrue(events.toString(), fieldStart != -1 && fieldStart < fieldAttribute && fieldAttribute < fieldAnnotation && fieldAnnotation < field);
+
+		final int methodStart = events.indexOf("methodStart annotated");
+		// Every method has a Code attribute, so only look from this one's start
+		final int codeAttribute = methodStart + events.subList(methodStart, events.size()).indexOf("attribute Method Code");
+		final int methodAnnotation = events.indexOf("annotation Method true");
+		final int code = events.indexOf("code annotated");
+		final int method = events.indexOf("method annotated");
+		assertTrue(events.toString(), methodStart != -1 && methodStart < codeAttribute && methodStart < methodAnnotation && codeAttribute < code && methodAnnotation < code && code < method);
+
+		final int typeAnnotation = events.indexOf("annotation Type true");
+		final int typeAttributes = events.indexOf("typeAttributes");
+		assertTrue(events.toString(), method < typeAnnotation && typeAnnotation < typeAttributes);
+		assertEquals("end", events.get(events.size() - 1));
+	}
+
+	@Test
+	public void aSkippedFieldIsNotBuilt() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final List<String> events = parse(new RecordingJavaClassFileVisitor("annotated", null));
+
+		assertTrue(events.contains("fieldStart annotated"));
+		assertFalse(events.contains("field annotated"));
+		assertFalse(events.contains("annotation Field true"));
+		assertTrue(events.contains("field plain"));
+	}
+
+	@Test
+	public void aSkippedMethodIsNotBuilt() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final List<String> events = parse(new RecordingJavaClassFileVisitor(null, "annotated"));
+
+		assertTrue(events.contains("methodStart annotated"));
+		assertFalse(events.contains("code annotated"));
+		assertFalse(events.contains("method annotated"));
+		assertFalse(events.contains("annotation Method true"));
+		assertTrue(events.contains("method plain"));
+	}
+
+	@Test
+	public void aSkippedCodeAttributeStillCountsAsPresent() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		final RecordingJavaClassFileVisitor visitor = new RecordingJavaClassFileVisitor(null, null)
+		{
+			@Override
+			public boolean visitAttribute(@NotNull final AttributeLocation attributeLocation, @NotNull final String attributeName, final long attributeLength)
+			{
+				super.visitAttribute(attributeLocation, attributeName, attributeLength);
+				return !attributeName.equals("Code");
+			}
+		};
+		final List<String> events = parse(visitor);
+
+		assertFalse(events.contains("code annotated"));
+		assertTrue(events.contains("method annotated"));
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aSkippedCopyOfAnAttributeFollowedByAParsedCopyIsRejected() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		parseJavaClassFile(wrap(classWithTwoSourceFiles()), false, DefaultParserConfiguration, skipsOneSourceFile(1));
+	}
+
+	@Test(expected = InvalidJavaClassFileException.class)
+	public void aParsedCopyOfAnAttributeFollowedByASkippedCopyIsRejected() throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		parseJavaClassFile(wrap(classWithTwoSourceFiles()), false, DefaultParserConfiguration, skipsOneSourceFile(2));
+	}
+
+	@NotNull
+	private static List<String> parse(@NotNull final RecordingJavaClassFileVisitor visitor) throws IOException, InvalidJavaClassFileException, NotAJavaClassFileException
+	{
+		return parseJavaClassFile(wrap(fixtureClassFile()), false, DefaultParserConfiguration, visitor);
+	}
+
+	// Skips only the given copy, counting from 1, of a SourceFile attribute
+	@NotNull
+	private static RecordingJavaClassFileVisitor skipsOneSourceFile(final int skippedCopy)
+	{
+		return new RecordingJavaClassFileVisitor(null, null)
+		{
+			private int copy;
+
+			@Override
+			public boolean visitAttribute(@NotNull final AttributeLocation attributeLocation, @NotNull final String attributeName, final long attributeLength)
+			{
+				super.visitAttribute(attributeLocation, attributeName, attributeLength);
+				return !attributeName.equals("SourceFile") || ++copy != skippedCopy;
+			}
+		};
+	}
+
+	// public class T {} with two SourceFile attributes
+	@SuppressWarnings("MagicNumber")
+	@NotNull
+	private static byte[] classWithTwoSourceFiles() throws IOException
+	{
+		final ClassFileWriter classFile = new ClassFileWriter().header(52, 7).thisAndSuperClass().utf8("SourceFile").utf8("T.java");
+		classFile.classDeclaration(0x0021).u2(0).u2(0);
+		classFile.u2(2).u2(5).u4(2).u2(6).u2(5).u4(2).u2(6);
+		return classFile.toByteArray();
+	}
+
+	@NotNull
+	private static byte[] fixtureClassFile() throws IOException
+	{
+		try (final InputStream inputStream = JavaClassFileVisitorTest.class.getResourceAsStream("JavaClassFileVisitorTest$Fixture.class"))
+		{
+			final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				byteArrayOutputStream.write(buffer, 0, read);
+			}
+			return byteArrayOutputStream.toByteArray();
+		}
+	}
+
+	@SuppressWarnings({"unused", "DeprecatedIsStillUsed"})
+	@Deprecated
+	private static final class Fixture
+	{
+		@Deprecated public int annotated;
+		public int plain;
+
+		@Deprecated
+		public void annotated()
+		{
+		}
+
+		public void plain()
+		{
+		}
+	}
+
+	private static class RecordingJavaClassFileVisitor implements JavaClassFileVisitor<List<String>>
+	{
+		@NotNull private final List<String> events = new ArrayList<>();
+		@Nullable @NonNls private final String skippedFieldName;
+		@Nullable @NonNls private final String skippedMethodName;
+
+		RecordingJavaClassFileVisitor(@Nullable @NonNls final String skippedFieldName, @Nullable @NonNls final String skippedMethodName)
+		{
+			this.skippedFieldName = skippedFieldName;
+			this.skippedMethodName = skippedMethodName;
+		}
+
+		@NotNull
+		private static String methodName(@NotNull final MethodUniqueness methodUniqueness)
+		{
+			final String value = methodUniqueness.toString();
+			return value.substring(value.indexOf('(') + 1, value.indexOf(','));
+		}
+
+		@Override
+		public void visitTypeHeader(@NotNull final TypeKind typeKind, @NotNull final Visibility visibility, @NotNull final Completeness completeness, final boolean isSynthetic, final boolean hasLegacySuperFlagSetting, @NotNull final KnownReferenceTypeName thisClassTypeName, @Nullable final KnownReferenceTypeName superClassTypeName, @NotNull final Set<KnownReferenceTypeName> interfaces)
+		{
+			events.add("typeHeader");
+		}
+
+		@Override
+		public boolean visitFieldStart(final char fieldAccessFlags, @NotNull final FieldUniqueness fieldUniqueness)
+		{
+			final String fieldName = fieldUniqueness.fieldName();
+			events.add("fieldStart " + fieldName);
+			return !fieldName.equals(skippedFieldName);
+		}
+
+		@Override
+		public boolean visitMethodStart(final char methodAccessFlags, @NotNull final MethodUniqueness methodUniqueness)
+		{
+			final String methodName = methodName(methodUniqueness);
+			events.add("methodStart " + methodName);
+			return !methodName.equals(skippedMethodName);
+		}
+
+		@Override
+		public boolean visitAttribute(@NotNull final AttributeLocation attributeLocation, @NotNull final String attributeName, final long attributeLength)
+		{
+			events.add("attribute " + attributeLocation + ' ' + attributeName);
+			return true;
+		}
+
+		@Override
+		public void visitAnnotation(@NotNull final AttributeLocation attributeLocation, final boolean isVisible, @NotNull final AnnotationValue annotationValue)
+		{
+			events.add("annotation " + attributeLocation + ' ' + isVisible);
+		}
+
+		@Override
+		public void visitField(@NotNull final FieldInformation fieldInformation)
+		{
+			events.add("field " + fieldInformation.fieldUniqueness.fieldName());
+		}
+
+		@Override
+		public void visitCode(@NotNull final MethodUniqueness methodUniqueness, @NotNull final Code code)
+		{
+			events.add("code " + methodName(methodUniqueness));
+		}
+
+		@Override
+		public void visitMethod(@NotNull final MethodUniqueness methodUniqueness, @NotNull final MethodInformation methodInformation)
+		{
+			events.add("method " + methodName(methodUniqueness));
+		}
+
+		@Override
+		public void visitTypeAttributes(final boolean isSyntheticAttribute, final boolean isDeprecated, @Nullable final Signature signature, @NotNull final UnknownAttributes unknownAttributes, @Nullable final String sourceFile, @Nullable final EnclosingMethod enclosingMethod, @Nullable final String sourceDebugExtension, @NotNull final BootstrapMethod[] bootstrapMethods)
+		{
+			events.add("typeAttributes");
+		}
+
+		@Override
+		public void visitTypeAnnotations(@NotNull final AnnotationValues runtimeAnnotationValues, @NotNull final TypeAnnotation[] visibleTypeAnnotations, @NotNull final TypeAnnotation[] invisibleTypeAnnotations)
+		{
+			events.add("typeAnnotations");
+		}
+
+		@NotNull
+		@Override
+		public List<String> visitEnd()
+		{
+			events.add("end");
+			return events;
+		}
+	}
+}
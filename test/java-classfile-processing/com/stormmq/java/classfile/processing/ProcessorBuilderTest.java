@@ -0,0 +1,115 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing;
+
+import com.stormmq.java.classfile.parser.ValidationLevel;
+import com.stormmq.java.classfile.processing.multithreaded.ExecutionStrategy;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.stormmq.java.classfile.processing.multithreaded.ExecutionStrategy.separateInputOutputExecutionStrategy;
+import static java.nio.file.Files.copy;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+public final class ProcessorBuilderTest
+{
+	@NotNull private static final Class<?>[] ParsedClasses = {Processor.class, ProcessorBuilder.class};
+	@NotNull private static final UncaughtExceptionHandler FailOnUncaughtException = (thread, throwable) ->
+	{
+		throw new AssertionError(throwable);
+	};
+
+	@Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Iterable<Path> paths;
+
+	@Before
+	public void copyClassFiles() throws IOException
+	{
+		final Path classesFolderPath = temporaryFolder.newFolder("classes").toPath();
+		for (final Class<?> parsedClass : ParsedClasses)
+		{
+			try (final InputStream inputStream = parsedClass.getResourceAsStream(parsedClass.getSimpleName() + ".class"))
+			{
+				copy(inputStream, classesFolderPath.resolve(parsedClass.getSimpleName() + ".class"));
+			}
+		}
+		paths = singletonList(classesFolderPath);
+	}
+
+	@Test(timeout = 30_000L)
+	public void theDefaultsProcessClassFiles()
+	{
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		final Records records = new ProcessorBuilder(processLog, FailOnUncaughtException).build().process(paths);
+
+		assertEquals(ParsedClasses.length, processLog.successCount());
+		assertEquals(0, processLog.failureCount());
+		assertNotNull(records);
+	}
+
+	@Test(timeout = 30_000L)
+	public void everyOptionIsUsed()
+	{
+		final AtomicInteger schedulersMade = new AtomicInteger(0);
+		final ExecutionStrategy delegate = separateInputOutputExecutionStrategy(1, 1);
+		final ExecutionStrategy countingExecutionStrategy = (fileParser, processLog, uncaughtExceptionHandler) ->
+		{
+			schedulersMade.incrementAndGet();
+			return delegate.newScheduler(fileParser, processLog, uncaughtExceptionHandler);
+		};
+
+		for (final ValidationLevel validationLevel : ValidationLevel.values())
+		{
+			final RecordingProcessLog processLog = new RecordingProcessLog();
+			new ProcessorBuilder(processLog, FailOnUncaughtException).permitConstantsInInstanceFields(true).validationLevel(validationLevel).executionStrategy(countingExecutionStrategy).maximumInFlightBytes(1L << 20, 1L << 22, 1L << 20).build().process(paths);
+
+			assertEquals(ParsedClasses.length, processLog.successCount());
+			assertEquals(0, processLog.failureCount());
+		}
+		assertEquals(ValidationLevel.values().length, schedulersMade.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void aNonPositiveMaximumInFlightBytesIsRejected()
+	{
+		new ProcessorBuilder(new RecordingProcessLog(), FailOnUncaughtException).maximumInFlightBytes(1L << 20, 0L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void aNegativeMaximumPooledBytesIsRejected()
+	{
+		new ProcessorBuilder(new RecordingProcessLog(), FailOnUncaughtException).maximumInFlightBytes(1L << 20, 1L << 22, -1L);
+	}
+}
@@ -0,0 +1,234 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.caches;
+
+import com.stormmq.java.classfile.processing.ConcreteRecords;
+import com.stormmq.java.classfile.processing.Processor;
+import com.stormmq.java.classfile.processing.ProcessorBuilder;
+import com.stormmq.java.classfile.processing.Records;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.stormmq.java.classfile.processing.caches.ContentHashParseCache.DefaultMaximumParseCacheBytes;
+import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName.knownReferenceTypeName;
+import static java.nio.file.Files.*;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+public final class ContentHashParseCacheTest
+{
+	@NotNull private static final Class<?>[] ParsedClasses = {Processor.class, ConcreteRecords.class};
+	@NotNull private static final byte[] TruncatedJavaClassFile = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0x00};
+
+	@Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path cacheFolderPath;
+
+	@Before
+	public void chooseCacheFolder()
+	{
+		cacheFolderPath = temporaryFolder.getRoot().toPath().resolve("cache");
+	}
+
+	@Test(timeout = 30_000L)
+	public void anArchiveParsedBeforeIsReadFromTheCache() throws IOException
+	{
+		final Path jarFilePath = newJar("first.jar", false);
+
+		final RecordingProcessLog firstProcessLog = new RecordingProcessLog();
+		final Records parsed = newProcessor(firstProcessLog).process(singletonList(jarFilePath));
+		assertTrue(firstProcessLog.messages.contains("Parse cache hits: 0.  Misses: 1."));
+		assertEquals(ParsedClasses.length, firstProcessLog.successCount());
+
+		final RecordingProcessLog secondProcessLog = new RecordingProcessLog();
+		final Records cached = newProcessor(secondProcessLog).process(singletonList(jarFilePath));
+		assertTrue(secondProcessLog.messages.contains("Parse cache hits: 1.  Misses: 0."));
+		assertEquals(ParsedClasses.length, secondProcessLog.successCount());
+		assertTrue(secondProcessLog.snapshotWarnings.isEmpty());
+		assertEquals(describe(parsed), describe(cached));
+	}
+
+	@Test(timeout = 30_000L)
+	public void anArchiveIsFoundByItsContentsWhereverItIs() throws IOException
+	{
+		final Path jarFilePath = newJar("first.jar", false);
+		newProcessor(new RecordingProcessLog()).process(singletonList(jarFilePath));
+
+		final Path copiedJarFilePath = temporaryFolder.newFolder("elsewhere").toPath().resolve("copied.jar");
+		copy(jarFilePath, copiedJarFilePath);
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		final Records cached = newProcessor(processLog).process(singletonList(copiedJarFilePath));
+		assertTrue(processLog.messages.contains("Parse cache hits: 1.  Misses: 0."));
+		assertTrue(processLog.successes.contains(copiedJarFilePath + "!/" + entryName(Processor.class)));
+		assertEquals(describe(new Processor(true, new RecordingProcessLog(), (thread, throwable) ->
+		{
+			throw new AssertionError(throwable);
+		}).process(singletonList(copiedJarFilePath))), describe(cached));
+	}
+
+	@Test(timeout = 30_000L)
+	public void aChangedArchiveIsParsedAgain() throws IOException
+	{
+		final Path jarFilePath = newJar("first.jar", false);
+		newProcessor(new RecordingProcessLog()).process(singletonList(jarFilePath));
+
+		try (final ZipOutputStream zipOutputStream = new ZipOutputStream(newOutputStream(jarFilePath)))
+		{
+			addEntry(zipOutputStream, Processor.class);
+		}
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		newProcessor(processLog).process(singletonList(jarFilePath));
+		assertTrue(processLog.messages.contains("Parse cache hits: 0.  Misses: 1."));
+		assertEquals(1, processLog.successCount());
+	}
+
+	@Test(timeout = 30_000L)
+	public void anArchiveWithAFailureIsNotCached() throws IOException
+	{
+		final Path jarFilePath = newJar("first.jar", true);
+		final RecordingProcessLog firstProcessLog = new RecordingProcessLog();
+		newProcessor(firstProcessLog).process(singletonList(jarFilePath));
+		assertEquals(1, firstProcessLog.failureCount());
+
+		final RecordingProcessLog secondProcessLog = new RecordingProcessLog();
+		newProcessor(secondProcessLog).process(singletonList(jarFilePath));
+		assertTrue(secondProcessLog.messages.contains("Parse cache hits: 0.  Misses: 1."));
+		assertEquals(1, secondProcessLog.failureCount());
+		assertEquals(ParsedClasses.length, secondProcessLog.successCount());
+	}
+
+	@Test(timeout = 30_000L)
+	public void anArchiveWhoseSizeAndLastModifiedTimeAreUnchangedIsNotHashedAgain() throws IOException
+	{
+		final Path jarFilePath = newJar("first.jar", false);
+		newProcessor(new RecordingProcessLog()).process(singletonList(jarFilePath));
+
+		// Were the archive read, this would be a miss that fails to parse
+		final FileTime lastModifiedTime = getLastModifiedTime(jarFilePath);
+		write(jarFilePath, new byte[(int) size(jarFilePath)]);
+		setLastModifiedTime(jarFilePath, lastModifiedTime);
+
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		newProcessor(processLog).process(singletonList(jarFilePath));
+		assertTrue(processLog.messages.contains("Parse cache hits: 1.  Misses: 0."));
+		assertEquals(ParsedClasses.length, processLog.successCount());
+	}
+
+	@Test(timeout = 30_000L)
+	public void theCacheIsPrunedToItsMaximumAfterEachRun() throws IOException
+	{
+		final Path jarFilePath = newJar("first.jar", false);
+		newProcessor(new RecordingProcessLog(), 0L).process(singletonList(jarFilePath));
+		try (final Stream<Path> cacheFilePaths = list(cacheFolderPath))
+		{
+			assertEquals(0L, cacheFilePaths.count());
+		}
+
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		newProcessor(processLog).process(singletonList(jarFilePath));
+		assertTrue(processLog.messages.contains("Parse cache hits: 0.  Misses: 1."));
+	}
+
+	@NotNull
+	private Path newJar(@NotNull final String fileName, final boolean includeInvalidJavaClassFile) throws IOException
+	{
+		final Path jarFilePath = temporaryFolder.getRoot().toPath().resolve(fileName);
+		try (final ZipOutputStream zipOutputStream = new ZipOutputStream(newOutputStream(jarFilePath)))
+		{
+			for (final Class<?> parsedClass : ParsedClasses)
+			{
+				addEntry(zipOutputStream, parsedClass);
+			}
+			if (includeInvalidJavaClassFile)
+			{
+				zipOutputStream.putNextEntry(new ZipEntry("Invalid.class"));
+				zipOutputStream.write(TruncatedJavaClassFile);
+				zipOutputStream.closeEntry();
+			}
+		}
+		return jarFilePath;
+	}
+
+	private static void addEntry(@NotNull final ZipOutputStream zipOutputStream, @NotNull final Class<?> parsedClass) throws IOException
+	{
+		zipOutputStream.putNextEntry(new ZipEntry(entryName(parsedClass)));
+		final byte[] buffer = new byte[4096];
+		try (final InputStream inputStream = parsedClass.getResourceAsStream(parsedClass.getSimpleName() + ".class"))
+		{
+			int read;
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				zipOutputStream.write(buffer, 0, read);
+			}
+		}
+		zipOutputStream.closeEntry();
+	}
+
+	@NotNull
+	private static String entryName(@NotNull final Class<?> parsedClass)
+	{
+		return parsedClass.getName().replace('.', '/') + ".class";
+	}
+
+	@NotNull
+	private Processor newProcessor(@NotNull final RecordingProcessLog processLog)
+	{
+		return newProcessor(processLog, DefaultMaximumParseCacheBytes);
+	}
+
+	@NotNull
+	private Processor newProcessor(@NotNull final RecordingProcessLog processLog, final long maximumParseCacheBytes)
+	{
+		return new ProcessorBuilder(processLog, (thread, throwable) ->
+		{
+			throw new AssertionError(throwable);
+		}).permitConstantsInInstanceFields(true).parseCacheFolderPath(cacheFolderPath, maximumParseCacheBytes).build();
+	}
+
+	@NotNull
+	private static List<String> describe(@NotNull final Records records)
+	{
+		final List<String> descriptions = new ArrayList<>(ParsedClasses.length);
+		for (final Class<?> parsedClass : ParsedClasses)
+		{
+			final TypeInformationTriplet typeInformationTriplet = records.retrieve(knownReferenceTypeName(parsedClass.getName()));
+			descriptions.add(typeInformationTriplet.thisClassTypeName() + " extends " + typeInformationTriplet.superClassTypeName() + " in " + typeInformationTriplet.relativeFilePath + " of " + typeInformationTriplet.relativeRootFolderPath + ": " + typeInformationTriplet.numberOfStaticFields() + ' ' + typeInformationTriplet.numberOfInstanceFields() + ' ' + typeInformationTriplet.numberOfStaticMethods() + ' ' + typeInformationTriplet.numberOfInstanceMethods());
+		}
+		return descriptions;
+	}
+}
@@ -0,0 +1,77 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.fileParsers;
+
+import com.stormmq.java.classfile.processing.caches.ParseRecording;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Records the name and length of every file it is given, parsing nothing
+public final class RecordingFileParser implements FileParser
+{
+	@NotNull public final Map<String, Integer> lengths;
+	@NotNull public final Map<String, byte[]> reusedFileData;
+
+	public RecordingFileParser()
+	{
+		lengths = new ConcurrentHashMap<>(16);
+		reusedFileData = new ConcurrentHashMap<>(16);
+	}
+
+	@Override
+	public void parseFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath)
+	{
+		throw new UnsupportedOperationException("File data should always be supplied");
+	}
+
+	@Override
+	public void parseFile(@NotNull final Path javaClassFilePath, @NotNull final Path relativeRootFolderPath, @NotNull final Path relativeJavaClassFilePath, @NotNull final ByteBuffer fileData, final boolean fileDataIsReused)
+	{
+		final String name = relativeJavaClassFilePath.toString();
+		record(name, fileData);
+		if (fileDataIsReused)
+		{
+			reusedFileData.put(name, fileData.array());
+		}
+	}
+
+	@Override
+	public void parseFile(@NotNull final ZipFile zipFile, @NotNull final ZipEntry zipEntry, @NotNull final Path relativeRootPath, @NotNull final ByteBuffer fileData, @NotNull final ParseRecording parseRecording)
+	{
+		record(zipEntry.getName(), fileData);
+	}
+
+	private void record(@NotNull final String name, @NotNull final ByteBuffer fileData)
+	{
+		if (lengths.put(name, fileData.remaining()) != null)
+		{
+			throw new IllegalStateException("Given the same file twice: " + name);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.fileParsers;
+
+import com.stormmq.java.classfile.domain.information.TypeHeader;
+import com.stormmq.java.classfile.processing.Processor;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName.knownReferenceTypeName;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.write;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+public final class TypeHeaderFileParserTest
+{
+	@Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final RecordingProcessLog processLog = new RecordingProcessLog();
+	private final List<TypeHeader> typeHeaders = new ArrayList<>(1);
+	private final List<String> relativeFilePaths = new ArrayList<>(1);
+	private final FileParser fileParser = new TypeHeaderFileParser(processLog, (typeHeader, relativeFilePath, relativeRootFolderPath) ->
+	{
+		typeHeaders.add(typeHeader);
+		relativeFilePaths.add(relativeFilePath);
+	});
+
+	@Test
+	public void theHeaderOfAJavaClassFileIsUsed() throws IOException
+	{
+		final Path javaClassFilePath = javaClassFilePath("Processor.class");
+		try (final InputStream inputStream = Processor.class.getResourceAsStream("Processor.class"))
+		{
+			copy(inputStream, javaClassFilePath);
+		}
+
+		parseFile(javaClassFilePath);
+
+		assertEquals(1, typeHeaders.size());
+		assertEquals(knownReferenceTypeName(Processor.class.getName()), typeHeaders.get(0).thisClassTypeName);
+		assertEquals(knownReferenceTypeName(Object.class.getName()), typeHeaders.get(0).superClassTypeName);
+		assertEquals(singletonList("Processor.class"), relativeFilePaths);
+		assertEquals(singletonList(javaClassFilePath.toString()), new ArrayList<>(processLog.successes));
+		assertTrue(processLog.failures.isEmpty());
+	}
+
+	@Test
+	public void aMissingFileIsLoggedAsAFailure()
+	{
+		final Path javaClassFilePath = javaClassFilePath("Missing.class");
+
+		parseFile(javaClassFilePath);
+
+		assertTrue(typeHeaders.isEmpty());
+		assertEquals(singletonList(javaClassFilePath.toString()), new ArrayList<>(processLog.failures));
+	}
+
+	@Test
+	public void aFileWhichIsNotAJavaClassFileIsIgnored() throws IOException
+	{
+		final Path javaClassFilePath = javaClassFilePath("NotAClass.class");
+		write(javaClassFilePath, new byte[100]);
+
+		parseFile(javaClassFilePath);
+
+		assertTrue(typeHeaders.isEmpty());
+		assertTrue(processLog.successes.isEmpty());
+		assertTrue(processLog.failures.isEmpty());
+	}
+
+	@Test
+	public void aTruncatedJavaClassFileIsLoggedAsAFailure() throws IOException
+	{
+		final Path javaClassFilePath = javaClassFilePath("Truncated.class");
+		write(javaClassFilePath, new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 52, 0});
+
+		parseFile(javaClassFilePath);
+
+		assertTrue(typeHeaders.isEmpty());
+		assertEquals(singletonList(javaClassFilePath.toString()), new ArrayList<>(processLog.failures));
+	}
+
+	@NotNull
+	private Path javaClassFilePath(@NotNull final String fileName)
+	{
+		return temporaryFolder.getRoot().toPath().resolve(fileName);
+	}
+
+	private void parseFile(@NotNull final Path javaClassFilePath)
+	{
+		fileParser.parseFile(javaClassFilePath, Paths.get("."), javaClassFilePath.getFileName());
+	}
+}
@@ -0,0 +1,184 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.files;
+
+import com.stormmq.java.classfile.processing.fileParsers.RecordingFileParser;
+import com.stormmq.java.classfile.processing.multithreaded.ForkJoinScheduler;
+import com.stormmq.java.classfile.processing.multithreaded.Scheduler;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.stormmq.java.classfile.parser.ByteBufferJavaClassFileReader.MinimumSizeToMap;
+import static java.nio.file.Files.write;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.*;
+
+public final class ClassFileParsableFileTest
+{
+	@Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void theWholeFileIsParsed() throws IOException
+	{
+		final Path javaClassFilePath = temporaryFolder.getRoot().toPath().resolve("Example.class");
+		write(javaClassFilePath, new byte[1000]);
+
+		final RecordingFileParser fileParser = new RecordingFileParser();
+		final RecordingProcessLog processLog = process(javaClassFilePath, fileParser);
+
+		assertEquals(singletonMap("Example.class", 1000), fileParser.lengths);
+		assertTrue(processLog.failures.isEmpty());
+	}
+
+	@Test
+	public void aSmallFileIsReadIntoAPooledBufferWhichIsReleasedOnceParsed() throws IOException
+	{
+		final Path javaClassFilePath = temporaryFolder.getRoot().toPath().resolve("Small.class");
+		write(javaClassFilePath, new byte[1000]);
+
+		final RecordingFileParser fileParser = new RecordingFileParser();
+		final InflatedEntryBufferPool inflatedEntryBufferPool = newInflatedEntryBufferPool();
+		process(javaClassFilePath, fileParser, inflatedEntryBufferPool);
+
+		@Nullable final byte[] buffer = fileParser.reusedFileData.get("Small.class");
+		assertNotNull(buffer);
+		assertSame(buffer, inflatedEntryBufferPool.acquireBuffer(1000));
+	}
+
+	@Test
+	public void theInFlightBytesOfASmallFileAreReleasedOnceParsed() throws IOException
+	{
+		final Path javaClassFilePath = temporaryFolder.getRoot().toPath().resolve("Small.class");
+		write(javaClassFilePath, new byte[1000]);
+
+		final RecordingFileParser fileParser = new RecordingFileParser();
+		final InflatedEntryBufferPool inflatedEntryBufferPool = newInflatedEntryBufferPool();
+		final InFlightBytesLimit looseClassFilesInFlightBytesLimit = inflatedEntryBufferPool.newArchiveInFlightBytesLimit();
+		process(javaClassFilePath, fileParser, inflatedEntryBufferPool, looseClassFilesInFlightBytesLimit);
+
+		assertEquals(singletonMap("Small.class", 1000), fileParser.lengths);
+		assertEquals(0L, looseClassFilesInFlightBytesLimit.inFlightBytes());
+	}
+
+	@Test
+	public void aLargeFileIsNotReadIntoAPooledBuffer() throws IOException
+	{
+		final Path javaClassFilePath = temporaryFolder.getRoot().toPath().resolve("Large.class");
+		write(javaClassFilePath, new byte[MinimumSizeToMap]);
+
+		final RecordingFileParser fileParser = new RecordingFileParser();
+		final RecordingProcessLog processLog = process(javaClassFilePath, fileParser);
+
+		assertEquals(singletonMap("Large.class", MinimumSizeToMap), fileParser.lengths);
+		assertTrue(fileParser.reusedFileData.isEmpty());
+		assertTrue(processLog.failures.isEmpty());
+	}
+
+	@Test
+	public void aMissingFileIsLoggedAsAFailure()
+	{
+		final Path javaClassFilePath = temporaryFolder.getRoot().toPath().resolve("Missing.class");
+
+		final RecordingFileParser fileParser = new RecordingFileParser();
+		final RecordingProcessLog processLog = process(javaClassFilePath, fileParser);
+
+		assertTrue(fileParser.lengths.isEmpty());
+		assertEquals(javaClassFilePath.toString(), processLog.failures.peek());
+	}
+
+	@Test
+	public void aSmallFileThatCanNotBeScheduledIsLoggedAsAFailureAndItsBudgetReleased() throws IOException
+	{
+		final Path javaClassFilePath = temporaryFolder.getRoot().toPath().resolve("Small.class");
+		write(javaClassFilePath, new byte[1000]);
+
+		final Scheduler scheduler = new Scheduler()
+		{
+			@Override
+			public void schedule(@NotNull final ParsableFile parsableFile)
+			{
+				throw new RejectedExecutionException("Shut down");
+			}
+
+			@Override
+			public void scheduleInputOutput(@NotNull final ParsableFile parsableFile)
+			{
+				throw new RejectedExecutionException("Shut down");
+			}
+
+			@Override
+			public void awaitCompletion()
+			{
+			}
+		};
+		final RecordingFileParser fileParser = new RecordingFileParser();
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		final InflatedEntryBufferPool inflatedEntryBufferPool = newInflatedEntryBufferPool();
+		final InFlightBytesLimit looseClassFilesInFlightBytesLimit = inflatedEntryBufferPool.newArchiveInFlightBytesLimit();
+		new ClassFileParsableFile(javaClassFilePath, Paths.get("."), javaClassFilePath.getFileName(), scheduler, inflatedEntryBufferPool, looseClassFilesInFlightBytesLimit).process(fileParser, processLog);
+
+		assertTrue(fileParser.lengths.isEmpty());
+		assertEquals(javaClassFilePath.toString(), processLog.failures.peek());
+		assertEquals(0L, looseClassFilesInFlightBytesLimit.inFlightBytes());
+	}
+
+	@NotNull
+	private static RecordingProcessLog process(@NotNull final Path javaClassFilePath, @NotNull final RecordingFileParser fileParser)
+	{
+		return process(javaClassFilePath, fileParser, newInflatedEntryBufferPool());
+	}
+
+	@NotNull
+	private static InflatedEntryBufferPool newInflatedEntryBufferPool()
+	{
+		return new InflatedEntryBufferPool(1024L * 1024L, 1024L * 1024L);
+	}
+
+	@NotNull
+	private static RecordingProcessLog process(@NotNull final Path javaClassFilePath, @NotNull final RecordingFileParser fileParser, @NotNull final InflatedEntryBufferPool inflatedEntryBufferPool)
+	{
+		return process(javaClassFilePath, fileParser, inflatedEntryBufferPool, inflatedEntryBufferPool.newArchiveInFlightBytesLimit());
+	}
+
+	@NotNull
+	private static RecordingProcessLog process(@NotNull final Path javaClassFilePath, @NotNull final RecordingFileParser fileParser, @NotNull final InflatedEntryBufferPool inflatedEntryBufferPool, @NotNull final InFlightBytesLimit looseClassFilesInFlightBytesLimit)
+	{
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		final Scheduler scheduler = new ForkJoinScheduler(2, fileParser, processLog, (thread, throwable) ->
+		{
+			throw new AssertionError(throwable);
+		});
+		scheduler.scheduleInputOutput(new ClassFileParsableFile(javaClassFilePath, Paths.get("."), javaClassFilePath.getFileName(), scheduler, inflatedEntryBufferPool, looseClassFilesInFlightBytesLimit));
+		scheduler.awaitCompletion();
+		return processLog;
+	}
+}
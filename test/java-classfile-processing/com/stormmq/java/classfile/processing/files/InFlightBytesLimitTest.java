@@ -0,0 +1,79 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.files;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public final class InFlightBytesLimitTest
+{
+	@Test
+	public void acquiresUpToTheMaximum() throws InterruptedException
+	{
+		final InFlightBytesLimit inFlightBytesLimit = new InFlightBytesLimit(100L);
+		inFlightBytesLimit.acquire(60L);
+		inFlightBytesLimit.acquire(40L);
+
+		assertEquals(100L, inFlightBytesLimit.inFlightBytes());
+	}
+
+	@Test
+	public void anAcquisitionLargerThanTheMaximumIsPermittedWhenNothingIsInFlight() throws InterruptedException
+	{
+		final InFlightBytesLimit inFlightBytesLimit = new InFlightBytesLimit(100L);
+		inFlightBytesLimit.acquire(1000L);
+
+		assertEquals(1000L, inFlightBytesLimit.inFlightBytes());
+	}
+
+	@Test(timeout = 10_000L)
+	public void anAcquisitionWaitsForARelease() throws InterruptedException
+	{
+		final InFlightBytesLimit inFlightBytesLimit = new InFlightBytesLimit(100L);
+		inFlightBytesLimit.acquire(80L);
+
+		final CountDownLatch acquired = new CountDownLatch(1);
+		final Thread thread = new Thread(() ->
+		{
+			try
+			{
+				inFlightBytesLimit.acquire(50L);
+				acquired.countDown();
+			}
+			catch (final InterruptedException ignored)
+			{
+			}
+		});
+		thread.start();
+
+		assertFalse(acquired.await(200L, MILLISECONDS));
+		inFlightBytesLimit.release(80L);
+		assertTrue(acquired.await(5L, SECONDS));
+		assertEquals(50L, inFlightBytesLimit.inFlightBytes());
+	}
+}
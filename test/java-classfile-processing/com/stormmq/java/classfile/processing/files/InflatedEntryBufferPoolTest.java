@@ -0,0 +1,57 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.files;
+
+import org.junit.Test;
+
+import static com.stormmq.java.classfile.processing.files.InflatedEntryBufferPool.bufferLength;
+import static org.junit.Assert.*;
+
+public final class InflatedEntryBufferPoolTest
+{
+	@Test
+	public void buffersAreRoundedUpToAPowerOfTwoUnlessTooLargeToPool()
+	{
+		final InflatedEntryBufferPool inflatedEntryBufferPool = new InflatedEntryBufferPool(1L << 20, 1L << 20);
+
+		assertEquals(1024, bufferLength(1));
+		assertEquals(1024, bufferLength(1024));
+		assertEquals(2048, bufferLength(1025));
+		assertEquals((1 << 20) + 1, bufferLength((1 << 20) + 1));
+		assertEquals(bufferLength(1025), inflatedEntryBufferPool.acquireBuffer(1025).length);
+		assertEquals(bufferLength((1 << 20) + 1), inflatedEntryBufferPool.acquireBuffer((1 << 20) + 1).length);
+	}
+
+	@Test
+	public void noMoreThanTheMaximumPooledBytesAreKept()
+	{
+		final InflatedEntryBufferPool inflatedEntryBufferPool = new InflatedEntryBufferPool(1L << 20, 1L << 20, 1024L);
+		final byte[] first = inflatedEntryBufferPool.acquireBuffer(1024);
+		final byte[] second = inflatedEntryBufferPool.acquireBuffer(1024);
+		inflatedEntryBufferPool.releaseBuffer(first);
+		inflatedEntryBufferPool.releaseBuffer(second);
+
+		assertSame(first, inflatedEntryBufferPool.acquireBuffer(1024));
+		assertNotSame(second, inflatedEntryBufferPool.acquireBuffer(1024));
+	}
+}
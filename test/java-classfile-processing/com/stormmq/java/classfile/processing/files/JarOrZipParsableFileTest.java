@@ -0,0 +1,121 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.files;
+
+import com.stormmq.java.classfile.processing.fileParsers.RecordingFileParser;
+import com.stormmq.java.classfile.processing.multithreaded.ForkJoinScheduler;
+import com.stormmq.java.classfile.processing.multithreaded.Scheduler;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.stormmq.java.classfile.processing.caches.UncachedParseCache.uncachedParseCache;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.Paths.get;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class JarOrZipParsableFileTest
+{
+	// More than two ranges of entries, so that several are inflated concurrently
+	private static final int ClassFileEntries = 700;
+
+	@Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void everyClassFileEntryIsParsedOnce() throws IOException
+	{
+		final Map<String, Integer> expected = new HashMap<>(ClassFileEntries);
+		final Path zipFilePath = temporaryFolder.getRoot().toPath().resolve("example.jar");
+		try (final ZipOutputStream zipOutputStream = new ZipOutputStream(newOutputStream(zipFilePath)))
+		{
+			zipOutputStream.putNextEntry(new ZipEntry("META-INF/"));
+			write(zipOutputStream, "META-INF/MANIFEST.MF", 100);
+			for (int index = 0; index < ClassFileEntries; index++)
+			{
+				final String name = "com/example/Example" + index + ".class";
+				final int length = index * 37 % 5000;
+				write(zipOutputStream, name, length);
+				expected.put(name, length);
+			}
+		}
+
+		final RecordingFileParser fileParser = new RecordingFileParser();
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		final Scheduler scheduler = new ForkJoinScheduler(4, fileParser, processLog, (thread, throwable) ->
+		{
+			throw new AssertionError(throwable);
+		});
+		// A budget of a few entries forces inflating ranges to wait for parses to finish
+		final InflatedEntryBufferPool inflatedEntryBufferPool = new InflatedEntryBufferPool(16 * 1024L, 32 * 1024L);
+		scheduler.scheduleInputOutput(new JarOrZipParsableFile(zipFilePath, get("."), scheduler, inflatedEntryBufferPool, uncachedParseCache()));
+		scheduler.awaitCompletion();
+
+		assertTrue(processLog.failures.isEmpty());
+		assertEquals(expected, fileParser.lengths);
+	}
+
+	@Test
+	public void aCorruptArchiveIsLoggedAsAFailure() throws IOException
+	{
+		final Path zipFilePath = temporaryFolder.newFile("corrupt.jar").toPath();
+		try (final OutputStream outputStream = newOutputStream(zipFilePath))
+		{
+			outputStream.write(new byte[]{'P', 'K', 3, 4, 0, 0});
+		}
+
+		final RecordingFileParser fileParser = new RecordingFileParser();
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		final Scheduler scheduler = new ForkJoinScheduler(2, fileParser, processLog, (thread, throwable) ->
+		{
+			throw new AssertionError(throwable);
+		});
+		scheduler.scheduleInputOutput(new JarOrZipParsableFile(zipFilePath, get("."), scheduler, new InflatedEntryBufferPool(1024L, 1024L), uncachedParseCache()));
+		scheduler.awaitCompletion();
+
+		assertEquals(zipFilePath.toString(), processLog.failures.peek());
+		assertTrue(fileParser.lengths.isEmpty());
+	}
+
+	private static void write(@NotNull final ZipOutputStream zipOutputStream, @NotNull final String name, final int length) throws IOException
+	{
+		final byte[] contents = new byte[length];
+		for (int index = 0; index < length; index++)
+		{
+			contents[index] = (byte) (index * 31 + name.length());
+		}
+		zipOutputStream.putNextEntry(new ZipEntry(name));
+		zipOutputStream.write(contents);
+		zipOutputStream.closeEntry();
+	}
+}
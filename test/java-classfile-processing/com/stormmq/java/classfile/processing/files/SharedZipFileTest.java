@@ -0,0 +1,203 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.files;
+
+import com.stormmq.java.classfile.processing.fileParsers.RecordingFileParser;
+import com.stormmq.java.classfile.processing.multithreaded.ForkJoinScheduler;
+import com.stormmq.java.classfile.processing.multithreaded.Scheduler;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static com.stormmq.java.classfile.processing.caches.UncachedParseCache.uncachedParseRecording;
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.interrupted;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.Paths.get;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+// A ZipEntry made from just a name has an unknown size, as can happen for entries of archives written as a stream
+public final class SharedZipFileTest
+{
+	private static final long MaximumInFlightBytesPerArchive = 16 * 1024L;
+	private static final String Small = "Small.class";
+	private static final String Large = "Large.class";
+
+	@Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path zipFilePath;
+	private RecordingFileParser fileParser;
+	private RecordingProcessLog processLog;
+	private Scheduler scheduler;
+	private InFlightBytesLimit archiveInFlightBytesLimit;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		zipFilePath = temporaryFolder.getRoot().toPath().resolve("example.jar");
+		try (final ZipOutputStream zipOutputStream = new ZipOutputStream(newOutputStream(zipFilePath)))
+		{
+			zipOutputStream.putNextEntry(new ZipEntry(Small));
+			zipOutputStream.write(new byte[10_000]);
+			zipOutputStream.putNextEntry(new ZipEntry(Large));
+			zipOutputStream.write(new byte[100_000]);
+		}
+
+		fileParser = new RecordingFileParser();
+		processLog = new RecordingProcessLog();
+		scheduler = new ForkJoinScheduler(2, fileParser, processLog, (thread, throwable) ->
+		{
+			throw new AssertionError(throwable);
+		});
+		archiveInFlightBytesLimit = new InFlightBytesLimit(MaximumInFlightBytesPerArchive);
+	}
+
+	@Test(timeout = 10_000L)
+	public void anEntryOfUnknownSizeIsInflatedAndItsBudgetReleased() throws IOException
+	{
+		inflate(Small);
+		scheduler.awaitCompletion();
+
+		assertEquals(singletonMap(Small, 10_000), fileParser.lengths);
+		assertTrue(processLog.failures.isEmpty());
+		assertEquals(0L, archiveInFlightBytesLimit.inFlightBytes());
+	}
+
+	@Test(timeout = 10_000L)
+	public void anEntryOfUnknownSizeLargerThanTheBudgetIsTooLarge() throws IOException
+	{
+		inflate(Large);
+		scheduler.awaitCompletion();
+
+		assertTrue(fileParser.lengths.isEmpty());
+		assertEquals(1, processLog.failureCount());
+		assertEquals(0L, archiveInFlightBytesLimit.inFlightBytes());
+	}
+
+	@Test(timeout = 10_000L)
+	public void anEntryOfUnknownSizeWaitsForTheBudgetBeforeInflating() throws IOException, InterruptedException
+	{
+		archiveInFlightBytesLimit.acquire(1L);
+
+		final CountDownLatch inflated = new CountDownLatch(1);
+		final Thread thread = new Thread(() ->
+		{
+			try
+			{
+				inflate(Small);
+			}
+			catch (final IOException e)
+			{
+				throw new AssertionError(e);
+			}
+			inflated.countDown();
+		});
+		thread.start();
+
+		assertFalse(inflated.await(200L, MILLISECONDS));
+		archiveInFlightBytesLimit.release(1L);
+		assertTrue(inflated.await(5L, SECONDS));
+		scheduler.awaitCompletion();
+
+		assertEquals(singletonMap(Small, 10_000), fileParser.lengths);
+	}
+
+	@Test(timeout = 10_000L)
+	public void entriesNotInflatedBecauseOfAnInterruptAreLoggedAsFailures() throws IOException, InterruptedException
+	{
+		archiveInFlightBytesLimit.acquire(1L);
+		currentThread().interrupt();
+		try
+		{
+			inflate(asList(new ZipEntry(Small), new ZipEntry(Large)));
+			assertTrue(currentThread().isInterrupted());
+		}
+		finally
+		{
+			interrupted();
+		}
+		scheduler.awaitCompletion();
+
+		assertTrue(fileParser.lengths.isEmpty());
+		assertEquals(asList(zipFilePath + "!/" + Small, zipFilePath + "!/" + Large), new ArrayList<>(processLog.failures));
+	}
+
+	@Test(timeout = 10_000L)
+	public void anEntryThatCanNotBeScheduledIsLoggedAsAFailureAndItsBudgetReleased() throws IOException
+	{
+		scheduler = new Scheduler()
+		{
+			@Override
+			public void schedule(@NotNull final ParsableFile parsableFile)
+			{
+				throw new RejectedExecutionException("Shut down");
+			}
+
+			@Override
+			public void scheduleInputOutput(@NotNull final ParsableFile parsableFile)
+			{
+				throw new RejectedExecutionException("Shut down");
+			}
+
+			@Override
+			public void awaitCompletion()
+			{
+			}
+		};
+
+		inflate(Small);
+
+		assertEquals(singletonList(zipFilePath + "!/" + Small), new ArrayList<>(processLog.failures));
+		assertEquals(0L, archiveInFlightBytesLimit.inFlightBytes());
+	}
+
+	private void inflate(@NotNull final String name) throws IOException
+	{
+		inflate(singletonList(new ZipEntry(name)));
+	}
+
+	private void inflate(@NotNull final List<ZipEntry> range) throws IOException
+	{
+		final InflatedEntryBufferPool inflatedEntryBufferPool = new InflatedEntryBufferPool(MaximumInFlightBytesPerArchive, MaximumInFlightBytesPerArchive);
+		final SharedZipFile sharedZipFile = new SharedZipFile(zipFilePath, new ZipFile(zipFilePath.toFile()), get("."), 1, archiveInFlightBytesLimit, scheduler, inflatedEntryBufferPool, uncachedParseRecording());
+		sharedZipFile.inflate(range, processLog);
+	}
+}
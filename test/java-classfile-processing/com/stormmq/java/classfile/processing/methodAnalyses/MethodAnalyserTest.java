@@ -0,0 +1,203 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.methodAnalyses;
+
+import com.stormmq.java.classfile.domain.attributes.code.opcodeParsers.InvalidOpcodeException;
+import com.stormmq.java.classfile.domain.information.MethodInformation;
+import com.stormmq.java.classfile.domain.information.TypeInformation;
+import com.stormmq.java.classfile.processing.ConcreteRecords;
+import com.stormmq.java.classfile.processing.Processor;
+import com.stormmq.java.classfile.processing.Records;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.stormmq.java.classfile.processing.methodAnalyses.MethodAnalysis.ParseCode;
+import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName.knownReferenceTypeName;
+import static java.nio.file.Files.copy;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+public final class MethodAnalyserTest
+{
+	@NotNull private static final Class<?>[] ParsedClasses = {Processor.class, ConcreteRecords.class, MethodAnalyser.class};
+
+	@ClassRule public static final TemporaryFolder TemporaryFolder = new TemporaryFolder();
+
+	private static Records records;
+	private static ForkJoinPool forkJoinPool;
+
+	@BeforeClass
+	public static void parseClassFiles() throws IOException
+	{
+		final Path classesFolderPath = TemporaryFolder.newFolder("classes").toPath();
+		for (final Class<?> parsedClass : ParsedClasses)
+		{
+			try (final InputStream inputStream = parsedClass.getResourceAsStream(parsedClass.getSimpleName() + ".class"))
+			{
+				copy(inputStream, classesFolderPath.resolve(parsedClass.getSimpleName() + ".class"));
+			}
+		}
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		records = new Processor(true, processLog, (thread, throwable) ->
+		{
+			throw new AssertionError(throwable);
+		}).process(singletonList(classesFolderPath));
+		assertEquals(ParsedClasses.length, processLog.successCount());
+		forkJoinPool = new ForkJoinPool(4);
+	}
+
+	@AfterClass
+	public static void shutdownForkJoinPool()
+	{
+		forkJoinPool.shutdown();
+	}
+
+	@Test(timeout = 30_000L)
+	public void everyMethodWithCodeIsAnalysedExactlyOnce()
+	{
+		final Map<MethodInformation, Boolean> analysed = new ConcurrentHashMap<>();
+		final MethodAnalysisResults<Long> results = new MethodAnalyser(forkJoinPool).analyse(records, (typeInformation, methodInformation) ->
+		{
+			assertNull(analysed.put(methodInformation, true));
+			return methodInformation.codeLength();
+		});
+
+		assertEquals(numberOfMethodsWithCode(), results.size());
+		assertEquals(results.size(), analysed.size());
+		assertEquals(0, results.numberOfFailures());
+		for (int index = 0; index < results.size(); index++)
+		{
+			assertFalse(results.failed(index));
+			assertEquals(Long.valueOf(results.methodInformation(index).codeLength()), results.result(index));
+		}
+	}
+
+	@Test(timeout = 30_000L)
+	public void splittingIntoATaskPerMethodAnalysesEveryMethodExactlyOnce()
+	{
+		final Map<MethodInformation, Boolean> analysed = new ConcurrentHashMap<>();
+		final MethodAnalysisResults<MethodInformation> results = new MethodAnalyser(forkJoinPool, 1L).analyse(records, (typeInformation, methodInformation) ->
+		{
+			assertNull(analysed.put(methodInformation, true));
+			return methodInformation;
+		});
+
+		assertEquals(numberOfMethodsWithCode(), analysed.size());
+		for (int index = 0; index < results.size(); index++)
+		{
+			assertSame(results.methodInformation(index), results.result(index));
+		}
+	}
+
+	@Test(timeout = 30_000L)
+	public void failuresAreRecordedAgainstTheirMethod()
+	{
+		final MethodAnalysisResults<Long> results = new MethodAnalyser(forkJoinPool).analyse(records, (typeInformation, methodInformation) ->
+		{
+			final long codeLength = methodInformation.codeLength();
+			if (codeLength % 2L == 1L)
+			{
+				throw new InvalidOpcodeException("odd");
+			}
+			return codeLength;
+		});
+
+		int numberOfOddMethods = 0;
+		for (int index = 0; index < results.size(); index++)
+		{
+			final boolean isOdd = results.methodInformation(index).codeLength() % 2L == 1L;
+			assertEquals(isOdd, results.failed(index));
+			if (isOdd)
+			{
+				numberOfOddMethods++;
+				assertTrue(results.failure(index) instanceof InvalidOpcodeException);
+				assertNull(results.result(index));
+			}
+		}
+		assertTrue(numberOfOddMethods > 0);
+		assertEquals(numberOfOddMethods, results.numberOfFailures());
+	}
+
+	@Test(timeout = 30_000L)
+	public void onlyTheMethodsOfOneTypeAreAnalysedForThatType()
+	{
+		final TypeInformation typeInformation = records.retrieve(knownReferenceTypeName(MethodAnalyser.class.getName())).typeInformation;
+		final AtomicLong totalCodeLength = new AtomicLong();
+		final MethodAnalysisResults<Void> results = new MethodAnalyser(forkJoinPool).analyse(typeInformation, (analysedTypeInformation, methodInformation) ->
+		{
+			assertSame(typeInformation, analysedTypeInformation);
+			totalCodeLength.addAndGet(methodInformation.codeLength());
+			return null;
+		});
+
+		final AtomicLong expectedTotalCodeLength = new AtomicLong();
+		typeInformation.forEachStaticMethod(methodInformation -> expectedTotalCodeLength.addAndGet(methodInformation.codeLength()));
+		typeInformation.forEachInstanceMethod(methodInformation -> expectedTotalCodeLength.addAndGet(methodInformation.codeLength()));
+		assertTrue(results.size() > 0);
+		assertEquals(expectedTotalCodeLength.get(), totalCodeLength.get());
+	}
+
+	@Test(timeout = 30_000L)
+	public void parsingCodeEitherSucceedsOrFailsForEachMethod()
+	{
+		final MethodAnalysisResults<Void> results = new MethodAnalyser(forkJoinPool).analyse(records, ParseCode);
+
+		assertEquals(numberOfMethodsWithCode(), results.size());
+		int numberOfFailures = 0;
+		for (int index = 0; index < results.size(); index++)
+		{
+			if (results.failed(index))
+			{
+				numberOfFailures++;
+				assertNotNull(results.failure(index));
+			}
+			assertNull(results.result(index));
+		}
+		assertEquals(results.numberOfFailures(), numberOfFailures);
+	}
+
+	private static int numberOfMethodsWithCode()
+	{
+		final int[] numberOfMethodsWithCode = {0};
+		for (final Class<?> parsedClass : ParsedClasses)
+		{
+			final TypeInformation typeInformation = records.retrieve(knownReferenceTypeName(parsedClass.getName())).typeInformation;
+			typeInformation.forEachStaticMethod(methodInformation -> numberOfMethodsWithCode[0] += methodInformation.codeLength() == 0L ? 0 : 1);
+			typeInformation.forEachInstanceMethod(methodInformation -> numberOfMethodsWithCode[0] += methodInformation.codeLength() == 0L ? 0 : 1);
+		}
+		return numberOfMethodsWithCode[0];
+	}
+}
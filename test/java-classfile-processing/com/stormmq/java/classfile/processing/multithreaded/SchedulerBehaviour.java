@@ -0,0 +1,106 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.multithreaded;
+
+import com.stormmq.java.classfile.processing.fileParsers.FileParser;
+import com.stormmq.java.classfile.processing.fileParsers.RecordingFileParser;
+import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public abstract class SchedulerBehaviour
+{
+	private static final int Archives = 8;
+	private static final int EntriesPerArchive = 250;
+	private static final long TimeoutMilliseconds = 30_000L;
+
+	@NotNull
+	protected abstract Scheduler newScheduler(@NotNull final FileParser fileParser, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler);
+
+	@Test(timeout = TimeoutMilliseconds)
+	public final void awaitCompletionReturnsWhenNothingWasScheduled()
+	{
+		final Scheduler scheduler = newScheduler(new RecordingFileParser(), new RecordingProcessLog(), rethrowingHandler());
+		scheduler.awaitCompletion();
+	}
+
+	@Test(timeout = TimeoutMilliseconds)
+	public final void awaitCompletionWaitsForFilesScheduledByOtherFiles()
+	{
+		final Scheduler scheduler = newScheduler(new RecordingFileParser(), new RecordingProcessLog(), rethrowingHandler());
+		final AtomicInteger processed = new AtomicInteger(0);
+
+		for (int archive = 0; archive < Archives; archive++)
+		{
+			// As a JAR does, each archive schedules its entries while it is itself being processed
+			scheduler.scheduleInputOutput((fileParser, processLog) ->
+			{
+				for (int entry = 0; entry < EntriesPerArchive; entry++)
+				{
+					scheduler.schedule((fileParser1, processLog1) -> processed.incrementAndGet());
+				}
+				processed.incrementAndGet();
+			});
+		}
+		scheduler.awaitCompletion();
+
+		assertEquals(Archives * (EntriesPerArchive + 1), processed.get());
+	}
+
+	@Test(timeout = TimeoutMilliseconds)
+	public final void aFailingFileIsReportedAndDoesNotPreventCompletion()
+	{
+		final Queue<Throwable> uncaught = new ConcurrentLinkedQueue<>();
+		final Scheduler scheduler = newScheduler(new RecordingFileParser(), new RecordingProcessLog(), (thread, throwable) -> uncaught.add(throwable));
+		final AtomicInteger processed = new AtomicInteger(0);
+
+		scheduler.schedule((fileParser, processLog) ->
+		{
+			throw new IllegalStateException("Deliberate");
+		});
+		scheduler.schedule((fileParser, processLog) -> processed.incrementAndGet());
+		scheduler.awaitCompletion();
+
+		assertEquals(1, processed.get());
+		assertEquals(1, uncaught.size());
+		assertTrue(uncaught.peek() instanceof IllegalStateException);
+	}
+
+	@NotNull
+	private static UncaughtExceptionHandler rethrowingHandler()
+	{
+		return (thread, throwable) ->
+		{
+			throw new AssertionError("Uncaught on " + thread.getName(), throwable);
+		};
+	}
+}
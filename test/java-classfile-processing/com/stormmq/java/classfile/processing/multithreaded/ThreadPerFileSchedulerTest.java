@@ -24,67 +24,18 @@ package com.stormmq.java.classfile.processing.multithreaded;
 
 import com.stormmq.java.classfile.processing.fileParsers.FileParser;
 import com.stormmq.java.classfile.processing.processLogs.ProcessLog;
-import com.stormmq.java.classfile.processing.files.ParsableFile;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.*;
+import java.lang.Thread.UncaughtExceptionHandler;
 
-import static java.lang.Thread.currentThread;
-import static java.lang.Thread.sleep;
+import static java.util.concurrent.Executors.defaultThreadFactory;
 
-public final class QueueProcessor implements Runnable
+public final class ThreadPerFileSchedulerTest extends SchedulerBehaviour
 {
-	@NotNull private final FileParser javaClassFileParser;
-	@NotNull private final ConcurrentLinkedQueue<ParsableFile> queue;
-	@NotNull private final ProcessLog processLog;
-	@NotNull private final Coordination coordination;
-
-	public QueueProcessor(@NotNull final ConcurrentLinkedQueue<ParsableFile> queue, @NotNull final FileParser javaClassFileParser, @NotNull final ProcessLog processLog, @NotNull final Coordination coordination)
-	{
-		this.javaClassFileParser = javaClassFileParser;
-		this.queue = queue;
-		this.processLog = processLog;
-		this.coordination = coordination;
-	}
-
+	@NotNull
 	@Override
-	public void run()
+	protected Scheduler newScheduler(@NotNull final FileParser fileParser, @NotNull final ProcessLog processLog, @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler)
 	{
-		while (coordination.shouldContinue())
-		{
-			@Nullable final ParsableFile poll = queue.poll();
-
-			if (poll == null)
-			{
-				try
-				{
-					//noinspection BusyWait
-					sleep(1);
-				}
-				catch (final InterruptedException ignored)
-				{
-					currentThread().interrupt();
-				}
-				continue;
-			}
-
-			poll.process(javaClassFileParser, processLog);
-		}
-
-		do
-		{
-			@Nullable final ParsableFile poll = queue.poll();
-
-			if (poll == null)
-			{
-				break;
-			}
-
-			poll.process(javaClassFileParser, processLog);
-
-		} while(true);
-
-		coordination.countDown();
+		return new ThreadPerFileScheduler(defaultThreadFactory(), fileParser, processLog, uncaughtExceptionHandler);
 	}
 }
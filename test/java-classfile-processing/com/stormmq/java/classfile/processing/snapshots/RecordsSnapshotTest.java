@@ -0,0 +1,210 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.classfile.processing.snapshots;
+
+import com.stormmq.java.classfile.domain.information.TypeInformation;
+import com.stormmq.java.classfile.processing.ConcreteRecords;
+import com.stormmq.java.classfile.processing.Processor;
+import com.stormmq.java.classfile.processing.Records;
+import com.stormmq.java.classfile.processing.processLogs.RecordingProcessLog;
+import com.stormmq.java.classfile.processing.typeInformationUsers.TypeInformationTriplet;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.stormmq.java.classfile.processing.snapshots.InputFingerprint.inputFingerprint;
+import static com.stormmq.java.classfile.processing.snapshots.RecordsSnapshot.readRecordsSnapshot;
+import static com.stormmq.java.classfile.processing.snapshots.RecordsSnapshot.writeRecordsSnapshot;
+import static com.stormmq.java.parsing.utilities.names.typeNames.referenceTypeNames.KnownReferenceTypeName.knownReferenceTypeName;
+import static java.nio.file.Files.*;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+public final class RecordsSnapshotTest
+{
+	@NotNull private static final Class<?>[] ParsedClasses = {Processor.class, ConcreteRecords.class};
+
+	@Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Iterable<Path> paths;
+	private Path classesFolderPath;
+	private Path snapshotFilePath;
+
+	@Before
+	public void copyClassFiles() throws IOException
+	{
+		classesFolderPath = temporaryFolder.newFolder("classes").toPath();
+		for (final Class<?> parsedClass : ParsedClasses)
+		{
+			try (final InputStream inputStream = parsedClass.getResourceAsStream(parsedClass.getSimpleName() + ".class"))
+			{
+				copy(inputStream, classesFolderPath.resolve(parsedClass.getSimpleName() + ".class"));
+			}
+		}
+		paths = singletonList(classesFolderPath);
+		snapshotFilePath = temporaryFolder.getRoot().toPath().resolve("records.snapshot");
+	}
+
+	@Test(timeout = 30_000L)
+	public void aSnapshotReadsBackAsTheRecordsItWasWrittenFrom() throws IOException
+	{
+		final Records records = newProcessor(new RecordingProcessLog()).process(paths);
+		writeRecordsSnapshot(records, inputFingerprint(paths), snapshotFilePath);
+
+		assertSameTypeInformation(records, readRecordsSnapshot(snapshotFilePath, inputFingerprint(paths)));
+	}
+
+	@Test(timeout = 30_000L, expected = StreamCorruptedException.class)
+	public void aCorruptSnapshotIsRejectedWhenRead() throws IOException
+	{
+		writeRecordsSnapshot(newProcessor(new RecordingProcessLog()).process(paths), inputFingerprint(paths), snapshotFilePath);
+		final byte[] snapshot = readAllBytes(snapshotFilePath);
+		snapshot[snapshot.length / 2] ^= 1;
+		write(snapshotFilePath, snapshot);
+
+		readRecordsSnapshot(snapshotFilePath, inputFingerprint(paths));
+	}
+
+	@Test(timeout = 30_000L, expected = StreamCorruptedException.class)
+	public void aTruncatedSnapshotIsRejectedWhenRead() throws IOException
+	{
+		writeRecordsSnapshot(newProcessor(new RecordingProcessLog()).process(paths), inputFingerprint(paths), snapshotFilePath);
+		final byte[] snapshot = readAllBytes(snapshotFilePath);
+		write(snapshotFilePath, copyOf(snapshot, snapshot.length - 100));
+
+		readRecordsSnapshot(snapshotFilePath, inputFingerprint(paths));
+	}
+
+	@Test(timeout = 30_000L)
+	public void aBadSnapshotIsReplacedByParsingAgain() throws IOException
+	{
+		final RecordingProcessLog firstProcessLog = new RecordingProcessLog();
+		final Records parsed = newProcessor(firstProcessLog).process(paths, snapshotFilePath);
+		assertEquals(ParsedClasses.length, firstProcessLog.successCount());
+		assertTrue(firstProcessLog.snapshotWarnings.isEmpty());
+		assertTrue(exists(snapshotFilePath));
+
+		final byte[] snapshot = readAllBytes(snapshotFilePath);
+		snapshot[snapshot.length / 2] ^= 1;
+		write(snapshotFilePath, snapshot);
+
+		final RecordingProcessLog secondProcessLog = new RecordingProcessLog();
+		assertSameTypeInformation(parsed, newProcessor(secondProcessLog).process(paths, snapshotFilePath));
+		assertEquals(ParsedClasses.length, secondProcessLog.successCount());
+		assertEquals(singletonList(snapshotFilePath), new ArrayList<>(secondProcessLog.snapshotWarnings));
+
+		final RecordingProcessLog thirdProcessLog = new RecordingProcessLog();
+		assertSameTypeInformation(parsed, newProcessor(thirdProcessLog).process(paths, snapshotFilePath));
+		assertEquals(0, thirdProcessLog.successCount());
+		assertTrue(thirdProcessLog.snapshotWarnings.isEmpty());
+	}
+
+	@Test(timeout = 30_000L)
+	public void aSnapshotIsRejectedWhenReadForOtherInputs() throws IOException
+	{
+		writeRecordsSnapshot(newProcessor(new RecordingProcessLog()).process(paths), inputFingerprint(paths), snapshotFilePath);
+
+		try
+		{
+			readRecordsSnapshot(snapshotFilePath, inputFingerprint(singletonList(temporaryFolder.newFolder("other").toPath())));
+			fail("A snapshot of other inputs should not have been read");
+		}
+		catch (final IOException ignored)
+		{
+		}
+	}
+
+	@Test(timeout = 30_000L)
+	public void aSnapshotIsReplacedByParsingAgainWhenAFileIsModified() throws IOException
+	{
+		final Records parsed = newProcessor(new RecordingProcessLog()).process(paths, snapshotFilePath);
+
+		final Path modifiedClassFilePath = classesFolderPath.resolve(Processor.class.getSimpleName() + ".class");
+		setLastModifiedTime(modifiedClassFilePath, FileTime.fromMillis(getLastModifiedTime(modifiedClassFilePath).toMillis() + 60_000L));
+
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		assertSameTypeInformation(parsed, newProcessor(processLog).process(paths, snapshotFilePath));
+		assertEquals(ParsedClasses.length, processLog.successCount());
+		assertEquals(singletonList(snapshotFilePath), new ArrayList<>(processLog.snapshotWarnings));
+
+		final RecordingProcessLog unchangedProcessLog = new RecordingProcessLog();
+		newProcessor(unchangedProcessLog).process(paths, snapshotFilePath);
+		assertEquals(0, unchangedProcessLog.successCount());
+	}
+
+	@Test(timeout = 30_000L)
+	public void aSnapshotIsReplacedByParsingAgainWhenAFileIsAdded() throws IOException
+	{
+		newProcessor(new RecordingProcessLog()).process(paths, snapshotFilePath);
+
+		try (final InputStream inputStream = Records.class.getResourceAsStream(Records.class.getSimpleName() + ".class"))
+		{
+			copy(inputStream, classesFolderPath.resolve(Records.class.getSimpleName() + ".class"));
+		}
+
+		final RecordingProcessLog processLog = new RecordingProcessLog();
+		final Records records = newProcessor(processLog).process(paths, snapshotFilePath);
+		assertEquals(ParsedClasses.length + 1, processLog.successCount());
+		assertNotNull(records.retrieve(knownReferenceTypeName(Records.class.getName())));
+	}
+
+	@NotNull
+	private static Processor newProcessor(@NotNull final RecordingProcessLog processLog)
+	{
+		return new Processor(true, processLog, (thread, throwable) ->
+		{
+			throw new AssertionError(throwable);
+		});
+	}
+
+	private static void assertSameTypeInformation(@NotNull final Records expected, @NotNull final Records actual)
+	{
+		final List<String> expectedDescriptions = describe(expected);
+		assertEquals(ParsedClasses.length, expectedDescriptions.size());
+		assertEquals(expectedDescriptions, describe(actual));
+	}
+
+	@NotNull
+	private static List<String> describe(@NotNull final Records records)
+	{
+		final List<String> descriptions = new ArrayList<>(ParsedClasses.length);
+		for (final Class<?> parsedClass : ParsedClasses)
+		{
+			final TypeInformationTriplet typeInformationTriplet = records.retrieve(knownReferenceTypeName(parsedClass.getName()));
+			final TypeInformation typeInformation = typeInformationTriplet.typeInformation;
+			descriptions.add(typeInformationTriplet.thisClassTypeName() + " extends " + typeInformationTriplet.superClassTypeName() + " in " + typeInformationTriplet.relativeFilePath + ": " + typeInformation.numberOfStaticFields() + ' ' + typeInformation.numberOfInstanceFields() + ' ' + typeInformation.numberOfStaticMethods() + ' ' + typeInformation.numberOfInstanceMethods());
+		}
+		return descriptions;
+	}
+}
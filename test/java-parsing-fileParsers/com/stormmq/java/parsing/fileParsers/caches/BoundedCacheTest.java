@@ -0,0 +1,247 @@
+package com.stormmq.java.parsing.fileParsers.caches;
+
+import com.stormmq.java.parsing.utilities.names.InternedSymbol;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.stormmq.java.parsing.fileParsers.caches.RetainedSizeWeigher.RetainedSizeEstimate;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("MagicNumber")
+public final class BoundedCacheTest
+{
+	// Each entry with a one character key and a value weighing 94 has a weight of 64 + 40 + 2 + 94
+	private static final long EntryWeight = 200L;
+
+	@NotNull private static final Weigher<String> ValueWeighsItsLength = String::length;
+
+	@NotNull private static final String Light = repeat(94);
+
+	@Test
+	public void retrievesCachedValuesAndCountsHitsAndMisses()
+	{
+		final BoundedCache<String> boundedCache = new BoundedCache<>(10L * EntryWeight, ValueWeighsItsLength, 1);
+		boundedCache.cache("a", Light);
+
+		assertSame(Light, boundedCache.retrieve("a"));
+		assertNull(boundedCache.retrieve("b"));
+		assertEquals(1L, boundedCache.hitCount());
+		assertEquals(1L, boundedCache.missCount());
+		assertEquals(0L, boundedCache.evictionCount());
+		assertEquals(EntryWeight, boundedCache.weight());
+	}
+
+	@Test
+	public void replacingAValueDoesNotCountItsWeightTwice()
+	{
+		final BoundedCache<String> boundedCache = new BoundedCache<>(10L * EntryWeight, ValueWeighsItsLength, 1);
+		final String replacement = repeat(94);
+		boundedCache.cache("a", Light);
+		boundedCache.cache("a", replacement);
+
+		assertSame(replacement, boundedCache.retrieve("a"));
+		assertEquals(EntryWeight, boundedCache.weight());
+	}
+
+	@Test
+	public void evictsTheLeastRecentlyUsedEntryWhenTooHeavy()
+	{
+		final BoundedCache<String> boundedCache = new BoundedCache<>(2L * EntryWeight, ValueWeighsItsLength, 1);
+		boundedCache.cache("a", Light);
+		boundedCache.cache("b", Light);
+		assertSame(Light, boundedCache.retrieve("a"));
+		boundedCache.cache("c", Light);
+
+		assertNull(boundedCache.retrieve("b"));
+		assertSame(Light, boundedCache.retrieve("a"));
+		assertSame(Light, boundedCache.retrieve("c"));
+		assertEquals(1L, boundedCache.evictionCount());
+		assertEquals(2L * EntryWeight, boundedCache.weight());
+	}
+
+	@Test
+	public void aValueHeavierThanTheCacheIsNotCachedAndRemovesAnyExtantValue()
+	{
+		final BoundedCache<String> boundedCache = new BoundedCache<>(EntryWeight, ValueWeighsItsLength, 1);
+		boundedCache.cache("a", Light);
+		boundedCache.cache("a", repeat(95));
+
+		assertNull(boundedCache.retrieve("a"));
+		assertEquals(0L, boundedCache.evictionCount());
+		assertEquals(0L, boundedCache.weight());
+	}
+
+	@Test
+	public void aValueHeavierThanItsShareOfTheSegmentsIsCached()
+	{
+		final BoundedCache<String> boundedCache = new BoundedCache<>(2L * EntryWeight, ValueWeighsItsLength, 16);
+		final String heavy = repeat(94 + (int) EntryWeight);
+		boundedCache.cache("a", heavy);
+
+		assertSame(heavy, boundedCache.retrieve("a"));
+		assertEquals(2L * EntryWeight, boundedCache.weight());
+	}
+
+	@Test
+	public void entriesInOtherSegmentsAreEvictedWhenTheSegmentCachedInHasNothingElse()
+	{
+		// With 2 segments, "a" and "b" hash to different segments
+		final BoundedCache<String> boundedCache = new BoundedCache<>(2L * EntryWeight, ValueWeighsItsLength, 2);
+		boundedCache.cache("a", Light);
+		boundedCache.cache("b", repeat(94 + (int) EntryWeight));
+
+		assertNull(boundedCache.retrieve("a"));
+		assertNotNull(boundedCache.retrieve("b"));
+		assertEquals(1L, boundedCache.evictionCount());
+		assertEquals(2L * EntryWeight, boundedCache.weight());
+	}
+
+	@Test
+	public void theDefaultWeigherEstimatesTheRetainedSize()
+	{
+		// A 12 byte header and two 4 byte references, then a 16 byte header and 40 bytes of ints; the cycle back to the holder is not counted again
+		final Holder holder = new Holder(new int[10]);
+		holder.self = holder;
+		assertEquals(24L + 56L, RetainedSizeEstimate.weigh(holder));
+	}
+
+	@Test
+	public void stringsAndBoxedPrimitivesAreWeighedWithoutReflection()
+	{
+		// A 24 byte String, then a 16 byte header and 2 bytes a character
+		assertEquals(24L + 24L, RetainedSizeEstimate.weigh("abcd"));
+		assertEquals(16L, RetainedSizeEstimate.weigh(1));
+		assertEquals(24L, RetainedSizeEstimate.weigh(1L));
+		assertEquals(16L + 8L * 4L + 2L * (24L + 24L), RetainedSizeEstimate.weigh(new Object[]{"abcd", "efgh", null, null, null, null, null, null}));
+	}
+
+	@Test
+	public void aHeapByteBufferIsWeighedByItsCapacityAndADirectOneByItselfAlone()
+	{
+		final ByteBuffer slice = ByteBuffer.wrap(new byte[1000], 100, 200).slice();
+
+		assertEquals(48L + 200L, RetainedSizeEstimate.weigh(slice));
+		assertEquals(48L, RetainedSizeEstimate.weigh(ByteBuffer.allocateDirect(1000)));
+	}
+
+	@Test
+	public void internedSymbolsWeighNothing()
+	{
+		// A 16 byte header and two 4 byte references
+		assertEquals(24L, RetainedSizeEstimate.weigh(new Object[]{new Symbol(), new Symbol()}));
+	}
+
+	@Test
+	public void theObjectsNotWalkedAreEstimated()
+	{
+		// Each Holder is 24 bytes and each empty int[] 16 bytes; only the Holders are walked before the maximum is reached
+		final Holder first = new Holder(new int[0]);
+		Holder last = first;
+		for (int index = 1; index < 2 * RetainedSizeWeigher.MaximumObjectsWalked; index++)
+		{
+			final Holder next = new Holder(new int[0]);
+			last.self = next;
+			last = next;
+		}
+
+		final long weight = RetainedSizeEstimate.weigh(first);
+		assertTrue(weight > RetainedSizeWeigher.MaximumObjectsWalked * 24L);
+		assertTrue(weight <= 2L * RetainedSizeWeigher.MaximumObjectsWalked * (24L + 16L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void aMaximumWeightOfZeroIsRejected()
+	{
+		new BoundedCache<>(0L, ValueWeighsItsLength);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tooManySegmentsAreRejected()
+	{
+		new BoundedCache<>(EntryWeight, ValueWeighsItsLength, (1 << 16) + 1);
+	}
+
+	@Test
+	public void theCacheMakerMakesBoundedCaches()
+	{
+		final Cache<String> cache = BoundedCache.boundedCacheMaker(EntryWeight, parsedForm -> 94L).makeCache();
+		cache.cache("a", Light);
+
+		assertTrue(cache instanceof BoundedCache);
+		assertSame(Light, cache.retrieve("a"));
+	}
+
+	@Test
+	public void concurrentUseNeverExceedsTheMaximumWeight() throws InterruptedException
+	{
+		final int numberOfSegments = 4;
+		final BoundedCache<String> boundedCache = new BoundedCache<>(numberOfSegments * 8L * EntryWeight, ValueWeighsItsLength, numberOfSegments);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final List<Thread> threads = new ArrayList<>(4);
+		for (int thread = 0; thread < 4; thread++)
+		{
+			final int offset = thread;
+			threads.add(new Thread(() ->
+			{
+				try
+				{
+					for (int index = 0; index < 10_000; index++)
+					{
+						final String key = Character.toString((char) ('a' + (index * 7 + offset) % 26));
+						boundedCache.cache(key, Light);
+						boundedCache.retrieve(key);
+					}
+				}
+				catch (final Throwable throwable)
+				{
+					failure.set(throwable);
+				}
+			}));
+		}
+		for (final Thread thread : threads)
+		{
+			thread.start();
+		}
+		for (final Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		assertNull(failure.get());
+		assertTrue(boundedCache.weight() <= numberOfSegments * 8L * EntryWeight);
+		assertEquals(40_000L, boundedCache.hitCount() + boundedCache.missCount());
+	}
+
+	private static final class Symbol implements InternedSymbol
+	{
+		@NotNull private final String name = "weighs nothing";
+	}
+
+	private static final class Holder
+	{
+		@NotNull private final int[] values;
+		@Nullable private Holder self;
+
+		private Holder(@NotNull final int[] values)
+		{
+			this.values = values;
+		}
+	}
+
+	@NotNull
+	private static String repeat(final int length)
+	{
+		final StringBuilder stringBuilder = new StringBuilder(length);
+		for (int index = 0; index < length; index++)
+		{
+			stringBuilder.append('x');
+		}
+		return stringBuilder.toString();
+	}
+}
@@ -0,0 +1,174 @@
+// The MIT License (MIT)
+//
+// Copyright © 2016, Raphael Cohn <raphael.cohn@stormmq.com>
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.stormmq.java.parsing.utilities.names;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public final class SymbolTableTest
+{
+	private static final int NumberOfThreads = 8;
+	private static final int NumberOfKeys = 1000;
+
+	@Test
+	public void internReturnsTheSameInstanceForEqualKeys()
+	{
+		final SymbolTable<String, Symbol> symbolTable = new SymbolTable<>(16);
+		final AtomicInteger made = new AtomicInteger(0);
+		final SymbolMaker<String, Symbol> symbolMaker = (key, identifier) ->
+		{
+			made.incrementAndGet();
+			return new Symbol(key, identifier);
+		};
+
+		final Symbol first = symbolTable.intern("java/lang/Object", symbolMaker);
+		@SuppressWarnings("RedundantStringConstructorCall") final Symbol second = symbolTable.intern(new String("java/lang/Object"), symbolMaker);
+
+		assertSame(first, second);
+		assertEquals(1, made.get());
+		assertEquals(1, symbolTable.size());
+	}
+
+	@Test
+	public void identifiersAreDenseInOrderOfFirstInterning()
+	{
+		final SymbolTable<String, Symbol> symbolTable = new SymbolTable<>(16);
+
+		assertEquals(0, symbolTable.intern("a", Symbol::new).identifier);
+		assertEquals(1, symbolTable.intern("b", Symbol::new).identifier);
+		assertEquals(0, symbolTable.intern("a", Symbol::new).identifier);
+		assertEquals(2, symbolTable.intern("c", Symbol::new).identifier);
+		assertEquals(3, symbolTable.size());
+	}
+
+	@Test
+	public void findCountsHitsAndMisses()
+	{
+		final SymbolTable<String, Symbol> symbolTable = new SymbolTable<>(16);
+
+		assertNull(symbolTable.find("a"));
+		symbolTable.intern("a", Symbol::new);
+		assertNotNull(symbolTable.find("a"));
+		assertNotNull(symbolTable.find("a"));
+		symbolTable.intern("a", Symbol::new);
+
+		assertEquals(2L, symbolTable.findHitCount());
+		assertEquals(1L, symbolTable.findMissCount());
+		assertEquals(2d / 3d, symbolTable.findHitRate(), 0d);
+	}
+
+	@Test
+	public void aKeyForWhichNoSymbolCouldBeMadeLeavesAGap()
+	{
+		final SymbolTable<String, Symbol> symbolTable = new SymbolTable<>(16);
+		symbolTable.intern("a", Symbol::new);
+
+		try
+		{
+			symbolTable.intern("invalid", (key, identifier) ->
+			{
+				throw new IllegalArgumentException(key);
+			});
+			fail("Expected the symbol maker's exception");
+		}
+		catch (final IllegalArgumentException ignored)
+		{
+		}
+
+		assertEquals(2, symbolTable.intern("b", Symbol::new).identifier);
+		assertEquals(3, symbolTable.size());
+		assertEquals(3, symbolTable.intern("invalid", Symbol::new).identifier);
+	}
+
+	@Test(timeout = 30_000L)
+	public void concurrentInterningMakesOneSymbolPerKey() throws InterruptedException, ExecutionException
+	{
+		final SymbolTable<String, Symbol> symbolTable = new SymbolTable<>(16);
+		final CyclicBarrier barrier = new CyclicBarrier(NumberOfThreads);
+		final ExecutorService executorService = Executors.newFixedThreadPool(NumberOfThreads);
+		try
+		{
+			final List<Future<Symbol[]>> futures = new ArrayList<>(NumberOfThreads);
+			for (int thread = 0; thread < NumberOfThreads; thread++)
+			{
+				futures.add(executorService.submit(() ->
+				{
+					barrier.await();
+					final Symbol[] symbols = new Symbol[NumberOfKeys];
+					for (int index = 0; index < NumberOfKeys; index++)
+					{
+						symbols[index] = symbolTable.intern("key" + index, Symbol::new);
+					}
+					return symbols;
+				}));
+			}
+
+			final Symbol[] expected = futures.get(0).get();
+			for (final Future<Symbol[]> future : futures)
+			{
+				final Symbol[] symbols = future.get();
+				for (int index = 0; index < NumberOfKeys; index++)
+				{
+					assertSame(expected[index], symbols[index]);
+				}
+			}
+
+			final Set<Integer> identifiers = new HashSet<>(NumberOfKeys);
+			for (final Symbol symbol : expected)
+			{
+				assertTrue(symbol.identifier >= 0 && symbol.identifier < NumberOfKeys);
+				assertTrue(identifiers.add(symbol.identifier));
+			}
+			assertEquals(NumberOfKeys, symbolTable.size());
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	private static final class Symbol
+	{
+		@NotNull private final String key;
+		private final int identifier;
+
+		private Symbol(@NotNull final String key, final int identifier)
+		{
+			this.key = key;
+			this.identifier = identifier;
+		}
+
+		@Override
+		@NotNull
+		public String toString()
+		{
+			return key + '#' + identifier;
+		}
+	}
+}